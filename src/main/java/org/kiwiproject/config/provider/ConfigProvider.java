@@ -34,4 +34,15 @@ public interface ConfigProvider {
         return Map.of();
     }
 
+    /**
+     * Returns a mapping of the config fields that were resolved by {@link ResolvedBy#CUSTOM_SOURCE} to the name of the
+     * custom source that had the value. Fields resolved any other way are not included.
+     *
+     * @return a mapping of config fields to the name of the custom source they were resolved from
+     * @see org.kiwiproject.config.provider.util.PropertySource#getName()
+     */
+    default Map<String, String> getResolvedSourceNames() {
+        return Map.of();
+    }
+
 }
@@ -0,0 +1,67 @@
+package org.kiwiproject.config.provider;
+
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionExecutors;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implemented by the builders of the config providers in this library. Lombok generates the setters declared here,
+ * which are the ones every provider shares.
+ *
+ * @param <P> the type of provider that is built
+ */
+public interface ConfigProviderBuilder<P extends ConfigProvider> {
+
+    /**
+     * @param externalConfigProvider the external configuration to resolve properties from
+     * @return this builder
+     */
+    ConfigProviderBuilder<P> externalConfigProvider(ExternalConfigProvider externalConfigProvider);
+
+    /**
+     * @param kiwiEnvironment the environment to read environment variables from
+     * @return this builder
+     */
+    ConfigProviderBuilder<P> kiwiEnvironment(KiwiEnvironment kiwiEnvironment);
+
+    /**
+     * @param resolutionSnapshot the snapshot to read system properties and environment variables from
+     * @return this builder
+     */
+    ConfigProviderBuilder<P> resolutionSnapshot(ResolutionSnapshot resolutionSnapshot);
+
+    /**
+     * @param propertySources custom sources to resolve properties from
+     * @return this builder
+     */
+    ConfigProviderBuilder<P> propertySources(PropertySourceChain propertySources);
+
+    /**
+     * @param instrumentation the instrumentation to record construction and resolution with
+     * @return this builder
+     */
+    ConfigProviderBuilder<P> instrumentation(ResolutionInstrumentation instrumentation);
+
+    /**
+     * @return a new provider
+     */
+    P build();
+
+    /**
+     * Builds the provider asynchronously. See {@link ResolutionExecutors#buildAsync(java.util.function.Supplier)}
+     * for the executor it is built on.
+     * <p>
+     * The value suppliers of the fields are called concurrently, on the resolution executor if one was given to this
+     * builder and otherwise on the {@link ResolutionExecutors#defaultExecutor() default executor}. This builder is not
+     * changed, so calling {@link #build()} on it afterwards resolves the fields the same way as before.
+     *
+     * @return a future that completes with the new provider
+     */
+    default CompletableFuture<P> buildAsync() {
+        return ResolutionExecutors.buildAsync(this::build);
+    }
+}
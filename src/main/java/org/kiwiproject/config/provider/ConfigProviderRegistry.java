@@ -0,0 +1,432 @@
+package org.kiwiproject.config.provider;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.kiwiproject.base.DefaultEnvironment;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionExecutors;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * An immutable set of config providers that were built together at application startup.
+ * <p>
+ * Declare the providers an application needs on the {@link Builder}, either by type for the providers in this library
+ * or with a {@link ProviderFactory} for anything else, and call {@link Builder#build()}. The registry then captures
+ * one {@link ResolutionSnapshot}, loads the external configuration once, and builds all the providers concurrently
+ * against those shared resources instead of one after another. Afterwards, providers are looked up by type, and
+ * {@link #getTimings()} tells how long each part of the startup took.
+ * <p>
+ * Example:
+ * <pre>
+ * var registry = ConfigProviderRegistry.builder()
+ *         .register(TlsConfigProvider.class)
+ *         .register(MongoConfigProvider.class)
+ *         .register(ElucidationConfigProvider.class, context -&gt; ElucidationConfigProvider.builder()
+ *                 .externalConfigProvider(context.getExternalConfigProvider())
+ *                 .resolutionSnapshot(context.getResolutionSnapshot())
+ *                 .enabledResolverStrategy(newExplicitValueFieldResolverStrategy(false))
+ *                 .build())
+ *         .build();
+ *
+ * var tls = registry.get(TlsConfigProvider.class);
+ * </pre>
+ */
+@Slf4j
+public final class ConfigProviderRegistry {
+
+    private static final Map<Class<?>, ProviderFactory<?>> DEFAULT_FACTORIES = defaultFactories();
+
+    private final Map<Class<? extends ConfigProvider>, ConfigProvider> providers;
+    private final BootstrapContext context;
+    private final StartupTimings timings;
+
+    private ConfigProviderRegistry(Map<Class<? extends ConfigProvider>, ConfigProvider> providers,
+                                   BootstrapContext context,
+                                   StartupTimings timings) {
+        this.providers = Collections.unmodifiableMap(providers);
+        this.context = context;
+        this.timings = timings;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the provider of the given type.
+     *
+     * @param type the type the provider was registered with
+     * @param <P>  the type of provider
+     * @return the provider
+     * @throws IllegalArgumentException if no provider was registered with the given type
+     */
+    public <P extends ConfigProvider> P get(Class<P> type) {
+        var provider = providers.get(type);
+        checkArgument(nonNull(provider), "No config provider registered for %s", type);
+        return type.cast(provider);
+    }
+
+    /**
+     * @param type the type the provider was registered with
+     * @param <P>  the type of provider
+     * @return the provider of the given type, or an empty Optional if none was registered
+     */
+    public <P extends ConfigProvider> Optional<P> find(Class<P> type) {
+        return Optional.ofNullable(providers.get(type)).map(type::cast);
+    }
+
+    /**
+     * @param type a provider type
+     * @return true if a provider was registered with the given type
+     */
+    public boolean contains(Class<? extends ConfigProvider> type) {
+        return providers.containsKey(type);
+    }
+
+    /**
+     * @return all the providers, keyed by the type they were registered with, in registration order
+     */
+    public Map<Class<? extends ConfigProvider>, ConfigProvider> getProviders() {
+        return providers;
+    }
+
+    /**
+     * @return the external configuration, snapshot, custom sources and instrumentation the providers were built with
+     */
+    public BootstrapContext getContext() {
+        return context;
+    }
+
+    /**
+     * @return how long each part of building this registry took
+     */
+    public StartupTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Creates a config provider from the resources shared by all the providers in a registry.
+     *
+     * @param <P> the type of provider
+     */
+    @FunctionalInterface
+    public interface ProviderFactory<P extends ConfigProvider> {
+
+        /**
+         * @param context the shared resources; pass them to the provider's builder so that it does not load the
+         *                external configuration or read the system properties and environment itself
+         * @return a new provider
+         */
+        P create(BootstrapContext context);
+    }
+
+    /**
+     * The resources shared by all the providers in a registry.
+     */
+    @Value
+    public static class BootstrapContext {
+        ExternalConfigProvider externalConfigProvider;
+        ResolutionSnapshot resolutionSnapshot;
+        KiwiEnvironment kiwiEnvironment;
+
+        /**
+         * The custom property sources, or null if there are none.
+         */
+        PropertySourceChain propertySources;
+
+        /**
+         * The instrumentation to record resolution with, or null if there is none.
+         */
+        ResolutionInstrumentation instrumentation;
+    }
+
+    /**
+     * How long each part of building a registry took.
+     */
+    @Value
+    public static class StartupTimings {
+
+        /**
+         * The time taken to capture the resolution snapshot, or zero if one was given.
+         */
+        Duration snapshotTime;
+
+        /**
+         * The time taken to load the external configuration, or zero if it was given.
+         */
+        Duration externalLoadTime;
+
+        /**
+         * The time taken to build each provider, keyed by the type it was registered with, in registration order.
+         */
+        Map<Class<? extends ConfigProvider>, Duration> providerTimes;
+
+        /**
+         * The wall clock time taken to build the whole registry. Since providers are built concurrently, this is
+         * normally much less than the sum of the provider times.
+         */
+        Duration totalTime;
+
+        /**
+         * @param type the type the provider was registered with
+         * @return the time taken to build the provider
+         * @throws IllegalArgumentException if no provider was registered with the given type
+         */
+        public Duration getProviderTime(Class<? extends ConfigProvider> type) {
+            var providerTime = providerTimes.get(type);
+            checkArgument(nonNull(providerTime), "No config provider registered for %s", type);
+            return providerTime;
+        }
+    }
+
+    /**
+     * Builder for {@link ConfigProviderRegistry}.
+     */
+    public static final class Builder {
+
+        private final Map<Class<? extends ConfigProvider>, ProviderFactory<?>> factories = new LinkedHashMap<>();
+        private ExternalConfigProvider externalConfigProvider;
+        private ResolutionSnapshot resolutionSnapshot;
+        private KiwiEnvironment kiwiEnvironment;
+        private PropertySourceChain propertySources;
+        private ResolutionInstrumentation instrumentation;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * @param externalConfigProvider the external configuration to share; if not given, the shared default from
+         *                               {@link ExternalConfigProviderRegistry} is loaded once, using the snapshot
+         * @return this builder
+         */
+        public Builder externalConfigProvider(ExternalConfigProvider externalConfigProvider) {
+            this.externalConfigProvider = externalConfigProvider;
+            return this;
+        }
+
+        /**
+         * @param resolutionSnapshot the snapshot to share; if not given, one is captured when the registry is built
+         * @return this builder
+         */
+        public Builder resolutionSnapshot(ResolutionSnapshot resolutionSnapshot) {
+            this.resolutionSnapshot = resolutionSnapshot;
+            return this;
+        }
+
+        /**
+         * @param kiwiEnvironment the environment to capture the snapshot from and share; if not given, the real
+         *                        environment is used
+         * @return this builder
+         */
+        public Builder kiwiEnvironment(KiwiEnvironment kiwiEnvironment) {
+            this.kiwiEnvironment = kiwiEnvironment;
+            return this;
+        }
+
+        /**
+         * @param propertySources custom sources to share
+         * @return this builder
+         */
+        public Builder propertySources(PropertySourceChain propertySources) {
+            this.propertySources = propertySources;
+            return this;
+        }
+
+        /**
+         * @param instrumentation an instrumentation to share, which the providers registered by type record their
+         *                        construction and resolution with
+         * @return this builder
+         */
+        public Builder instrumentation(ResolutionInstrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
+        /**
+         * @param executor the executor to build the providers on; if not given, the
+         *                 {@link ResolutionExecutors#defaultExecutor() default executor} is used
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Registers one of the providers in this library, built with its default settings and the shared resources.
+         *
+         * @param type the provider type
+         * @param <P>  the type of provider
+         * @return this builder
+         * @throws IllegalArgumentException if the type is not a provider in this library, or is already registered
+         */
+        @SuppressWarnings("unchecked")
+        public <P extends ConfigProvider> Builder register(Class<P> type) {
+            requireNonNull(type, "type must not be null");
+            var factory = (ProviderFactory<P>) DEFAULT_FACTORIES.get(type);
+            checkArgument(nonNull(factory), "%s has no default factory; register it with a ProviderFactory", type);
+            return register(type, factory);
+        }
+
+        /**
+         * Registers a provider that is created by the given factory.
+         *
+         * @param type    the type to look the provider up by
+         * @param factory creates the provider
+         * @param <P>     the type of provider
+         * @return this builder
+         * @throws IllegalArgumentException if the type is already registered
+         */
+        public <P extends ConfigProvider> Builder register(Class<P> type, ProviderFactory<? extends P> factory) {
+            requireNonNull(type, "type must not be null");
+            requireNonNull(factory, "factory must not be null");
+            checkArgument(!factories.containsKey(type), "%s is already registered", type);
+            factories.put(type, factory);
+            return this;
+        }
+
+        /**
+         * Captures the snapshot, loads the external configuration and builds all the registered providers
+         * concurrently, waiting for all of them to finish.
+         *
+         * @return the new registry
+         * @throws IllegalStateException if a provider could not be built; its exception is the cause, and the
+         *                               exceptions of any other providers that failed are suppressed
+         */
+        public ConfigProviderRegistry build() {
+            var start = System.nanoTime();
+            var environment = isNull(kiwiEnvironment) ? new DefaultEnvironment() : kiwiEnvironment;
+
+            var snapshotStart = System.nanoTime();
+            var snapshot = isNull(resolutionSnapshot) ? ResolutionSnapshot.capture(environment) : resolutionSnapshot;
+            var snapshotTime = elapsedSince(snapshotStart, isNull(resolutionSnapshot));
+
+            var externalStart = System.nanoTime();
+            var external = isNull(externalConfigProvider)
+                    ? ExternalConfigProviderRegistry.getDefault(snapshot)
+                    : externalConfigProvider;
+            var externalLoadTime = elapsedSince(externalStart, isNull(externalConfigProvider));
+
+            var context = new BootstrapContext(external, snapshot, environment, propertySources, instrumentation);
+            var builds = startBuilds(context, ResolutionExecutors.executorOrDefault(executor));
+            awaitBuilds(builds);
+
+            var providers = new LinkedHashMap<Class<? extends ConfigProvider>, ConfigProvider>();
+            var providerTimes = new LinkedHashMap<Class<? extends ConfigProvider>, Duration>();
+            builds.forEach((type, build) -> {
+                var timedProvider = build.join();
+                providers.put(type, timedProvider.getProvider());
+                providerTimes.put(type, timedProvider.getTime());
+            });
+
+            var timings = new StartupTimings(snapshotTime, externalLoadTime,
+                    Collections.unmodifiableMap(providerTimes), Duration.ofNanos(System.nanoTime() - start));
+            LOG.debug("Built {} config providers in {}", providers.size(), timings.getTotalTime());
+
+            return new ConfigProviderRegistry(providers, context, timings);
+        }
+
+        private Map<Class<? extends ConfigProvider>, CompletableFuture<TimedProvider>> startBuilds(
+                BootstrapContext context, Executor buildExecutor) {
+
+            var builds = new LinkedHashMap<Class<? extends ConfigProvider>, CompletableFuture<TimedProvider>>();
+            factories.forEach((type, factory) -> builds.put(type, CompletableFuture.supplyAsync(() -> {
+                var providerStart = System.nanoTime();
+                var provider = requireNonNull(factory.create(context), "factory returned null provider");
+                return new TimedProvider(provider, Duration.ofNanos(System.nanoTime() - providerStart));
+            }, buildExecutor)));
+            return builds;
+        }
+
+        private static void awaitBuilds(Map<Class<? extends ConfigProvider>, CompletableFuture<TimedProvider>> builds) {
+            try {
+                CompletableFuture.allOf(builds.values().toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                IllegalStateException failure = null;
+                for (var entry : builds.entrySet()) {
+                    if (!entry.getValue().isCompletedExceptionally()) {
+                        continue;
+                    }
+
+                    var cause = causeOf(entry.getValue());
+                    if (isNull(failure)) {
+                        failure = new IllegalStateException("Unable to build config provider " + entry.getKey(), cause);
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+                throw requireNonNull(failure);
+            }
+        }
+
+        private static Throwable causeOf(CompletableFuture<?> future) {
+            var error = future.handle((value, e) -> e).join();
+            return error instanceof CompletionException && nonNull(error.getCause()) ? error.getCause() : error;
+        }
+
+        private static Duration elapsedSince(long startNanos, boolean measured) {
+            return measured ? Duration.ofNanos(System.nanoTime() - startNanos) : Duration.ZERO;
+        }
+    }
+
+    @Value
+    private static class TimedProvider {
+        ConfigProvider provider;
+        Duration time;
+    }
+
+    private static Map<Class<?>, ProviderFactory<?>> defaultFactories() {
+        var defaults = new LinkedHashMap<Class<?>, ProviderFactory<?>>();
+        defaults.put(ActiveMQConfigProvider.class, sharedResourcesFactory(ActiveMQConfigProvider::builder));
+        defaults.put(DropwizardDataSourceConfigProvider.class,
+                sharedResourcesFactory(DropwizardDataSourceConfigProvider::builder));
+        defaults.put(ElkLoggerConfigProvider.class, sharedResourcesFactory(ElkLoggerConfigProvider::builder));
+        defaults.put(ElucidationConfigProvider.class, sharedResourcesFactory(ElucidationConfigProvider::builder));
+        defaults.put(HibernateConfigProvider.class, sharedResourcesFactory(HibernateConfigProvider::builder));
+        defaults.put(MongoConfigProvider.class, sharedResourcesFactory(MongoConfigProvider::builder));
+        defaults.put(NetworkIdentityConfigProvider.class,
+                sharedResourcesFactory(NetworkIdentityConfigProvider::builder));
+        defaults.put(ServiceIdentityConfigProvider.class,
+                sharedResourcesFactory(ServiceIdentityConfigProvider::builder));
+        defaults.put(SharedStorageConfigProvider.class, sharedResourcesFactory(SharedStorageConfigProvider::builder));
+        defaults.put(TlsConfigProvider.class, sharedResourcesFactory(TlsConfigProvider::builder));
+        defaults.put(ZooKeeperConfigProvider.class, sharedResourcesFactory(ZooKeeperConfigProvider::builder));
+        return Collections.unmodifiableMap(defaults);
+    }
+
+    /**
+     * Returns a factory that passes all the shared resources to a new builder from the given supplier and builds it.
+     */
+    private static <P extends ConfigProvider> ProviderFactory<P> sharedResourcesFactory(
+            Supplier<? extends ConfigProviderBuilder<P>> builderSupplier) {
+
+        return context -> builderSupplier.get()
+                .externalConfigProvider(context.getExternalConfigProvider())
+                .kiwiEnvironment(context.getKiwiEnvironment())
+                .resolutionSnapshot(context.getResolutionSnapshot())
+                .propertySources(context.getPropertySources())
+                .instrumentation(context.getInstrumentation())
+                .build();
+    }
+}
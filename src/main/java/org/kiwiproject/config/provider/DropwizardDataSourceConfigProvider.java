@@ -3,22 +3,26 @@ package org.kiwiproject.config.provider;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.ObjectUtils.isNotEmpty;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import io.dropwizard.db.DataSourceFactory;
-import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 import org.kiwiproject.base.KiwiEnvironment;
 import org.kiwiproject.base.KiwiPrimitives;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.ConfigField;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.JsonMapConverter;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
-import org.kiwiproject.json.JsonHelper;
+import org.kiwiproject.config.provider.util.StructuredValues;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -40,19 +44,6 @@ import java.util.function.Supplier;
  */
 public class DropwizardDataSourceConfigProvider implements ConfigProvider {
 
-    private static final String SYSTEM_PROPERTY = "systemProperty";
-    private static final String ENV_PROPERTY = "envVariable";
-    private static final String EXTERNAL_PROPERTY = "externalProperty";
-
-    private static final String DRIVER_CLASS_FIELD = "driverClass";
-    private static final String URL_FIELD = "url";
-    private static final String USER_FIELD = "user";
-    private static final String PASSWORD_FIELD = "password";
-    private static final String MAX_SIZE_FIELD = "maxSize";
-    private static final String MIN_SIZE_FIELD = "minSize";
-    private static final String INITIAL_SIZE_FIELD = "initialSize";
-    private static final String ORM_PROPERTIES_FIELD = "ormProperties";
-
     public static final String DEFAULT_DRIVER_CLASS_SYSTEM_PROPERTY = "kiwi.datasource.driverClass";
 
     public static final String DEFAULT_DRIVER_CLASS_ENV_VARIABLE = "KIWI_DATASOURCE_DRIVER_CLASS";
@@ -101,88 +92,117 @@ public class DropwizardDataSourceConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_ORM_PROPERTIES_EXTERNAL_PROPERTY_KEY = "datasource.ormProperties";
 
-    private static final Map<String, String> DRIVER_CLASS_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_DRIVER_CLASS_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_DRIVER_CLASS_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_DRIVER_CLASS_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> URL_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_URL_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_URL_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_URL_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> USER_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_USER_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_USER_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_USER_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> PASSWORD_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_PASSWORD_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_PASSWORD_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_PASSWORD_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> MAX_SIZE_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_MAX_SIZE_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_MAX_SIZE_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_MAX_SIZE_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> MIN_SIZE_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_MIN_SIZE_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_MIN_SIZE_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_MIN_SIZE_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> INITIAL_SIZE_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_INITIAL_SIZE_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_INITIAL_SIZE_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_INITIAL_SIZE_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> ORM_PROPERTIES_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_ORM_PROPERTIES_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_ORM_PROPERTIES_ENV_VARIABLE, EXTERNAL_PROPERTY,
-            DEFAULT_ORM_PROPERTIES_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, Map<String, String>> DEFAULTS_FOR_PROPERTIES = Map.of(
-            DRIVER_CLASS_FIELD, DRIVER_CLASS_DEFAULTS,
-            URL_FIELD, URL_DEFAULTS,
-            USER_FIELD, USER_DEFAULTS,
-            PASSWORD_FIELD, PASSWORD_DEFAULTS,
-            MAX_SIZE_FIELD, MAX_SIZE_DEFAULTS,
-            MIN_SIZE_FIELD, MIN_SIZE_DEFAULTS,
-            INITIAL_SIZE_FIELD, INITIAL_SIZE_DEFAULTS,
-            ORM_PROPERTIES_FIELD, ORM_PROPERTIES_DEFAULTS
+    private static final ConfigField<DataSourceFactory, String> DRIVER_CLASS_FIELD =
+            ConfigField.<DataSourceFactory, String>builder()
+                    .name("driverClass")
+                    .systemProperty(DEFAULT_DRIVER_CLASS_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_DRIVER_CLASS_ENV_VARIABLE)
+                    .externalKey(DEFAULT_DRIVER_CLASS_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(DataSourceFactory::getDriverClass)
+                    .setter(DataSourceFactory::setDriverClass)
+                    .build();
+
+    private static final ConfigField<DataSourceFactory, String> URL_FIELD =
+            ConfigField.<DataSourceFactory, String>builder()
+                    .name("url")
+                    .systemProperty(DEFAULT_URL_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_URL_ENV_VARIABLE)
+                    .externalKey(DEFAULT_URL_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(DataSourceFactory::getUrl)
+                    .setter(DataSourceFactory::setUrl)
+                    .build();
+
+    private static final ConfigField<DataSourceFactory, String> USER_FIELD =
+            ConfigField.<DataSourceFactory, String>builder()
+                    .name("user")
+                    .systemProperty(DEFAULT_USER_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_USER_ENV_VARIABLE)
+                    .externalKey(DEFAULT_USER_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(DataSourceFactory::getUser)
+                    .setter(DataSourceFactory::setUser)
+                    .build();
+
+    private static final ConfigField<DataSourceFactory, String> PASSWORD_FIELD =
+            ConfigField.<DataSourceFactory, String>builder()
+                    .name("password")
+                    .systemProperty(DEFAULT_PASSWORD_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_PASSWORD_ENV_VARIABLE)
+                    .externalKey(DEFAULT_PASSWORD_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(DataSourceFactory::getPassword)
+                    .setter(DataSourceFactory::setPassword)
+                    .build();
+
+    private static final ConfigField<DataSourceFactory, Integer> MAX_SIZE_FIELD =
+            ConfigField.<DataSourceFactory, Integer>builder()
+                    .name("maxSize")
+                    .systemProperty(DEFAULT_MAX_SIZE_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_MAX_SIZE_ENV_VARIABLE)
+                    .externalKey(DEFAULT_MAX_SIZE_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(KiwiPrimitives::tryParseIntOrThrow)
+                    .defaultGetter(DataSourceFactory::getMaxSize)
+                    .setter(DataSourceFactory::setMaxSize)
+                    .build();
+
+    private static final ConfigField<DataSourceFactory, Integer> MIN_SIZE_FIELD =
+            ConfigField.<DataSourceFactory, Integer>builder()
+                    .name("minSize")
+                    .systemProperty(DEFAULT_MIN_SIZE_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_MIN_SIZE_ENV_VARIABLE)
+                    .externalKey(DEFAULT_MIN_SIZE_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(KiwiPrimitives::tryParseIntOrThrow)
+                    .defaultGetter(DataSourceFactory::getMinSize)
+                    .setter(DataSourceFactory::setMinSize)
+                    .build();
+
+    private static final ConfigField<DataSourceFactory, Integer> INITIAL_SIZE_FIELD =
+            ConfigField.<DataSourceFactory, Integer>builder()
+                    .name("initialSize")
+                    .systemProperty(DEFAULT_INITIAL_SIZE_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_INITIAL_SIZE_ENV_VARIABLE)
+                    .externalKey(DEFAULT_INITIAL_SIZE_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(KiwiPrimitives::tryParseIntOrThrow)
+                    .defaultGetter(DataSourceFactory::getInitialSize)
+                    .setter(DataSourceFactory::setInitialSize)
+                    .build();
+
+    private static final List<ConfigField<DataSourceFactory, ?>> FIELDS = List.of(
+            DRIVER_CLASS_FIELD,
+            URL_FIELD,
+            USER_FIELD,
+            PASSWORD_FIELD,
+            MAX_SIZE_FIELD,
+            MIN_SIZE_FIELD,
+            INITIAL_SIZE_FIELD
     );
 
+    /**
+     * The ORM properties are merged into the properties of the supplied factory rather than replacing them, so they
+     * are resolved as a plain field instead of a {@link ConfigField}.
+     */
+    private static final FieldDescriptor<Map<String, String>> ORM_PROPERTIES_FIELD =
+            FieldDescriptor.<Map<String, String>>builder()
+                    .name("ormProperties")
+                    .systemProperty(DEFAULT_ORM_PROPERTIES_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_ORM_PROPERTIES_ENV_VARIABLE)
+                    .externalKey(DEFAULT_ORM_PROPERTIES_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(JsonMapConverter::toStringMap)
+                    .convertFromMap(StructuredValues::toStringMap)
+                    .build();
+
     @Getter
     private final DataSourceFactory dataSourceFactory;
 
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy driverClassResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy urlResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy userResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy passwordResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy maxSizeResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy minSizeResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy initialSizeResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy ormPropertiesResolvedBy;
+    private final Map<String, ResolvedBy> resolvedBy;
+    private final Map<String, String> resolvedSourceNames;
 
     @SuppressWarnings("java:S107")
     @Builder
     private DropwizardDataSourceConfigProvider(ExternalConfigProvider externalConfigProvider,
                                                KiwiEnvironment kiwiEnvironment,
+                                               ResolutionSnapshot resolutionSnapshot,
+                                               PropertySourceChain propertySources,
+                                               Executor resolutionExecutor,
+                                               ResolutionInstrumentation instrumentation,
                                                FieldResolverStrategy<String> driverClassResolver,
                                                FieldResolverStrategy<String> urlResolver,
                                                FieldResolverStrategy<String> userResolver,
@@ -192,39 +212,44 @@ public class DropwizardDataSourceConfigProvider implements ConfigProvider {
                                                FieldResolverStrategy<Integer> initialSizeResolver,
                                                FieldResolverStrategy<Map<String, String>> ormPropertyResolver,
                                                Supplier<DataSourceFactory> dataSourceFactorySupplier) {
+        var constructionStart = System.nanoTime();
         var originalFactory = getSuppliedFactoryOrDefault(dataSourceFactorySupplier);
 
+        var resolver = BatchPropertyResolver.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(kiwiEnvironment)
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
+
+        var result = resolver.resolve(List.of(
+                DRIVER_CLASS_FIELD.request(originalFactory, driverClassResolver),
+                URL_FIELD.request(originalFactory, urlResolver),
+                USER_FIELD.request(originalFactory, userResolver),
+                PASSWORD_FIELD.request(originalFactory, passwordResolver),
+                MAX_SIZE_FIELD.request(originalFactory, maxSizeResolver),
+                MIN_SIZE_FIELD.request(originalFactory, minSizeResolver),
+                INITIAL_SIZE_FIELD.request(originalFactory, initialSizeResolver),
+                FieldRequest.of(ORM_PROPERTIES_FIELD, ormPropertyResolver, new HashMap<>())
+        ));
+
         dataSourceFactory = new DataSourceFactory();
-        dataSourceFactory.setDriverClass(resolveProperty(DRIVER_CLASS_FIELD, driverClassResolver, externalConfigProvider,
-                kiwiEnvironment, originalFactory.getDriverClass(), this::setDriverClassResolvedBy));
-        dataSourceFactory.setUrl(resolveProperty(URL_FIELD, urlResolver, externalConfigProvider, kiwiEnvironment,
-                originalFactory.getUrl(), this::setUrlResolvedBy));
-        dataSourceFactory.setUser(resolveProperty(USER_FIELD, userResolver, externalConfigProvider, kiwiEnvironment,
-                originalFactory.getUser(), this::setUserResolvedBy));
-        dataSourceFactory.setPassword(resolveProperty(PASSWORD_FIELD, passwordResolver, externalConfigProvider,
-                kiwiEnvironment, originalFactory.getPassword(), this::setPasswordResolvedBy));
-        dataSourceFactory.setMaxSize(resolveProperty(MAX_SIZE_FIELD, maxSizeResolver, externalConfigProvider,
-                kiwiEnvironment, originalFactory.getMaxSize(), this::setMaxSizeResolvedBy, KiwiPrimitives::tryParseIntOrThrow));
-        dataSourceFactory.setMinSize(resolveProperty(MIN_SIZE_FIELD, minSizeResolver, externalConfigProvider,
-                kiwiEnvironment, originalFactory.getMinSize(), this::setMinSizeResolvedBy, KiwiPrimitives::tryParseIntOrThrow));
-        dataSourceFactory.setInitialSize(resolveProperty(INITIAL_SIZE_FIELD, initialSizeResolver, externalConfigProvider,
-                kiwiEnvironment, originalFactory.getInitialSize(), this::setInitialSizeResolvedBy, KiwiPrimitives::tryParseIntOrThrow));
-
-        var json = new JsonHelper();
-
-        var resolvedProperties = resolveProperty(ORM_PROPERTIES_FIELD, ormPropertyResolver, externalConfigProvider,
-                kiwiEnvironment, new HashMap<>(), this::setOrmPropertiesResolvedBy,
-                value -> json.toMap(value, new TypeReference<>() {
-                }));
+        ConfigField.applyAll(FIELDS, result, dataSourceFactory);
 
         var mergedProperties = new HashMap<>(originalFactory.getProperties());
-        mergedProperties.putAll(resolvedProperties);
+        mergedProperties.putAll(result.getValue(ORM_PROPERTIES_FIELD));
         dataSourceFactory.setProperties(mergedProperties);
-    }
 
-    private DataSourceFactory getSuppliedFactoryOrDefault(Supplier<DataSourceFactory> dataSourceFactorySupplier) {
-        setAllResolvedByToProviderDefault();
+        resolvedBy = result.toResolvedByMap();
+        resolvedSourceNames = result.toSourceNameMap();
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, DropwizardDataSourceConfigProvider.class,
+                constructionStart);
+    }
 
+    private static DataSourceFactory getSuppliedFactoryOrDefault(Supplier<DataSourceFactory> dataSourceFactorySupplier) {
         if (nonNull(dataSourceFactorySupplier)) {
             return dataSourceFactorySupplier.get();
         }
@@ -232,53 +257,6 @@ public class DropwizardDataSourceConfigProvider implements ConfigProvider {
         return new DataSourceFactory();
     }
 
-    private void setAllResolvedByToProviderDefault() {
-        driverClassResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        urlResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        userResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        passwordResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        maxSizeResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        minSizeResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        initialSizeResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        ormPropertiesResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-    }
-
-    private String resolveProperty(String fieldName,
-                                   FieldResolverStrategy<String> resolver,
-                                   ExternalConfigProvider externalConfigProvider,
-                                   KiwiEnvironment kiwiEnvironment,
-                                   String originalValue,
-                                   Consumer<ResolvedBy> resolvedBySetter) {
-
-        return resolveProperty(fieldName, resolver, externalConfigProvider, kiwiEnvironment, originalValue,
-                resolvedBySetter, value -> value);
-    }
-
-    private <T> T resolveProperty(String fieldName,
-                                  FieldResolverStrategy<T> resolver,
-                                  ExternalConfigProvider externalConfigProvider,
-                                  KiwiEnvironment kiwiEnvironment,
-                                  T originalValue,
-                                  Consumer<ResolvedBy> resolvedBySetter,
-                                  Function<String, T> convertFromString) {
-
-        var defaultFields = DEFAULTS_FOR_PROPERTIES.get(fieldName);
-
-        var resolution = SinglePropertyResolver.resolveProperty(PropertyResolutionSettings.<T>builder()
-                .externalConfigProvider(externalConfigProvider)
-                .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(resolver)
-                .systemProperty(defaultFields.get(SYSTEM_PROPERTY))
-                .environmentVariable(defaultFields.get(ENV_PROPERTY))
-                .externalKey(defaultFields.get(EXTERNAL_PROPERTY))
-                .defaultValue(originalValue)
-                .convertFromString(convertFromString)
-                .build());
-
-        resolvedBySetter.accept(resolution.getResolvedBy());
-        return resolution.getValue();
-    }
-
     @Override
     public boolean canProvide() {
         return isNotEmpty(dataSourceFactory.getUrl());
@@ -286,15 +264,18 @@ public class DropwizardDataSourceConfigProvider implements ConfigProvider {
 
     @Override
     public Map<String, ResolvedBy> getResolvedBy() {
-        return Map.of(
-                DRIVER_CLASS_FIELD, driverClassResolvedBy,
-                URL_FIELD, urlResolvedBy,
-                USER_FIELD, userResolvedBy,
-                PASSWORD_FIELD, passwordResolvedBy,
-                MAX_SIZE_FIELD, maxSizeResolvedBy,
-                MIN_SIZE_FIELD, minSizeResolvedBy,
-                INITIAL_SIZE_FIELD, initialSizeResolvedBy,
-                ORM_PROPERTIES_FIELD, ormPropertiesResolvedBy
-        );
+        return resolvedBy;
+    }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link DropwizardDataSourceConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class DropwizardDataSourceConfigProviderBuilder
+            implements ConfigProviderBuilder<DropwizardDataSourceConfigProvider> {
     }
 }
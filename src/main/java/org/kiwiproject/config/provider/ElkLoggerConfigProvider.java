@@ -3,16 +3,23 @@ package org.kiwiproject.config.provider;
 import static java.util.Objects.isNull;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.Builder;
 import lombok.Getter;
 import org.kiwiproject.base.KiwiEnvironment;
 import org.kiwiproject.base.KiwiPrimitives;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.JsonMapConverter;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
-import org.kiwiproject.json.JsonHelper;
+import org.kiwiproject.config.provider.util.StructuredValues;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Config provider that determines the connection information and configuration to send logs to an ELK server.
@@ -45,6 +52,31 @@ public class ElkLoggerConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_CUSTOM_FIELDS_EXTERNAL_PROPERTY_KEY = "elk.customFields";
 
+    private static final FieldDescriptor<String> HOST_FIELD = FieldDescriptor.<String>builder()
+            .name("host")
+            .systemProperty(DEFAULT_HOST_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_HOST_ENV_VARIABLE)
+            .externalKey(DEFAULT_HOST_EXTERNAL_PROPERTY_KEY)
+            .build();
+
+    private static final FieldDescriptor<Integer> PORT_FIELD = FieldDescriptor.<Integer>builder()
+            .name("port")
+            .systemProperty(DEFAULT_PORT_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_PORT_ENV_VARIABLE)
+            .externalKey(DEFAULT_PORT_EXTERNAL_PROPERTY_KEY)
+            .convertFromString(KiwiPrimitives::tryParseIntOrThrow)
+            .build();
+
+    private static final FieldDescriptor<Map<String, String>> CUSTOM_FIELDS_FIELD =
+            FieldDescriptor.<Map<String, String>>builder()
+                    .name("customFields")
+                    .systemProperty(DEFAULT_CUSTOM_FIELDS_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_CUSTOM_FIELDS_ENV_VARIABLE)
+                    .externalKey(DEFAULT_CUSTOM_FIELDS_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(JsonMapConverter::toStringMap)
+                    .convertFromMap(StructuredValues::toStringMap)
+                    .build();
+
     @Getter
     private final String host;
 
@@ -60,54 +92,49 @@ public class ElkLoggerConfigProvider implements ConfigProvider {
 
     private final ResolvedBy customFieldsResolvedBy;
 
+    private final Map<String, String> resolvedSourceNames;
+
     @Builder
     private ElkLoggerConfigProvider(ExternalConfigProvider externalConfigProvider,
                                     KiwiEnvironment kiwiEnvironment,
+                                    ResolutionSnapshot resolutionSnapshot,
+                                    PropertySourceChain propertySources,
+                                    Executor resolutionExecutor,
+                                    ResolutionInstrumentation instrumentation,
                                     FieldResolverStrategy<String> hostResolverStrategy,
                                     FieldResolverStrategy<Integer> portResolverStrategy,
                                     FieldResolverStrategy<Map<String, String>> customFieldsResolverStrategy) {
+        var constructionStart = System.nanoTime();
 
-        var hostResolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
+        var resolver = BatchPropertyResolver.builder()
                 .externalConfigProvider(externalConfigProvider)
                 .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(hostResolverStrategy)
-                .systemProperty(DEFAULT_HOST_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_HOST_ENV_VARIABLE)
-                .externalKey(DEFAULT_HOST_EXTERNAL_PROPERTY_KEY)
-                .build());
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
 
-        this.host = hostResolution.getValue();
-        this.hostResolvedBy = hostResolution.getResolvedBy();
+        var result = resolver.resolve(List.of(
+                FieldRequest.of(HOST_FIELD, hostResolverStrategy),
+                FieldRequest.of(PORT_FIELD, portResolverStrategy),
+                FieldRequest.of(CUSTOM_FIELDS_FIELD, customFieldsResolverStrategy)
+        ));
 
-        var portResolution = SinglePropertyResolver.resolveProperty(PropertyResolutionSettings.<Integer>builder()
-                .externalConfigProvider(externalConfigProvider)
-                .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(portResolverStrategy)
-                .systemProperty(DEFAULT_PORT_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_PORT_ENV_VARIABLE)
-                .externalKey(DEFAULT_PORT_EXTERNAL_PROPERTY_KEY)
-                .convertFromString(KiwiPrimitives::tryParseIntOrThrow)
-                .build());
+        this.host = result.getValue(HOST_FIELD);
+        this.hostResolvedBy = result.getResolvedBy(HOST_FIELD);
 
-        var portValue = portResolution.getValue();
+        var portValue = result.getValue(PORT_FIELD);
 
         this.port = isNull(portValue) ? 0 : portValue;
-        this.portResolvedBy = portResolution.getResolvedBy();
+        this.portResolvedBy = result.getResolvedBy(PORT_FIELD);
 
-        var json = new JsonHelper();
+        this.customFields = result.getValue(CUSTOM_FIELDS_FIELD);
+        this.customFieldsResolvedBy = result.getResolvedBy(CUSTOM_FIELDS_FIELD);
+        this.resolvedSourceNames = result.toSourceNameMap();
 
-        var customFieldsResolution = SinglePropertyResolver.resolveProperty(PropertyResolutionSettings.<Map<String, String>>builder()
-                .externalConfigProvider(externalConfigProvider)
-                .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(customFieldsResolverStrategy)
-                .systemProperty(DEFAULT_CUSTOM_FIELDS_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_CUSTOM_FIELDS_ENV_VARIABLE)
-                .externalKey(DEFAULT_CUSTOM_FIELDS_EXTERNAL_PROPERTY_KEY)
-                .convertFromString(value -> json.toMap(value, new TypeReference<>() {}))
-                .build());
-
-        this.customFields = customFieldsResolution.getValue();
-        this.customFieldsResolvedBy = customFieldsResolution.getResolvedBy();
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, ElkLoggerConfigProvider.class,
+                constructionStart);
     }
 
     @Override
@@ -123,4 +150,15 @@ public class ElkLoggerConfigProvider implements ConfigProvider {
                 "customFields", customFieldsResolvedBy
         );
     }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link ElkLoggerConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class ElkLoggerConfigProviderBuilder implements ConfigProviderBuilder<ElkLoggerConfigProvider> {
+    }
 }
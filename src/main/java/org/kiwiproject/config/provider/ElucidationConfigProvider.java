@@ -7,10 +7,17 @@ import lombok.Builder;
 import lombok.Getter;
 import org.kiwiproject.base.KiwiEnvironment;
 import org.kiwiproject.base.KiwiPrimitives;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Config provider that determines the connection information and configuration to send relationship events to Elucidation.
@@ -43,6 +50,29 @@ public class ElucidationConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_ENABLED_EXTERNAL_PROPERTY_KEY = "elucidation.enabled";
 
+    private static final FieldDescriptor<String> HOST_FIELD = FieldDescriptor.<String>builder()
+            .name("host")
+            .systemProperty(DEFAULT_HOST_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_HOST_ENV_VARIABLE)
+            .externalKey(DEFAULT_HOST_EXTERNAL_PROPERTY_KEY)
+            .build();
+
+    private static final FieldDescriptor<Integer> PORT_FIELD = FieldDescriptor.<Integer>builder()
+            .name("port")
+            .systemProperty(DEFAULT_PORT_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_PORT_ENV_VARIABLE)
+            .externalKey(DEFAULT_PORT_EXTERNAL_PROPERTY_KEY)
+            .convertFromString(KiwiPrimitives::tryParseIntOrThrow)
+            .build();
+
+    private static final FieldDescriptor<Boolean> ENABLED_FIELD = FieldDescriptor.<Boolean>builder()
+            .name("enabled")
+            .systemProperty(DEFAULT_ENABLED_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_ENABLED_ENV_VARIABLE)
+            .externalKey(DEFAULT_ENABLED_EXTERNAL_PROPERTY_KEY)
+            .convertFromString(Boolean::parseBoolean)
+            .build();
+
     @Getter
     private final String host;
 
@@ -58,54 +88,51 @@ public class ElucidationConfigProvider implements ConfigProvider {
 
     private final ResolvedBy enabledResolvedBy;
 
+    private final Map<String, String> resolvedSourceNames;
+
     @Builder
     private ElucidationConfigProvider(ExternalConfigProvider externalConfigProvider,
                                       KiwiEnvironment kiwiEnvironment,
+                                      ResolutionSnapshot resolutionSnapshot,
+                                      PropertySourceChain propertySources,
+                                      Executor resolutionExecutor,
+                                      ResolutionInstrumentation instrumentation,
                                       FieldResolverStrategy<String> hostResolverStrategy,
                                       FieldResolverStrategy<Integer> portResolverStrategy,
                                       FieldResolverStrategy<Boolean> enabledResolverStrategy) {
+        var constructionStart = System.nanoTime();
 
-        var hostResolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
+        var resolver = BatchPropertyResolver.builder()
                 .externalConfigProvider(externalConfigProvider)
                 .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(hostResolverStrategy)
-                .systemProperty(DEFAULT_HOST_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_HOST_ENV_VARIABLE)
-                .externalKey(DEFAULT_HOST_EXTERNAL_PROPERTY_KEY)
-                .build());
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
 
-        this.host = hostResolution.getValue();
-        this.hostResolvedBy = hostResolution.getResolvedBy();
+        var result = resolver.resolve(List.of(
+                FieldRequest.of(HOST_FIELD, hostResolverStrategy),
+                FieldRequest.of(PORT_FIELD, portResolverStrategy),
+                FieldRequest.of(ENABLED_FIELD, enabledResolverStrategy)
+        ));
 
-        var portResolution = SinglePropertyResolver.resolveProperty(PropertyResolutionSettings.<Integer>builder()
-                .externalConfigProvider(externalConfigProvider)
-                .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(portResolverStrategy)
-                .systemProperty(DEFAULT_PORT_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_PORT_ENV_VARIABLE)
-                .externalKey(DEFAULT_PORT_EXTERNAL_PROPERTY_KEY)
-                .convertFromString(KiwiPrimitives::tryParseIntOrThrow)
-                .build());
+        this.host = result.getValue(HOST_FIELD);
+        this.hostResolvedBy = result.getResolvedBy(HOST_FIELD);
 
-        var portValue = portResolution.getValue();
+        var portValue = result.getValue(PORT_FIELD);
 
         this.port = isNull(portValue) ? 0 : portValue;
-        this.portResolvedBy = portResolution.getResolvedBy();
-
-        var enabledResolution = SinglePropertyResolver.resolveProperty(PropertyResolutionSettings.<Boolean>builder()
-                .externalConfigProvider(externalConfigProvider)
-                .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(enabledResolverStrategy)
-                .systemProperty(DEFAULT_ENABLED_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_ENABLED_ENV_VARIABLE)
-                .externalKey(DEFAULT_ENABLED_EXTERNAL_PROPERTY_KEY)
-                .convertFromString(Boolean::parseBoolean)
-                .build());
+        this.portResolvedBy = result.getResolvedBy(PORT_FIELD);
 
-        var enabledValue = enabledResolution.getValue();
+        var enabledValue = result.getValue(ENABLED_FIELD);
 
         this.enabled = Boolean.TRUE.equals(enabledValue);
-        this.enabledResolvedBy = enabledResolution.getResolvedBy();
+        this.enabledResolvedBy = result.getResolvedBy(ENABLED_FIELD);
+        this.resolvedSourceNames = result.toSourceNameMap();
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, ElucidationConfigProvider.class,
+                constructionStart);
     }
 
     @Override
@@ -121,4 +148,15 @@ public class ElucidationConfigProvider implements ConfigProvider {
                 "enabled", enabledResolvedBy
         );
     }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link ElucidationConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class ElucidationConfigProviderBuilder implements ConfigProviderBuilder<ElucidationConfigProvider> {
+    }
 }
@@ -0,0 +1,269 @@
+package org.kiwiproject.config.provider;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches the properties file of an {@link ExternalConfigProvider} and reloads the provider when the file changes.
+ * <p>
+ * The parent directory is watched rather than the file itself, so that editors and deployment tools that replace the
+ * file with an atomic rename are detected as well as in-place writes. Changes are debounced: a burst of events only
+ * causes one reload, once no new event has arrived for the debounce interval. Reloading happens on a background
+ * thread and publishes the new properties atomically (see {@link ExternalConfigProvider#reload()}), so lookups on the
+ * provider never block while the file is being read.
+ * <p>
+ * If the provider's properties path is a key-per-file directory (see {@link KeyPerFileProperties}), the directory
+ * itself is watched instead. When it has a Kubernetes {@code ..data} link, a reload only happens when the target of
+ * that link changes, which is how Kubernetes atomically publishes a new version of every file at once; otherwise any
+ * change in the directory causes a reload.
+ * <p>
+ * If the provider has an overlay directory that exists when watching starts, it is watched too, and a change to any
+ * overlay file triggers a reload.
+ * <p>
+ * Close the watcher to stop watching and release its threads.
+ */
+@Slf4j
+public class ExternalConfigFileWatcher implements Closeable {
+
+    /**
+     * The default time to wait after the last change before reloading.
+     */
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(250);
+
+    private final ExternalConfigProvider provider;
+    private final Path watchedFileName;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    private final WatchKey overlayKey;
+    private final Path keyPerFileDirectory;
+    private final WatchKey keyPerFileDirectoryKey;
+    private final ScheduledExecutorService reloadExecutor;
+    private final Thread watchThread;
+    private final AtomicLong reloadCount = new AtomicLong();
+
+    private ScheduledFuture<?> pendingReload;
+
+    /**
+     * The last seen target of the {@code ..data} link of a key-per-file directory; only used by the watch thread.
+     */
+    private Path lastDataTarget;
+
+    private volatile boolean closed;
+
+    private ExternalConfigFileWatcher(ExternalConfigProvider provider, Duration debounce) throws IOException {
+        var propertiesPath = provider.getPropertiesPath().toAbsolutePath().normalize();
+        var directory = requireNonNull(propertiesPath.getParent(), "properties path must have a parent directory");
+
+        this.provider = provider;
+        this.watchedFileName = propertiesPath.getFileName();
+        this.debounceMillis = debounce.toMillis();
+        this.watchService = directory.getFileSystem().newWatchService();
+
+        if (Files.isDirectory(propertiesPath)) {
+            this.keyPerFileDirectory = propertiesPath;
+            this.keyPerFileDirectoryKey =
+                    propertiesPath.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            this.lastDataTarget = KeyPerFileProperties.readDataTarget(propertiesPath);
+        } else {
+            this.keyPerFileDirectory = null;
+            this.keyPerFileDirectoryKey = null;
+            directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        }
+
+        this.overlayKey = registerOverlayDirectory(provider.getOverlayDirectory());
+
+        this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> newDaemonThread(runnable,
+                "external-config-reload"));
+        this.watchThread = newDaemonThread(this::watchLoop, "external-config-watch");
+        this.watchThread.start();
+
+        LOG.info("Watching {} for changes", propertiesPath);
+    }
+
+    private WatchKey registerOverlayDirectory(Path overlayDirectory) throws IOException {
+        if (isNull(overlayDirectory) || !Files.isDirectory(overlayDirectory)) {
+            return null;
+        }
+
+        LOG.info("Watching overlay directory {} for changes", overlayDirectory);
+        return overlayDirectory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+    }
+
+    /**
+     * Starts watching the properties file of the given provider, using the {@link #DEFAULT_DEBOUNCE default debounce}.
+     *
+     * @param provider the provider to reload when its file changes
+     * @return a new watcher, which must be closed when no longer needed
+     * @throws UncheckedIOException if the parent directory of the properties file cannot be watched
+     */
+    public static ExternalConfigFileWatcher watch(ExternalConfigProvider provider) {
+        return watch(provider, DEFAULT_DEBOUNCE);
+    }
+
+    /**
+     * Starts watching the properties file of the given provider.
+     *
+     * @param provider the provider to reload when its file changes
+     * @param debounce how long to wait after the last change before reloading
+     * @return a new watcher, which must be closed when no longer needed
+     * @throws IllegalArgumentException if the provider's properties are not loaded from a file
+     * @throws UncheckedIOException if the parent directory of the properties file cannot be watched
+     */
+    public static ExternalConfigFileWatcher watch(ExternalConfigProvider provider, Duration debounce) {
+        requireNonNull(provider, "provider must not be null");
+        checkArgument(nonNull(debounce) && !debounce.isNegative(), "debounce must not be null or negative");
+        checkArgument(!provider.isPublished(), "provider properties are published by another source, not a file");
+
+        try {
+            return new ExternalConfigFileWatcher(provider, debounce);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to watch " + provider.getPropertiesPath(), e);
+        }
+    }
+
+    /**
+     * @return the number of times the provider has been reloaded by this watcher
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * @return true if this watcher has been closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void watchLoop() {
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+
+            if (affectsWatchedFile(key)) {
+                scheduleReload();
+            }
+
+            if (!key.reset()) {
+                LOG.warn("Stopped watching {} because its directory is no longer accessible", watchedFileName);
+                return;
+            }
+        }
+    }
+
+    private boolean affectsWatchedFile(WatchKey key) {
+        if (key.equals(keyPerFileDirectoryKey)) {
+            return keyPerFileDirectoryChanged(key);
+        }
+
+        var isOverlayKey = key.equals(overlayKey);
+        var affected = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (isOverlayKey || event.kind() == OVERFLOW || watchedFileName.equals(event.context())) {
+                affected = true;
+            }
+        }
+        return affected;
+    }
+
+    private boolean keyPerFileDirectoryChanged(WatchKey key) {
+        if (key.pollEvents().isEmpty()) {
+            return false;
+        }
+
+        var dataTarget = KeyPerFileProperties.readDataTarget(keyPerFileDirectory);
+        if (isNull(dataTarget) && isNull(lastDataTarget)) {
+            return true;
+        }
+
+        if (Objects.equals(dataTarget, lastDataTarget)) {
+            return false;
+        }
+
+        LOG.debug("{} in {} now points to {}", KeyPerFileProperties.DATA_LINK, keyPerFileDirectory, dataTarget);
+        lastDataTarget = dataTarget;
+        return true;
+    }
+
+    private synchronized void scheduleReload() {
+        if (closed) {
+            return;
+        }
+
+        if (nonNull(pendingReload)) {
+            pendingReload.cancel(false);
+        }
+
+        pendingReload = reloadExecutor.schedule(this::reload, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void reload() {
+        try {
+            provider.reload();
+            reloadCount.incrementAndGet();
+            LOG.debug("Reloaded external configuration from {}", provider.getPropertiesPath());
+        } catch (RuntimeException e) {
+            LOG.error("Unable to reload external configuration from {}", provider.getPropertiesPath(), e);
+        }
+    }
+
+    /**
+     * Stops watching the file. Any pending reload is cancelled.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        reloadExecutor.shutdownNow();
+        watchThread.interrupt();
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOG.warn("Error closing watch service for {}", watchedFileName, e);
+        }
+    }
+
+    private static Thread newDaemonThread(Runnable runnable, String name) {
+        var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
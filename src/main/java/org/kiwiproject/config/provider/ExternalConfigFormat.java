@@ -0,0 +1,90 @@
+package org.kiwiproject.config.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The file formats an external configuration file can be written in, chosen by file extension.
+ */
+enum ExternalConfigFormat {
+
+    /**
+     * Java properties, used for any file that does not have a JSON or YAML extension.
+     */
+    PROPERTIES(null),
+
+    /**
+     * JSON, for files ending in {@code .json}.
+     */
+    JSON(new JsonFactory()),
+
+    /**
+     * YAML, for files ending in {@code .yml} or {@code .yaml}.
+     */
+    YAML(new YAMLFactory());
+
+    private final JsonFactory jsonFactory;
+
+    ExternalConfigFormat(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @param path the path of a configuration file
+     * @return the format of the file, based on its extension
+     */
+    static ExternalConfigFormat of(Path path) {
+        var fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".json")) {
+            return JSON;
+        } else if (fileName.endsWith(".yml") || fileName.endsWith(".yaml")) {
+            return YAML;
+        }
+        return PROPERTIES;
+    }
+
+    /**
+     * @return true if files in this format are nested documents that are flattened into dotted keys
+     */
+    boolean isStructured() {
+        return this != PROPERTIES;
+    }
+
+    JsonFactory getJsonFactory() {
+        return jsonFactory;
+    }
+
+    /**
+     * Parses a file in this format, whatever its extension.
+     *
+     * @param path the file to parse
+     * @return the properties in the file, with nested keys flattened for structured formats
+     * @throws IOException              if the file cannot be read or is not valid in this format
+     * @throws IllegalArgumentException if a properties file contains a malformed escape
+     */
+    Map<String, String> load(Path path) throws IOException {
+        if (isStructured()) {
+            return StructuredProperties.load(path, jsonFactory);
+        }
+
+        var loadedProperties = new Properties();
+        try (var reader = Files.newBufferedReader(path)) {
+            loadedProperties.load(reader);
+        }
+        return toImmutableMap(loadedProperties);
+    }
+
+    static Map<String, String> toImmutableMap(Properties loadedProperties) {
+        var entries = new HashMap<String, String>(loadedProperties.size() * 2);
+        loadedProperties.forEach((key, value) -> entries.put((String) key, (String) value));
+        return Map.copyOf(entries);
+    }
+}
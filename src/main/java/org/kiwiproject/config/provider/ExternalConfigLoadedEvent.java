@@ -0,0 +1,74 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.isNull;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Java Flight Recorder event for the loading of the external configuration by an {@link ExternalConfigProvider}.
+ * <p>
+ * The duration of the event is the time taken to read, parse and interpolate the properties, including any overlay
+ * files. Nothing is recorded when loading fails, since the current properties are kept.
+ */
+@Name(ExternalConfigLoadedEvent.NAME)
+@Label("External Config Loaded")
+@Category({"Kiwi", "Config Providers"})
+@Description("The external configuration properties were loaded")
+@StackTrace(false)
+final class ExternalConfigLoadedEvent extends Event {
+
+    static final String NAME = "org.kiwiproject.config.ExternalConfigLoaded";
+
+    @Label("Path")
+    @Description("The path of the properties file or directory")
+    String path;
+
+    @Label("Overlay Directory")
+    @Description("The directory of overlay files, if any")
+    String overlayDirectory;
+
+    @Label("Size")
+    @Description("The size of the properties file, or zero for a directory")
+    @DataAmount
+    long bytes;
+
+    @Label("Key Count")
+    @Description("The number of properties that were loaded")
+    int keyCount;
+
+    /**
+     * Ends this event and commits it if it passes the recording settings, only reading the size of the file then.
+     *
+     * @param propertiesPath   the path the properties were loaded from
+     * @param overlayDirectory the overlay directory, which may be null
+     * @param index            the loaded properties
+     */
+    void complete(Path propertiesPath, Path overlayDirectory, PropertyIndex index) {
+        end();
+        if (shouldCommit()) {
+            this.path = propertiesPath.toString();
+            this.overlayDirectory = isNull(overlayDirectory) ? null : overlayDirectory.toString();
+            this.bytes = sizeOf(propertiesPath);
+            this.keyCount = index.size();
+            commit();
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.isRegularFile(path) ? Files.size(path) : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.kiwiproject.config.provider;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes a binary sidecar file holding the already-parsed contents of an external properties file.
+ * <p>
+ * The cache records the size, last modified time and a CRC-32C checksum of the properties file it was built from,
+ * followed by the key/value table. It is only used when all three match the current file, so a stale or corrupt
+ * cache is simply ignored and rewritten. Reading a fresh cache is a single bulk read with no properties parsing.
+ * <p>
+ * The cache is written to a temporary file and then renamed over the old one, so processes starting at the same
+ * time never read a partly written cache.
+ */
+@Slf4j
+@UtilityClass
+class ExternalConfigParseCache {
+
+    private static final int MAGIC = 0x4b504331;  // "KPC1"
+
+    /**
+     * Each entry holds at least the lengths of its key and value.
+     */
+    private static final int MIN_ENTRY_BYTES = 2 * Integer.BYTES;
+
+    /**
+     * Identifies the exact contents of a properties file.
+     */
+    @Value
+    static class SourceFingerprint {
+        long size;
+        long lastModifiedMillis;
+        long checksum;
+
+        static SourceFingerprint of(byte[] content, long lastModifiedMillis) {
+            var crc = new CRC32C();
+            crc.update(content);
+            return new SourceFingerprint(content.length, lastModifiedMillis, crc.getValue());
+        }
+    }
+
+    /**
+     * Reads the cached properties if the cache exists and was built from a file with the given fingerprint.
+     *
+     * @param cachePath   the path of the cache file
+     * @param fingerprint the fingerprint of the current properties file
+     * @return an immutable map of the cached properties, or null if the cache is missing, stale or unreadable
+     */
+    static Map<String, String> readIfFresh(Path cachePath, SourceFingerprint fingerprint) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(cachePath);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Unable to read external config parse cache {}; will re-parse", cachePath, e);
+            return null;
+        }
+
+        try {
+            return decode(ByteBuffer.wrap(bytes), fingerprint);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            LOG.warn("External config parse cache {} is corrupt; will re-parse", cachePath);
+            return null;
+        }
+    }
+
+    private static Map<String, String> decode(ByteBuffer buffer, SourceFingerprint fingerprint) {
+        if (buffer.getInt() != MAGIC
+                || buffer.getLong() != fingerprint.getSize()
+                || buffer.getLong() != fingerprint.getLastModifiedMillis()
+                || buffer.getLong() != fingerprint.getChecksum()) {
+            LOG.debug("External config parse cache is stale");
+            return null;
+        }
+
+        var count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / MIN_ENTRY_BYTES) {
+            throw new IllegalArgumentException("invalid entry count");
+        }
+
+        var entries = new HashMap<String, String>(count * 2);
+        for (var i = 0; i < count; i++) {
+            entries.put(readString(buffer), readString(buffer));
+        }
+
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("unexpected trailing bytes");
+        }
+
+        return Map.copyOf(entries);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid string length");
+        }
+
+        var value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Writes the given properties to the cache. Failures are logged and otherwise ignored, since the cache is only
+     * an optimization.
+     *
+     * @param cachePath   the path of the cache file
+     * @param fingerprint the fingerprint of the properties file the properties were parsed from
+     * @param properties  the parsed properties
+     */
+    static void write(Path cachePath, SourceFingerprint fingerprint, Map<String, String> properties) {
+        try {
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeLong(fingerprint.getSize());
+            out.writeLong(fingerprint.getLastModifiedMillis());
+            out.writeLong(fingerprint.getChecksum());
+            out.writeInt(properties.size());
+            for (var entry : properties.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+            out.flush();
+
+            var directory = cachePath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            var tempFile = Files.createTempFile(directory, cachePath.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempFile, bytes.toByteArray());
+                moveIntoPlace(tempFile, cachePath);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to write external config parse cache {}", cachePath, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void moveIntoPlace(Path tempFile, Path cachePath) throws IOException {
+        try {
+            Files.move(tempFile, cachePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, cachePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
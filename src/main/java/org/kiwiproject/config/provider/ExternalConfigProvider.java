@@ -1,10 +1,11 @@
 package org.kiwiproject.config.provider;
 
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
-import static org.kiwiproject.collect.KiwiMaps.isNotNullOrEmpty;
 
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -12,21 +13,34 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.kiwiproject.base.DefaultEnvironment;
 import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * Config provider that looks up configuration values from a known properties file. This provider loads the properties
  * so that other providers can access the values.
  * <p>
+ * Files ending in {@code .json}, {@code .yml} or {@code .yaml} are read as nested JSON or YAML documents and
+ * flattened into dotted keys (see {@link #getStructuredProperty(String)} for reading whole nested objects). All other
+ * files are read as Java properties.
+ * <p>
+ * If the path is a directory, it is read as a key-per-file directory, such as a Kubernetes ConfigMap or Secret
+ * mounted as a volume: each file name is a key and the file content is its value. See {@link KeyPerFileProperties}.
+ * <p>
  * The provider will look for the external config file in the following order:
  * <ol>
  *     <li>System property with the given system property key</li>
@@ -49,7 +63,45 @@ public class ExternalConfigProvider implements ConfigProvider {
     @Getter(AccessLevel.PACKAGE)
     private Path propertiesPath;
 
-    private Properties properties;
+    /**
+     * Whether the properties file is loaded with {@link MemoryMappedProperties} instead of {@link Properties}.
+     */
+    @Getter
+    private final boolean memoryMapped;
+
+    /**
+     * Optional path of a binary cache of the parsed properties; see {@link ExternalConfigParseCache}.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Path parseCachePath;
+
+    /**
+     * Optional directory of overlay properties files that are layered over the properties file.
+     */
+    @Getter
+    private final Path overlayDirectory;
+
+    private final OverlayLayers overlayLayers;
+
+    /**
+     * Whether {@code ${...}} placeholders in values are replaced when the properties are loaded.
+     */
+    @Getter
+    private final boolean interpolate;
+
+    private final UnaryOperator<String> environmentLookup;
+
+    /**
+     * Whether the properties are published by another source (see {@link #publish(PropertyIndex)}) instead of being
+     * loaded from the properties path.
+     */
+    private final boolean published;
+
+    /**
+     * The loaded properties, as an immutable index published through a volatile reference. A new index is built
+     * completely before it replaces the old one, so readers never see a partially loaded file and never need to lock.
+     */
+    private volatile PropertyIndex properties = PropertyIndex.EMPTY;
 
     /**
      * Builds a new ExternalConfigProvider
@@ -58,29 +110,132 @@ public class ExternalConfigProvider implements ConfigProvider {
      * @param systemPropertyKey   A System property key that resolves the path to the external properties file
      * @param envVariable         A variable name that resolves the path to the external properties file from the system environment
      * @param environment         The {@link KiwiEnvironment} to use for resolving environment variables
+     * @param resolutionSnapshot  An optional {@link ResolutionSnapshot} to resolve the system property and environment
+     *                            variable from instead of the live system properties and environment
+     * @param memoryMapped        If true, memory-map the properties file and decode each value the first time it is
+     *                            looked up, instead of reading the whole file with {@link Properties#load}. The file
+     *                            must be UTF-8 encoded, and should be replaced using an atomic rename.
+     * @param parseCachePath      An optional path to a binary cache of the parsed properties, which lets later
+     *                            processes skip parsing while the properties file is unchanged. The cache is
+     *                            validated against the size, modification time and checksum of the properties file,
+     *                            and is rewritten whenever it is stale. Not used when {@code memoryMapped} is true.
+     * @param overlayDirectory    An optional directory (e.g. {@code conf.d}) whose {@code *.properties} files are
+     *                            layered over the properties file in file name order, with later files overriding
+     *                            earlier ones. On reload, only the files that changed are parsed again.
+     * @param interpolate         If true, replace {@code ${other.key}} and {@code ${env:VARIABLE}} placeholders in
+     *                            values once when the properties are loaded, so lookups return the final values.
+     *                            Environment variables come from the resolution snapshot if given, otherwise from the
+     *                            environment. Loading fails (keeping any previous properties) if values reference
+     *                            each other in a cycle. See {@link PropertyInterpolator}.
      *
      * @see ExternalConfigProvider#DEFAULT_CONFIG_PATH
      * @see ExternalConfigProvider#DEFAULT_CONFIG_PATH_SYSTEM_PROPERTY
      * @see ExternalConfigProvider#DEFAULT_CONFIG_PATH_ENV_VARIABLE
      */
     @Builder
-    private ExternalConfigProvider(Path explicitPath, String systemPropertyKey, String envVariable, KiwiEnvironment environment) {
+    private ExternalConfigProvider(Path explicitPath,
+                                   String systemPropertyKey,
+                                   String envVariable,
+                                   KiwiEnvironment environment,
+                                   ResolutionSnapshot resolutionSnapshot,
+                                   boolean memoryMapped,
+                                   Path parseCachePath,
+                                   Path overlayDirectory,
+                                   boolean interpolate) {
+        this.memoryMapped = memoryMapped;
+        this.parseCachePath = parseCachePath;
+        this.overlayDirectory = overlayDirectory;
+        this.overlayLayers = isNull(overlayDirectory) ? null : new OverlayLayers(overlayDirectory);
+        this.interpolate = interpolate;
+        this.environmentLookup = environmentLookup(environment, resolutionSnapshot);
+        this.published = false;
+        setPropertiesPath(resolvePropertiesPath(explicitPath, systemPropertyKey, envVariable, environment, resolutionSnapshot));
+    }
+
+    /**
+     * Creates a new ExternalConfigProvider for a path that has already been resolved.
+     *
+     * @param propertiesPath the resolved path to the external properties file
+     * @see ExternalConfigProviderRegistry
+     */
+    ExternalConfigProvider(Path propertiesPath) {
+        this(propertiesPath, false);
+    }
+
+    /**
+     * Creates a new ExternalConfigProvider that either loads the given path, or, if {@code published} is true, starts
+     * out empty and only changes when another source calls {@link #publish(PropertyIndex)}. In that case the path only
+     * describes where the properties come from and is never read.
+     *
+     * @param propertiesPath the resolved path to the external properties file, or a description of the source
+     * @param published      whether the properties are published by another source instead of loaded from the path
+     * @see ZooKeeperExternalConfigSource
+     */
+    ExternalConfigProvider(Path propertiesPath, boolean published) {
+        this.memoryMapped = false;
+        this.parseCachePath = null;
+        this.overlayDirectory = null;
+        this.overlayLayers = null;
+        this.interpolate = false;
+        this.environmentLookup = null;
+        this.published = published;
+
+        if (published) {
+            this.propertiesPath = propertiesPath;
+        } else {
+            setPropertiesPath(propertiesPath);
+        }
+    }
+
+    private static UnaryOperator<String> environmentLookup(KiwiEnvironment environment,
+                                                          ResolutionSnapshot resolutionSnapshot) {
+        if (nonNull(resolutionSnapshot)) {
+            return resolutionSnapshot::getenv;
+        }
+
         var kiwiEnvironment = isNull(environment) ? new DefaultEnvironment() : environment;
+        return kiwiEnvironment::getenv;
+    }
+
+    /**
+     * Resolves the path to the external properties file using the same lookup order as the builder.
+     *
+     * @param explicitPath        An explicit path to the external properties file
+     * @param systemPropertyKey   A System property key that resolves the path to the external properties file
+     * @param envVariable         A variable name that resolves the path to the external properties file from the system environment
+     * @param environment         The {@link KiwiEnvironment} to use for resolving environment variables
+     * @param resolutionSnapshot  An optional {@link ResolutionSnapshot} to resolve the system property and environment
+     *                            variable from
+     * @return the resolved path, which may not exist
+     */
+    static Path resolvePropertiesPath(Path explicitPath,
+                                      String systemPropertyKey,
+                                      String envVariable,
+                                      KiwiEnvironment environment,
+                                      ResolutionSnapshot resolutionSnapshot) {
         var configPathEnvVariable = isBlank(envVariable) ? DEFAULT_CONFIG_PATH_ENV_VARIABLE : envVariable;
         var configPathSystemPropertyKey = isBlank(systemPropertyKey) ? DEFAULT_CONFIG_PATH_SYSTEM_PROPERTY : systemPropertyKey;
 
-        var pathFromSystemProperties = System.getProperty(configPathSystemPropertyKey);
-        var pathFromEnv = kiwiEnvironment.getenv(configPathEnvVariable);
+        String pathFromSystemProperties;
+        String pathFromEnv;
+        if (nonNull(resolutionSnapshot)) {
+            pathFromSystemProperties = resolutionSnapshot.getSystemProperty(configPathSystemPropertyKey);
+            pathFromEnv = resolutionSnapshot.getenv(configPathEnvVariable);
+        } else {
+            var kiwiEnvironment = isNull(environment) ? new DefaultEnvironment() : environment;
+            pathFromSystemProperties = System.getProperty(configPathSystemPropertyKey);
+            pathFromEnv = kiwiEnvironment.getenv(configPathEnvVariable);
+        }
 
         if (isNotBlank(pathFromSystemProperties)) {
-            setPropertiesPath(Path.of(pathFromSystemProperties));
+            return Path.of(pathFromSystemProperties);
         } else if (isNotBlank(pathFromEnv)) {
-            setPropertiesPath(Path.of(pathFromEnv));
+            return Path.of(pathFromEnv);
         } else if (nonNull(explicitPath)) {
-            setPropertiesPath(explicitPath);
-        } else {
-            setPropertiesPath(DEFAULT_CONFIG_PATH);
+            return explicitPath;
         }
+
+        return DEFAULT_CONFIG_PATH;
     }
 
     /**
@@ -90,25 +245,140 @@ public class ExternalConfigProvider implements ConfigProvider {
      */
     @Override
     public boolean canProvide() {
-        return isNotNullOrEmpty(properties);
+        return !properties.isEmpty();
     }
 
     private void setPropertiesPath(Path configPath) {
         this.propertiesPath = configPath;
-        updateProperties();
+        reload();
+    }
+
+    /**
+     * Reads the external properties file again and atomically replaces the current properties with its contents.
+     * Lookups that happen while the file is being read continue to see the previous properties.
+     * <p>
+     * If the file no longer exists, the properties are replaced with an empty set, the same as when the provider is
+     * created for a file that does not exist. If reading the file fails part way, the current properties are kept.
+     * <p>
+     * When an overlay directory is configured, the properties file and the overlay files are merged into a single
+     * index, and only the files that changed since the last load are parsed again.
+     * <p>
+     * Does nothing if the properties are published by another source, such as a
+     * {@link ZooKeeperExternalConfigSource}.
+     *
+     * @see ExternalConfigFileWatcher
+     */
+    public synchronized void reload() {
+        if (published) {
+            return;
+        }
+
+        if (nonNull(overlayLayers)) {
+            reloadLayers();
+            return;
+        }
+
+        if (!Files.isReadable(propertiesPath)) {
+            properties = PropertyIndex.EMPTY;
+            return;
+        }
+
+        try {
+            LOG.debug("Looking up configuration values from file {}", propertiesPath);
+            var event = new ExternalConfigLoadedEvent();
+            event.begin();
+            properties = interpolateIfEnabled(PropertyIndex.of(loadBase(propertiesPath)));
+            event.complete(propertiesPath, null, properties);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.error("Unable to load properties from file: {}", propertiesPath, e);
+        }
+    }
+
+    private void reloadLayers() {
+        try {
+            LOG.debug("Looking up configuration values from file {} and overlays in {}",
+                    propertiesPath, overlayDirectory);
+            var event = new ExternalConfigLoadedEvent();
+            event.begin();
+            properties = interpolateIfEnabled(overlayLayers.load(propertiesPath, this::loadBase, this::loadFile));
+            event.complete(propertiesPath, overlayDirectory, properties);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.error("Unable to load properties from file: {} with overlays in {}",
+                    propertiesPath, overlayDirectory, e);
+        }
     }
 
-    private void updateProperties() {
-        properties = new Properties();
+    /**
+     * Atomically replaces the current properties of a provider whose properties are published by another source.
+     *
+     * @param index the new properties
+     */
+    void publish(PropertyIndex index) {
+        checkState(published, "properties of %s are loaded from the file, not published", propertiesPath);
+        properties = requireNonNull(index);
+    }
+
+    /**
+     * @return the currently loaded properties
+     */
+    PropertyIndex currentIndex() {
+        return properties;
+    }
 
-        if (Files.isReadable(propertiesPath)) {
-            try (var reader = Files.newBufferedReader(propertiesPath)) {
-                LOG.debug("Looking up configuration values from file {}", propertiesPath);
-                properties.load(reader);
-            } catch (IOException e) {
-                LOG.error("Unable to load properties from file: {}", propertiesPath, e);
-            }
+    /**
+     * @return true if the properties are published by another source instead of loaded from the properties path
+     */
+    boolean isPublished() {
+        return published;
+    }
+
+    private PropertyIndex interpolateIfEnabled(PropertyIndex index) {
+        if (!interpolate) {
+            return index;
         }
+        return index.withProperties(PropertyInterpolator.interpolate(index.asMap(), environmentLookup));
+    }
+
+    private Map<String, String> loadBase(Path path) throws IOException {
+        var cacheable = !memoryMapped
+                && ExternalConfigFormat.of(path) == ExternalConfigFormat.PROPERTIES
+                && !Files.isDirectory(path);
+        if (nonNull(parseCachePath) && cacheable) {
+            return loadPropertiesWithCache(path);
+        }
+        return loadFile(path);
+    }
+
+    private Map<String, String> loadFile(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            return KeyPerFileProperties.load(path);
+        }
+
+        var format = ExternalConfigFormat.of(path);
+        if (!format.isStructured() && memoryMapped) {
+            return MemoryMappedProperties.load(path);
+        }
+        return format.load(path);
+    }
+
+    private Map<String, String> loadPropertiesWithCache(Path path) throws IOException {
+        var lastModified = Files.getLastModifiedTime(path).toMillis();
+        var content = Files.readAllBytes(path);
+        var fingerprint = ExternalConfigParseCache.SourceFingerprint.of(content, lastModified);
+
+        var cached = ExternalConfigParseCache.readIfFresh(parseCachePath, fingerprint);
+        if (nonNull(cached)) {
+            LOG.debug("Loaded external configuration from parse cache {}", parseCachePath);
+            return cached;
+        }
+
+        var loadedProperties = new Properties();
+        var text = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(content));
+        loadedProperties.load(new StringReader(text.toString()));
+
+        var parsed = ExternalConfigFormat.toImmutableMap(loadedProperties);
+        ExternalConfigParseCache.write(parseCachePath, fingerprint, parsed);
+        return parsed;
     }
 
     /**
@@ -118,7 +388,83 @@ public class ExternalConfigProvider implements ConfigProvider {
      * @return An {@link Optional} with the requested property or empty if not found
      */
     public Optional<String> getProperty(String propertyKey) {
-        return canProvide() ? Optional.ofNullable(properties.getProperty(propertyKey)) : Optional.empty();
+        return Optional.ofNullable(getPropertyOrNull(propertyKey));
+    }
+
+    /**
+     * Returns a property for a given key, or null if it does not exist. Unlike {@link #getProperty(String)} this does
+     * not allocate, which makes it suitable for callers that look up properties frequently.
+     *
+     * @param propertyKey the key of the property to look up
+     * @return the value of the property, or null if not found
+     */
+    public String getPropertyOrNull(String propertyKey) {
+        return isNull(propertyKey) ? null : properties.get(propertyKey);
+    }
+
+    /**
+     * Returns a property for a given key, or the given default value if it does not exist.
+     *
+     * @param propertyKey  the key of the property to look up
+     * @param defaultValue the value to return if the property is not found
+     * @return the value of the property, or {@code defaultValue} if not found
+     */
+    public String getProperty(String propertyKey, String defaultValue) {
+        var value = getPropertyOrNull(propertyKey);
+        return isNull(value) ? defaultValue : value;
+    }
+
+    /**
+     * Returns the structured value of a nested object from a JSON or YAML external config file, e.g. the whole
+     * {@code datasource.ormProperties} object rather than its individual flattened keys.
+     *
+     * @param propertyKey the dotted key of the object
+     * @return an unmodifiable map of the object's fields, or empty if the key does not name an object
+     */
+    public Optional<Map<String, Object>> getStructuredProperty(String propertyKey) {
+        return Optional.ofNullable(getStructuredPropertyOrNull(propertyKey));
+    }
+
+    /**
+     * Same as {@link #getStructuredProperty(String)}, but returns null instead of an empty Optional.
+     *
+     * @param propertyKey the dotted key of the object
+     * @return an unmodifiable map of the object's fields, or null if the key does not name an object
+     */
+    public Map<String, Object> getStructuredPropertyOrNull(String propertyKey) {
+        return isNull(propertyKey) ? null : properties.getStructuredValue(propertyKey);
+    }
+
+    /**
+     * Returns the file that the value of a property was loaded from. This is the properties file itself unless an
+     * overlay directory is configured, in which case it is the last layer that defines the key.
+     *
+     * @param propertyKey the key of the property to look up
+     * @return the file the property came from, or empty if the property is not found
+     */
+    public Optional<Path> getPropertySource(String propertyKey) {
+        var current = properties;
+        if (isNull(propertyKey) || isNull(current.get(propertyKey))) {
+            return Optional.empty();
+        }
+
+        var source = current.sourceOf(propertyKey);
+        return Optional.of(isNull(source) ? propertiesPath : source);
+    }
+
+    /**
+     * Returns all the properties whose keys start with the given prefix, e.g. {@code "tls."}, keyed by their full
+     * property keys and iterated in key order.
+     * <p>
+     * The returned map is an immutable view over the properties as they were when this method was called; it is not
+     * affected by later reloads. Finding the matching keys uses an index built when the file is loaded, so the cost
+     * depends on the number of matching keys rather than the size of the file.
+     *
+     * @param prefix the key prefix to match; an empty prefix matches every property
+     * @return an immutable view of the matching properties, which is empty if none match
+     */
+    public Map<String, String> getPropertiesWithPrefix(String prefix) {
+        return properties.withPrefix(prefix);
     }
 
     /**
@@ -150,13 +496,29 @@ public class ExternalConfigProvider implements ConfigProvider {
     }
 
     /**
-     * Will check if the given {@link ExternalConfigProvider} is null and return a new one if so. Otherwise, return the
-     * one passed in.
+     * Will check if the given {@link ExternalConfigProvider} is null and return the shared default one if so.
+     * Otherwise, return the one passed in.
+     * <p>
+     * The default provider is obtained from the {@link ExternalConfigProviderRegistry}, so the external properties
+     * file is only read again when it has changed since it was last loaded.
      *
      * @param provided an {@link ExternalConfigProvider} to test for null
-     * @return A new {@link ExternalConfigProvider} if the given {@code provided} is null or {@code provided}
+     * @return the shared default {@link ExternalConfigProvider} if the given {@code provided} is null or {@code provided}
      */
     public static ExternalConfigProvider getExternalPropertyProviderOrDefault(ExternalConfigProvider provided) {
-        return nonNull(provided) ? provided : ExternalConfigProvider.builder().build();
+        return getExternalPropertyProviderOrDefault(provided, null);
+    }
+
+    /**
+     * Same as {@link #getExternalPropertyProviderOrDefault(ExternalConfigProvider)}, except that the path of the
+     * default provider is resolved from the given {@link ResolutionSnapshot} when it is not null.
+     *
+     * @param provided           an {@link ExternalConfigProvider} to test for null
+     * @param resolutionSnapshot an optional snapshot to resolve the default path from
+     * @return the shared default {@link ExternalConfigProvider} if the given {@code provided} is null or {@code provided}
+     */
+    public static ExternalConfigProvider getExternalPropertyProviderOrDefault(ExternalConfigProvider provided,
+                                                                              ResolutionSnapshot resolutionSnapshot) {
+        return nonNull(provided) ? provided : ExternalConfigProviderRegistry.getDefault(resolutionSnapshot);
     }
 }
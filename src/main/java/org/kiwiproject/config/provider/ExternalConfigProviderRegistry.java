@@ -0,0 +1,129 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.nonNull;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide, thread-safe registry of loaded {@link ExternalConfigProvider} instances.
+ * <p>
+ * Providers are keyed by the canonical path of the external properties file. Each entry also records the last
+ * modified time and size of the file when it was loaded, and the file is only read again when either of those
+ * changes. This lets every config provider that is built without an explicit {@link ExternalConfigProvider} share
+ * a single loaded copy of the external properties instead of re-reading the file for every field.
+ */
+@Slf4j
+@UtilityClass
+public class ExternalConfigProviderRegistry {
+
+    private static final ConcurrentMap<Path, RegistryEntry> PROVIDERS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared provider for the default external properties path, which is resolved using the default
+     * system property and environment variable.
+     *
+     * @return the shared {@link ExternalConfigProvider} for the default path
+     * @see ExternalConfigProvider#DEFAULT_CONFIG_PATH_SYSTEM_PROPERTY
+     * @see ExternalConfigProvider#DEFAULT_CONFIG_PATH_ENV_VARIABLE
+     * @see ExternalConfigProvider#DEFAULT_CONFIG_PATH
+     */
+    public static ExternalConfigProvider getDefault() {
+        return getDefault(null);
+    }
+
+    /**
+     * Returns the shared provider for the default external properties path, which is resolved using the default
+     * system property and environment variable from the given snapshot.
+     *
+     * @param resolutionSnapshot the snapshot to resolve the path from; if null, the live system properties and
+     *                           environment are used
+     * @return the shared {@link ExternalConfigProvider} for the default path
+     */
+    public static ExternalConfigProvider getDefault(ResolutionSnapshot resolutionSnapshot) {
+        return getOrLoad(ExternalConfigProvider.resolvePropertiesPath(null, null, null, null, resolutionSnapshot));
+    }
+
+    /**
+     * Returns the shared provider for the given properties path, loading it if it has not been loaded yet or if the
+     * file has been modified since it was last loaded.
+     *
+     * @param propertiesPath the path to the external properties file
+     * @return the shared {@link ExternalConfigProvider} for the given path
+     */
+    public static ExternalConfigProvider getOrLoad(Path propertiesPath) {
+        var key = canonicalPathOf(propertiesPath);
+        var fingerprint = FileFingerprint.of(key);
+
+        var existing = PROVIDERS.get(key);
+        if (nonNull(existing) && existing.getFingerprint().equals(fingerprint)) {
+            return existing.getProvider();
+        }
+
+        return PROVIDERS.compute(key, (path, current) -> {
+            if (nonNull(current) && current.getFingerprint().equals(fingerprint)) {
+                return current;
+            }
+
+            LOG.debug("Loading shared external configuration from {}", path);
+            return new RegistryEntry(new ExternalConfigProvider(propertiesPath), fingerprint);
+        }).getProvider();
+    }
+
+    /**
+     * Removes the shared provider for the given path, if any, so that the next lookup reloads it.
+     *
+     * @param propertiesPath the path to the external properties file
+     */
+    public static void invalidate(Path propertiesPath) {
+        PROVIDERS.remove(canonicalPathOf(propertiesPath));
+    }
+
+    /**
+     * Removes all shared providers.
+     */
+    public static void clear() {
+        PROVIDERS.clear();
+    }
+
+    private static Path canonicalPathOf(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    @Value
+    private static class RegistryEntry {
+        ExternalConfigProvider provider;
+        FileFingerprint fingerprint;
+    }
+
+    @Value
+    private static class FileFingerprint {
+
+        private static final FileFingerprint MISSING = new FileFingerprint(-1, -1);
+
+        long lastModifiedMillis;
+        long size;
+
+        static FileFingerprint of(Path path) {
+            try {
+                var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileFingerprint(attributes.lastModifiedTime().toMillis(), attributes.size());
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+    }
+}
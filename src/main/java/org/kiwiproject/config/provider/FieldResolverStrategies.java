@@ -2,6 +2,7 @@ package org.kiwiproject.config.provider;
 
 import lombok.experimental.UtilityClass;
 
+import java.time.Duration;
 import java.util.function.Supplier;
 
 /**
@@ -66,4 +67,34 @@ public class FieldResolverStrategies {
     public static <T> FieldResolverStrategy<T> newSupplierFieldResolverStrategy(Supplier<T> supplier) {
         return FieldResolverStrategy.<T>builder().valueSupplier(supplier).build();
     }
+
+    /**
+     * Create a strategy that only resolves a Supplier, which is called once and whose value is then reused for every
+     * later resolution with this strategy. Concurrent resolutions share a single call to the supplier.
+     *
+     * @param <T> the type to resolve
+     * @param supplier the Supplier which will resolve the value
+     * @return a new instance, whose value supplier is a {@link MemoizingSupplier}
+     * @see MemoizingSupplier#memoize(Supplier)
+     */
+    public static <T> FieldResolverStrategy<T> newMemoizedSupplierFieldResolverStrategy(Supplier<T> supplier) {
+        return FieldResolverStrategy.<T>builder().valueSupplier(MemoizingSupplier.memoize(supplier)).build();
+    }
+
+    /**
+     * Create a strategy that only resolves a Supplier, whose value is reused for later resolutions with this strategy
+     * until it is older than the given time to live. Concurrent resolutions share a single call to the supplier.
+     *
+     * @param <T> the type to resolve
+     * @param supplier the Supplier which will resolve the value
+     * @param ttl how long a value may be reused
+     * @return a new instance, whose value supplier is a {@link MemoizingSupplier}
+     * @see MemoizingSupplier#memoizeWithExpiration(Supplier, Duration)
+     */
+    public static <T> FieldResolverStrategy<T> newExpiringSupplierFieldResolverStrategy(Supplier<T> supplier,
+                                                                                        Duration ttl) {
+        return FieldResolverStrategy.<T>builder()
+                .valueSupplier(MemoizingSupplier.memoizeWithExpiration(supplier, ttl))
+                .build();
+    }
 }
@@ -2,16 +2,22 @@ package org.kiwiproject.config.provider;
 
 import static org.kiwiproject.collect.KiwiMaps.isNotNullOrEmpty;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.Builder;
 import lombok.Getter;
 import org.kiwiproject.base.KiwiEnvironment;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.JsonMapConverter;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
-import org.kiwiproject.json.JsonHelper;
+import org.kiwiproject.config.provider.util.StructuredValues;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Config provider that provides defaults when using Hibernate.
@@ -26,8 +32,6 @@ import java.util.Map;
  */
 public class HibernateConfigProvider implements ConfigProvider {
 
-    private static final JsonHelper JSON_HELPER = JsonHelper.newDropwizardJsonHelper();
-
     public static final String DEFAULT_HIBERNATE_SYSTEM_PROPERTY = "kiwi.hibernate.properties";
 
     public static final String DEFAULT_HIBERNATE_ENV_VARIABLE = "KIWI_HIBERNATE_PROPERTIES";
@@ -40,33 +44,55 @@ public class HibernateConfigProvider implements ConfigProvider {
             "hibernate.use_sql_comments", true
     );
 
+    private static final FieldDescriptor<Map<String, Object>> HIBERNATE_PROPERTIES_FIELD =
+            FieldDescriptor.<Map<String, Object>>builder()
+                    .name("hibernateProperties")
+                    .systemProperty(DEFAULT_HIBERNATE_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_HIBERNATE_ENV_VARIABLE)
+                    .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(JsonMapConverter::toObjectMap)
+                    .convertFromMap(StructuredValues::toMutableMap)
+                    .build();
+
     @Getter
     private final Map<String, Object> hibernateProperties;
 
     private final ResolvedBy hibernatePropertiesResolvedBy;
 
+    private final Map<String, String> resolvedSourceNames;
+
 
     @Builder
     private HibernateConfigProvider(ExternalConfigProvider externalConfigProvider,
                                     KiwiEnvironment kiwiEnvironment,
+                                    ResolutionSnapshot resolutionSnapshot,
+                                    PropertySourceChain propertySources,
+                                    Executor resolutionExecutor,
+                                    ResolutionInstrumentation instrumentation,
                                     FieldResolverStrategy<Map<String, Object>> resolverStrategy) {
+        var constructionStart = System.nanoTime();
 
-        var resolution = SinglePropertyResolver.resolveProperty(PropertyResolutionSettings.<Map<String, Object>>builder()
+        var resolver = BatchPropertyResolver.builder()
                 .externalConfigProvider(externalConfigProvider)
                 .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(resolverStrategy)
-                .systemProperty(DEFAULT_HIBERNATE_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_HIBERNATE_ENV_VARIABLE)
-                .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
-                .defaultValue(DEFAULT_HIBERNATE_PROPERTIES)
-                .convertFromString(value -> JSON_HELPER.toMap(value, new TypeReference<>() {}))
-                .build());
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
+
+        var resolution = resolver.resolve(
+                FieldRequest.of(HIBERNATE_PROPERTIES_FIELD, resolverStrategy, DEFAULT_HIBERNATE_PROPERTIES));
 
         var mergedProperties = new HashMap<>(DEFAULT_HIBERNATE_PROPERTIES);
         mergedProperties.putAll(resolution.getValue());
 
         this.hibernateProperties = mergedProperties;
         this.hibernatePropertiesResolvedBy = resolution.getResolvedBy();
+        this.resolvedSourceNames = resolution.toSourceNameMap("hibernateProperties");
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, HibernateConfigProvider.class,
+                constructionStart);
     }
 
     @Override
@@ -78,4 +104,15 @@ public class HibernateConfigProvider implements ConfigProvider {
     public Map<String, ResolvedBy> getResolvedBy() {
         return Map.of("hibernateProperties", hibernatePropertiesResolvedBy);
     }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link HibernateConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class HibernateConfigProviderBuilder implements ConfigProviderBuilder<HibernateConfigProvider> {
+    }
 }
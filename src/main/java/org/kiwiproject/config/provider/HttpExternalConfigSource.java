@@ -0,0 +1,267 @@
+package org.kiwiproject.config.provider;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches external configuration from an HTTP config service and serves it through an {@link ExternalConfigProvider},
+ * so that it can be used by any config provider that takes one.
+ * <p>
+ * The document is refreshed on a background schedule using conditional GET requests: the {@code ETag} of the last
+ * response is sent as {@code If-None-Match}, and a {@code 304 Not Modified} response costs no parsing. Each new
+ * document is written to a temporary file and parsed, then moved over a local cache file (with an atomic rename)
+ * before the provider reloads it, and the {@code ETag} is kept next to it in a {@code .etag} file. A document that
+ * cannot be parsed is rejected, and neither it nor its {@code ETag} is stored.
+ * <p>
+ * At startup, if the cache file already exists the provider loads it immediately and the first fetch happens in the
+ * background, so a slow or unavailable config service never delays startup. If there is no cache file yet, one fetch
+ * is attempted before returning. Failed fetches are logged and the last good copy stays in use.
+ * <p>
+ * The format of the document is taken from the extension of the cache file, e.g. {@code remote-config.json} for a
+ * JSON document or {@code remote-config.properties} for properties.
+ */
+@Slf4j
+public class HttpExternalConfigSource implements Closeable {
+
+    /**
+     * The default time between refreshes.
+     */
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * The default timeout for each request to the config service.
+     */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int NOT_MODIFIED = 304;
+
+    @Getter
+    private final URI uri;
+
+    @Getter
+    private final Path cachePath;
+
+    private final Path etagPath;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService refreshExecutor;
+    private final AtomicLong updateCount = new AtomicLong();
+
+    /**
+     * The provider serving the cached document; see {@link #getExternalConfigProvider()}.
+     */
+    @Getter
+    private final ExternalConfigProvider externalConfigProvider;
+
+    private volatile String etag;
+
+    /**
+     * Creates a new source and starts refreshing it in the background.
+     *
+     * @param uri             the URI of the config document
+     * @param cachePath       the local file the last good copy of the document is kept in
+     * @param refreshInterval the time between refreshes; defaults to {@link #DEFAULT_REFRESH_INTERVAL}
+     * @param requestTimeout  the timeout for each request; defaults to {@link #DEFAULT_REQUEST_TIMEOUT}
+     * @param httpClient      the client to use; if null, a new client is created
+     */
+    @Builder
+    private HttpExternalConfigSource(URI uri,
+                                     Path cachePath,
+                                     Duration refreshInterval,
+                                     Duration requestTimeout,
+                                     HttpClient httpClient) {
+        this.uri = requireNonNull(uri, "uri must not be null");
+        this.cachePath = requireNonNull(cachePath, "cachePath must not be null").toAbsolutePath();
+        this.etagPath = this.cachePath.resolveSibling(this.cachePath.getFileName() + ".etag");
+        this.requestTimeout = isNull(requestTimeout) ? DEFAULT_REQUEST_TIMEOUT : requestTimeout;
+        this.httpClient = isNull(httpClient) ? newHttpClient(this.requestTimeout) : httpClient;
+
+        var interval = isNull(refreshInterval) ? DEFAULT_REFRESH_INTERVAL : refreshInterval;
+        checkArgument(!interval.isNegative() && !interval.isZero(), "refreshInterval must be positive");
+
+        var hasCachedCopy = Files.isReadable(this.cachePath);
+        if (hasCachedCopy) {
+            this.etag = readEtag();
+        } else {
+            refreshQuietly();
+        }
+
+        this.externalConfigProvider = new ExternalConfigProvider(this.cachePath);
+
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "http-external-config-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        var initialDelayMillis = hasCachedCopy ? 0 : interval.toMillis();
+        refreshExecutor.scheduleWithFixedDelay(this::refreshQuietly, initialDelayMillis, interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static HttpClient newHttpClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Fetches the document now, if it has changed since the last fetch.
+     *
+     * @return true if a new copy of the document was stored and loaded, false if it was not modified
+     * @throws IOException          if the request fails, the service responds with an unexpected status, or the
+     *                              document cannot be parsed or stored
+     * @throws InterruptedException if interrupted while waiting for the response
+     */
+    public synchronized boolean refresh() throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET();
+        var currentEtag = etag;
+        if (nonNull(currentEtag)) {
+            request.header("If-None-Match", currentEtag);
+        }
+
+        var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == NOT_MODIFIED) {
+            LOG.trace("External config at {} is not modified", uri);
+            return false;
+        }
+
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(
+                    "Unexpected status " + response.statusCode() + " fetching external config from " + uri);
+        }
+
+        storeIfValid(response.body());
+        etag = response.headers().firstValue("ETag").orElse(null);
+        writeEtag(etag);
+        updateCount.incrementAndGet();
+
+        if (nonNull(externalConfigProvider)) {
+            externalConfigProvider.reload();
+        }
+
+        LOG.debug("Stored new external config from {} in {}", uri, cachePath);
+        return true;
+    }
+
+    /**
+     * Writes the document to a temporary file and parses it in the format of the cache file, and only then moves it
+     * over the cache file, so that an invalid document never replaces the last good copy.
+     */
+    private void storeIfValid(byte[] document) throws IOException {
+        var tempFile = writeTempFile(cachePath, document);
+        try {
+            try {
+                ExternalConfigFormat.of(cachePath).load(tempFile);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IOException("Invalid external config fetched from " + uri, e);
+            }
+            moveAtomically(tempFile, cachePath);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to refresh external config from {}; keeping the last good copy in {}", uri, cachePath, e);
+        }
+    }
+
+    /**
+     * @return the number of times a new copy of the document has been stored
+     */
+    public long getUpdateCount() {
+        return updateCount.get();
+    }
+
+    /**
+     * @return the ETag of the stored copy of the document, or null if there is none
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    private String readEtag() {
+        try {
+            return Files.isReadable(etagPath) ? Files.readString(etagPath, StandardCharsets.UTF_8).strip() : null;
+        } catch (IOException e) {
+            LOG.warn("Unable to read ETag from {}", etagPath, e);
+            return null;
+        }
+    }
+
+    private void writeEtag(String value) throws IOException {
+        if (isNull(value)) {
+            Files.deleteIfExists(etagPath);
+        } else {
+            writeAtomically(etagPath, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeAtomically(Path path, byte[] content) throws IOException {
+        var tempFile = writeTempFile(path, content);
+        try {
+            moveAtomically(tempFile, path);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static Path writeTempFile(Path path, byte[] content) throws IOException {
+        var directory = path.getParent();
+        Files.createDirectories(directory);
+
+        var tempFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            return Files.write(tempFile, content);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Stops refreshing. The provider keeps serving the last loaded copy.
+     */
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,70 @@
+package org.kiwiproject.config.provider;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.function.IntSupplier;
+
+/**
+ * A {@link FieldResolverStrategy} for an {@code int} field that never boxes the explicit or supplied value.
+ * <p>
+ * Because a primitive cannot be null, whether an explicit value was given is tracked separately; use
+ * {@link #hasExplicitValue()} rather than comparing the explicit value against a sentinel.
+ *
+ * @see org.kiwiproject.config.provider.util.SinglePropertyResolver#resolveInt
+ */
+@Builder
+public class IntFieldResolverStrategy {
+
+    @Getter
+    private final int explicitValue;
+
+    private final boolean hasExplicitValue;
+
+    private final String systemPropertyKey;
+    private final String envVariable;
+    private final String externalProperty;
+
+    @Getter
+    private final IntSupplier valueSupplier;
+
+    public boolean hasExplicitValue() {
+        return hasExplicitValue;
+    }
+
+    public String getSystemPropertyKeyOrDefault(String defaultKey) {
+        return isBlank(systemPropertyKey) ? defaultKey : systemPropertyKey;
+    }
+
+    public String getEnvVariableOrDefault(String defaultVariable) {
+        return isBlank(envVariable) ? defaultVariable : envVariable;
+    }
+
+    public String getExternalPropertyOrDefault(String defaultProperty) {
+        return isBlank(externalProperty) ? defaultProperty : externalProperty;
+    }
+
+    /**
+     * Customizes the generated builder so that setting an explicit value also records that one was given.
+     */
+    public static class IntFieldResolverStrategyBuilder {
+
+        private int explicitValue;
+        private boolean hasExplicitValue;
+
+        public IntFieldResolverStrategyBuilder explicitValue(int explicitValue) {
+            this.explicitValue = explicitValue;
+            this.hasExplicitValue = true;
+            return this;
+        }
+
+        // Declared so that Lombok does not generate a public setter for this flag
+        @SuppressWarnings("unused")
+        private IntFieldResolverStrategyBuilder hasExplicitValue(boolean hasExplicitValue) {
+            this.hasExplicitValue = hasExplicitValue;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.isNull;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable view of a directory that holds one file per property, where the file name is the key and the file
+ * content is the value. This is how Kubernetes mounts ConfigMaps and Secrets as volumes.
+ * <p>
+ * The directory is indexed when it is loaded. Values of files up to {@link #EAGER_READ_LIMIT} bytes are read at that
+ * time, and larger files are read the first time they are looked up and then cached. Iterating over the keys or
+ * entries does not read any files. A single trailing line break is removed from each value, since files created with
+ * tools like {@code echo} usually end with one.
+ * <p>
+ * Hidden files and subdirectories are ignored. In particular, Kubernetes keeps the real files in a timestamped
+ * hidden directory and swaps in new contents atomically by re-pointing the {@code ..data} symbolic link; the target of
+ * that link when the directory was loaded is available from {@link #getDataTarget()}, so that watchers can detect a
+ * swap by checking one link instead of every file. Files are read from that target rather than through {@code ..data},
+ * so values read lazily come from the same version as the values read at load time.
+ */
+@Slf4j
+final class KeyPerFileProperties extends AbstractMap<String, String> {
+
+    /**
+     * The symbolic link that Kubernetes re-points to a new directory when a mounted ConfigMap or Secret changes.
+     */
+    static final String DATA_LINK = "..data";
+
+    /**
+     * Files up to this size are read when the directory is loaded; larger ones are read on first lookup.
+     */
+    static final int EAGER_READ_LIMIT = 4096;
+
+    private final Map<String, Path> files;
+    private final Map<String, String> values;
+    private final Path dataTarget;
+
+    private KeyPerFileProperties(Map<String, Path> files, Map<String, String> eagerValues, Path dataTarget) {
+        this.files = files;
+        this.values = new ConcurrentHashMap<>(eagerValues);
+        this.dataTarget = dataTarget;
+    }
+
+    /**
+     * Indexes the given directory.
+     *
+     * @param directory the directory to load
+     * @return a new map of the properties in the directory
+     * @throws IOException if the directory cannot be listed or a small file cannot be read
+     */
+    static KeyPerFileProperties load(Path directory) throws IOException {
+        var files = new HashMap<String, Path>();
+        var eagerValues = new HashMap<String, String>();
+        var dataTarget = readDataTarget(directory);
+        var dataDirectory = isNull(dataTarget) ? null : directory.resolve(dataTarget);
+
+        DirectoryStream.Filter<Path> notHidden = path -> !path.getFileName().toString().startsWith(".");
+        try (var entries = Files.newDirectoryStream(directory, notHidden)) {
+            for (var entry : entries) {
+                var key = entry.getFileName().toString();
+                var path = resolveInDataDirectory(dataDirectory, key, entry);
+                var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+
+                files.put(key, path);
+                if (attributes.size() <= EAGER_READ_LIMIT) {
+                    eagerValues.put(key, read(path));
+                }
+            }
+        }
+
+        LOG.debug("Indexed {} key files in {} ({} read eagerly)", files.size(), directory, eagerValues.size());
+        return new KeyPerFileProperties(Map.copyOf(files), eagerValues, dataTarget);
+    }
+
+    /**
+     * Resolves a key against the {@code ..data} target captured at load time rather than through the key's own link,
+     * so that files read later come from the same version as the files read at load, even if {@code ..data} has
+     * been re-pointed in between.
+     */
+    private static Path resolveInDataDirectory(Path dataDirectory, String key, Path entry) {
+        if (isNull(dataDirectory)) {
+            return entry;
+        }
+
+        var path = dataDirectory.resolve(key);
+        return Files.isRegularFile(path) ? path : entry;
+    }
+
+    /**
+     * @param directory a key-per-file directory
+     * @return the current target of its {@code ..data} link, or null if it has none
+     */
+    static Path readDataTarget(Path directory) {
+        var dataLink = directory.resolve(DATA_LINK);
+        if (!Files.isSymbolicLink(dataLink)) {
+            return null;
+        }
+
+        try {
+            return Files.readSymbolicLink(dataLink);
+        } catch (IOException e) {
+            LOG.warn("Unable to read {} link in {}", DATA_LINK, directory, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the target of the {@code ..data} link when this directory was loaded, or null if it has none
+     */
+    Path getDataTarget() {
+        return dataTarget;
+    }
+
+    @Override
+    public int size() {
+        return files.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return files.containsKey(key);
+    }
+
+    /**
+     * Returns the value of the given key, reading its file first if it is large and has not been read yet. If the
+     * file can no longer be read, a warning is logged and null is returned.
+     */
+    @Override
+    public String get(Object key) {
+        var value = values.get(key);
+        if (value != null || !(key instanceof String)) {
+            return value;
+        }
+
+        var path = files.get(key);
+        if (isNull(path)) {
+            return null;
+        }
+
+        try {
+            var loaded = read(path);
+            var existing = values.putIfAbsent((String) key, loaded);
+            return isNull(existing) ? loaded : existing;
+        } catch (IOException e) {
+            LOG.warn("Unable to read key file {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of values that have been read so far
+     */
+    int readValueCount() {
+        return values.size();
+    }
+
+    /**
+     * Returns the keys without reading any files.
+     */
+    @Override
+    public Set<String> keySet() {
+        return files.keySet();
+    }
+
+    /**
+     * Returns the entries; each file not read at load time is read when {@link Entry#getValue()} is called on its
+     * entry.
+     */
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return files.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                var keys = files.keySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return keys.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        return new LazyEntry(keys.next(), KeyPerFileProperties.this);
+                    }
+                };
+            }
+        };
+    }
+
+    private static String read(Path path) throws IOException {
+        var content = Files.readString(path);
+        if (content.endsWith("\r\n")) {
+            return content.substring(0, content.length() - 2);
+        } else if (content.endsWith("\n")) {
+            return content.substring(0, content.length() - 1);
+        }
+        return content;
+    }
+}
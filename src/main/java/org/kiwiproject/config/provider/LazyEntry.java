@@ -0,0 +1,55 @@
+package org.kiwiproject.config.provider;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable map entry that looks up its value in the owning map only when {@link #getValue()} is called.
+ * <p>
+ * The lazily loaded property maps return these from their entry sets so that iterating over the keys, e.g. to build
+ * a {@link PropertyIndex}, does not decode or read every value.
+ */
+final class LazyEntry implements Map.Entry<String, String> {
+
+    private final String key;
+    private final Map<String, String> owner;
+
+    LazyEntry(String key, Map<String, String> owner) {
+        this.key = key;
+        this.owner = owner;
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String getValue() {
+        return owner.get(key);
+    }
+
+    @Override
+    public String setValue(String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Map.Entry)) {
+            return false;
+        }
+        var other = (Map.Entry<?, ?>) o;
+        return key.equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode() ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + getValue();
+    }
+}
@@ -0,0 +1,70 @@
+package org.kiwiproject.config.provider;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link FieldResolverStrategy} for a {@code long} field that never boxes the explicit or supplied value.
+ * <p>
+ * Because a primitive cannot be null, whether an explicit value was given is tracked separately; use
+ * {@link #hasExplicitValue()} rather than comparing the explicit value against a sentinel.
+ *
+ * @see org.kiwiproject.config.provider.util.SinglePropertyResolver#resolveLong
+ */
+@Builder
+public class LongFieldResolverStrategy {
+
+    @Getter
+    private final long explicitValue;
+
+    private final boolean hasExplicitValue;
+
+    private final String systemPropertyKey;
+    private final String envVariable;
+    private final String externalProperty;
+
+    @Getter
+    private final LongSupplier valueSupplier;
+
+    public boolean hasExplicitValue() {
+        return hasExplicitValue;
+    }
+
+    public String getSystemPropertyKeyOrDefault(String defaultKey) {
+        return isBlank(systemPropertyKey) ? defaultKey : systemPropertyKey;
+    }
+
+    public String getEnvVariableOrDefault(String defaultVariable) {
+        return isBlank(envVariable) ? defaultVariable : envVariable;
+    }
+
+    public String getExternalPropertyOrDefault(String defaultProperty) {
+        return isBlank(externalProperty) ? defaultProperty : externalProperty;
+    }
+
+    /**
+     * Customizes the generated builder so that setting an explicit value also records that one was given.
+     */
+    public static class LongFieldResolverStrategyBuilder {
+
+        private long explicitValue;
+        private boolean hasExplicitValue;
+
+        public LongFieldResolverStrategyBuilder explicitValue(long explicitValue) {
+            this.explicitValue = explicitValue;
+            this.hasExplicitValue = true;
+            return this;
+        }
+
+        // Declared so that Lombok does not generate a public setter for this flag
+        @SuppressWarnings("unused")
+        private LongFieldResolverStrategyBuilder hasExplicitValue(boolean hasExplicitValue) {
+            this.hasExplicitValue = hasExplicitValue;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.kiwiproject.config.provider;
+
+import lombok.Value;
+
+/**
+ * Contains the result of resolving a {@code long} property, without boxing the value.
+ * <p>
+ * When the property was not resolved, the value is {@code 0}.
+ *
+ * @see ResolverResult
+ * @see org.kiwiproject.config.provider.util.SinglePropertyResolver#resolveLong
+ */
+@Value
+public class LongResolverResult {
+
+    long value;
+    ResolvedBy resolvedBy;
+
+    /**
+     * The name of the custom source the value came from when resolved by {@link ResolvedBy#CUSTOM_SOURCE}, otherwise
+     * null.
+     */
+    String sourceName;
+
+    public LongResolverResult(long value, ResolvedBy resolvedBy) {
+        this(value, resolvedBy, null);
+    }
+
+    public LongResolverResult(long value, ResolvedBy resolvedBy, String sourceName) {
+        this.value = value;
+        this.resolvedBy = resolvedBy;
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * Was the property resolved? A property is considered resolved if the {@link ResolvedBy} is
+     * any value except {@link ResolvedBy#NONE NONE}.
+     *
+     * @return true if the property was resolved, otherwise false
+     */
+    public boolean resolved() {
+        return resolvedBy != ResolvedBy.NONE;
+    }
+
+    /**
+     * Was the property <strong>not</strong> resolved?
+     *
+     * @return true if the property was <strong>not</strong> resolved, otherwise false
+     */
+    public boolean notResolved() {
+        return !resolved();
+    }
+}
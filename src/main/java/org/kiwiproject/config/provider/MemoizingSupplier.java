@@ -0,0 +1,255 @@
+package org.kiwiproject.config.provider;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Supplier} that caches the value of another, slow supplier, e.g. one that calls a secrets daemon or parses
+ * a keystore, either forever or for a fixed time to live.
+ * <p>
+ * Loading is single-flight: when the value is missing or expired, only one thread calls the underlying supplier, and
+ * every other thread that asks for the value meanwhile waits for and shares the result of that call, including any
+ * exception it throws. Exceptions are not cached, so the next call after a failure tries again. Null values are
+ * cached like any other value.
+ * <p>
+ * The supplier keeps {@link Stats statistics} about how often the value was served from the cache and how long the
+ * underlying supplier took.
+ * <p>
+ * Caching only helps when the same instance is used for every resolution, so keep the supplier (or the
+ * {@link FieldResolverStrategy} that holds it) and reuse it when providers are built again.
+ *
+ * @param <T> the type of value supplied
+ * @see FieldResolverStrategies#newMemoizedSupplierFieldResolverStrategy(Supplier)
+ * @see FieldResolverStrategies#newExpiringSupplierFieldResolverStrategy(Supplier, Duration)
+ */
+public final class MemoizingSupplier<T> implements Supplier<T> {
+
+    private static final long FOREVER_NANOS = Long.MAX_VALUE;
+
+    private final Supplier<T> delegate;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder sharedCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+
+    private volatile CachedValue<T> cached;
+
+    /**
+     * The load in progress, if any; guarded by {@code this}.
+     */
+    private CompletableFuture<T> inFlight;
+
+    MemoizingSupplier(Supplier<T> delegate, long ttlNanos, LongSupplier nanoTime) {
+        this.delegate = requireNonNull(delegate, "delegate must not be null");
+        this.ttlNanos = ttlNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Creates a supplier that calls the given supplier once and then always returns the same value.
+     *
+     * @param delegate the supplier to cache
+     * @param <T>      the type of value supplied
+     * @return a new memoizing supplier
+     */
+    public static <T> MemoizingSupplier<T> memoize(Supplier<T> delegate) {
+        return new MemoizingSupplier<>(delegate, FOREVER_NANOS, System::nanoTime);
+    }
+
+    /**
+     * Creates a supplier that calls the given supplier again once the value is older than the given time to live.
+     *
+     * @param delegate the supplier to cache
+     * @param ttl      how long a value may be used; must be positive
+     * @param <T>      the type of value supplied
+     * @return a new memoizing supplier
+     */
+    public static <T> MemoizingSupplier<T> memoizeWithExpiration(Supplier<T> delegate, Duration ttl) {
+        checkArgument(nonNull(ttl) && !ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+        return new MemoizingSupplier<>(delegate, ttl.toNanos(), System::nanoTime);
+    }
+
+    @Override
+    public T get() {
+        var current = cached;
+        if (isFresh(current)) {
+            hitCount.increment();
+            return current.value;
+        }
+
+        CompletableFuture<T> flight;
+        boolean leader;
+        synchronized (this) {
+            current = cached;
+            if (isFresh(current)) {
+                hitCount.increment();
+                return current.value;
+            }
+
+            leader = isNull(inFlight);
+            if (leader) {
+                inFlight = new CompletableFuture<>();
+            }
+            flight = inFlight;
+        }
+
+        if (leader) {
+            return load(flight);
+        }
+
+        sharedCount.increment();
+        return join(flight);
+    }
+
+    private boolean isFresh(CachedValue<T> value) {
+        return nonNull(value) && (ttlNanos == FOREVER_NANOS || nanoTime.getAsLong() - value.loadedAtNanos < ttlNanos);
+    }
+
+    private T load(CompletableFuture<T> flight) {
+        var start = nanoTime.getAsLong();
+        try {
+            var value = delegate.get();
+            cached = new CachedValue<>(value, start);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            failureCount.increment();
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            recordLoad(nanoTime.getAsLong() - start);
+            synchronized (this) {
+                inFlight = null;
+            }
+        }
+    }
+
+    private void recordLoad(long elapsedNanos) {
+        loadCount.increment();
+        totalLoadNanos.add(elapsedNanos);
+        maxLoadNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    private static <T> T join(CompletableFuture<T> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Discards the cached value, so that the next call loads it again.
+     */
+    public void invalidate() {
+        cached = null;
+    }
+
+    /**
+     * @return the time to live of the cached value, or null if it never expires
+     */
+    public Duration getTtl() {
+        return ttlNanos == FOREVER_NANOS ? null : Duration.ofNanos(ttlNanos);
+    }
+
+    /**
+     * @return a snapshot of the statistics of this supplier
+     */
+    public Stats getStats() {
+        return new Stats(hitCount.sum(), sharedCount.sum(), loadCount.sum(), failureCount.sum(),
+                Duration.ofNanos(totalLoadNanos.sum()), Duration.ofNanos(maxLoadNanos.get()));
+    }
+
+    /**
+     * Statistics of a {@link MemoizingSupplier}.
+     */
+    @Value
+    public static class Stats {
+
+        /**
+         * The number of calls answered from the cache.
+         */
+        long hitCount;
+
+        /**
+         * The number of calls that waited for, and shared, a load started by another thread.
+         */
+        long sharedCount;
+
+        /**
+         * The number of calls to the underlying supplier.
+         */
+        long loadCount;
+
+        /**
+         * The number of calls to the underlying supplier that threw an exception.
+         */
+        long failureCount;
+
+        /**
+         * The total time spent in the underlying supplier.
+         */
+        Duration totalLoadTime;
+
+        /**
+         * The longest single call to the underlying supplier.
+         */
+        Duration maxLoadTime;
+
+        /**
+         * @return the total number of calls to {@link MemoizingSupplier#get()}
+         */
+        public long getRequestCount() {
+            return hitCount + sharedCount + loadCount;
+        }
+
+        /**
+         * @return the fraction of calls that did not call the underlying supplier themselves, or zero if there have
+         * been no calls
+         */
+        public double getHitRatio() {
+            var requestCount = getRequestCount();
+            return requestCount == 0 ? 0.0 : (double) (hitCount + sharedCount) / requestCount;
+        }
+
+        /**
+         * @return the mean time of a call to the underlying supplier, or zero if it has not been called
+         */
+        public Duration getMeanLoadTime() {
+            return loadCount == 0 ? Duration.ZERO : totalLoadTime.dividedBy(loadCount);
+        }
+    }
+
+    private static final class CachedValue<T> {
+        private final T value;
+        private final long loadedAtNanos;
+
+        private CachedValue(T value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.isNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable view of a UTF-8 properties file that is memory-mapped rather than read through a {@link java.io.Reader}.
+ * <p>
+ * Loading scans the mapped bytes once, decoding only the keys and recording where each value starts and ends. A value
+ * is decoded (including escape sequences and line continuations) the first time it is looked up, and then cached, so
+ * entries that are never read are never turned into Strings. The syntax is the same as
+ * {@link java.util.Properties#load(java.io.Reader)}, and when a key appears more than once the last value wins.
+ * <p>
+ * The mapping stays open for as long as this map is reachable. Files should be replaced with an atomic rename rather
+ * than truncated and rewritten in place, since reading a value from a mapping whose file has shrunk fails with an
+ * {@link InternalError}.
+ */
+final class MemoryMappedProperties extends AbstractMap<String, String> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ByteBuffer buffer;
+    private final String[] keys;
+    private final int[] valueStarts;
+    private final int[] valueEnds;
+    private final String[] values;
+    private final int[] index;
+    private final int indexMask;
+
+    private KeySet keySet;
+    private EntrySet entrySet;
+
+    private MemoryMappedProperties(ByteBuffer buffer, Scanner scanner) {
+        this.buffer = buffer;
+
+        var tableSize = Integer.highestOneBit(Math.max(2, scanner.count * 2) - 1) << 1;
+        var table = new int[tableSize];
+        Arrays.fill(table, -1);
+        var mask = tableSize - 1;
+
+        // Insert in file order so later duplicates replace earlier ones, then compact the survivors
+        var duplicates = 0;
+        for (var i = 0; i < scanner.count; i++) {
+            var slot = slotFor(table, mask, scanner.keys, scanner.keys[i]);
+            if (table[slot] >= 0) {
+                scanner.keys[table[slot]] = null;
+                duplicates++;
+            }
+            table[slot] = i;
+        }
+
+        var size = scanner.count - duplicates;
+        this.keys = new String[size];
+        this.valueStarts = new int[size];
+        this.valueEnds = new int[size];
+        this.values = new String[size];
+
+        var remap = new int[scanner.count];
+        var next = 0;
+        for (var i = 0; i < scanner.count; i++) {
+            if (isNull(scanner.keys[i])) {
+                continue;
+            }
+            keys[next] = scanner.keys[i];
+            valueStarts[next] = scanner.valueStarts[i];
+            valueEnds[next] = scanner.valueEnds[i];
+            remap[i] = next++;
+        }
+
+        for (var slot = 0; slot < table.length; slot++) {
+            if (table[slot] >= 0) {
+                table[slot] = remap[table[slot]];
+            }
+        }
+
+        this.index = table;
+        this.indexMask = mask;
+    }
+
+    /**
+     * Memory-maps and scans the given properties file.
+     *
+     * @param path the properties file, which must be UTF-8 encoded and smaller than 2 GB
+     * @return a new map of the properties in the file
+     * @throws IOException if the file cannot be mapped
+     */
+    static MemoryMappedProperties load(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to memory-map: " + path);
+            }
+
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            var scanner = new Scanner(buffer);
+            scanner.scan();
+            return new MemoryMappedProperties(buffer, scanner);
+        }
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+        var i = indexOf(key);
+        return i < 0 ? null : valueAt(i);
+    }
+
+    /**
+     * Returns the keys without decoding any values.
+     */
+    @Override
+    public Set<String> keySet() {
+        if (isNull(keySet)) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    /**
+     * Returns the entries; each value is decoded when {@link Entry#getValue()} is first called on its entry.
+     */
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        if (isNull(entrySet)) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * @return the number of values that have been decoded so far
+     */
+    int decodedValueCount() {
+        var count = 0;
+        for (var value : values) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        var slot = hash(key) & indexMask;
+        int entry;
+        while ((entry = index[slot]) >= 0) {
+            if (keys[entry].equals(key)) {
+                return entry;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    private String valueAt(int i) {
+        // Racing threads may both decode the same value; Strings are immutable, so either result is safe to publish
+        var value = values[i];
+        if (isNull(value)) {
+            value = decode(buffer, valueStarts[i], valueEnds[i]);
+            values[i] = value;
+        }
+        return value;
+    }
+
+    private static int slotFor(int[] table, int mask, String[] scannedKeys, String key) {
+        var slot = hash(key) & mask;
+        while (table[slot] >= 0 && !scannedKeys[table[slot]].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(Object key) {
+        var hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    private static boolean isLineEnd(int c) {
+        return c == '\r' || c == '\n';
+    }
+
+    /**
+     * Decodes the given range of the buffer as UTF-8, then applies properties escapes and line continuations.
+     */
+    static String decode(ByteBuffer buffer, int start, int end) {
+        var bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        var raw = new String(bytes, StandardCharsets.UTF_8);
+        return raw.indexOf('\\') < 0 ? raw : unescape(raw);
+    }
+
+    private static String unescape(String raw) {
+        var length = raw.length();
+        var out = new StringBuilder(length);
+
+        var i = 0;
+        while (i < length) {
+            var c = raw.charAt(i++);
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+
+            if (i >= length) {
+                break;
+            }
+
+            c = raw.charAt(i++);
+            if (isLineEnd(c)) {
+                if (c == '\r' && i < length && raw.charAt(i) == '\n') {
+                    i++;
+                }
+                while (i < length && isWhitespace(raw.charAt(i))) {
+                    i++;
+                }
+            } else if (c == 'u') {
+                if (i + 4 > length) {
+                    throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                }
+                out.append(parseUnicodeEscape(raw, i));
+                i += 4;
+            } else {
+                out.append(unescapeChar(c));
+            }
+        }
+
+        return out.toString();
+    }
+
+    private static char parseUnicodeEscape(String raw, int start) {
+        var value = 0;
+        for (var i = start; i < start + 4; i++) {
+            var digit = Character.digit(raw.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+            }
+            value = (value << 4) + digit;
+        }
+        return (char) value;
+    }
+
+    private static char unescapeChar(char c) {
+        switch (c) {
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case 'n':
+                return '\n';
+            case 'f':
+                return '\f';
+            default:
+                return c;
+        }
+    }
+
+    /**
+     * Finds the logical lines in the mapped bytes and records the decoded key and the value range of each.
+     * All the structural characters are ASCII, so they can be found in UTF-8 bytes without decoding them.
+     */
+    private static final class Scanner {
+
+        private final ByteBuffer buffer;
+        private final int limit;
+
+        private String[] keys = new String[INITIAL_CAPACITY];
+        private int[] valueStarts = new int[INITIAL_CAPACITY];
+        private int[] valueEnds = new int[INITIAL_CAPACITY];
+        private int count;
+
+        Scanner(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+        }
+
+        void scan() {
+            var pos = 0;
+            while (pos < limit) {
+                pos = skipWhitespace(pos);
+                if (pos >= limit) {
+                    break;
+                }
+
+                var c = buffer.get(pos);
+                if (isLineEnd(c)) {
+                    pos++;
+                    continue;
+                }
+
+                if (c == '#' || c == '!') {
+                    pos = skipToNextLine(pos);
+                    continue;
+                }
+
+                pos = scanEntry(pos);
+            }
+        }
+
+        private int scanEntry(int keyStart) {
+            var pos = keyStart;
+            while (pos < limit) {
+                var c = buffer.get(pos);
+                if (c == '\\') {
+                    pos = skipEscape(pos);
+                } else if (isLineEnd(c) || c == '=' || c == ':' || isWhitespace(c)) {
+                    break;
+                } else {
+                    pos++;
+                }
+            }
+            var keyEnd = pos;
+
+            var hasSeparator = false;
+            while (pos < limit) {
+                var c = buffer.get(pos);
+                if (isWhitespace(c)) {
+                    pos++;
+                } else if (!hasSeparator && (c == '=' || c == ':')) {
+                    hasSeparator = true;
+                    pos++;
+                } else if (c == '\\' && pos + 1 < limit && isLineEnd(buffer.get(pos + 1))) {
+                    pos = skipLineEndAndIndent(pos + 1);
+                } else {
+                    break;
+                }
+            }
+            var valueStart = pos;
+
+            while (pos < limit) {
+                var c = buffer.get(pos);
+                if (c == '\\') {
+                    pos = skipEscape(pos);
+                } else if (isLineEnd(c)) {
+                    break;
+                } else {
+                    pos++;
+                }
+            }
+            var valueEnd = Math.min(pos, limit);
+
+            add(decode(buffer, keyStart, keyEnd), valueStart, valueEnd);
+            return skipLineEnd(pos);
+        }
+
+        /**
+         * Skips a backslash and the character it escapes, or the line break and indentation of a continuation.
+         */
+        private int skipEscape(int backslash) {
+            var next = backslash + 1;
+            if (next >= limit) {
+                return next;
+            }
+            return isLineEnd(buffer.get(next)) ? skipLineEndAndIndent(next) : next + 1;
+        }
+
+        private int skipLineEndAndIndent(int pos) {
+            return skipWhitespace(skipLineEnd(pos));
+        }
+
+        private int skipLineEnd(int pos) {
+            if (pos < limit && buffer.get(pos) == '\r') {
+                pos++;
+            }
+            if (pos < limit && buffer.get(pos) == '\n') {
+                pos++;
+            }
+            return pos;
+        }
+
+        private int skipWhitespace(int pos) {
+            while (pos < limit && isWhitespace(buffer.get(pos))) {
+                pos++;
+            }
+            return pos;
+        }
+
+        private int skipToNextLine(int pos) {
+            while (pos < limit && !isLineEnd(buffer.get(pos))) {
+                pos++;
+            }
+            return skipLineEnd(pos);
+        }
+
+        private void add(String key, int valueStart, int valueEnd) {
+            if (count == keys.length) {
+                var capacity = count * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                valueStarts = Arrays.copyOf(valueStarts, capacity);
+                valueEnds = Arrays.copyOf(valueEnds, capacity);
+            }
+
+            keys[count] = key;
+            valueStarts[count] = valueStart;
+            valueEnds[count] = valueEnd;
+            count++;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return keys[next++];
+                }
+            };
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            var keyIterator = keySet().iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return keyIterator.hasNext();
+                }
+
+                @Override
+                public Entry<String, String> next() {
+                    return new LazyEntry(keyIterator.next(), MemoryMappedProperties.this);
+                }
+            };
+        }
+    }
+}
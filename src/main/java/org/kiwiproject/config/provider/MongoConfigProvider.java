@@ -5,10 +5,16 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import lombok.Builder;
 import lombok.Getter;
 import org.kiwiproject.base.KiwiEnvironment;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Config provider that determines the connection string for Mongo.
@@ -29,27 +35,46 @@ public class MongoConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_EXTERNAL_PROPERTY_KEY = "mongo.connection";
 
+    private static final FieldDescriptor<String> URL_FIELD = FieldDescriptor.<String>builder()
+            .name("url")
+            .systemProperty(DEFAULT_MONGO_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_MONGO_ENV_VARIABLE)
+            .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
+            .build();
+
     @Getter
     private final String url;
 
     private final ResolvedBy urlResolvedBy;
 
+    private final Map<String, String> resolvedSourceNames;
+
     @Builder
     private MongoConfigProvider(ExternalConfigProvider externalConfigProvider,
                                 KiwiEnvironment kiwiEnvironment,
+                                ResolutionSnapshot resolutionSnapshot,
+                                PropertySourceChain propertySources,
+                                Executor resolutionExecutor,
+                                ResolutionInstrumentation instrumentation,
                                 FieldResolverStrategy<String> resolverStrategy) {
+        var constructionStart = System.nanoTime();
 
-        var resolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
+        var resolver = BatchPropertyResolver.builder()
                 .externalConfigProvider(externalConfigProvider)
                 .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(resolverStrategy)
-                .systemProperty(DEFAULT_MONGO_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_MONGO_ENV_VARIABLE)
-                .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
-                .build());
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
+
+        var resolution = resolver.resolve(FieldRequest.of(URL_FIELD, resolverStrategy));
 
         this.url = resolution.getValue();
         this.urlResolvedBy = resolution.getResolvedBy();
+        this.resolvedSourceNames = resolution.toSourceNameMap("url");
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, MongoConfigProvider.class, constructionStart);
     }
 
     @Override
@@ -61,4 +86,15 @@ public class MongoConfigProvider implements ConfigProvider {
     public Map<String, ResolvedBy> getResolvedBy() {
         return Map.of("url", urlResolvedBy);
     }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link MongoConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class MongoConfigProviderBuilder implements ConfigProviderBuilder<MongoConfigProvider> {
+    }
 }
@@ -5,10 +5,16 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import lombok.Builder;
 import lombok.Getter;
 import org.kiwiproject.base.KiwiEnvironment;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Config provider that determines the named network on which the service is running.
@@ -31,27 +37,47 @@ public class NetworkIdentityConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_EXTERNAL_PROPERTY_KEY = "network";
 
+    private static final FieldDescriptor<String> NETWORK_FIELD = FieldDescriptor.<String>builder()
+            .name("network")
+            .systemProperty(DEFAULT_NETWORK_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_NETWORK_ENV_VARIABLE)
+            .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
+            .build();
+
     @Getter
     private final String network;
     private final ResolvedBy networkResolvedBy;
 
+    private final Map<String, String> resolvedSourceNames;
+
 
     @Builder
     private NetworkIdentityConfigProvider(ExternalConfigProvider externalConfigProvider,
                                           KiwiEnvironment kiwiEnvironment,
+                                          ResolutionSnapshot resolutionSnapshot,
+                                          PropertySourceChain propertySources,
+                                          Executor resolutionExecutor,
+                                          ResolutionInstrumentation instrumentation,
                                           FieldResolverStrategy<String> resolverStrategy) {
+        var constructionStart = System.nanoTime();
 
-        var resolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
+        var resolver = BatchPropertyResolver.builder()
                 .externalConfigProvider(externalConfigProvider)
                 .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(resolverStrategy)
-                .systemProperty(DEFAULT_NETWORK_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_NETWORK_ENV_VARIABLE)
-                .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
-                .build());
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
+
+        var resolution = resolver.resolve(FieldRequest.of(NETWORK_FIELD, resolverStrategy));
 
         this.network = resolution.getValue();
         this.networkResolvedBy = resolution.getResolvedBy();
+        this.resolvedSourceNames = resolution.toSourceNameMap(DEFAULT_EXTERNAL_PROPERTY_KEY);
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, NetworkIdentityConfigProvider.class,
+                constructionStart);
     }
 
     @Override
@@ -63,4 +89,16 @@ public class NetworkIdentityConfigProvider implements ConfigProvider {
     public Map<String, ResolvedBy> getResolvedBy() {
         return Map.of(DEFAULT_EXTERNAL_PROPERTY_KEY, networkResolvedBy);
     }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link NetworkIdentityConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class NetworkIdentityConfigProviderBuilder
+            implements ConfigProviderBuilder<NetworkIdentityConfigProvider> {
+    }
 }
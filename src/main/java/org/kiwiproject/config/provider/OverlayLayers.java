@@ -0,0 +1,143 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.nonNull;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Merges a base properties file and an ordered directory of overlay files into one {@link PropertyIndex}.
+ * <p>
+ * The layers are applied in order: the base file first, then every {@code *.properties}, {@code *.json},
+ * {@code *.yml} and {@code *.yaml} file in the overlay directory sorted by file name, so a later layer overrides the
+ * keys of the earlier ones. The merged index records which file each key came from. Structured values from JSON and
+ * YAML layers are not merged deeply: the last layer that defines an object supplies its whole structured value.
+ * <p>
+ * Each layer is remembered along with the last modified time and size of its file. On the next load, only the files
+ * whose modified time or size has changed (or that are new) are parsed again; the others are merged from memory.
+ * <p>
+ * Instances are not thread-safe; the owning {@link ExternalConfigProvider} serializes calls to {@link #load}.
+ */
+@Slf4j
+final class OverlayLayers {
+
+    /**
+     * Loads the properties of a single layer file.
+     */
+    @FunctionalInterface
+    interface LayerLoader {
+        Map<String, String> load(Path path) throws IOException;
+    }
+
+    @Value
+    private static class Layer {
+        long lastModifiedMillis;
+        long size;
+        Map<String, String> properties;
+
+        boolean isCurrent(BasicFileAttributes attributes) {
+            return lastModifiedMillis == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
+
+    private final Path overlayDirectory;
+    private Map<Path, Layer> layers = Map.of();
+    private int lastParsedCount;
+
+    OverlayLayers(Path overlayDirectory) {
+        this.overlayDirectory = overlayDirectory;
+    }
+
+    /**
+     * Loads the base file and overlays, re-parsing only the files that changed since the last load.
+     *
+     * @param basePath   the base properties file, which is skipped if it does not exist
+     * @param baseLoader loads the base file
+     * @param loader     loads an overlay file
+     * @return the merged index
+     * @throws IOException if a changed layer cannot be read; the previously loaded layers are kept in that case
+     */
+    PropertyIndex load(Path basePath, LayerLoader baseLoader, LayerLoader loader) throws IOException {
+        var paths = new ArrayList<Path>();
+        if (Files.isReadable(basePath)) {
+            paths.add(basePath);
+        }
+        paths.addAll(listOverlayFiles());
+
+        var loadedLayers = new LinkedHashMap<Path, Layer>();
+        var parsedCount = 0;
+        for (var path : paths) {
+            var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            var existing = layers.get(path);
+            if (nonNull(existing) && existing.isCurrent(attributes)) {
+                loadedLayers.put(path, existing);
+                continue;
+            }
+
+            LOG.debug("Parsing external configuration layer {}", path);
+            var layerLoader = path.equals(basePath) ? baseLoader : loader;
+            loadedLayers.put(path, new Layer(attributes.lastModifiedTime().toMillis(), attributes.size(),
+                    layerLoader.load(path)));
+            parsedCount++;
+        }
+
+        layers = loadedLayers;
+        lastParsedCount = parsedCount;
+        return merge(loadedLayers);
+    }
+
+    /**
+     * @return the number of layers parsed by the most recent load
+     */
+    int getLastParsedCount() {
+        return lastParsedCount;
+    }
+
+    private List<Path> listOverlayFiles() throws IOException {
+        if (!Files.isDirectory(overlayDirectory)) {
+            return List.of();
+        }
+
+        try (var files = Files.list(overlayDirectory)) {
+            return files
+                    .filter(OverlayLayers::isOverlayFile)
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isOverlayFile(Path path) {
+        return path.getFileName().toString().endsWith(".properties") || ExternalConfigFormat.of(path).isStructured();
+    }
+
+    private static PropertyIndex merge(Map<Path, Layer> layers) {
+        var merged = new HashMap<String, String>();
+        var sources = new HashMap<String, Path>();
+        var structuredValues = new HashMap<String, Map<String, Object>>();
+        layers.forEach((path, layer) -> {
+            var properties = layer.getProperties();
+            properties.forEach((key, value) -> {
+                merged.put(key, value);
+                sources.put(key, path);
+            });
+
+            if (properties instanceof StructuredProperties) {
+                structuredValues.putAll(((StructuredProperties) properties).getStructuredValues());
+            }
+        });
+
+        return PropertyIndex.of(Map.copyOf(merged), Map.copyOf(sources), Map.copyOf(structuredValues));
+    }
+}
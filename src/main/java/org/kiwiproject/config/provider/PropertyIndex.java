@@ -0,0 +1,213 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable set of loaded external properties, together with the keys in sorted order so that all the keys
+ * sharing a prefix can be found with a binary search.
+ * <p>
+ * The sorted keys are built once when the properties are loaded. Prefix views share the key array and the
+ * underlying map rather than copying entries, so reading a sub-tree costs time in proportion to the number of
+ * matching keys, not the size of the file. Neither building the index nor iterating a prefix view reads any values,
+ * so values of lazily loaded maps are still only decoded or read when they are looked up.
+ * <p>
+ * When the properties were merged from several files, the index also records which file each key came from. When
+ * they were loaded from JSON or YAML, it also holds the structured (map) value of each nested object.
+ */
+final class PropertyIndex {
+
+    static final PropertyIndex EMPTY = new PropertyIndex(Map.of(), Map.of(), Map.of());
+
+    private final Map<String, String> properties;
+    private final Map<String, Path> sources;
+    private final Map<String, Map<String, Object>> structuredValues;
+    private final String[] sortedKeys;
+
+    private PropertyIndex(Map<String, String> properties,
+                          Map<String, Path> sources,
+                          Map<String, Map<String, Object>> structuredValues) {
+        this.properties = properties;
+        this.sources = sources;
+        this.structuredValues = structuredValues;
+        // Lazily loaded maps return their keys without decoding or reading any values
+        this.sortedKeys = properties.keySet().toArray(String[]::new);
+        Arrays.sort(sortedKeys);
+    }
+
+    /**
+     * @param properties an immutable map of properties; it is not copied
+     * @return a new index over the given properties
+     */
+    static PropertyIndex of(Map<String, String> properties) {
+        var structuredValues = properties instanceof StructuredProperties
+                ? ((StructuredProperties) properties).getStructuredValues()
+                : Map.<String, Map<String, Object>>of();
+        return of(properties, Map.of(), structuredValues);
+    }
+
+    /**
+     * @param properties       an immutable map of properties; it is not copied
+     * @param sources          an immutable map from each key to the file it was loaded from; it is not copied
+     * @param structuredValues an immutable map from the key of each nested object to its structured value
+     * @return a new index over the given properties
+     */
+    static PropertyIndex of(Map<String, String> properties,
+                            Map<String, Path> sources,
+                            Map<String, Map<String, Object>> structuredValues) {
+        if (properties.isEmpty() && structuredValues.isEmpty()) {
+            return EMPTY;
+        }
+        return new PropertyIndex(properties, sources, structuredValues);
+    }
+
+    boolean isEmpty() {
+        return properties.isEmpty();
+    }
+
+    int size() {
+        return properties.size();
+    }
+
+    String get(String key) {
+        return properties.get(key);
+    }
+
+    /**
+     * @param key the property key
+     * @return the file the key was loaded from, or null if the index does not record sources for the key
+     */
+    Path sourceOf(String key) {
+        return sources.get(key);
+    }
+
+    /**
+     * @param key the dotted key of a nested object
+     * @return the structured value of the object, or null if there is none
+     */
+    Map<String, Object> getStructuredValue(String key) {
+        return structuredValues.get(key);
+    }
+
+    /**
+     * @param replacementProperties an immutable map of properties with the same keys as this index
+     * @return a new index with the given property values and the same sources and structured values as this one
+     */
+    PropertyIndex withProperties(Map<String, String> replacementProperties) {
+        return replacementProperties == properties ? this : of(replacementProperties, sources, structuredValues);
+    }
+
+    Map<String, String> asMap() {
+        return properties;
+    }
+
+    /**
+     * @param prefix the key prefix to match
+     * @return an immutable view of the properties whose keys start with the prefix, in key order
+     */
+    Map<String, String> withPrefix(String prefix) {
+        requireNonNull(prefix, "prefix must not be null");
+
+        var from = lowerBound(prefix);
+        var to = endOfPrefix(prefix, from);
+        return new PrefixView(prefix, from, to);
+    }
+
+    private int lowerBound(String prefix) {
+        var low = 0;
+        var high = sortedKeys.length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (sortedKeys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Keys that start with the prefix are contiguous in sorted order, starting at {@code from}, so the end of the
+     * range is the first key after it that does not start with the prefix.
+     */
+    private int endOfPrefix(String prefix, int from) {
+        var low = from;
+        var high = sortedKeys.length;
+        while (low < high) {
+            var mid = (low + high) >>> 1;
+            if (sortedKeys[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private final class PrefixView extends AbstractMap<String, String> {
+
+        private final String prefix;
+        private final int from;
+        private final int to;
+
+        PrefixView(String prefix, int from, int to) {
+            this.prefix = prefix;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && ((String) key).startsWith(prefix) && properties.containsKey(key);
+        }
+
+        @Override
+        public String get(Object key) {
+            return containsKey(key) ? properties.get(key) : null;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return to - from;
+                }
+
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int next = from;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < to;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return new LazyEntry(sortedKeys[next++], properties);
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
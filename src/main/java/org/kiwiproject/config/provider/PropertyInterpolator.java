@@ -0,0 +1,232 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces {@code ${other.key}} and {@code ${env:VARIABLE}} placeholders in property values, once, when the
+ * properties are loaded.
+ * <p>
+ * Values that reference other properties form a dependency graph. The graph is sorted topologically and each value
+ * is evaluated once, after all the values it depends on, so every lookup afterwards returns the final string. A cycle
+ * of references is an error. Placeholders that cannot be resolved (an unknown key or an unset environment variable)
+ * are left as they are. Write <code>$${</code> for a literal <code>${</code>.
+ */
+@Slf4j
+final class PropertyInterpolator {
+
+    private static final String PLACEHOLDER_START = "${";
+    private static final String ESCAPED_PLACEHOLDER_START = "$${";
+    private static final String ENV_PREFIX = "env:";
+
+    private final Map<String, String> properties;
+    private final UnaryOperator<String> environment;
+    private final Map<String, List<Segment>> templates = new HashMap<>();
+
+    private PropertyInterpolator(Map<String, String> properties, UnaryOperator<String> environment) {
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    /**
+     * Interpolates all the given properties.
+     *
+     * @param properties  the properties as loaded
+     * @param environment looks up environment variables by name, returning null if unset
+     * @return an immutable map of the interpolated properties, or the given map if no value has a placeholder
+     * @throws IllegalArgumentException if properties reference each other in a cycle
+     */
+    static Map<String, String> interpolate(Map<String, String> properties, UnaryOperator<String> environment) {
+        return new PropertyInterpolator(properties, environment).interpolate();
+    }
+
+    private Map<String, String> interpolate() {
+        properties.forEach((key, value) -> {
+            if (nonNull(value) && value.contains(PLACEHOLDER_START)) {
+                templates.put(key, parse(value));
+            }
+        });
+
+        if (templates.isEmpty()) {
+            return properties;
+        }
+
+        var resolved = new HashMap<>(properties);
+        var environmentValues = new HashMap<String, String>();
+        for (var key : evaluationOrder()) {
+            resolved.put(key, evaluate(key, resolved, environmentValues));
+        }
+
+        LOG.debug("Interpolated {} external properties", templates.size());
+        return Map.copyOf(resolved);
+    }
+
+    /**
+     * Orders the templated keys so that every key comes after the templated keys it references (Kahn's algorithm).
+     */
+    private List<String> evaluationOrder() {
+        var remainingDependencies = new HashMap<String, Integer>();
+        var dependents = new HashMap<String, List<String>>();
+
+        templates.forEach((key, segments) -> {
+            var dependencies = templatedReferences(segments);
+            remainingDependencies.put(key, dependencies.size());
+            dependencies.forEach(dependency -> dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(key));
+        });
+
+        var ready = new ArrayDeque<String>();
+        remainingDependencies.forEach((key, count) -> {
+            if (count == 0) {
+                ready.add(key);
+            }
+        });
+
+        var order = new ArrayList<String>(templates.size());
+        while (!ready.isEmpty()) {
+            var key = ready.poll();
+            order.add(key);
+            for (var dependent : dependents.getOrDefault(key, List.of())) {
+                if (remainingDependencies.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (order.size() < templates.size()) {
+            throw new IllegalArgumentException("Circular property references: " + describeCycle(remainingDependencies));
+        }
+
+        return order;
+    }
+
+    private LinkedHashSet<String> templatedReferences(List<Segment> segments) {
+        var references = new LinkedHashSet<String>();
+        for (var segment : segments) {
+            if (segment.isPropertyReference() && templates.containsKey(segment.text)) {
+                references.add(segment.text);
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Follows references from a key that could not be ordered until a key repeats, to report one actual cycle.
+     */
+    private String describeCycle(Map<String, Integer> remainingDependencies) {
+        var unresolved = remainingDependencies.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+
+        var path = new ArrayList<String>();
+        var key = unresolved.get(0);
+        while (!path.contains(key)) {
+            path.add(key);
+            key = templatedReferences(templates.get(key)).stream()
+                    .filter(unresolved::contains)
+                    .findFirst()
+                    .orElseThrow();
+        }
+
+        var cycle = new ArrayList<>(path.subList(path.indexOf(key), path.size()));
+        cycle.add(key);
+        return String.join(" -> ", cycle);
+    }
+
+    private String evaluate(String key, Map<String, String> resolved, Map<String, String> environmentValues) {
+        var builder = new StringBuilder();
+        for (var segment : templates.get(key)) {
+            String value;
+            switch (segment.kind) {
+                case PROPERTY:
+                    value = resolved.get(segment.text);
+                    break;
+                case ENVIRONMENT:
+                    value = environmentValues.computeIfAbsent(segment.text, environment);
+                    break;
+                default:
+                    value = segment.text;
+            }
+
+            if (isNull(value)) {
+                LOG.warn("Unable to resolve {} in external property {}; leaving it as is", segment.placeholder(), key);
+                value = segment.placeholder();
+            }
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    private static List<Segment> parse(String value) {
+        var segments = new ArrayList<Segment>();
+        var literal = new StringBuilder();
+
+        var position = 0;
+        while (position < value.length()) {
+            if (value.startsWith(ESCAPED_PLACEHOLDER_START, position)) {
+                literal.append(PLACEHOLDER_START);
+                position += ESCAPED_PLACEHOLDER_START.length();
+                continue;
+            }
+
+            var end = value.indexOf('}', position + PLACEHOLDER_START.length());
+            if (!value.startsWith(PLACEHOLDER_START, position) || end < 0) {
+                literal.append(value.charAt(position++));
+                continue;
+            }
+
+            if (literal.length() > 0) {
+                segments.add(new Segment(SegmentKind.LITERAL, literal.toString()));
+                literal.setLength(0);
+            }
+
+            var name = value.substring(position + PLACEHOLDER_START.length(), end);
+            segments.add(name.startsWith(ENV_PREFIX)
+                    ? new Segment(SegmentKind.ENVIRONMENT, name.substring(ENV_PREFIX.length()))
+                    : new Segment(SegmentKind.PROPERTY, name));
+            position = end + 1;
+        }
+
+        if (literal.length() > 0) {
+            segments.add(new Segment(SegmentKind.LITERAL, literal.toString()));
+        }
+        return segments;
+    }
+
+    private enum SegmentKind {
+        LITERAL, PROPERTY, ENVIRONMENT
+    }
+
+    private static final class Segment {
+
+        private final SegmentKind kind;
+        private final String text;
+
+        Segment(SegmentKind kind, String text) {
+            this.kind = kind;
+            this.text = text;
+        }
+
+        boolean isPropertyReference() {
+            return kind == SegmentKind.PROPERTY;
+        }
+
+        String placeholder() {
+            return kind == SegmentKind.ENVIRONMENT
+                    ? PLACEHOLDER_START + ENV_PREFIX + text + "}"
+                    : PLACEHOLDER_START + text + "}";
+        }
+    }
+}
@@ -43,6 +43,12 @@ public enum ResolvedBy {
      */
     SUPPLIER,
 
+    /**
+     * Resolved from a custom {@link org.kiwiproject.config.provider.util.PropertySource PropertySource}; the name of
+     * the source is available from the result, e.g. {@link ResolverResult#getSourceName()}
+     */
+    CUSTOM_SOURCE,
+
     /**
      * Resolution did not occur; no value was resolved
      */
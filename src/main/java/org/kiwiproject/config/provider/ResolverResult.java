@@ -1,7 +1,11 @@
 package org.kiwiproject.config.provider;
 
+import static java.util.Objects.isNull;
+
 import lombok.Value;
 
+import java.util.Map;
+
 /**
  * Contains the result of a property resolution.
  * <p>
@@ -16,6 +20,33 @@ public class ResolverResult<T> {
     T value;
     ResolvedBy resolvedBy;
 
+    /**
+     * The name of the custom source the value came from when resolved by {@link ResolvedBy#CUSTOM_SOURCE}, otherwise
+     * null.
+     */
+    String sourceName;
+
+    public ResolverResult(T value, ResolvedBy resolvedBy) {
+        this(value, resolvedBy, null);
+    }
+
+    public ResolverResult(T value, ResolvedBy resolvedBy, String sourceName) {
+        this.value = value;
+        this.resolvedBy = resolvedBy;
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * Returns the name of the custom source keyed by the given field name, suitable for
+     * {@link ConfigProvider#getResolvedSourceNames()}.
+     *
+     * @param fieldName the name of the field this is the result for
+     * @return a map with the one entry, or an empty map if the property was not resolved by a custom source
+     */
+    public Map<String, String> toSourceNameMap(String fieldName) {
+        return isNull(sourceName) ? Map.of() : Map.of(fieldName, sourceName);
+    }
+
     /**
      * Was the property resolved? A property is considered resolved if the {@link ResolvedBy} is
      * any value except {@link ResolvedBy#NONE NONE}.
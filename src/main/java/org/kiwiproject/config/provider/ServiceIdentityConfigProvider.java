@@ -5,10 +5,17 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import lombok.Builder;
 import lombok.Getter;
 import org.kiwiproject.base.KiwiEnvironment;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Config provider that determines the identity of the service that is running.  Identity is defined by the service
@@ -42,6 +49,27 @@ public class ServiceIdentityConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_ENVIRONMENT_EXTERNAL_PROPERTY_KEY = "service.env";
 
+    private static final FieldDescriptor<String> NAME_FIELD = FieldDescriptor.<String>builder()
+            .name("name")
+            .systemProperty(DEFAULT_NAME_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_NAME_ENV_VARIABLE)
+            .externalKey(DEFAULT_NAME_EXTERNAL_PROPERTY_KEY)
+            .build();
+
+    private static final FieldDescriptor<String> VERSION_FIELD = FieldDescriptor.<String>builder()
+            .name("version")
+            .systemProperty(DEFAULT_VERSION_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_VERSION_ENV_VARIABLE)
+            .externalKey(DEFAULT_VERSION_EXTERNAL_PROPERTY_KEY)
+            .build();
+
+    private static final FieldDescriptor<String> ENVIRONMENT_FIELD = FieldDescriptor.<String>builder()
+            .name("environment")
+            .systemProperty(DEFAULT_ENVIRONMENT_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_ENVIRONMENT_ENV_VARIABLE)
+            .externalKey(DEFAULT_ENVIRONMENT_EXTERNAL_PROPERTY_KEY)
+            .build();
+
     @Getter
     private final String name;
 
@@ -57,48 +85,47 @@ public class ServiceIdentityConfigProvider implements ConfigProvider {
 
     private final ResolvedBy environmentResolvedBy;
 
+    private final Map<String, String> resolvedSourceNames;
+
     @Builder
     private ServiceIdentityConfigProvider(ExternalConfigProvider externalConfigProvider,
                                           KiwiEnvironment kiwiEnvironment,
+                                          ResolutionSnapshot resolutionSnapshot,
+                                          PropertySourceChain propertySources,
+                                          Executor resolutionExecutor,
+                                          ResolutionInstrumentation instrumentation,
                                           FieldResolverStrategy<String> nameResolverStrategy,
                                           FieldResolverStrategy<String> versionResolverStrategy,
                                           FieldResolverStrategy<String> environmentResolverStrategy) {
+        var constructionStart = System.nanoTime();
 
-        var nameResolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
-                .externalConfigProvider(externalConfigProvider)
-                .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(nameResolverStrategy)
-                .systemProperty(DEFAULT_NAME_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_NAME_ENV_VARIABLE)
-                .externalKey(DEFAULT_NAME_EXTERNAL_PROPERTY_KEY)
-                .build());
-
-        this.name = nameResolution.getValue();
-        this.nameResolvedBy = nameResolution.getResolvedBy();
-
-        var versionResolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
+        var resolver = BatchPropertyResolver.builder()
                 .externalConfigProvider(externalConfigProvider)
                 .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(versionResolverStrategy)
-                .systemProperty(DEFAULT_VERSION_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_VERSION_ENV_VARIABLE)
-                .externalKey(DEFAULT_VERSION_EXTERNAL_PROPERTY_KEY)
-                .build());
-
-        this.version = versionResolution.getValue();
-        this.versionResolvedBy = versionResolution.getResolvedBy();
-
-        var environmentResolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
-                .externalConfigProvider(externalConfigProvider)
-                .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(environmentResolverStrategy)
-                .systemProperty(DEFAULT_ENVIRONMENT_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_ENVIRONMENT_ENV_VARIABLE)
-                .externalKey(DEFAULT_ENVIRONMENT_EXTERNAL_PROPERTY_KEY)
-                .build());
-
-        this.environment = environmentResolution.getValue();
-        this.environmentResolvedBy = environmentResolution.getResolvedBy();
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
+
+        var result = resolver.resolve(List.of(
+                FieldRequest.of(NAME_FIELD, nameResolverStrategy),
+                FieldRequest.of(VERSION_FIELD, versionResolverStrategy),
+                FieldRequest.of(ENVIRONMENT_FIELD, environmentResolverStrategy)
+        ));
+
+        this.name = result.getValue(NAME_FIELD);
+        this.nameResolvedBy = result.getResolvedBy(NAME_FIELD);
+
+        this.version = result.getValue(VERSION_FIELD);
+        this.versionResolvedBy = result.getResolvedBy(VERSION_FIELD);
+
+        this.environment = result.getValue(ENVIRONMENT_FIELD);
+        this.environmentResolvedBy = result.getResolvedBy(ENVIRONMENT_FIELD);
+        this.resolvedSourceNames = result.toSourceNameMap();
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, ServiceIdentityConfigProvider.class,
+                constructionStart);
     }
 
     @Override
@@ -114,4 +141,16 @@ public class ServiceIdentityConfigProvider implements ConfigProvider {
                 "environment", environmentResolvedBy
         );
     }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link ServiceIdentityConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class ServiceIdentityConfigProviderBuilder
+            implements ConfigProviderBuilder<ServiceIdentityConfigProvider> {
+    }
 }
@@ -5,10 +5,16 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import lombok.Builder;
 import lombok.Getter;
 import org.kiwiproject.base.KiwiEnvironment;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Config provider that determines the directory path that will be used for shared storage between services.
@@ -29,27 +35,47 @@ public class SharedStorageConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_EXTERNAL_PROPERTY_KEY = "shared.storage.path";
 
+    private static final FieldDescriptor<String> SHARED_STORAGE_PATH_FIELD = FieldDescriptor.<String>builder()
+            .name("sharedStoragePath")
+            .systemProperty(DEFAULT_SHARED_STORAGE_PATH_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_SHARED_STORAGE_PATH_ENV_VARIABLE)
+            .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
+            .build();
+
     @Getter
     private final String sharedStoragePath;
 
     private final ResolvedBy sharedStoragePathResolvedBy;
 
+    private final Map<String, String> resolvedSourceNames;
+
     @Builder
     private SharedStorageConfigProvider(ExternalConfigProvider externalConfigProvider,
                                         KiwiEnvironment kiwiEnvironment,
+                                        ResolutionSnapshot resolutionSnapshot,
+                                        PropertySourceChain propertySources,
+                                        Executor resolutionExecutor,
+                                        ResolutionInstrumentation instrumentation,
                                         FieldResolverStrategy<String> resolverStrategy) {
+        var constructionStart = System.nanoTime();
 
-        var resolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
+        var resolver = BatchPropertyResolver.builder()
                 .externalConfigProvider(externalConfigProvider)
                 .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(resolverStrategy)
-                .systemProperty(DEFAULT_SHARED_STORAGE_PATH_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_SHARED_STORAGE_PATH_ENV_VARIABLE)
-                .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
-                .build());
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
+
+        var resolution = resolver.resolve(FieldRequest.of(SHARED_STORAGE_PATH_FIELD, resolverStrategy));
 
         this.sharedStoragePath = resolution.getValue();
         this.sharedStoragePathResolvedBy = resolution.getResolvedBy();
+        this.resolvedSourceNames = resolution.toSourceNameMap("sharedStoragePath");
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, SharedStorageConfigProvider.class,
+                constructionStart);
     }
 
     @Override
@@ -61,4 +87,16 @@ public class SharedStorageConfigProvider implements ConfigProvider {
     public Map<String, ResolvedBy> getResolvedBy() {
         return Map.of("sharedStoragePath", sharedStoragePathResolvedBy);
     }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link SharedStorageConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class SharedStorageConfigProviderBuilder
+            implements ConfigProviderBuilder<SharedStorageConfigProvider> {
+    }
 }
@@ -0,0 +1,188 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.isNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The contents of a nested JSON or YAML configuration file, flattened into dotted keys.
+ * <p>
+ * As a map this holds one String value per scalar in the document, keyed by its path: nested object keys are joined
+ * with {@code .} and array elements are addressed as {@code key[index]}. For example,
+ * <pre>
+ * datasource:
+ *   url: jdbc:postgresql://localhost/db
+ *   ormProperties:
+ *     hibernate.dialect: PostgreSQLDialect
+ * </pre>
+ * has the keys {@code datasource.url} and {@code datasource.ormProperties.hibernate.dialect}. Null values are omitted,
+ * including null array elements, which do not take an index.
+ * <p>
+ * Every object in the document is also kept in its structured form, so that callers that want a whole map (such as
+ * {@code datasource.ormProperties} above) get it directly, with its scalars as Strings, Numbers and Booleans.
+ * <p>
+ * The file is read in a single pass with Jackson's streaming {@link JsonParser}; no intermediate tree is built.
+ */
+final class StructuredProperties extends AbstractMap<String, String> {
+
+    private static final StructuredProperties EMPTY = new StructuredProperties(Map.of(), Map.of());
+
+    private final Map<String, String> properties;
+    private final Map<String, Map<String, Object>> structuredValues;
+
+    private StructuredProperties(Map<String, String> properties, Map<String, Map<String, Object>> structuredValues) {
+        this.properties = properties;
+        this.structuredValues = structuredValues;
+    }
+
+    /**
+     * Reads and flattens a JSON or YAML file, whose top level must be an object.
+     *
+     * @param path        the file to read
+     * @param jsonFactory the factory for the parser, which determines the format
+     * @return the flattened properties
+     * @throws IOException if the file cannot be read, is malformed, or its top level is not an object
+     */
+    static StructuredProperties load(Path path, JsonFactory jsonFactory) throws IOException {
+        try (var reader = Files.newBufferedReader(path);
+             var parser = jsonFactory.createParser(reader)) {
+
+            var token = parser.nextToken();
+            if (isNull(token)) {
+                return EMPTY;
+            }
+
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "The top level of an external config file must be an object");
+            }
+
+            var flattener = new Flattener(parser);
+            flattener.readObject("");
+            return new StructuredProperties(Map.copyOf(flattener.properties), Map.copyOf(flattener.structuredValues));
+        }
+    }
+
+    /**
+     * @param key the dotted key of an object in the document
+     * @return an unmodifiable view of the object, or null if the key does not name an object
+     */
+    Map<String, Object> getStructuredValue(String key) {
+        return structuredValues.get(key);
+    }
+
+    Map<String, Map<String, Object>> getStructuredValues() {
+        return structuredValues;
+    }
+
+    @Override
+    public int size() {
+        return properties.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return properties.containsKey(key);
+    }
+
+    @Override
+    public String get(Object key) {
+        return properties.get(key);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return properties.entrySet();
+    }
+
+    private static final class Flattener {
+
+        private final JsonParser parser;
+        private final Map<String, String> properties = new HashMap<>();
+        private final Map<String, Map<String, Object>> structuredValues = new HashMap<>();
+
+        Flattener(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        /**
+         * Reads the fields of the object whose START_OBJECT token is the current token.
+         */
+        Map<String, Object> readObject(String path) throws IOException {
+            var fields = new LinkedHashMap<String, Object>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var name = parser.currentName();
+                parser.nextToken();
+
+                var value = readValue(path.isEmpty() ? name : path + "." + name);
+                if (value != null) {
+                    fields.put(name, value);
+                }
+            }
+
+            var object = Collections.unmodifiableMap(fields);
+            if (!path.isEmpty()) {
+                structuredValues.put(path, object);
+            }
+            return object;
+        }
+
+        /**
+         * Reads the elements of the array whose START_ARRAY token is the current token. Null elements are omitted
+         * and do not take an index, so the flattened keys are numbered {@code [0]} to {@code [size - 1]} and match
+         * the positions in the structured list.
+         */
+        private List<Object> readArray(String path) throws IOException {
+            var elements = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                var value = readValue(path + "[" + elements.size() + "]");
+                if (value != null) {
+                    elements.add(value);
+                }
+            }
+            return Collections.unmodifiableList(elements);
+        }
+
+        private Object readValue(String path) throws IOException {
+            switch (parser.currentToken()) {
+                case START_OBJECT:
+                    return readObject(path);
+
+                case START_ARRAY:
+                    return readArray(path);
+
+                case VALUE_NULL:
+                    return null;
+
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    properties.put(path, parser.getText());
+                    return parser.getNumberValue();
+
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    properties.put(path, parser.getText());
+                    return parser.getBooleanValue();
+
+                default:
+                    var text = parser.getText();
+                    properties.put(path, text);
+                    return text;
+            }
+        }
+    }
+}
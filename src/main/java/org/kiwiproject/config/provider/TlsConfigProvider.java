@@ -2,22 +2,22 @@ package org.kiwiproject.config.provider;
 
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
-import static org.kiwiproject.collect.KiwiMaps.newUnmodifiableHashMap;
 
-import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 import org.kiwiproject.base.KiwiEnvironment;
 import org.kiwiproject.base.KiwiStrings;
 import org.kiwiproject.config.TlsContextConfiguration;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.ConfigField;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
 
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -42,22 +42,6 @@ import java.util.function.Supplier;
  */
 public class TlsConfigProvider implements ConfigProvider {
 
-    private static final String SYSTEM_PROPERTY = "systemProperty";
-    private static final String ENV_PROPERTY = "envVariable";
-    private static final String EXTERNAL_PROPERTY = "externalProperty";
-
-    private static final String KEYSTORE_PATH_FIELD = "keyStorePath";
-    private static final String KEYSTORE_PASSWORD_FIELD = "keyStorePassword";
-    private static final String KEYSTORE_TYPE_FIELD = "keyStoreType";
-    private static final String TRUSTSTORE_PATH_FIELD = "trustStorePath";
-    private static final String TRUSTSTORE_PASSWORD_FIELD = "trustStorePassword";
-    private static final String TRUSTSTORE_TYPE_FIELD = "trustStoreType";
-    private static final String VERIFY_HOSTNAME_FIELD = "verifyHostname";
-    private static final String DISABLE_SNI_HOST_CHECK_FIELD = "disableSniHostCheck";
-    private static final String PROTOCOL_FIELD = "protocol";
-    private static final String SUPPORTED_PROTOCOLS_FIELD = "supportedProtocols";
-    private static final String SUPPORTED_CIPHERS_FIELD = "supportedCiphers";
-
     public static final String DEFAULT_KEYSTORE_PATH_SYSTEM_PROPERTY = "kiwi.tls.keyStorePath";
 
     public static final String DEFAULT_KEYSTORE_PATH_ENV_VARIABLE = "KIWI_TLS_KEYSTORE_PATH";
@@ -124,116 +108,148 @@ public class TlsConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_SUPPORTED_CIPHERS_EXTERNAL_PROPERTY_KEY = "tls.supportedCiphers";
 
-    private static final Map<String, String> KEYSTORE_PATH_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_KEYSTORE_PATH_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_KEYSTORE_PATH_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_KEYSTORE_PATH_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> KEYSTORE_PASSWORD_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_KEYSTORE_PASSWORD_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_KEYSTORE_PASSWORD_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_KEYSTORE_PASSWORD_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> KEYSTORE_TYPE_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_KEYSTORE_TYPE_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_KEYSTORE_TYPE_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_KEYSTORE_TYPE_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> TRUSTSTORE_PATH_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_TRUSTSTORE_PATH_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_TRUSTSTORE_PATH_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_TRUSTSTORE_PATH_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> TRUSTSTORE_PASSWORD_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_TRUSTSTORE_PASSWORD_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_TRUSTSTORE_PASSWORD_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_TRUSTSTORE_PASSWORD_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> TRUSTSTORE_TYPE_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_TRUSTSTORE_TYPE_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_TRUSTSTORE_TYPE_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_TRUSTSTORE_TYPE_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> VERIFY_HOSTNAME_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_VERIFY_HOSTNAME_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_VERIFY_HOSTNAME_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_VERIFY_HOSTNAME_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> DISABLE_SNI_HOST_CHECK_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_DISABLE_SNI_HOST_CHECK_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_DISABLE_SNI_HOST_CHECK_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_DISABLE_SNI_HOST_CHECK_EXTERNAL_PROPERTY_KEY
-    );
-
-    private static final Map<String, String> PROTOCOL_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_PROTOCOL_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_PROTOCOL_ENV_VARIABLE, EXTERNAL_PROPERTY,
-            DEFAULT_PROTOCOL_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> SUPPORTED_PROTOCOLS_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_SUPPORTED_PROTOCOLS_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_SUPPORTED_PROTOCOLS_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_SUPPORTED_PROTOCOLS_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, String> SUPPORTED_CIPHERS_DEFAULTS = Map.of(
-            SYSTEM_PROPERTY, DEFAULT_SUPPORTED_CIPHERS_SYSTEM_PROPERTY,
-            ENV_PROPERTY, DEFAULT_SUPPORTED_CIPHERS_ENV_VARIABLE,
-            EXTERNAL_PROPERTY, DEFAULT_SUPPORTED_CIPHERS_EXTERNAL_PROPERTY_KEY);
-
-    private static final Map<String, Map<String, String>> DEFAULTS_FOR_PROPERTIES = newUnmodifiableHashMap(
-            KEYSTORE_PATH_FIELD, KEYSTORE_PATH_DEFAULTS,
-            KEYSTORE_PASSWORD_FIELD, KEYSTORE_PASSWORD_DEFAULTS,
-            KEYSTORE_TYPE_FIELD, KEYSTORE_TYPE_DEFAULTS,
-            TRUSTSTORE_PATH_FIELD, TRUSTSTORE_PATH_DEFAULTS,
-            TRUSTSTORE_PASSWORD_FIELD, TRUSTSTORE_PASSWORD_DEFAULTS,
-            TRUSTSTORE_TYPE_FIELD, TRUSTSTORE_TYPE_DEFAULTS,
-            VERIFY_HOSTNAME_FIELD, VERIFY_HOSTNAME_DEFAULTS,
-            DISABLE_SNI_HOST_CHECK_FIELD, DISABLE_SNI_HOST_CHECK_DEFAULTS,
-            PROTOCOL_FIELD, PROTOCOL_DEFAULTS,
-            SUPPORTED_PROTOCOLS_FIELD, SUPPORTED_PROTOCOLS_DEFAULTS,
-            SUPPORTED_CIPHERS_FIELD, SUPPORTED_CIPHERS_DEFAULTS
+    private static final ConfigField<TlsContextConfiguration, String> KEYSTORE_PATH_FIELD =
+            ConfigField.<TlsContextConfiguration, String>builder()
+                    .name("keyStorePath")
+                    .systemProperty(DEFAULT_KEYSTORE_PATH_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_KEYSTORE_PATH_ENV_VARIABLE)
+                    .externalKey(DEFAULT_KEYSTORE_PATH_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(TlsContextConfiguration::getKeyStorePath)
+                    .setter(TlsContextConfiguration::setKeyStorePath)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, String> KEYSTORE_PASSWORD_FIELD =
+            ConfigField.<TlsContextConfiguration, String>builder()
+                    .name("keyStorePassword")
+                    .systemProperty(DEFAULT_KEYSTORE_PASSWORD_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_KEYSTORE_PASSWORD_ENV_VARIABLE)
+                    .externalKey(DEFAULT_KEYSTORE_PASSWORD_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(TlsContextConfiguration::getKeyStorePassword)
+                    .setter(TlsContextConfiguration::setKeyStorePassword)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, String> KEYSTORE_TYPE_FIELD =
+            ConfigField.<TlsContextConfiguration, String>builder()
+                    .name("keyStoreType")
+                    .systemProperty(DEFAULT_KEYSTORE_TYPE_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_KEYSTORE_TYPE_ENV_VARIABLE)
+                    .externalKey(DEFAULT_KEYSTORE_TYPE_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(TlsContextConfiguration::getKeyStoreType)
+                    .setter(TlsContextConfiguration::setKeyStoreType)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, String> TRUSTSTORE_PATH_FIELD =
+            ConfigField.<TlsContextConfiguration, String>builder()
+                    .name("trustStorePath")
+                    .systemProperty(DEFAULT_TRUSTSTORE_PATH_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_TRUSTSTORE_PATH_ENV_VARIABLE)
+                    .externalKey(DEFAULT_TRUSTSTORE_PATH_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(TlsContextConfiguration::getTrustStorePath)
+                    .setter(TlsContextConfiguration::setTrustStorePath)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, String> TRUSTSTORE_PASSWORD_FIELD =
+            ConfigField.<TlsContextConfiguration, String>builder()
+                    .name("trustStorePassword")
+                    .systemProperty(DEFAULT_TRUSTSTORE_PASSWORD_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_TRUSTSTORE_PASSWORD_ENV_VARIABLE)
+                    .externalKey(DEFAULT_TRUSTSTORE_PASSWORD_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(TlsContextConfiguration::getTrustStorePassword)
+                    .setter(TlsContextConfiguration::setTrustStorePassword)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, String> TRUSTSTORE_TYPE_FIELD =
+            ConfigField.<TlsContextConfiguration, String>builder()
+                    .name("trustStoreType")
+                    .systemProperty(DEFAULT_TRUSTSTORE_TYPE_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_TRUSTSTORE_TYPE_ENV_VARIABLE)
+                    .externalKey(DEFAULT_TRUSTSTORE_TYPE_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(TlsContextConfiguration::getTrustStoreType)
+                    .setter(TlsContextConfiguration::setTrustStoreType)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, Boolean> VERIFY_HOSTNAME_FIELD =
+            ConfigField.<TlsContextConfiguration, Boolean>builder()
+                    .name("verifyHostname")
+                    .systemProperty(DEFAULT_VERIFY_HOSTNAME_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_VERIFY_HOSTNAME_ENV_VARIABLE)
+                    .externalKey(DEFAULT_VERIFY_HOSTNAME_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(Boolean::parseBoolean)
+                    .defaultGetter(TlsContextConfiguration::isVerifyHostname)
+                    .setter(TlsContextConfiguration::setVerifyHostname)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, Boolean> DISABLE_SNI_HOST_CHECK_FIELD =
+            ConfigField.<TlsContextConfiguration, Boolean>builder()
+                    .name("disableSniHostCheck")
+                    .systemProperty(DEFAULT_DISABLE_SNI_HOST_CHECK_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_DISABLE_SNI_HOST_CHECK_ENV_VARIABLE)
+                    .externalKey(DEFAULT_DISABLE_SNI_HOST_CHECK_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(Boolean::parseBoolean)
+                    .defaultGetter(TlsContextConfiguration::isDisableSniHostCheck)
+                    .setter(TlsContextConfiguration::setDisableSniHostCheck)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, String> PROTOCOL_FIELD =
+            ConfigField.<TlsContextConfiguration, String>builder()
+                    .name("protocol")
+                    .systemProperty(DEFAULT_PROTOCOL_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_PROTOCOL_ENV_VARIABLE)
+                    .externalKey(DEFAULT_PROTOCOL_EXTERNAL_PROPERTY_KEY)
+                    .defaultGetter(TlsContextConfiguration::getProtocol)
+                    .setter(TlsContextConfiguration::setProtocol)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, List<String>> SUPPORTED_PROTOCOLS_FIELD =
+            ConfigField.<TlsContextConfiguration, List<String>>builder()
+                    .name("supportedProtocols")
+                    .systemProperty(DEFAULT_SUPPORTED_PROTOCOLS_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_SUPPORTED_PROTOCOLS_ENV_VARIABLE)
+                    .externalKey(DEFAULT_SUPPORTED_PROTOCOLS_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(KiwiStrings::splitOnCommas)
+                    .defaultGetter(TlsContextConfiguration::getSupportedProtocols)
+                    .setter(TlsContextConfiguration::setSupportedProtocols)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, List<String>> SUPPORTED_CIPHERS_FIELD =
+            ConfigField.<TlsContextConfiguration, List<String>>builder()
+                    .name("supportedCiphers")
+                    .systemProperty(DEFAULT_SUPPORTED_CIPHERS_SYSTEM_PROPERTY)
+                    .environmentVariable(DEFAULT_SUPPORTED_CIPHERS_ENV_VARIABLE)
+                    .externalKey(DEFAULT_SUPPORTED_CIPHERS_EXTERNAL_PROPERTY_KEY)
+                    .convertFromString(KiwiStrings::splitOnCommas)
+                    .defaultGetter(TlsContextConfiguration::getSupportedCiphers)
+                    .setter(TlsContextConfiguration::setSupportedCiphers)
+                    .build();
+
+    private static final List<ConfigField<TlsContextConfiguration, ?>> FIELDS = List.of(
+            PROTOCOL_FIELD,
+            KEYSTORE_PATH_FIELD,
+            KEYSTORE_PASSWORD_FIELD,
+            KEYSTORE_TYPE_FIELD,
+            TRUSTSTORE_PATH_FIELD,
+            TRUSTSTORE_PASSWORD_FIELD,
+            TRUSTSTORE_TYPE_FIELD,
+            VERIFY_HOSTNAME_FIELD,
+            DISABLE_SNI_HOST_CHECK_FIELD,
+            SUPPORTED_PROTOCOLS_FIELD,
+            SUPPORTED_CIPHERS_FIELD
     );
 
     @Getter
     private final TlsContextConfiguration tlsContextConfiguration;
 
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy keyStorePathResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy keyStorePasswordResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy keyStoreTypeResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy trustStorePathResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy trustStorePasswordResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy trustStoreTypeResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy verifyHostnameResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy disableSniHostCheckResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy protocolResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy supportedProtocolsResolvedBy;
-
-    @Setter(AccessLevel.PRIVATE)
-    private ResolvedBy supportedCiphersResolvedBy;
+    private final Map<String, ResolvedBy> resolvedBy;
+    private final Map<String, String> resolvedSourceNames;
 
     @SuppressWarnings("java:S107")
     @Builder
     private TlsConfigProvider(ExternalConfigProvider externalConfigProvider,
                               KiwiEnvironment kiwiEnvironment,
+                              ResolutionSnapshot resolutionSnapshot,
+                              PropertySourceChain propertySources,
+                              Executor resolutionExecutor,
+                              ResolutionInstrumentation instrumentation,
                               FieldResolverStrategy<String> keyStorePathResolverStrategy,
                               FieldResolverStrategy<String> keyStorePasswordResolverStrategy,
                               FieldResolverStrategy<String> keyStoreTypeResolverStrategy,
@@ -246,39 +262,44 @@ public class TlsConfigProvider implements ConfigProvider {
                               FieldResolverStrategy<List<String>> supportedProtocolsResolverStrategy,
                               FieldResolverStrategy<List<String>> supportedCiphersResolverStrategy,
                               Supplier<TlsContextConfiguration> tlsContextConfigurationSupplier) {
+        var constructionStart = System.nanoTime();
 
         var originalConfiguration = getSuppliedConfigurationOrDefault(tlsContextConfigurationSupplier);
 
-        tlsContextConfiguration = TlsContextConfiguration.builder()
-                .protocol(resolveProperty(PROTOCOL_FIELD, protocolResolverStrategy, externalConfigProvider, kiwiEnvironment,
-                        originalConfiguration.getProtocol(), this::setProtocolResolvedBy))
-                .keyStorePath(resolveProperty(KEYSTORE_PATH_FIELD, keyStorePathResolverStrategy, externalConfigProvider, kiwiEnvironment,
-                        originalConfiguration.getKeyStorePath(), this::setKeyStorePathResolvedBy))
-                .keyStorePassword(resolveProperty(KEYSTORE_PASSWORD_FIELD, keyStorePasswordResolverStrategy, externalConfigProvider,
-                        kiwiEnvironment, originalConfiguration.getKeyStorePassword(), this::setKeyStorePasswordResolvedBy))
-                .keyStoreType(resolveProperty(KEYSTORE_TYPE_FIELD, keyStoreTypeResolverStrategy, externalConfigProvider, kiwiEnvironment,
-                        originalConfiguration.getKeyStoreType(), this::setKeyStoreTypeResolvedBy))
-                .trustStorePath(resolveProperty(TRUSTSTORE_PATH_FIELD, trustStorePathResolverStrategy, externalConfigProvider,
-                        kiwiEnvironment, originalConfiguration.getTrustStorePath(), this::setTrustStorePathResolvedBy))
-                .trustStorePassword(resolveProperty(TRUSTSTORE_PASSWORD_FIELD, trustStorePasswordResolverStrategy, externalConfigProvider,
-                        kiwiEnvironment, originalConfiguration.getTrustStorePassword(), this::setTrustStorePasswordResolvedBy))
-                .trustStoreType(resolveProperty(TRUSTSTORE_TYPE_FIELD, trustStoreTypeResolverStrategy, externalConfigProvider,
-                        kiwiEnvironment, originalConfiguration.getTrustStoreType(), this::setTrustStoreTypeResolvedBy))
-                .verifyHostname(resolveProperty(VERIFY_HOSTNAME_FIELD, verifyHostnameResolverStrategy, externalConfigProvider,
-                        kiwiEnvironment, originalConfiguration.isVerifyHostname(), this::setVerifyHostnameResolvedBy, Boolean::parseBoolean))
-                .disableSniHostCheck(resolveProperty(DISABLE_SNI_HOST_CHECK_FIELD, disableSniHostCheckResolverStrategy, externalConfigProvider,
-                        kiwiEnvironment, originalConfiguration.isDisableSniHostCheck(), this::setDisableSniHostCheckResolvedBy, Boolean::parseBoolean))
-                .supportedProtocols(resolveProperty(SUPPORTED_PROTOCOLS_FIELD, supportedProtocolsResolverStrategy, externalConfigProvider,
-                        kiwiEnvironment, originalConfiguration.getSupportedProtocols(),
-                        this::setSupportedProtocolsResolvedBy, KiwiStrings::splitOnCommas))
-                .supportedCiphers(resolveProperty(SUPPORTED_CIPHERS_FIELD, supportedCiphersResolverStrategy, externalConfigProvider,
-                        kiwiEnvironment, originalConfiguration.getSupportedCiphers(),
-                        this::setSupportedCiphersResolvedBy, KiwiStrings::splitOnCommas))
+        var resolver = BatchPropertyResolver.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(kiwiEnvironment)
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
                 .build();
+
+        var result = resolver.resolve(List.of(
+                PROTOCOL_FIELD.request(originalConfiguration, protocolResolverStrategy),
+                KEYSTORE_PATH_FIELD.request(originalConfiguration, keyStorePathResolverStrategy),
+                KEYSTORE_PASSWORD_FIELD.request(originalConfiguration, keyStorePasswordResolverStrategy),
+                KEYSTORE_TYPE_FIELD.request(originalConfiguration, keyStoreTypeResolverStrategy),
+                TRUSTSTORE_PATH_FIELD.request(originalConfiguration, trustStorePathResolverStrategy),
+                TRUSTSTORE_PASSWORD_FIELD.request(originalConfiguration, trustStorePasswordResolverStrategy),
+                TRUSTSTORE_TYPE_FIELD.request(originalConfiguration, trustStoreTypeResolverStrategy),
+                VERIFY_HOSTNAME_FIELD.request(originalConfiguration, verifyHostnameResolverStrategy),
+                DISABLE_SNI_HOST_CHECK_FIELD.request(originalConfiguration, disableSniHostCheckResolverStrategy),
+                SUPPORTED_PROTOCOLS_FIELD.request(originalConfiguration, supportedProtocolsResolverStrategy),
+                SUPPORTED_CIPHERS_FIELD.request(originalConfiguration, supportedCiphersResolverStrategy)
+        ));
+
+        tlsContextConfiguration = TlsContextConfiguration.builder().build();
+        ConfigField.applyAll(FIELDS, result, tlsContextConfiguration);
+
+        resolvedBy = result.toResolvedByMap();
+        resolvedSourceNames = result.toSourceNameMap();
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, TlsConfigProvider.class, constructionStart);
     }
 
-    private TlsContextConfiguration getSuppliedConfigurationOrDefault(Supplier<TlsContextConfiguration> tlsContextConfigurationSupplier) {
-        setAllResolvedByToProviderDefault();
+    private static TlsContextConfiguration getSuppliedConfigurationOrDefault(
+            Supplier<TlsContextConfiguration> tlsContextConfigurationSupplier) {
 
         if (nonNull(tlsContextConfigurationSupplier)) {
             return tlsContextConfigurationSupplier.get();
@@ -287,55 +308,6 @@ public class TlsConfigProvider implements ConfigProvider {
         return TlsContextConfiguration.builder().build();
     }
 
-    private String resolveProperty(String fieldName,
-                                   FieldResolverStrategy<String> resolver,
-                                   ExternalConfigProvider externalConfigProvider,
-                                   KiwiEnvironment kiwiEnvironment,
-                                   String originalValue,
-                                   Consumer<ResolvedBy> resolvedBySetter) {
-
-        return resolveProperty(fieldName, resolver, externalConfigProvider, kiwiEnvironment, originalValue,
-                resolvedBySetter, value -> value);
-    }
-
-    private <T> T resolveProperty(String fieldName,
-                                  FieldResolverStrategy<T> resolver,
-                                  ExternalConfigProvider externalConfigProvider,
-                                  KiwiEnvironment kiwiEnvironment,
-                                  T originalValue,
-                                  Consumer<ResolvedBy> resolvedBySetter,
-                                  Function<String, T> convertFromString) {
-
-        var defaultFields = DEFAULTS_FOR_PROPERTIES.get(fieldName);
-
-        var resolution = SinglePropertyResolver.resolveProperty(PropertyResolutionSettings.<T>builder()
-                .externalConfigProvider(externalConfigProvider)
-                .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(resolver)
-                .systemProperty(defaultFields.get(SYSTEM_PROPERTY))
-                .environmentVariable(defaultFields.get(ENV_PROPERTY))
-                .externalKey(defaultFields.get(EXTERNAL_PROPERTY))
-                .defaultValue(originalValue)
-                .convertFromString(convertFromString)
-                .build());
-
-        resolvedBySetter.accept(resolution.getResolvedBy());
-        return resolution.getValue();
-    }
-
-    private void setAllResolvedByToProviderDefault() {
-        keyStorePathResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        keyStorePasswordResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        keyStoreTypeResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        trustStorePathResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        trustStorePasswordResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        trustStoreTypeResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        verifyHostnameResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        protocolResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        supportedProtocolsResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-        supportedCiphersResolvedBy = ResolvedBy.PROVIDER_DEFAULT;
-    }
-
     @Override
     public boolean canProvide() {
         return isNotBlank(tlsContextConfiguration.getTrustStorePath()) &&
@@ -344,18 +316,17 @@ public class TlsConfigProvider implements ConfigProvider {
 
     @Override
     public Map<String, ResolvedBy> getResolvedBy() {
-        return newUnmodifiableHashMap(
-                KEYSTORE_PATH_FIELD, keyStorePathResolvedBy,
-                KEYSTORE_PASSWORD_FIELD, keyStorePasswordResolvedBy,
-                KEYSTORE_TYPE_FIELD, keyStoreTypeResolvedBy,
-                TRUSTSTORE_PATH_FIELD, trustStorePathResolvedBy,
-                TRUSTSTORE_PASSWORD_FIELD, trustStorePasswordResolvedBy,
-                TRUSTSTORE_TYPE_FIELD, trustStoreTypeResolvedBy,
-                VERIFY_HOSTNAME_FIELD, verifyHostnameResolvedBy,
-                DISABLE_SNI_HOST_CHECK_FIELD, disableSniHostCheckResolvedBy,
-                PROTOCOL_FIELD, protocolResolvedBy,
-                SUPPORTED_PROTOCOLS_FIELD, supportedProtocolsResolvedBy,
-                SUPPORTED_CIPHERS_FIELD, supportedCiphersResolvedBy
-        );
+        return resolvedBy;
+    }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link TlsConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class TlsConfigProviderBuilder implements ConfigProviderBuilder<TlsConfigProvider> {
     }
 }
@@ -5,10 +5,16 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import lombok.Builder;
 import lombok.Getter;
 import org.kiwiproject.base.KiwiEnvironment;
-import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.BatchPropertyResolver;
+import org.kiwiproject.config.provider.util.FieldDescriptor;
+import org.kiwiproject.config.provider.util.FieldRequest;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.ResolutionInstrumentation;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
 import org.kiwiproject.config.provider.util.SinglePropertyResolver;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Config provider that determines the connect string to use for a ZooKeeper connection.
@@ -29,28 +35,48 @@ public class ZooKeeperConfigProvider implements ConfigProvider {
 
     public static final String DEFAULT_EXTERNAL_PROPERTY_KEY = "zookeeper.connection";
 
+    private static final FieldDescriptor<String> CONNECT_STRING_FIELD = FieldDescriptor.<String>builder()
+            .name("connectString")
+            .systemProperty(DEFAULT_CONNECT_STRING_SYSTEM_PROPERTY)
+            .environmentVariable(DEFAULT_CONNECT_STRING_ENV_VARIABLE)
+            .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
+            .build();
+
     @Getter
     private final String connectString;
 
     private final ResolvedBy connectStrResolvedBy;
 
+    private final Map<String, String> resolvedSourceNames;
+
 
     @Builder
     private ZooKeeperConfigProvider(ExternalConfigProvider externalConfigProvider,
                                     KiwiEnvironment kiwiEnvironment,
+                                    ResolutionSnapshot resolutionSnapshot,
+                                    PropertySourceChain propertySources,
+                                    Executor resolutionExecutor,
+                                    ResolutionInstrumentation instrumentation,
                                     FieldResolverStrategy<String> resolverStrategy) {
+        var constructionStart = System.nanoTime();
 
-        var resolution = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
+        var resolver = BatchPropertyResolver.builder()
                 .externalConfigProvider(externalConfigProvider)
                 .kiwiEnvironment(kiwiEnvironment)
-                .resolverStrategy(resolverStrategy)
-                .systemProperty(DEFAULT_CONNECT_STRING_SYSTEM_PROPERTY)
-                .environmentVariable(DEFAULT_CONNECT_STRING_ENV_VARIABLE)
-                .externalKey(DEFAULT_EXTERNAL_PROPERTY_KEY)
-                .build());
+                .resolutionSnapshot(resolutionSnapshot)
+                .propertySources(propertySources)
+                .resolutionExecutor(resolutionExecutor)
+                .instrumentation(instrumentation)
+                .build();
+
+        var resolution = resolver.resolve(FieldRequest.of(CONNECT_STRING_FIELD, resolverStrategy));
 
         this.connectString = resolution.getValue();
         this.connectStrResolvedBy = resolution.getResolvedBy();
+        this.resolvedSourceNames = resolution.toSourceNameMap("connectString");
+
+        ResolutionInstrumentation.recordProviderBuilt(instrumentation, ZooKeeperConfigProvider.class,
+                constructionStart);
     }
 
     @Override
@@ -62,4 +88,15 @@ public class ZooKeeperConfigProvider implements ConfigProvider {
     public Map<String, ResolvedBy> getResolvedBy() {
         return Map.of("connectString", connectStrResolvedBy);
     }
+
+    @Override
+    public Map<String, String> getResolvedSourceNames() {
+        return resolvedSourceNames;
+    }
+
+    /**
+     * Builder for {@link ZooKeeperConfigProvider}. Lombok generates the rest of this class.
+     */
+    public static class ZooKeeperConfigProviderBuilder implements ConfigProviderBuilder<ZooKeeperConfigProvider> {
+    }
 }
@@ -0,0 +1,226 @@
+package org.kiwiproject.config.provider;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Mirrors a ZooKeeper znode subtree into memory and serves it through an {@link ExternalConfigProvider}, so that it
+ * can be used by any config provider that takes one.
+ * <p>
+ * The subtree is kept up to date by a Curator {@link CuratorCache}, which watches every znode below the base path.
+ * Whenever a znode is created, changed or deleted, a new immutable set of properties is built and published to the
+ * provider atomically, so lookups (e.g. from {@link org.kiwiproject.config.provider.util.SinglePropertyResolver})
+ * only ever read local memory and never make a request to ZooKeeper.
+ * <p>
+ * Each znode without children is a property. Its key is its path relative to the base path with slashes replaced by
+ * dots, and its value is its data decoded as UTF-8. For example, with a base path of {@code /config/my-service} the
+ * znode {@code /config/my-service/elk/host} is the property {@code elk.host}. Znodes that have children only
+ * organize the tree, and their own data is ignored.
+ * <p>
+ * If no {@link CuratorFramework} is given, a client is created for the connect string (or the connect string
+ * resolved by a {@link ZooKeeperConfigProvider}) and is closed along with this source.
+ */
+@Slf4j
+public class ZooKeeperExternalConfigSource implements Closeable {
+
+    /**
+     * The default time to wait for the initial copy of the subtree.
+     */
+    public static final Duration DEFAULT_INITIALIZATION_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int RETRY_BASE_SLEEP_MILLIS = 1_000;
+    private static final int RETRY_MAX_RETRIES = 3;
+
+    @Getter
+    private final String basePath;
+
+    private final CuratorFramework client;
+    private final boolean ownsClient;
+    private final CuratorCache cache;
+    private final AtomicLong updateCount = new AtomicLong();
+
+    /**
+     * The provider serving the mirrored subtree; see {@link #getExternalConfigProvider()}.
+     */
+    @Getter
+    private final ExternalConfigProvider externalConfigProvider;
+
+    private volatile boolean initialized;
+
+    /**
+     * Creates a new source and waits for the initial copy of the subtree.
+     *
+     * @param client                  the client to use; if null, a new client is created and started
+     * @param connectString           the ZooKeeper connect string used when no client is given
+     * @param zooKeeperConfigProvider the provider that resolves the connect string when neither a client nor a
+     *                                connect string is given; if null, a default {@link ZooKeeperConfigProvider}
+     *                                is used
+     * @param basePath                the absolute path of the znode whose subtree is mirrored
+     * @param initializationTimeout   how long to wait for the initial copy of the subtree; defaults to
+     *                                {@link #DEFAULT_INITIALIZATION_TIMEOUT}. If it elapses, the provider starts out
+     *                                empty and is filled in once the copy completes.
+     */
+    @Builder
+    private ZooKeeperExternalConfigSource(CuratorFramework client,
+                                          String connectString,
+                                          ZooKeeperConfigProvider zooKeeperConfigProvider,
+                                          String basePath,
+                                          Duration initializationTimeout) {
+        checkArgument(isNotBlank(basePath) && basePath.startsWith("/"), "basePath must be an absolute znode path");
+
+        var timeout = isNull(initializationTimeout) ? DEFAULT_INITIALIZATION_TIMEOUT : initializationTimeout;
+        checkArgument(!timeout.isNegative(), "initializationTimeout must not be negative");
+
+        this.basePath = stripTrailingSlash(basePath);
+        this.ownsClient = isNull(client);
+        this.client = ownsClient ? newClient(resolveConnectString(connectString, zooKeeperConfigProvider)) : client;
+        this.externalConfigProvider = new ExternalConfigProvider(Path.of(this.basePath), true);
+
+        var initialCopy = new CountDownLatch(1);
+        this.cache = CuratorCache.build(this.client, this.basePath);
+        this.cache.listenable().addListener(new CuratorCacheListener() {
+            @Override
+            public void event(Type type, ChildData oldData, ChildData data) {
+                if (initialized) {
+                    publish();
+                }
+            }
+
+            @Override
+            public void initialized() {
+                ZooKeeperExternalConfigSource.this.initialized = true;
+                publish();
+                initialCopy.countDown();
+            }
+        });
+        this.cache.start();
+
+        awaitInitialCopy(initialCopy, timeout);
+    }
+
+    private static String stripTrailingSlash(String path) {
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String resolveConnectString(String connectString, ZooKeeperConfigProvider zooKeeperConfigProvider) {
+        if (isNotBlank(connectString)) {
+            return connectString;
+        }
+
+        var provider = isNull(zooKeeperConfigProvider)
+                ? ZooKeeperConfigProvider.builder().build()
+                : zooKeeperConfigProvider;
+        checkArgument(provider.canProvide(), "a client or ZooKeeper connect string is required");
+        return provider.getConnectString();
+    }
+
+    private static CuratorFramework newClient(String connectString) {
+        var client = CuratorFrameworkFactory.newClient(connectString,
+                new ExponentialBackoffRetry(RETRY_BASE_SLEEP_MILLIS, RETRY_MAX_RETRIES));
+        client.start();
+        return client;
+    }
+
+    private void awaitInitialCopy(CountDownLatch initialCopy, Duration timeout) {
+        try {
+            if (!initialCopy.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOG.warn("Timed out after {} waiting for the initial copy of {}; it will be published when complete",
+                        timeout, basePath);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted waiting for the initial copy of {}", basePath);
+        }
+    }
+
+    /**
+     * Builds the properties from the current contents of the cache and publishes them to the provider.
+     * <p>
+     * Curator delivers events on a single thread, so this is normally not called concurrently; it is synchronized so
+     * that a later snapshot can never be overwritten by an earlier one.
+     */
+    private synchronized void publish() {
+        var nodes = cache.stream()
+                .filter(node -> !node.getPath().equals(basePath))
+                .collect(Collectors.toList());
+
+        var parentPaths = new HashSet<String>();
+        for (var node : nodes) {
+            var path = node.getPath();
+            parentPaths.add(path.substring(0, path.lastIndexOf('/')));
+        }
+
+        var properties = new HashMap<String, String>();
+        var sources = new HashMap<String, Path>();
+        for (var node : nodes) {
+            var path = node.getPath();
+            var data = node.getData();
+            if (parentPaths.contains(path) || isNull(data)) {
+                continue;
+            }
+
+            var key = toPropertyKey(path);
+            properties.put(key, new String(data, StandardCharsets.UTF_8));
+            sources.put(key, Path.of(path));
+        }
+
+        externalConfigProvider.publish(PropertyIndex.of(Map.copyOf(properties), Map.copyOf(sources), Map.of()));
+        updateCount.incrementAndGet();
+        LOG.debug("Published {} properties from {}", properties.size(), basePath);
+    }
+
+    private String toPropertyKey(String path) {
+        var prefixLength = "/".equals(basePath) ? 1 : basePath.length() + 1;
+        return path.substring(prefixLength).replace('/', '.');
+    }
+
+    /**
+     * @return true once the initial copy of the subtree has been published
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * @return the number of times a new set of properties has been published, including the initial copy
+     */
+    public long getUpdateCount() {
+        return updateCount.get();
+    }
+
+    /**
+     * Stops watching the subtree, and closes the client if it was created by this source. The provider keeps the
+     * last published properties.
+     */
+    @Override
+    public void close() {
+        cache.close();
+
+        if (ownsClient) {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.kiwiproject.config.provider.ExternalConfigProvider.getExternalPropertyProviderOrDefault;
+import static org.kiwiproject.config.provider.util.ResolutionSteps.lookupEnvironmentVariable;
+import static org.kiwiproject.config.provider.util.ResolutionSteps.lookupSystemProperty;
+import static org.kiwiproject.config.provider.util.ResolutionSteps.resolverStrategyOrEmpty;
+
+import lombok.Builder;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+import org.kiwiproject.config.provider.ResolvedBy;
+import org.kiwiproject.config.provider.ResolverResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Resolves all the fields of a provider in one pass over the sources.
+ * <p>
+ * Instead of running the full resolution chain once per field, each source is visited once for the whole batch, and
+ * only the fields that earlier sources did not resolve are looked up in later ones. The external configuration is
+ * looked up at most once per batch, and not at all when every field was resolved from system properties or
+ * environment variables.
+ * <p>
+ * The order of precedence is the same as {@link SinglePropertyResolver#resolveProperty(PropertyResolutionSettings)},
+ * including any custom {@link PropertySource}s, which are visited once per batch at each of their positions.
+ * <p>
+ * For fields whose descriptor has a {@link FieldDescriptor#getConvertFromMap() map converter}, the external step also
+ * accepts a nested object from a JSON or YAML external config file when there is no String value for the key.
+ * <p>
+ * Value suppliers are normally called one after another. When a resolution executor is given, the suppliers of all
+ * the fields are called concurrently on it, so a batch with several slow suppliers only waits for the slowest one.
+ * <p>
+ * When the {@code org.kiwiproject.config.ConfigPropertyResolved} Flight Recorder event is enabled, one event is
+ * recorded for each field of the batch.
+ */
+public class BatchPropertyResolver {
+
+    private final ExternalConfigProvider externalConfigProvider;
+    private final KiwiEnvironment kiwiEnvironment;
+    private final ResolutionSnapshot resolutionSnapshot;
+    private final PropertySourceChain propertySources;
+    private final Executor resolutionExecutor;
+    private final ResolutionInstrumentation instrumentation;
+
+    /**
+     * Creates a new resolver.
+     *
+     * @param externalConfigProvider the external config to use; if null, the shared default one is used
+     * @param kiwiEnvironment        the environment to resolve environment variables from; if null, the process
+     *                               environment is used
+     * @param resolutionSnapshot     an optional snapshot to resolve system properties and environment variables from
+     * @param propertySources        optional custom sources, consulted with the external key of each field
+     * @param resolutionExecutor     an optional executor; if given, the value suppliers of all the fields that need
+     *                               them are called concurrently on it, and the batch waits for them once; if not,
+     *                               they are called concurrently on the default executor while a provider is built
+     *                               by {@link ResolutionExecutors#buildAsync}, and one after another otherwise
+     * @param instrumentation        an optional instrumentation to record source lookups and outcomes with
+     */
+    @Builder
+    private BatchPropertyResolver(ExternalConfigProvider externalConfigProvider,
+                                  KiwiEnvironment kiwiEnvironment,
+                                  ResolutionSnapshot resolutionSnapshot,
+                                  PropertySourceChain propertySources,
+                                  Executor resolutionExecutor,
+                                  ResolutionInstrumentation instrumentation) {
+        this.externalConfigProvider = externalConfigProvider;
+        this.kiwiEnvironment = kiwiEnvironment;
+        this.resolutionSnapshot = resolutionSnapshot;
+        this.propertySources = isNull(propertySources) || propertySources.isEmpty() ? null : propertySources;
+        this.resolutionExecutor = resolutionExecutor;
+        this.instrumentation = ResolutionInstrumentation.orNoop(instrumentation);
+    }
+
+    /**
+     * Resolves a single field.
+     *
+     * @param request the field to resolve
+     * @param <T>     the type of the field
+     * @return the resolved value and how it was resolved
+     */
+    public <T> ResolverResult<T> resolve(FieldRequest<T> request) {
+        return resolve(List.of(request)).get(request.getDescriptor());
+    }
+
+    /**
+     * Resolves all the requested fields asynchronously, on the resolution executor if one was given, otherwise on the
+     * {@link ResolutionExecutors#defaultExecutor() default executor}.
+     *
+     * @param requests the fields to resolve
+     * @return a future that completes with the resolved values, or with the exception that resolution failed with
+     */
+    public CompletableFuture<BatchResolverResult> resolveAsync(List<FieldRequest<?>> requests) {
+        return ResolutionExecutors.supplyAsync(() -> resolve(requests), resolutionExecutor);
+    }
+
+    /**
+     * Resolves all the requested fields.
+     *
+     * @param requests the fields to resolve
+     * @return the resolved values and how each one was resolved, in request order
+     */
+    public BatchResolverResult resolve(List<FieldRequest<?>> requests) {
+        var count = requests.size();
+        var descriptors = new FieldDescriptor<?>[count];
+        var strategies = new FieldResolverStrategy<?>[count];
+        var values = new Object[count];
+        var resolvedBy = new ResolvedBy[count];
+        var sourceNames = isNull(propertySources) ? null : new String[count];
+        var events = ConfigPropertyResolvedEvent.beginBatch(count);
+
+        for (var i = 0; i < count; i++) {
+            var request = requests.get(i);
+            descriptors[i] = request.getDescriptor();
+            strategies[i] = resolverStrategyOrEmpty(request.getResolverStrategy());
+        }
+
+        var remaining = count;
+        var instrumented = instrumentation.isEnabled();
+
+        if (nonNull(propertySources)) {
+            remaining = resolveFromCustomSources(descriptors, strategies, values, resolvedBy, sourceNames, events,
+                    remaining, Integer.MIN_VALUE, PropertySource.SYSTEM_PROPERTY_ORDER - 1);
+            ConfigPropertyResolvedEvent.endResolved(events, resolvedBy);
+        }
+
+        if (remaining > 0) {
+            var start = instrumented ? System.nanoTime() : 0;
+            var before = remaining;
+            remaining = resolveFromSystemProperties(descriptors, strategies, values, resolvedBy, events, remaining);
+            ConfigPropertyResolvedEvent.endResolved(events, resolvedBy);
+            recordLookups(ResolutionInstrumentation.SYSTEM_PROPERTY_SOURCE, before, remaining, start);
+        }
+
+        if (remaining > 0 && nonNull(propertySources)) {
+            remaining = resolveFromCustomSources(descriptors, strategies, values, resolvedBy, sourceNames, events,
+                    remaining, PropertySource.SYSTEM_PROPERTY_ORDER, PropertySource.ENVIRONMENT_ORDER - 1);
+            ConfigPropertyResolvedEvent.endResolved(events, resolvedBy);
+        }
+
+        if (remaining > 0) {
+            var start = instrumented ? System.nanoTime() : 0;
+            var before = remaining;
+            remaining = resolveFromEnvironment(descriptors, strategies, values, resolvedBy, events, remaining);
+            ConfigPropertyResolvedEvent.endResolved(events, resolvedBy);
+            recordLookups(ResolutionInstrumentation.ENVIRONMENT_SOURCE, before, remaining, start);
+        }
+
+        if (remaining > 0 && nonNull(propertySources)) {
+            remaining = resolveFromCustomSources(descriptors, strategies, values, resolvedBy, sourceNames, events,
+                    remaining, PropertySource.ENVIRONMENT_ORDER, PropertySource.EXTERNAL_PROPERTY_ORDER - 1);
+            ConfigPropertyResolvedEvent.endResolved(events, resolvedBy);
+        }
+
+        if (remaining > 0) {
+            var start = instrumented ? System.nanoTime() : 0;
+            var before = remaining;
+            remaining = resolveFromExternalConfig(descriptors, strategies, values, resolvedBy, events, remaining);
+            ConfigPropertyResolvedEvent.endResolved(events, resolvedBy);
+            recordLookups(ResolutionInstrumentation.EXTERNAL_PROPERTY_SOURCE, before, remaining, start);
+        }
+
+        if (remaining > 0 && nonNull(propertySources)) {
+            remaining = resolveFromCustomSources(descriptors, strategies, values, resolvedBy, sourceNames, events,
+                    remaining, PropertySource.EXTERNAL_PROPERTY_ORDER, Integer.MAX_VALUE);
+            ConfigPropertyResolvedEvent.endResolved(events, resolvedBy);
+        }
+
+        if (remaining > 0) {
+            resolveFromDefaultValues(requests, strategies, values, resolvedBy);
+            ConfigPropertyResolvedEvent.endResolved(events, resolvedBy);
+        }
+
+        if (instrumented) {
+            for (var fieldResolvedBy : resolvedBy) {
+                instrumentation.fieldResolved(fieldResolvedBy);
+            }
+        }
+
+        ConfigPropertyResolvedEvent.commitBatch(events, descriptors, strategies, sourceNames);
+
+        return new BatchResolverResult(descriptors, values, resolvedBy, sourceNames);
+    }
+
+    private int resolveFromCustomSources(FieldDescriptor<?>[] descriptors,
+                                         FieldResolverStrategy<?>[] strategies,
+                                         Object[] values,
+                                         ResolvedBy[] resolvedBy,
+                                         String[] sourceNames,
+                                         ConfigPropertyResolvedEvent[] events,
+                                         int remaining,
+                                         int minOrder,
+                                         int maxOrder) {
+        for (var i = 0; i < descriptors.length; i++) {
+            if (nonNull(resolvedBy[i])) {
+                continue;
+            }
+
+            var key = strategies[i].getExternalPropertyOrDefault(descriptors[i].getExternalKey());
+            var match = propertySources.lookup(key, minOrder, maxOrder, instrumentation);
+            if (nonNull(match)) {
+                values[i] = convert(descriptors[i], match.getValue(), events, i);
+                resolvedBy[i] = ResolvedBy.CUSTOM_SOURCE;
+                sourceNames[i] = match.getSourceName();
+                remaining--;
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Converts the String value of a field, timing the conversion when the resolution events are enabled.
+     */
+    private static Object convert(FieldDescriptor<?> descriptor,
+                                  String value,
+                                  ConfigPropertyResolvedEvent[] events,
+                                  int index) {
+        if (isNull(events)) {
+            return descriptor.convert(value);
+        }
+
+        var start = System.nanoTime();
+        var converted = descriptor.convert(value);
+        events[index].converterTime = System.nanoTime() - start;
+        return converted;
+    }
+
+    private void recordLookups(String sourceName, int before, int remaining, long startNanos) {
+        if (instrumentation.isEnabled()) {
+            instrumentation.sourceLookups(sourceName, before, before - remaining, System.nanoTime() - startNanos);
+        }
+    }
+
+    private int resolveFromSystemProperties(FieldDescriptor<?>[] descriptors,
+                                            FieldResolverStrategy<?>[] strategies,
+                                            Object[] values,
+                                            ResolvedBy[] resolvedBy,
+                                            ConfigPropertyResolvedEvent[] events,
+                                            int remaining) {
+        for (var i = 0; i < descriptors.length; i++) {
+            if (nonNull(resolvedBy[i])) {
+                continue;
+            }
+
+            var key = strategies[i].getSystemPropertyKeyOrDefault(descriptors[i].getSystemProperty());
+            var value = lookupSystemProperty(resolutionSnapshot, key);
+            if (isNotBlank(value)) {
+                values[i] = convert(descriptors[i], value, events, i);
+                resolvedBy[i] = ResolvedBy.SYSTEM_PROPERTY;
+                remaining--;
+            }
+        }
+        return remaining;
+    }
+
+    private int resolveFromEnvironment(FieldDescriptor<?>[] descriptors,
+                                       FieldResolverStrategy<?>[] strategies,
+                                       Object[] values,
+                                       ResolvedBy[] resolvedBy,
+                                       ConfigPropertyResolvedEvent[] events,
+                                       int remaining) {
+        for (var i = 0; i < descriptors.length; i++) {
+            if (nonNull(resolvedBy[i])) {
+                continue;
+            }
+
+            var name = strategies[i].getEnvVariableOrDefault(descriptors[i].getEnvironmentVariable());
+            var value = lookupEnvironmentVariable(resolutionSnapshot, kiwiEnvironment, name);
+            if (isNotBlank(value)) {
+                values[i] = convert(descriptors[i], value, events, i);
+                resolvedBy[i] = ResolvedBy.SYSTEM_ENV;
+                remaining--;
+            }
+        }
+        return remaining;
+    }
+
+    private int resolveFromExternalConfig(FieldDescriptor<?>[] descriptors,
+                                          FieldResolverStrategy<?>[] strategies,
+                                          Object[] values,
+                                          ResolvedBy[] resolvedBy,
+                                          ConfigPropertyResolvedEvent[] events,
+                                          int remaining) {
+        var externalConfig = getExternalPropertyProviderOrDefault(externalConfigProvider, resolutionSnapshot);
+        if (externalConfig.canNotProvide()) {
+            return remaining;
+        }
+
+        for (var i = 0; i < descriptors.length; i++) {
+            if (nonNull(resolvedBy[i])) {
+                continue;
+            }
+
+            var key = strategies[i].getExternalPropertyOrDefault(descriptors[i].getExternalKey());
+            var value = externalConfig.getPropertyOrNull(key);
+            if (nonNull(value)) {
+                values[i] = convert(descriptors[i], value, events, i);
+                resolvedBy[i] = ResolvedBy.EXTERNAL_PROPERTY;
+                remaining--;
+            } else if (descriptors[i].acceptsStructuredValue()) {
+                remaining -= resolveStructuredValue(externalConfig, key, descriptors[i], i, values, resolvedBy);
+            }
+        }
+        return remaining;
+    }
+
+    private static int resolveStructuredValue(ExternalConfigProvider externalConfig,
+                                              String key,
+                                              FieldDescriptor<?> descriptor,
+                                              int index,
+                                              Object[] values,
+                                              ResolvedBy[] resolvedBy) {
+        var structuredValue = externalConfig.getStructuredPropertyOrNull(key);
+        if (isNull(structuredValue)) {
+            return 0;
+        }
+
+        values[index] = descriptor.getConvertFromMap().apply(structuredValue);
+        resolvedBy[index] = ResolvedBy.EXTERNAL_PROPERTY;
+        return 1;
+    }
+
+    private void resolveFromDefaultValues(List<FieldRequest<?>> requests,
+                                          FieldResolverStrategy<?>[] strategies,
+                                          Object[] values,
+                                          ResolvedBy[] resolvedBy) {
+        var fanOutExecutor = ResolutionExecutors.fanOutExecutor(resolutionExecutor);
+        if (nonNull(fanOutExecutor)) {
+            resolveFromDefaultValuesConcurrently(requests, strategies, values, resolvedBy, fanOutExecutor);
+            return;
+        }
+
+        for (var i = 0; i < resolvedBy.length; i++) {
+            if (isNull(resolvedBy[i])) {
+                resolveFromDefaults(requests, strategies, values, resolvedBy, i);
+            }
+        }
+    }
+
+    /**
+     * Calls the value suppliers of the unresolved fields concurrently, and waits for all of them once. Fields without
+     * a supplier are resolved on the calling thread.
+     */
+    private void resolveFromDefaultValuesConcurrently(List<FieldRequest<?>> requests,
+                                                      FieldResolverStrategy<?>[] strategies,
+                                                      Object[] values,
+                                                      ResolvedBy[] resolvedBy,
+                                                      Executor executor) {
+        var pending = new ArrayList<CompletableFuture<Void>>();
+        for (var i = 0; i < resolvedBy.length; i++) {
+            if (nonNull(resolvedBy[i])) {
+                continue;
+            }
+
+            if (isNull(strategies[i].getValueSupplier())) {
+                resolveFromDefaults(requests, strategies, values, resolvedBy, i);
+            } else {
+                var index = i;
+                Runnable task = () -> resolveFromDefaults(requests, strategies, values, resolvedBy, index);
+                pending.add(CompletableFuture.runAsync(task, executor));
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            ResolutionExecutors.join(CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void resolveFromDefaults(List<FieldRequest<?>> requests,
+                                            FieldResolverStrategy<?>[] strategies,
+                                            Object[] values,
+                                            ResolvedBy[] resolvedBy,
+                                            int index) {
+        var result = ResolutionSteps.resolveFromDefaults((FieldResolverStrategy) strategies[index],
+                requests.get(index).getDefaultValue());
+        values[index] = result.getValue();
+        resolvedBy[index] = result.getResolvedBy();
+    }
+}
@@ -0,0 +1,142 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import org.kiwiproject.config.provider.ResolvedBy;
+import org.kiwiproject.config.provider.ResolverResult;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The result of resolving a batch of fields with {@link BatchPropertyResolver}. Values and how they were resolved
+ * are stored in parallel arrays in the same order as the requests.
+ */
+public final class BatchResolverResult {
+
+    private final FieldDescriptor<?>[] descriptors;
+    private final Object[] values;
+    private final ResolvedBy[] resolvedBy;
+
+    /**
+     * The names of the custom sources that resolved each field, or null when the batch had no custom sources.
+     */
+    private final String[] sourceNames;
+
+    BatchResolverResult(FieldDescriptor<?>[] descriptors,
+                        Object[] values,
+                        ResolvedBy[] resolvedBy,
+                        String[] sourceNames) {
+        this.descriptors = descriptors;
+        this.values = values;
+        this.resolvedBy = resolvedBy;
+        this.sourceNames = sourceNames;
+    }
+
+    /**
+     * @return the number of fields in this result
+     */
+    public int size() {
+        return descriptors.length;
+    }
+
+    /**
+     * Returns the resolved value of the given field.
+     *
+     * @param descriptor the field
+     * @param <T>        the type of the field
+     * @return the resolved value, which may be null if the field was not resolved
+     * @throws IllegalArgumentException if the field was not part of the batch
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(FieldDescriptor<T> descriptor) {
+        return (T) values[indexOf(descriptor)];
+    }
+
+    /**
+     * Returns how the given field was resolved.
+     *
+     * @param descriptor the field
+     * @return how the field was resolved
+     * @throws IllegalArgumentException if the field was not part of the batch
+     */
+    public ResolvedBy getResolvedBy(FieldDescriptor<?> descriptor) {
+        return resolvedBy[indexOf(descriptor)];
+    }
+
+    /**
+     * Returns the name of the custom source that resolved the given field.
+     *
+     * @param descriptor the field
+     * @return the name of the {@link PropertySource}, or null if the field was not resolved by
+     * {@link ResolvedBy#CUSTOM_SOURCE}
+     * @throws IllegalArgumentException if the field was not part of the batch
+     */
+    public String getSourceName(FieldDescriptor<?> descriptor) {
+        var index = indexOf(descriptor);
+        return isNull(sourceNames) ? null : sourceNames[index];
+    }
+
+    /**
+     * Returns the result of the given field as a {@link ResolverResult}.
+     *
+     * @param descriptor the field
+     * @param <T>        the type of the field
+     * @return a new {@link ResolverResult} for the field
+     * @throws IllegalArgumentException if the field was not part of the batch
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResolverResult<T> get(FieldDescriptor<T> descriptor) {
+        var index = indexOf(descriptor);
+        var sourceName = isNull(sourceNames) ? null : sourceNames[index];
+        return new ResolverResult<>((T) values[index], resolvedBy[index], sourceName);
+    }
+
+    /**
+     * Returns a mapping of field names to how each field was resolved, suitable for
+     * {@link org.kiwiproject.config.provider.ConfigProvider#getResolvedBy()}.
+     *
+     * @return an unmodifiable map of field name to {@link ResolvedBy}
+     */
+    public Map<String, ResolvedBy> toResolvedByMap() {
+        var resolvedByMap = new LinkedHashMap<String, ResolvedBy>(descriptors.length * 2);
+        for (var i = 0; i < descriptors.length; i++) {
+            resolvedByMap.put(descriptors[i].getName(), resolvedBy[i]);
+        }
+        return Collections.unmodifiableMap(resolvedByMap);
+    }
+
+    /**
+     * Returns a mapping of the names of the fields that were resolved by a custom source to the name of that source,
+     * suitable for {@link org.kiwiproject.config.provider.ConfigProvider#getResolvedSourceNames()}.
+     *
+     * @return an unmodifiable map of field name to custom source name, which is empty if no field was resolved by a
+     * custom source
+     */
+    public Map<String, String> toSourceNameMap() {
+        if (isNull(sourceNames)) {
+            return Map.of();
+        }
+
+        var sourceNameMap = new LinkedHashMap<String, String>();
+        for (var i = 0; i < descriptors.length; i++) {
+            if (nonNull(sourceNames[i])) {
+                sourceNameMap.put(descriptors[i].getName(), sourceNames[i]);
+            }
+        }
+        return Collections.unmodifiableMap(sourceNameMap);
+    }
+
+    private int indexOf(FieldDescriptor<?> descriptor) {
+        // Batches are small (a provider's fields), so an identity scan beats hashing
+        for (var i = 0; i < descriptors.length; i++) {
+            if (descriptors[i] == descriptor) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Field " + descriptor.getName() + " was not part of this batch");
+    }
+}
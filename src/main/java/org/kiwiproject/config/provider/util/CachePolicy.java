@@ -0,0 +1,81 @@
+package org.kiwiproject.config.provider.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Declares whether the results of a {@link PropertySource} may be cached, and for how long.
+ * <p>
+ * Absent values are cached the same as present ones, so a cacheable source is not asked again for a key it does not
+ * have.
+ */
+@EqualsAndHashCode
+@ToString
+public final class CachePolicy {
+
+    private static final long VOLATILE_NANOS = 0L;
+    private static final long FOREVER_NANOS = Long.MAX_VALUE;
+
+    private static final CachePolicy VOLATILE = new CachePolicy(VOLATILE_NANOS);
+    private static final CachePolicy CACHEABLE = new CachePolicy(FOREVER_NANOS);
+
+    private final long ttlNanos;
+
+    private CachePolicy(long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * @return a policy for sources whose values may change at any time, which are looked up on every resolution
+     */
+    public static CachePolicy volatileResults() {
+        return VOLATILE;
+    }
+
+    /**
+     * @return a policy for sources whose values never change, which are looked up once per key until the cache is
+     * invalidated
+     * @see PropertySourceChain#invalidate()
+     */
+    public static CachePolicy cacheable() {
+        return CACHEABLE;
+    }
+
+    /**
+     * @param ttl how long a looked up value may be used before the source is asked again
+     * @return a policy for sources whose values change occasionally
+     */
+    public static CachePolicy ttl(Duration ttl) {
+        checkArgument(nonNull(ttl) && !ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+        return new CachePolicy(ttl.toNanos());
+    }
+
+    /**
+     * @return true if results must not be cached
+     */
+    public boolean isVolatile() {
+        return ttlNanos == VOLATILE_NANOS;
+    }
+
+    /**
+     * @return the time to live of cached results, or empty if results are not cached or are cached forever
+     */
+    public Optional<Duration> getTtl() {
+        return isVolatile() || ttlNanos == FOREVER_NANOS ? Optional.empty() : Optional.of(Duration.ofNanos(ttlNanos));
+    }
+
+    /**
+     * @param loadedAtNanos the {@link System#nanoTime()} when the result was looked up
+     * @param nowNanos      the current {@link System#nanoTime()}
+     * @return true if a result looked up at the given time may still be used
+     */
+    boolean isFresh(long loadedAtNanos, long nowNanos) {
+        return ttlNanos == FOREVER_NANOS || nowNanos - loadedAtNanos < ttlNanos;
+    }
+}
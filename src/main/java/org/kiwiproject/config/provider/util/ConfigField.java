@@ -0,0 +1,82 @@
+package org.kiwiproject.config.provider.util;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Binds a {@link FieldDescriptor} to a property of a mutable configuration object, such as a Dropwizard
+ * {@code DataSourceFactory}. The field knows how to read its default value from an existing configuration object and
+ * how to write the resolved value into a new one.
+ * <p>
+ * Providers that build a configuration object declare their fields once as constants and hand them to
+ * {@link BatchPropertyResolver}, instead of keeping per-field lookup tables and setter callbacks.
+ *
+ * @param <C> the type of the configuration object
+ * @param <T> the type of the field
+ */
+@Getter
+public final class ConfigField<C, T> {
+
+    private final FieldDescriptor<T> descriptor;
+    private final Function<C, T> defaultGetter;
+    private final BiConsumer<C, T> setter;
+
+    @Builder
+    private ConfigField(String name,
+                        String systemProperty,
+                        String environmentVariable,
+                        String externalKey,
+                        Function<String, T> convertFromString,
+                        Function<C, T> defaultGetter,
+                        BiConsumer<C, T> setter) {
+        this.descriptor = FieldDescriptor.<T>builder()
+                .name(name)
+                .systemProperty(systemProperty)
+                .environmentVariable(environmentVariable)
+                .externalKey(externalKey)
+                .convertFromString(convertFromString)
+                .build();
+        this.defaultGetter = defaultGetter;
+        this.setter = setter;
+    }
+
+    /**
+     * Creates a request to resolve this field, using the value in the given configuration object as the default.
+     *
+     * @param defaults         the configuration object to read the default value from
+     * @param resolverStrategy the resolver strategy for the field, which may be null
+     * @return a new request
+     */
+    public FieldRequest<T> request(C defaults, FieldResolverStrategy<T> resolverStrategy) {
+        return FieldRequest.of(descriptor, resolverStrategy, defaultGetter.apply(defaults));
+    }
+
+    /**
+     * Writes the resolved value of this field into the given configuration object.
+     *
+     * @param result the batch result containing this field
+     * @param target the configuration object to update
+     */
+    public void apply(BatchResolverResult result, C target) {
+        setter.accept(target, result.getValue(descriptor));
+    }
+
+    /**
+     * Writes the resolved values of all the given fields into the given configuration object.
+     *
+     * @param fields the fields to write
+     * @param result the batch result containing the fields
+     * @param target the configuration object to update
+     * @param <C>    the type of the configuration object
+     */
+    public static <C> void applyAll(List<ConfigField<C, ?>> fields, BatchResolverResult result, C target) {
+        for (var field : fields) {
+            field.apply(result, target);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.kiwiproject.config.provider.BooleanResolverResult;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+import org.kiwiproject.config.provider.IntResolverResult;
+import org.kiwiproject.config.provider.LongResolverResult;
+import org.kiwiproject.config.provider.ResolvedBy;
+import org.kiwiproject.config.provider.ResolverResult;
+
+/**
+ * Java Flight Recorder event for the resolution of one configuration property.
+ * <p>
+ * The duration of the event is the time taken to resolve the property, including any value supplier. For properties
+ * resolved together by a {@link BatchPropertyResolver}, the event starts when the batch starts and ends when the
+ * source that had the value was consulted, so it shows how far into the batch the property was resolved.
+ * <p>
+ * The event is enabled by default, so recordings started with the standard {@code default} or {@code profile}
+ * settings capture it without any changes. Only a few events are recorded for each provider that is built. When a
+ * recording disables the event, or no recording is running, resolution does not read the clock.
+ */
+@Name(ConfigPropertyResolvedEvent.NAME)
+@Label("Config Property Resolved")
+@Category({"Kiwi", "Config Providers"})
+@Description("A configuration property was resolved")
+@StackTrace(false)
+final class ConfigPropertyResolvedEvent extends Event {
+
+    static final String NAME = "org.kiwiproject.config.ConfigPropertyResolved";
+
+    @Label("Field")
+    @Description("The external property key of the field")
+    String field;
+
+    @Label("Resolved By")
+    @Description("The source the value came from, or NONE if there was no value")
+    String resolvedBy;
+
+    @Label("Source Name")
+    @Description("The name of the custom property source the value came from, if any")
+    String sourceName;
+
+    @Label("Converter Time")
+    @Description("The time taken to convert the String value to the type of the field")
+    @Timespan(Timespan.NANOSECONDS)
+    long converterTime;
+
+    /**
+     * @return the {@link System#nanoTime()} if this event is enabled, otherwise zero
+     */
+    long startConversion() {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * @param startNanos the value returned by {@link #startConversion()}
+     */
+    void endConversion(long startNanos) {
+        if (isEnabled()) {
+            converterTime += System.nanoTime() - startNanos;
+        }
+    }
+
+    <T> ResolverResult<T> completed(String key, ResolverResult<T> result) {
+        complete(key, result.getResolvedBy(), result.getSourceName());
+        return result;
+    }
+
+    IntResolverResult completed(String key, IntResolverResult result) {
+        complete(key, result.getResolvedBy(), result.getSourceName());
+        return result;
+    }
+
+    LongResolverResult completed(String key, LongResolverResult result) {
+        complete(key, result.getResolvedBy(), result.getSourceName());
+        return result;
+    }
+
+    BooleanResolverResult completed(String key, BooleanResolverResult result) {
+        complete(key, result.getResolvedBy(), result.getSourceName());
+        return result;
+    }
+
+    private void complete(String key, ResolvedBy resolvedByValue, String sourceNameValue) {
+        end();
+        if (shouldCommit()) {
+            field = key;
+            resolvedBy = resolvedByValue.name();
+            sourceName = sourceNameValue;
+            commit();
+        }
+    }
+
+    /**
+     * Starts an event for each field of a batch.
+     *
+     * @param count the number of fields
+     * @return the started events, or null if the event is disabled
+     */
+    static ConfigPropertyResolvedEvent[] beginBatch(int count) {
+        var first = new ConfigPropertyResolvedEvent();
+        if (!first.isEnabled() || count == 0) {
+            return null;
+        }
+
+        var events = new ConfigPropertyResolvedEvent[count];
+        events[0] = first;
+        for (var i = 1; i < count; i++) {
+            events[i] = new ConfigPropertyResolvedEvent();
+        }
+        for (var event : events) {
+            event.begin();
+        }
+        return events;
+    }
+
+    /**
+     * Ends the events of the fields that have been resolved since this was last called.
+     *
+     * @param events     the events of the batch, or null if the event is disabled
+     * @param resolvedBy how each field of the batch has been resolved so far
+     */
+    static void endResolved(ConfigPropertyResolvedEvent[] events, ResolvedBy[] resolvedBy) {
+        if (isNull(events)) {
+            return;
+        }
+
+        for (var i = 0; i < events.length; i++) {
+            if (nonNull(resolvedBy[i]) && isNull(events[i].resolvedBy)) {
+                events[i].end();
+                events[i].resolvedBy = resolvedBy[i].name();
+            }
+        }
+    }
+
+    /**
+     * Commits the events of all the fields of a batch, which must all have been resolved.
+     *
+     * @param events      the events of the batch, or null if the event is disabled
+     * @param descriptors the fields of the batch
+     * @param strategies  the resolver strategies of the fields
+     * @param sourceNames the names of the custom sources the values came from, or null if there are no custom sources
+     */
+    static void commitBatch(ConfigPropertyResolvedEvent[] events,
+                            FieldDescriptor<?>[] descriptors,
+                            FieldResolverStrategy<?>[] strategies,
+                            String[] sourceNames) {
+        if (isNull(events)) {
+            return;
+        }
+
+        for (var i = 0; i < events.length; i++) {
+            var event = events[i];
+            if (event.shouldCommit()) {
+                event.field = strategies[i].getExternalPropertyOrDefault(descriptors[i].getExternalKey());
+                event.sourceName = isNull(sourceNames) ? null : sourceNames[i];
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.kiwiproject.config.provider.util;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Describes how a single config field is looked up: its name, the default keys for each source, and how to convert
+ * a String value into the field's type.
+ * <p>
+ * Descriptors are immutable and are meant to be created once, e.g. as constants in a provider, and reused for every
+ * resolution.
+ *
+ * @param <T> the type of the field
+ * @see BatchPropertyResolver
+ */
+@Builder
+@Getter
+public class FieldDescriptor<T> {
+
+    /**
+     * The name of the field, as reported in {@link org.kiwiproject.config.provider.ConfigProvider#getResolvedBy()}.
+     */
+    private final String name;
+
+    private final String systemProperty;
+    private final String environmentVariable;
+    private final String externalKey;
+
+    /**
+     * Converts the String value from a system property, environment variable or external property. When not set,
+     * the String value is used as-is, which is only appropriate for String fields.
+     */
+    private final Function<String, T> convertFromString;
+
+    /**
+     * Converts the structured value of a nested object in a JSON or YAML external config file. When not set, only
+     * String values are used for this field.
+     *
+     * @see org.kiwiproject.config.provider.ExternalConfigProvider#getStructuredProperty(String)
+     */
+    private final Function<Map<String, Object>, T> convertFromMap;
+
+    @SuppressWarnings("unchecked")
+    T convert(String value) {
+        return convertFromString == null ? (T) value : convertFromString.apply(value);
+    }
+
+    boolean acceptsStructuredValue() {
+        return convertFromMap != null;
+    }
+}
@@ -0,0 +1,42 @@
+package org.kiwiproject.config.provider.util;
+
+import lombok.Value;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+
+/**
+ * A request to resolve one field in a batch: the field's {@link FieldDescriptor}, plus the (optional) resolver
+ * strategy and default value supplied when the provider is being built.
+ *
+ * @param <T> the type of the field
+ * @see BatchPropertyResolver
+ */
+@Value(staticConstructor = "of")
+public class FieldRequest<T> {
+
+    FieldDescriptor<T> descriptor;
+    FieldResolverStrategy<T> resolverStrategy;
+    T defaultValue;
+
+    /**
+     * Creates a request that has no resolver strategy and no default value.
+     *
+     * @param descriptor the field to resolve
+     * @param <T>        the type of the field
+     * @return a new request
+     */
+    public static <T> FieldRequest<T> of(FieldDescriptor<T> descriptor) {
+        return of(descriptor, null, null);
+    }
+
+    /**
+     * Creates a request that has no default value.
+     *
+     * @param descriptor       the field to resolve
+     * @param resolverStrategy the resolver strategy for the field, which may be null
+     * @param <T>              the type of the field
+     * @return a new request
+     */
+    public static <T> FieldRequest<T> of(FieldDescriptor<T> descriptor, FieldResolverStrategy<T> resolverStrategy) {
+        return of(descriptor, resolverStrategy, null);
+    }
+}
@@ -0,0 +1,255 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.experimental.UtilityClass;
+import org.kiwiproject.json.RuntimeJsonException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the JSON String values of map fields, such as ORM or Hibernate properties, into maps, and converts
+ * structured values back into JSON.
+ * <p>
+ * The JSON is read and written in a single pass with Jackson's streaming {@link JsonParser} and
+ * {@link JsonGenerator} from one shared {@link JsonFactory}, so no {@code ObjectMapper} is needed. Parsed maps are
+ * cached by their input String in a bounded least-recently-used cache, so providers that are rebuilt with the same
+ * configuration, e.g. on reload, do not parse it again. The cached maps are unmodifiable, including any nested maps
+ * and lists, so they are returned as-is; callers that need to change them must copy them first.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see StructuredValues for the conversions of nested objects in JSON or YAML external config files
+ */
+@UtilityClass
+public class JsonMapConverter {
+
+    /**
+     * The maximum number of distinct inputs that are cached for each kind of map. The least recently used inputs are
+     * evicted once it is reached.
+     */
+    static final int MAX_CACHED_VALUES = 256;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Cache<String, Map<String, String>> STRING_MAPS = newCache();
+    private static final Cache<String, Map<String, Object>> OBJECT_MAPS = newCache();
+
+    /**
+     * Converts a JSON object into a map of Strings. Scalars are converted to their text, and nested objects and
+     * arrays are kept as JSON.
+     *
+     * @param json the JSON object
+     * @return an unmodifiable map with the same keys, in the same order, or null if the JSON is null
+     * @throws RuntimeJsonException if the JSON is malformed or is not an object
+     */
+    public static Map<String, String> toStringMap(String json) {
+        return cachedOrParse(STRING_MAPS, json, true);
+    }
+
+    /**
+     * Converts a JSON object into a map of Objects. Scalars become Strings, Numbers and Booleans, nested objects
+     * become maps, and arrays become lists, the same as Jackson's default untyped conversion.
+     *
+     * @param json the JSON object
+     * @return an unmodifiable map with the same keys, in the same order, or null if the JSON is null; nested
+     * maps and lists are also unmodifiable
+     * @throws RuntimeJsonException if the JSON is malformed or is not an object
+     */
+    public static Map<String, Object> toObjectMap(String json) {
+        return cachedOrParse(OBJECT_MAPS, json, false);
+    }
+
+    /**
+     * Clears the cached maps.
+     */
+    public static void clearCache() {
+        STRING_MAPS.invalidateAll();
+        OBJECT_MAPS.invalidateAll();
+    }
+
+    /**
+     * @return the number of maps currently cached
+     */
+    static long cachedValueCount() {
+        return STRING_MAPS.size() + OBJECT_MAPS.size();
+    }
+
+    /**
+     * Converts a structured value, made of maps, collections, Strings, Numbers, Booleans and nulls, into JSON.
+     * Any other value is written as the JSON String of its {@link String#valueOf(Object)}.
+     *
+     * @param value the value to convert
+     * @return the compact JSON for the value
+     * @throws RuntimeJsonException if the JSON cannot be written
+     */
+    public static String toJson(Object value) {
+        var writer = new StringWriter();
+        try (var generator = JSON_FACTORY.createGenerator(writer)) {
+            writeValue(generator, value);
+        } catch (IOException e) {
+            throw new RuntimeJsonException("Unable to convert value to JSON", e);
+        }
+        return writer.toString();
+    }
+
+    private static <V> Cache<String, Map<String, V>> newCache() {
+        return CacheBuilder.newBuilder().maximumSize(MAX_CACHED_VALUES).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Map<String, V> cachedOrParse(Cache<String, Map<String, V>> cache,
+                                                    String json,
+                                                    boolean stringValues) {
+        if (isNull(json)) {
+            return null;
+        }
+
+        var cached = cache.getIfPresent(json);
+        if (nonNull(cached)) {
+            return cached;
+        }
+
+        var parsed = (Map<String, V>) parse(json, stringValues);
+        if (nonNull(parsed)) {
+            cache.put(json, parsed);
+        }
+        return parsed;
+    }
+
+    private static Map<String, ?> parse(String json, boolean stringValues) {
+        try (var parser = JSON_FACTORY.createParser(json)) {
+            var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+
+            var map = stringValues ? readStringObject(parser) : readObject(parser);
+
+            if (isNull(parser.nextToken())) {
+                return map;
+            }
+            throw new JsonParseException(parser, "Unexpected content after the JSON object");
+        } catch (IOException e) {
+            throw new RuntimeJsonException("Unable to convert JSON to a map", e);
+        }
+    }
+
+    /**
+     * Reads the fields of the object whose START_OBJECT token is the current token, keeping nested values as JSON.
+     */
+    private static Map<String, String> readStringObject(JsonParser parser) throws IOException {
+        var fields = new LinkedHashMap<String, String>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var name = parser.currentName();
+            var token = parser.nextToken();
+
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                fields.put(name, copyStructure(parser));
+            } else if (token == JsonToken.VALUE_NULL) {
+                fields.put(name, null);
+            } else {
+                fields.put(name, parser.getText());
+            }
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private static String copyStructure(JsonParser parser) throws IOException {
+        var writer = new StringWriter();
+        try (var generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Reads the fields of the object whose START_OBJECT token is the current token.
+     */
+    private static Map<String, Object> readObject(JsonParser parser) throws IOException {
+        var fields = new LinkedHashMap<String, Object>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var name = parser.currentName();
+            parser.nextToken();
+            fields.put(name, readValue(parser));
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private static List<Object> readArray(JsonParser parser) throws IOException {
+        var elements = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            elements.add(readValue(parser));
+        }
+        return Collections.unmodifiableList(elements);
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                return readObject(parser);
+
+            case START_ARRAY:
+                return readArray(parser);
+
+            case VALUE_NULL:
+                return null;
+
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return parser.getBooleanValue();
+
+            default:
+                return parser.getText();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (isNull(value)) {
+            generator.writeNull();
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (var entry : ((Map<Object, Object>) value).entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Collection) {
+            generator.writeStartArray();
+            for (var element : (Collection<Object>) value) {
+                writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Number) {
+            generator.writeNumber(value.toString());
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else {
+            generator.writeString(String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.kiwiproject.config.provider.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.kiwiproject.config.provider.ResolvedBy;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes resolution measurements to a Dropwizard {@link MetricRegistry}.
+ * <p>
+ * The following metrics are registered, under the given prefix (default {@value #DEFAULT_PREFIX}):
+ * <ul>
+ *     <li>{@code providers.<ProviderClass>.build}: a timer of how long each provider took to build</li>
+ *     <li>{@code sources.<source>.latency}: a timer of how long each source took to answer</li>
+ *     <li>{@code sources.<source>.lookups}: a counter of the number of fields each source was asked for</li>
+ *     <li>{@code sources.<source>.hits}: a counter of the number of fields each source had a value for</li>
+ *     <li>{@code resolvedBy.<RESOLVED_BY>}: a counter of the number of fields resolved by each outcome</li>
+ * </ul>
+ * The metrics are looked up in the registry once and then kept, so recording a measurement does not touch the
+ * registry.
+ *
+ * @see ResolutionInstrumentation for the source names
+ */
+public class MetricsResolutionInstrumentation implements ResolutionInstrumentation {
+
+    /**
+     * The default prefix of the metric names.
+     */
+    public static final String DEFAULT_PREFIX = "kiwi.config";
+
+    private final MetricRegistry metrics;
+    private final String prefix;
+    private final Map<ResolvedBy, Counter> resolvedByCounters;
+    private final ConcurrentHashMap<Class<?>, Timer> providerTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SourceMetrics> sourceMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an instrumentation that registers its metrics with the {@link #DEFAULT_PREFIX default prefix}.
+     *
+     * @param metrics the registry to publish to
+     */
+    public MetricsResolutionInstrumentation(MetricRegistry metrics) {
+        this(metrics, DEFAULT_PREFIX);
+    }
+
+    /**
+     * Creates an instrumentation that registers its metrics with the given prefix.
+     *
+     * @param metrics the registry to publish to
+     * @param prefix  the prefix of the metric names
+     */
+    public MetricsResolutionInstrumentation(MetricRegistry metrics, String prefix) {
+        this.metrics = requireNonNull(metrics, "metrics must not be null");
+        checkArgument(isNotBlank(prefix), "prefix must not be blank");
+        this.prefix = prefix;
+
+        this.resolvedByCounters = new EnumMap<>(ResolvedBy.class);
+        for (var resolvedBy : ResolvedBy.values()) {
+            var name = MetricRegistry.name(prefix, "resolvedBy", resolvedBy.name());
+            resolvedByCounters.put(resolvedBy, metrics.counter(name));
+        }
+    }
+
+    @Override
+    public void providerBuilt(Class<?> providerType, long elapsedNanos) {
+        providerTimers.computeIfAbsent(providerType,
+                        type -> metrics.timer(MetricRegistry.name(prefix, "providers", type.getSimpleName(), "build")))
+                .update(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void sourceLookups(String sourceName, int lookups, int hits, long elapsedNanos) {
+        var source = sourceMetrics.computeIfAbsent(sourceName, this::newSourceMetrics);
+        source.latency.update(elapsedNanos, TimeUnit.NANOSECONDS);
+        source.lookups.inc(lookups);
+        source.hits.inc(hits);
+    }
+
+    @Override
+    public void fieldResolved(ResolvedBy resolvedBy) {
+        resolvedByCounters.get(resolvedBy).inc();
+    }
+
+    private SourceMetrics newSourceMetrics(String sourceName) {
+        return new SourceMetrics(
+                metrics.timer(MetricRegistry.name(prefix, "sources", sourceName, "latency")),
+                metrics.counter(MetricRegistry.name(prefix, "sources", sourceName, "lookups")),
+                metrics.counter(MetricRegistry.name(prefix, "sources", sourceName, "hits")));
+    }
+
+    private static final class SourceMetrics {
+        private final Timer latency;
+        private final Counter lookups;
+        private final Counter hits;
+
+        private SourceMetrics(Timer latency, Counter lookups, Counter hits) {
+            this.latency = latency;
+            this.lookups = lookups;
+            this.hits = hits;
+        }
+    }
+}
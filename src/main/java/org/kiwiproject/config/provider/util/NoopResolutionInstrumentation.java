@@ -0,0 +1,14 @@
+package org.kiwiproject.config.provider.util;
+
+/**
+ * The instrumentation used when none is given; it records nothing.
+ */
+enum NoopResolutionInstrumentation implements ResolutionInstrumentation {
+
+    INSTANCE;
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+
+import java.util.Map;
+
+/**
+ * A compact, immutable String-to-String map that uses open addressing with linear probing.
+ * <p>
+ * Keys and values are stored in two parallel arrays sized to a power of two that is at least twice the number of
+ * entries, so lookups touch a short, contiguous run of slots and never allocate. Instances are safe to share across
+ * threads once constructed.
+ */
+final class OpenAddressingStringMap {
+
+    private final String[] keys;
+    private final String[] values;
+    private final int mask;
+    private final int size;
+
+    OpenAddressingStringMap(Map<String, String> entries) {
+        var capacity = tableSizeFor(entries.size());
+        this.keys = new String[capacity];
+        this.values = new String[capacity];
+        this.mask = capacity - 1;
+
+        var count = 0;
+        for (var entry : entries.entrySet()) {
+            if (isNull(entry.getKey()) || isNull(entry.getValue())) {
+                continue;
+            }
+
+            var slot = indexFor(entry.getKey());
+            while (keys[slot] != null && !keys[slot].equals(entry.getKey())) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (keys[slot] == null) {
+                count++;
+            }
+
+            keys[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+
+        this.size = count;
+    }
+
+    /**
+     * Returns the value for the given key.
+     *
+     * @param key the key to look up
+     * @return the value, or null if there is no value for the key
+     */
+    String get(String key) {
+        if (isNull(key)) {
+            return null;
+        }
+
+        var slot = indexFor(key);
+        String candidate;
+        while ((candidate = keys[slot]) != null) {
+            if (candidate.equals(key)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int indexFor(String key) {
+        var hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int entryCount) {
+        var minimumCapacity = Math.max(2, entryCount * 2);
+        return Integer.highestOneBit(minimumCapacity - 1) << 1;
+    }
+}
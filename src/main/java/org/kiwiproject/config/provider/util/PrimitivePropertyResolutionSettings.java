@@ -0,0 +1,27 @@
+package org.kiwiproject.config.provider.util;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+
+/**
+ * Settings for resolving an {@code int}, {@code long} or {@code boolean} property. Unlike
+ * {@link PropertyResolutionSettings} these do not carry a resolver strategy, default value or converter, since those
+ * are specific to the primitive type and are passed to the resolve methods directly.
+ *
+ * @see SinglePropertyResolver
+ */
+@Builder(toBuilder = true)
+@Getter
+public class PrimitivePropertyResolutionSettings implements ResolutionSources {
+
+    private final ExternalConfigProvider externalConfigProvider;
+    private final KiwiEnvironment kiwiEnvironment;
+    private final ResolutionSnapshot resolutionSnapshot;
+    private final PropertySourceChain propertySources;
+    private final String systemProperty;
+    private final String environmentVariable;
+    private final String externalKey;
+
+}
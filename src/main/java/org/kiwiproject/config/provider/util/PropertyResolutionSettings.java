@@ -10,10 +10,12 @@ import java.util.function.Function;
 
 @Builder(toBuilder = true)
 @Getter
-public class PropertyResolutionSettings<T> {
+public class PropertyResolutionSettings<T> implements ResolutionSources {
 
     private final ExternalConfigProvider externalConfigProvider;
     private final KiwiEnvironment kiwiEnvironment;
+    private final ResolutionSnapshot resolutionSnapshot;
+    private final PropertySourceChain propertySources;
     private final FieldResolverStrategy<T> resolverStrategy;
     private final String systemProperty;
     private final String environmentVariable;
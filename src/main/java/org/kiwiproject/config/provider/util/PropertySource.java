@@ -0,0 +1,60 @@
+package org.kiwiproject.config.provider.util;
+
+/**
+ * A custom source of String property values, such as secret files, a remote store, or per-tenant overrides, that is
+ * consulted alongside the built-in sources during resolution.
+ * <p>
+ * Custom sources are looked up by the external property key of a field (e.g. {@code elk.host}), and are placed
+ * relative to the built-in sources by their {@link #getOrder() order}: a custom source is consulted after every
+ * built-in source with an order less than or equal to its own, and before the rest. The built-in sources have the
+ * orders {@link #SYSTEM_PROPERTY_ORDER}, {@link #ENVIRONMENT_ORDER} and {@link #EXTERNAL_PROPERTY_ORDER}; the
+ * supplier, explicit value and provider default are always consulted after every custom source.
+ * <p>
+ * Each source declares a {@link CachePolicy}, which lets a {@link PropertySourceChain} avoid repeated lookups in slow
+ * sources whose values do not change, or only change occasionally.
+ *
+ * @see PropertySourceChain
+ */
+public interface PropertySource {
+
+    /**
+     * The order of the system property source.
+     */
+    int SYSTEM_PROPERTY_ORDER = 100;
+
+    /**
+     * The order of the environment variable source.
+     */
+    int ENVIRONMENT_ORDER = 200;
+
+    /**
+     * The order of the external configuration source.
+     */
+    int EXTERNAL_PROPERTY_ORDER = 300;
+
+    /**
+     * @return the name of this source, as reported by the results of the fields it resolves
+     */
+    String getName();
+
+    /**
+     * @return where this source is consulted relative to the built-in sources and other custom sources
+     */
+    int getOrder();
+
+    /**
+     * Looks up the value of a property.
+     *
+     * @param key the external property key of the field being resolved
+     * @return the value, or null if this source has no value for the key. A non-null value is used even when blank.
+     */
+    String lookup(String key);
+
+    /**
+     * @return whether, and for how long, the results of {@link #lookup(String)} may be cached; defaults to
+     * {@link CachePolicy#volatileResults()}
+     */
+    default CachePolicy getCachePolicy() {
+        return CachePolicy.volatileResults();
+    }
+}
@@ -0,0 +1,216 @@
+package org.kiwiproject.config.provider.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * An immutable, ordered set of custom {@link PropertySource}s together with the cache of their results.
+ * <p>
+ * Create a chain once and pass it to every config provider (or {@link PropertyResolutionSettings}) that should use
+ * it. Since the cache belongs to the chain, a cacheable source is only asked for a given key once no matter how many
+ * providers resolve it, and a source with a TTL is asked at most once per key per TTL. Volatile sources are asked on
+ * every resolution.
+ * <p>
+ * Sources with the same order are consulted in the order they were given.
+ */
+public final class PropertySourceChain {
+
+    private static final PropertySourceChain EMPTY = new PropertySourceChain(new PropertySource[0], System::nanoTime);
+
+    private final PropertySource[] sources;
+    private final CachePolicy[] cachePolicies;
+    private final ConcurrentHashMap<String, CachedValue>[] caches;
+    private final LongSupplier nanoTime;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    PropertySourceChain(PropertySource[] sources, LongSupplier nanoTime) {
+        this.sources = sources;
+        this.cachePolicies = new CachePolicy[sources.length];
+        this.caches = new ConcurrentHashMap[sources.length];
+        this.nanoTime = nanoTime;
+
+        for (var i = 0; i < sources.length; i++) {
+            cachePolicies[i] = requireNonNull(sources[i].getCachePolicy(), "cache policy must not be null");
+            caches[i] = cachePolicies[i].isVolatile() ? null : new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * @return a chain without any custom sources
+     */
+    public static PropertySourceChain empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param sources the custom sources
+     * @return a new chain of the given sources, sorted by their order
+     * @throws IllegalArgumentException if a source has a blank name, or two sources have the same name
+     */
+    public static PropertySourceChain of(PropertySource... sources) {
+        return of(Arrays.asList(sources));
+    }
+
+    /**
+     * @param sources the custom sources
+     * @return a new chain of the given sources, sorted by their order
+     * @throws IllegalArgumentException if a source has a blank name, or two sources have the same name
+     */
+    public static PropertySourceChain of(List<? extends PropertySource> sources) {
+        return of(sources, System::nanoTime);
+    }
+
+    static PropertySourceChain of(List<? extends PropertySource> sources, LongSupplier nanoTime) {
+        requireNonNull(sources, "sources must not be null");
+
+        var names = new HashSet<String>();
+        for (var source : sources) {
+            requireNonNull(source, "sources must not contain null");
+            checkArgument(isNotBlank(source.getName()), "source name must not be blank");
+            checkArgument(names.add(source.getName()), "duplicate source name: %s", source.getName());
+        }
+
+        var sorted = sources.stream()
+                .sorted(Comparator.comparingInt(PropertySource::getOrder))
+                .toArray(PropertySource[]::new);
+        return new PropertySourceChain(sorted, nanoTime);
+    }
+
+    /**
+     * @return the number of custom sources in this chain
+     */
+    public int size() {
+        return sources.length;
+    }
+
+    /**
+     * @return true if this chain has no custom sources
+     */
+    public boolean isEmpty() {
+        return sources.length == 0;
+    }
+
+    /**
+     * Looks up a key in the sources whose order is within the given range, in order, and returns the first value found.
+     *
+     * @param key      the external property key
+     * @param minOrder the lowest order to consult, inclusive
+     * @param maxOrder the highest order to consult, inclusive
+     * @return the value and the name of the source it came from, or null if none of the sources has a value
+     */
+    Match lookup(String key, int minOrder, int maxOrder) {
+        return lookup(key, minOrder, maxOrder, ResolutionInstrumentation.noop());
+    }
+
+    /**
+     * Same as {@link #lookup(String, int, int)}, except that every call to a source is recorded with the given
+     * instrumentation.
+     */
+    Match lookup(String key, int minOrder, int maxOrder, ResolutionInstrumentation instrumentation) {
+        if (isNull(key)) {
+            return null;
+        }
+
+        for (var i = 0; i < sources.length; i++) {
+            var order = sources[i].getOrder();
+            if (order > maxOrder) {
+                break;
+            }
+
+            if (order >= minOrder) {
+                var value = lookup(i, key, instrumentation);
+                if (nonNull(value)) {
+                    return new Match(value, sources[i].getName());
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private String lookup(int index, String key, ResolutionInstrumentation instrumentation) {
+        var cache = caches[index];
+        if (isNull(cache)) {
+            return lookupSource(index, key, instrumentation);
+        }
+
+        var now = nanoTime.getAsLong();
+        var cached = cache.get(key);
+        if (nonNull(cached) && cachePolicies[index].isFresh(cached.loadedAtNanos, now)) {
+            return cached.value;
+        }
+
+        var value = lookupSource(index, key, instrumentation);
+        cache.put(key, new CachedValue(value, now));
+        return value;
+    }
+
+    private String lookupSource(int index, String key, ResolutionInstrumentation instrumentation) {
+        if (!instrumentation.isEnabled()) {
+            return sources[index].lookup(key);
+        }
+
+        var start = System.nanoTime();
+        var value = sources[index].lookup(key);
+        instrumentation.sourceLookups(sources[index].getName(), 1, isNull(value) ? 0 : 1, System.nanoTime() - start);
+        return value;
+    }
+
+    /**
+     * Discards all cached results, so that every source is asked again the next time a key is resolved.
+     */
+    public void invalidate() {
+        for (var cache : caches) {
+            if (nonNull(cache)) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * Discards the cached results of one source.
+     *
+     * @param sourceName the name of the source
+     */
+    public void invalidate(String sourceName) {
+        for (var i = 0; i < sources.length; i++) {
+            if (sources[i].getName().equals(sourceName) && nonNull(caches[i])) {
+                caches[i].clear();
+            }
+        }
+    }
+
+    /**
+     * A value found in a custom source.
+     */
+    @Value
+    static class Match {
+        String value;
+        String sourceName;
+    }
+
+    /**
+     * A cached lookup result; the value is null when the source had no value, so that absent values are cached too.
+     */
+    private static final class CachedValue {
+        private final String value;
+        private final long loadedAtNanos;
+
+        private CachedValue(String value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
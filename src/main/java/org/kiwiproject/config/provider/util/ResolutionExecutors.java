@@ -0,0 +1,141 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executors used for asynchronous property resolution.
+ * <p>
+ * The default executor starts a virtual thread per task when running on a JVM that has virtual threads (Java 21 and
+ * later), since resolution tasks mostly wait on I/O in slow suppliers. On older JVMs it falls back to an unbounded
+ * pool of daemon threads. Either way it is unbounded, so tasks may block on it while waiting for other tasks.
+ * <p>
+ * Providers built with {@link #buildAsync(Supplier)} call their value suppliers concurrently on the default executor,
+ * unless a custom resolution executor was given, in which case they are called on that one. Either way the provider
+ * itself is built on the default executor, never on the custom one, so it does not take up a thread of a bounded pool
+ * while waiting for its suppliers to run on it.
+ */
+@Slf4j
+@UtilityClass
+public class ResolutionExecutors {
+
+    private static final ThreadLocal<Boolean> BUILDING_ASYNC = new ThreadLocal<>();
+
+    /**
+     * @return the shared default executor
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * @param executor an executor, which may be null
+     * @return the given executor, or the {@link #defaultExecutor() default executor} if it is null
+     */
+    public static Executor executorOrDefault(Executor executor) {
+        return isNull(executor) ? defaultExecutor() : executor;
+    }
+
+    /**
+     * Runs the given task asynchronously.
+     *
+     * @param task     the task to run
+     * @param executor the executor to run it on; if null, the default executor is used
+     * @param <T>      the type of the result
+     * @return a future that completes with the result of the task
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task, Executor executor) {
+        return CompletableFuture.supplyAsync(task, executorOrDefault(executor));
+    }
+
+    /**
+     * Builds a config provider asynchronously on the {@link #defaultExecutor() default executor}. While it is built,
+     * resolvers that were not given a resolution executor call their value suppliers concurrently on the default
+     * executor.
+     *
+     * @param build builds the provider, e.g. the {@code build} method of a provider's builder
+     * @param <P>   the type of provider
+     * @return a future that completes with the new provider, or with the exception that building it failed with
+     */
+    public static <P> CompletableFuture<P> buildAsync(Supplier<P> build) {
+        return CompletableFuture.supplyAsync(() -> {
+            BUILDING_ASYNC.set(Boolean.TRUE);
+            try {
+                return build.get();
+            } finally {
+                BUILDING_ASYNC.remove();
+            }
+        }, defaultExecutor());
+    }
+
+    /**
+     * @param resolutionExecutor the resolution executor given to a resolver, which may be null
+     * @return the given executor if not null; otherwise the default executor while a provider is being built by
+     * {@link #buildAsync(Supplier)} on this thread, or null if value suppliers should be called one after another
+     */
+    static Executor fanOutExecutor(Executor resolutionExecutor) {
+        if (nonNull(resolutionExecutor)) {
+            return resolutionExecutor;
+        }
+        return Boolean.TRUE.equals(BUILDING_ASYNC.get()) ? defaultExecutor() : null;
+    }
+
+    /**
+     * Waits for the given future and rethrows any runtime exception or error it failed with as-is, instead of
+     * wrapped in a {@link CompletionException}.
+     *
+     * @param future the future to wait for
+     * @param <T>    the type of the result
+     * @return the result
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    static ExecutorService newDefaultExecutor() {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Virtual threads are not available; using a cached pool of daemon threads for resolution");
+            return newDaemonCachedThreadPool();
+        }
+    }
+
+    private static ExecutorService newDaemonCachedThreadPool() {
+        var threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "config-resolution-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates the default executor the first time it is used.
+     */
+    private static class DefaultExecutorHolder {
+        private static final ExecutorService EXECUTOR = newDefaultExecutor();
+    }
+}
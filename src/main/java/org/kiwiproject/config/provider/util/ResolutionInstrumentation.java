@@ -0,0 +1,107 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+
+import org.kiwiproject.config.provider.ResolvedBy;
+
+/**
+ * Receives measurements of property resolution, e.g. to publish them as metrics.
+ * <p>
+ * Pass an instrumentation to the config providers (or a {@link BatchPropertyResolver}) to record how long each
+ * provider took to build, how often each source was asked for a value and how long it took to answer, and how many
+ * fields were resolved by each {@link ResolvedBy} outcome. When no instrumentation is given, the {@link #noop()}
+ * instrumentation is used, and resolution does not even read the clock.
+ * <p>
+ * All methods do nothing by default, so an implementation only needs to override the ones it is interested in.
+ * Implementations must be thread-safe and should be fast, since they are called while providers are being built.
+ *
+ * @see MetricsResolutionInstrumentation
+ */
+public interface ResolutionInstrumentation {
+
+    /**
+     * The source name used for system property lookups.
+     */
+    String SYSTEM_PROPERTY_SOURCE = "systemProperty";
+
+    /**
+     * The source name used for environment variable lookups.
+     */
+    String ENVIRONMENT_SOURCE = "environment";
+
+    /**
+     * The source name used for external configuration lookups.
+     */
+    String EXTERNAL_PROPERTY_SOURCE = "externalProperty";
+
+    /**
+     * @return an instrumentation that records nothing
+     */
+    static ResolutionInstrumentation noop() {
+        return NoopResolutionInstrumentation.INSTANCE;
+    }
+
+    /**
+     * @param instrumentation an instrumentation, which may be null
+     * @return the given instrumentation, or the {@link #noop()} instrumentation if it is null
+     */
+    static ResolutionInstrumentation orNoop(ResolutionInstrumentation instrumentation) {
+        return isNull(instrumentation) ? noop() : instrumentation;
+    }
+
+    /**
+     * Records that a provider has been built, if the given instrumentation is enabled.
+     *
+     * @param instrumentation the instrumentation, which may be null
+     * @param providerType    the type of provider
+     * @param startNanos      the {@link System#nanoTime()} when the provider started to be built
+     */
+    static void recordProviderBuilt(ResolutionInstrumentation instrumentation, Class<?> providerType, long startNanos) {
+        if (isNull(instrumentation) || !instrumentation.isEnabled()) {
+            return;
+        }
+
+        instrumentation.providerBuilt(providerType, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return false if this instrumentation records nothing, so callers can skip taking measurements
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records that a provider has been built.
+     *
+     * @param providerType the type of provider
+     * @param elapsedNanos the time taken to build it, in nanoseconds
+     */
+    default void providerBuilt(Class<?> providerType, long elapsedNanos) {
+    }
+
+    /**
+     * Records that a source was asked for the values of one or more fields.
+     * <p>
+     * System properties, environment variables and the external configuration are each asked for all the remaining
+     * fields of a provider at once, so they are recorded once per provider with the number of fields. Custom
+     * {@link PropertySource}s are recorded each time they are actually asked for a key, i.e. results served from the
+     * cache of a {@link PropertySourceChain} are not recorded.
+     *
+     * @param sourceName   the name of the source, either one of the constants in this interface or the name of a
+     *                     custom property source
+     * @param lookups      the number of fields the source was asked for
+     * @param hits         the number of those fields the source had a value for
+     * @param elapsedNanos the time taken by the source to answer, in nanoseconds
+     */
+    default void sourceLookups(String sourceName, int lookups, int hits, long elapsedNanos) {
+    }
+
+    /**
+     * Records how a field was resolved.
+     *
+     * @param resolvedBy the source of the value, or {@link ResolvedBy#NONE} if there was no value
+     */
+    default void fieldResolved(ResolvedBy resolvedBy) {
+    }
+}
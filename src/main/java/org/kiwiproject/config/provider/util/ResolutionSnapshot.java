@@ -0,0 +1,131 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import org.kiwiproject.base.DefaultEnvironment;
+import org.kiwiproject.base.KiwiEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable, point-in-time copy of the {@code kiwi.*} system properties and {@code KIWI_*} environment
+ * variables.
+ * <p>
+ * A snapshot is opt-in: capture it once (e.g. at the start of application bootstrap) and pass it to the config
+ * providers or {@link PropertyResolutionSettings}. Lookups against the snapshot never touch the synchronized
+ * system {@link java.util.Properties} or the process environment, never allocate, and every provider that uses the
+ * same snapshot sees the same values even if system properties change while providers are being built.
+ * <p>
+ * Keys outside the {@code kiwi.} and {@code KIWI_} namespaces are not captured, so lookups for them (e.g. custom keys
+ * given in a {@link org.kiwiproject.config.provider.FieldResolverStrategy}) fall through to the live system
+ * properties and environment.
+ */
+public final class ResolutionSnapshot {
+
+    /**
+     * Prefix of the system properties captured in a snapshot.
+     */
+    public static final String SYSTEM_PROPERTY_PREFIX = "kiwi.";
+
+    /**
+     * Prefix of the environment variables captured in a snapshot.
+     */
+    public static final String ENV_VARIABLE_PREFIX = "KIWI_";
+
+    private final OpenAddressingStringMap systemProperties;
+    private final OpenAddressingStringMap environmentVariables;
+    private final KiwiEnvironment kiwiEnvironment;
+
+    private ResolutionSnapshot(Map<String, String> systemProperties,
+                               Map<String, String> environmentVariables,
+                               KiwiEnvironment kiwiEnvironment) {
+        this.systemProperties = new OpenAddressingStringMap(systemProperties);
+        this.environmentVariables = new OpenAddressingStringMap(environmentVariables);
+        this.kiwiEnvironment = kiwiEnvironment;
+    }
+
+    /**
+     * Captures the current system properties and process environment.
+     *
+     * @return a new snapshot
+     */
+    public static ResolutionSnapshot capture() {
+        return capture(new DefaultEnvironment());
+    }
+
+    /**
+     * Captures the current system properties and the environment variables of the given {@link KiwiEnvironment}.
+     *
+     * @param kiwiEnvironment the environment to capture variables from
+     * @return a new snapshot
+     */
+    public static ResolutionSnapshot capture(KiwiEnvironment kiwiEnvironment) {
+        var capturedProperties = new HashMap<String, String>();
+        System.getProperties().forEach((key, value) -> {
+            if (key instanceof String && value instanceof String && ((String) key).startsWith(SYSTEM_PROPERTY_PREFIX)) {
+                capturedProperties.put((String) key, (String) value);
+            }
+        });
+
+        var capturedVariables = new HashMap<String, String>();
+        var environmentVariables = kiwiEnvironment.getenv();
+        if (nonNull(environmentVariables)) {
+            environmentVariables.forEach((name, value) -> {
+                if (name.startsWith(ENV_VARIABLE_PREFIX)) {
+                    capturedVariables.put(name, value);
+                }
+            });
+        }
+
+        return new ResolutionSnapshot(capturedProperties, capturedVariables, kiwiEnvironment);
+    }
+
+    /**
+     * Returns the value of a system property.
+     *
+     * @param key the system property key
+     * @return the captured value for keys in the {@code kiwi.} namespace, otherwise the current system property value
+     */
+    public String getSystemProperty(String key) {
+        if (isCaptured(key, SYSTEM_PROPERTY_PREFIX)) {
+            return systemProperties.get(key);
+        }
+
+        return isNull(key) ? null : System.getProperty(key);
+    }
+
+    /**
+     * Returns the value of an environment variable.
+     *
+     * @param name the environment variable name
+     * @return the captured value for names in the {@code KIWI_} namespace, otherwise the current value from the
+     * {@link KiwiEnvironment} the snapshot was captured from
+     */
+    public String getenv(String name) {
+        if (isCaptured(name, ENV_VARIABLE_PREFIX)) {
+            return environmentVariables.get(name);
+        }
+
+        return isNull(name) ? null : kiwiEnvironment.getenv(name);
+    }
+
+    /**
+     * @return the number of captured system properties
+     */
+    public int systemPropertyCount() {
+        return systemProperties.size();
+    }
+
+    /**
+     * @return the number of captured environment variables
+     */
+    public int environmentVariableCount() {
+        return environmentVariables.size();
+    }
+
+    private static boolean isCaptured(String key, String prefix) {
+        return nonNull(key) && key.startsWith(prefix);
+    }
+}
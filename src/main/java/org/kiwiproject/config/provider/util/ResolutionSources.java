@@ -0,0 +1,21 @@
+package org.kiwiproject.config.provider.util;
+
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+
+/**
+ * The sources that the resolvers read String values from, shared by the different kinds of resolution settings.
+ */
+interface ResolutionSources {
+
+    ExternalConfigProvider getExternalConfigProvider();
+
+    KiwiEnvironment getKiwiEnvironment();
+
+    ResolutionSnapshot getResolutionSnapshot();
+
+    /**
+     * @return the custom sources to consult, or null if there are none
+     */
+    PropertySourceChain getPropertySources();
+}
@@ -0,0 +1,74 @@
+package org.kiwiproject.config.provider.util;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import lombok.experimental.UtilityClass;
+import org.kiwiproject.base.DefaultEnvironment;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+import org.kiwiproject.config.provider.ResolvedBy;
+import org.kiwiproject.config.provider.ResolverResult;
+
+/**
+ * The individual lookup steps shared by {@link SinglePropertyResolver} and {@link BatchPropertyResolver}.
+ */
+@UtilityClass
+class ResolutionSteps {
+
+    private static final KiwiEnvironment DEFAULT_ENVIRONMENT = new DefaultEnvironment();
+
+    private static final FieldResolverStrategy<?> EMPTY_RESOLVER_STRATEGY = FieldResolverStrategy.builder().build();
+
+    @SuppressWarnings("unchecked")
+    static <T> FieldResolverStrategy<T> resolverStrategyOrEmpty(FieldResolverStrategy<T> resolverStrategy) {
+        return isNull(resolverStrategy) ? (FieldResolverStrategy<T>) EMPTY_RESOLVER_STRATEGY : resolverStrategy;
+    }
+
+    static KiwiEnvironment environmentOrDefault(KiwiEnvironment kiwiEnvironment) {
+        return isNull(kiwiEnvironment) ? DEFAULT_ENVIRONMENT : kiwiEnvironment;
+    }
+
+    static String lookupSystemProperty(ResolutionSnapshot resolutionSnapshot, String key) {
+        if (isNull(key)) {
+            return null;
+        }
+
+        return isNull(resolutionSnapshot) ? System.getProperty(key) : resolutionSnapshot.getSystemProperty(key);
+    }
+
+    static String lookupEnvironmentVariable(ResolutionSnapshot resolutionSnapshot, KiwiEnvironment kiwiEnvironment, String name) {
+        if (isNull(name)) {
+            return null;
+        } else if (nonNull(resolutionSnapshot)) {
+            return resolutionSnapshot.getenv(name);
+        }
+
+        return environmentOrDefault(kiwiEnvironment).getenv(name);
+    }
+
+    static PropertySourceChain.Match lookupCustomSources(PropertySourceChain propertySources,
+                                                          String key,
+                                                          int minOrder,
+                                                          int maxOrder) {
+        return isNull(propertySources) ? null : propertySources.lookup(key, minOrder, maxOrder);
+    }
+
+    static <T> ResolverResult<T> resolveFromDefaults(FieldResolverStrategy<T> resolver, T defaultValue) {
+        var valueSupplier = resolver.getValueSupplier();
+        var supplierValue = isNull(valueSupplier) ? null : valueSupplier.get();
+        if (nonNull(supplierValue)) {
+            return new ResolverResult<>(supplierValue, ResolvedBy.SUPPLIER);
+        }
+
+        if (nonNull(resolver.getExplicitValue())) {
+            return new ResolverResult<>(resolver.getExplicitValue(), ResolvedBy.EXPLICIT_VALUE);
+        }
+
+        if (nonNull(defaultValue)) {
+            return new ResolverResult<>(defaultValue, ResolvedBy.PROVIDER_DEFAULT);
+        }
+
+        return new ResolverResult<>(null, ResolvedBy.NONE);
+    }
+}
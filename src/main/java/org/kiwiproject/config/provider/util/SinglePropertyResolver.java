@@ -4,21 +4,48 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.kiwiproject.config.provider.ExternalConfigProvider.getExternalPropertyProviderOrDefault;
+import static org.kiwiproject.config.provider.util.ResolutionSteps.lookupCustomSources;
+import static org.kiwiproject.config.provider.util.ResolutionSteps.lookupEnvironmentVariable;
+import static org.kiwiproject.config.provider.util.ResolutionSteps.lookupSystemProperty;
+import static org.kiwiproject.config.provider.util.ResolutionSteps.resolveFromDefaults;
+import static org.kiwiproject.config.provider.util.ResolutionSteps.resolverStrategyOrEmpty;
 
 import lombok.experimental.UtilityClass;
-import org.kiwiproject.base.DefaultEnvironment;
-import org.kiwiproject.config.provider.FieldResolverStrategy;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.base.KiwiPrimitives;
+import org.kiwiproject.config.provider.BooleanFieldResolverStrategy;
+import org.kiwiproject.config.provider.BooleanResolverResult;
+import org.kiwiproject.config.provider.IntFieldResolverStrategy;
+import org.kiwiproject.config.provider.IntResolverResult;
+import org.kiwiproject.config.provider.LongFieldResolverStrategy;
+import org.kiwiproject.config.provider.LongResolverResult;
 import org.kiwiproject.config.provider.ResolvedBy;
 import org.kiwiproject.config.provider.ResolverResult;
 
-import java.util.Optional;
-import java.util.function.Supplier;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 @UtilityClass
 public class SinglePropertyResolver {
 
+    /**
+     * The sources that can supply a value as a String, in order of precedence. Each source is only consulted if
+     * all the sources before it did not have a value.
+     */
+    private static final PropertySourceStep[] SOURCE_CHAIN = PropertySourceStep.values();
+
+    private static final IntFieldResolverStrategy EMPTY_INT_RESOLVER_STRATEGY =
+            IntFieldResolverStrategy.builder().build();
+
+    private static final LongFieldResolverStrategy EMPTY_LONG_RESOLVER_STRATEGY =
+            LongFieldResolverStrategy.builder().build();
+
+    private static final BooleanFieldResolverStrategy EMPTY_BOOLEAN_RESOLVER_STRATEGY =
+            BooleanFieldResolverStrategy.builder().build();
+
     public static ResolverResult<String> resolveStringProperty(PropertyResolutionSettings<String> settings) {
-        return resolveProperty(settings.toBuilder().convertFromString(value -> value).build());
+        return resolve(settings, Function.identity());
     }
 
     /**
@@ -34,49 +61,358 @@ public class SinglePropertyResolver {
      *     <li>The value from a given supplier</li>
      *     <li>The value explicitly given</li>
      * </ol>
+     * <p>
+     * When the settings contain a {@link PropertySourceChain}, its custom sources are consulted with the external
+     * key, placed between the sources above according to their {@link PropertySource#getOrder() order}, but always
+     * before the supplier.
+     * <p>
+     * Resolution stops at the first source that has a value; later sources are never consulted.
+     * <p>
+     * When the settings contain a {@link ResolutionSnapshot}, system properties and environment variables are read
+     * from the snapshot instead of from the live system properties and the {@link KiwiEnvironment}.
      *
      * @param settings  A set of settings to figure out the resolution process
      * @param <T>       The type of the value to be returned
      * @return The resolved value
      */
     public static <T> ResolverResult<T> resolveProperty(PropertyResolutionSettings<T> settings) {
+        return resolve(settings, settings.getConvertFromString());
+    }
+
+    /**
+     * Resolves a configuration property asynchronously on the
+     * {@link ResolutionExecutors#defaultExecutor() default executor}, in the same order as
+     * {@link #resolveProperty(PropertyResolutionSettings)}.
+     *
+     * @param settings  A set of settings to figure out the resolution process
+     * @param <T>       The type of the value to be returned
+     * @return A future that completes with the resolved value, or with the exception that resolution failed with
+     */
+    public static <T> CompletableFuture<ResolverResult<T>> resolvePropertyAsync(
+            PropertyResolutionSettings<T> settings) {
+        return resolvePropertyAsync(settings, null);
+    }
 
-        var nonNullResolver = isNull(settings.getResolverStrategy())
-                ? FieldResolverStrategy.<T>builder().build() : settings.getResolverStrategy();
+    /**
+     * Resolves a configuration property asynchronously, in the same order as
+     * {@link #resolveProperty(PropertyResolutionSettings)}. Use this to resolve several properties whose suppliers are
+     * slow concurrently, and wait for them once.
+     *
+     * @param settings  A set of settings to figure out the resolution process
+     * @param executor  The executor to resolve on; if null, the {@link ResolutionExecutors#defaultExecutor() default
+     *                  executor} is used
+     * @param <T>       The type of the value to be returned
+     * @return A future that completes with the resolved value, or with the exception that resolution failed with
+     */
+    public static <T> CompletableFuture<ResolverResult<T>> resolvePropertyAsync(
+            PropertyResolutionSettings<T> settings, Executor executor) {
+        return ResolutionExecutors.supplyAsync(() -> resolveProperty(settings), executor);
+    }
 
-        var fromSystemProperty = System.getProperty(
-                nonNullResolver.getSystemPropertyKeyOrDefault(settings.getSystemProperty()));
+    private static <T> ResolverResult<T> resolve(PropertyResolutionSettings<T> settings, Function<String, T> convertFromString) {
+        var event = new ConfigPropertyResolvedEvent();
+        event.begin();
 
-        var resolvedEnvironment = isNull(settings.getKiwiEnvironment()) ? new DefaultEnvironment() : settings.getKiwiEnvironment();
-        var fromEnvironment = resolvedEnvironment.getenv(nonNullResolver.getEnvVariableOrDefault(settings.getEnvironmentVariable()));
+        var resolver = resolverStrategyOrEmpty(settings.getResolverStrategy());
+        var systemPropertyKey = resolver.getSystemPropertyKeyOrDefault(settings.getSystemProperty());
+        var envVariable = resolver.getEnvVariableOrDefault(settings.getEnvironmentVariable());
+        var externalKey = resolver.getExternalPropertyOrDefault(settings.getExternalKey());
 
-        if (isNotBlank(fromSystemProperty)) {
-            return new ResolverResult<>(settings.getConvertFromString().apply(fromSystemProperty), ResolvedBy.SYSTEM_PROPERTY);
-        } else if (isNotBlank(fromEnvironment)) {
-            return new ResolverResult<>(settings.getConvertFromString().apply(fromEnvironment), ResolvedBy.SYSTEM_ENV);
+        var found = lookupString(settings, systemPropertyKey, envVariable, externalKey);
+        if (nonNull(found)) {
+            var conversionStart = event.startConversion();
+            var value = convertFromString.apply(found.getValue());
+            event.endConversion(conversionStart);
+            return event.completed(externalKey,
+                    new ResolverResult<>(value, found.getResolvedBy(), found.getSourceName()));
         }
 
-        return getExternalPropertyProviderOrDefault(settings.getExternalConfigProvider())
-                .resolveExternalProperty(nonNullResolver.getExternalPropertyOrDefault(settings.getExternalKey()),
-                        value -> new ResolverResult<>(settings.getConvertFromString().apply(value), ResolvedBy.EXTERNAL_PROPERTY),
-                        () -> resolveFromDefaults(nonNullResolver, settings.getDefaultValue()));
+        return event.completed(externalKey, resolveFromDefaults(resolver, settings.getDefaultValue()));
+    }
+
+    /**
+     * Resolves an {@code int} property in the same order as {@link #resolveProperty(PropertyResolutionSettings)},
+     * without boxing. If no source has a value, the result is not resolved and its value is zero.
+     *
+     * @param settings         the keys and sources to resolve from
+     * @param resolverStrategy the resolver strategy for the property, which may be null
+     * @return the resolved value
+     */
+    public static IntResolverResult resolveInt(PrimitivePropertyResolutionSettings settings,
+                                               IntFieldResolverStrategy resolverStrategy) {
+        return resolveInt(settings, resolverStrategy, false, 0);
+    }
+
+    /**
+     * Resolves an {@code int} property in the same order as {@link #resolveProperty(PropertyResolutionSettings)},
+     * without boxing.
+     *
+     * @param settings         the keys and sources to resolve from
+     * @param resolverStrategy the resolver strategy for the property, which may be null
+     * @param defaultValue     the provider default, used if no other source has a value
+     * @return the resolved value
+     */
+    public static IntResolverResult resolveInt(PrimitivePropertyResolutionSettings settings,
+                                               IntFieldResolverStrategy resolverStrategy,
+                                               int defaultValue) {
+        return resolveInt(settings, resolverStrategy, true, defaultValue);
     }
 
-    private <T> ResolverResult<T> resolveFromDefaults(FieldResolverStrategy<T> resolver, T defaultValue) {
-        var supplierValue = Optional.ofNullable(resolver.getValueSupplier()).map(Supplier::get).orElse(null);
-        if (nonNull(supplierValue)) {
-            return new ResolverResult<>(supplierValue, ResolvedBy.SUPPLIER);
+    private static IntResolverResult resolveInt(PrimitivePropertyResolutionSettings settings,
+                                                IntFieldResolverStrategy resolverStrategy,
+                                                boolean hasDefaultValue,
+                                                int defaultValue) {
+        var event = new ConfigPropertyResolvedEvent();
+        event.begin();
+
+        var resolver = isNull(resolverStrategy) ? EMPTY_INT_RESOLVER_STRATEGY : resolverStrategy;
+        var systemPropertyKey = resolver.getSystemPropertyKeyOrDefault(settings.getSystemProperty());
+        var envVariable = resolver.getEnvVariableOrDefault(settings.getEnvironmentVariable());
+        var externalKey = resolver.getExternalPropertyOrDefault(settings.getExternalKey());
+
+        var found = lookupString(settings, systemPropertyKey, envVariable, externalKey);
+        if (nonNull(found)) {
+            var conversionStart = event.startConversion();
+            var value = KiwiPrimitives.tryParseIntOrThrow(found.getValue());
+            event.endConversion(conversionStart);
+            return event.completed(externalKey,
+                    new IntResolverResult(value, found.getResolvedBy(), found.getSourceName()));
         }
 
-        if (nonNull(resolver.getExplicitValue())) {
-            return new ResolverResult<>(resolver.getExplicitValue(), ResolvedBy.EXPLICIT_VALUE);
+        var valueSupplier = resolver.getValueSupplier();
+        if (nonNull(valueSupplier)) {
+            return event.completed(externalKey, new IntResolverResult(valueSupplier.getAsInt(), ResolvedBy.SUPPLIER));
         }
 
-        if (nonNull(defaultValue)) {
-            return new ResolverResult<>(defaultValue, ResolvedBy.PROVIDER_DEFAULT);
+        if (resolver.hasExplicitValue()) {
+            return event.completed(externalKey,
+                    new IntResolverResult(resolver.getExplicitValue(), ResolvedBy.EXPLICIT_VALUE));
         }
 
-        return new ResolverResult<>(null, ResolvedBy.NONE);
+        if (hasDefaultValue) {
+            return event.completed(externalKey, new IntResolverResult(defaultValue, ResolvedBy.PROVIDER_DEFAULT));
+        }
+
+        return event.completed(externalKey, new IntResolverResult(0, ResolvedBy.NONE));
+    }
+
+    /**
+     * Resolves a {@code long} property in the same order as {@link #resolveProperty(PropertyResolutionSettings)},
+     * without boxing. If no source has a value, the result is not resolved and its value is zero.
+     *
+     * @param settings         the keys and sources to resolve from
+     * @param resolverStrategy the resolver strategy for the property, which may be null
+     * @return the resolved value
+     */
+    public static LongResolverResult resolveLong(PrimitivePropertyResolutionSettings settings,
+                                                 LongFieldResolverStrategy resolverStrategy) {
+        return resolveLong(settings, resolverStrategy, false, 0L);
+    }
+
+    /**
+     * Resolves a {@code long} property in the same order as {@link #resolveProperty(PropertyResolutionSettings)},
+     * without boxing.
+     *
+     * @param settings         the keys and sources to resolve from
+     * @param resolverStrategy the resolver strategy for the property, which may be null
+     * @param defaultValue     the provider default, used if no other source has a value
+     * @return the resolved value
+     */
+    public static LongResolverResult resolveLong(PrimitivePropertyResolutionSettings settings,
+                                                 LongFieldResolverStrategy resolverStrategy,
+                                                 long defaultValue) {
+        return resolveLong(settings, resolverStrategy, true, defaultValue);
     }
 
+    private static LongResolverResult resolveLong(PrimitivePropertyResolutionSettings settings,
+                                                  LongFieldResolverStrategy resolverStrategy,
+                                                  boolean hasDefaultValue,
+                                                  long defaultValue) {
+        var event = new ConfigPropertyResolvedEvent();
+        event.begin();
+
+        var resolver = isNull(resolverStrategy) ? EMPTY_LONG_RESOLVER_STRATEGY : resolverStrategy;
+        var systemPropertyKey = resolver.getSystemPropertyKeyOrDefault(settings.getSystemProperty());
+        var envVariable = resolver.getEnvVariableOrDefault(settings.getEnvironmentVariable());
+        var externalKey = resolver.getExternalPropertyOrDefault(settings.getExternalKey());
+
+        var found = lookupString(settings, systemPropertyKey, envVariable, externalKey);
+        if (nonNull(found)) {
+            var conversionStart = event.startConversion();
+            var value = KiwiPrimitives.tryParseLongOrThrow(found.getValue());
+            event.endConversion(conversionStart);
+            return event.completed(externalKey,
+                    new LongResolverResult(value, found.getResolvedBy(), found.getSourceName()));
+        }
+
+        var valueSupplier = resolver.getValueSupplier();
+        if (nonNull(valueSupplier)) {
+            return event.completed(externalKey, new LongResolverResult(valueSupplier.getAsLong(), ResolvedBy.SUPPLIER));
+        }
+
+        if (resolver.hasExplicitValue()) {
+            return event.completed(externalKey,
+                    new LongResolverResult(resolver.getExplicitValue(), ResolvedBy.EXPLICIT_VALUE));
+        }
+
+        if (hasDefaultValue) {
+            return event.completed(externalKey, new LongResolverResult(defaultValue, ResolvedBy.PROVIDER_DEFAULT));
+        }
+
+        return event.completed(externalKey, new LongResolverResult(0L, ResolvedBy.NONE));
+    }
+
+    /**
+     * Resolves a {@code boolean} property in the same order as {@link #resolveProperty(PropertyResolutionSettings)},
+     * without boxing. String values are converted using {@link Boolean#parseBoolean(String)}. If no source has a
+     * value, the result is not resolved and its value is false.
+     *
+     * @param settings         the keys and sources to resolve from
+     * @param resolverStrategy the resolver strategy for the property, which may be null
+     * @return the resolved value
+     */
+    public static BooleanResolverResult resolveBoolean(PrimitivePropertyResolutionSettings settings,
+                                                       BooleanFieldResolverStrategy resolverStrategy) {
+        return resolveBoolean(settings, resolverStrategy, false, false);
+    }
+
+    /**
+     * Resolves a {@code boolean} property in the same order as {@link #resolveProperty(PropertyResolutionSettings)},
+     * without boxing. String values are converted using {@link Boolean#parseBoolean(String)}.
+     *
+     * @param settings         the keys and sources to resolve from
+     * @param resolverStrategy the resolver strategy for the property, which may be null
+     * @param defaultValue     the provider default, used if no other source has a value
+     * @return the resolved value
+     */
+    public static BooleanResolverResult resolveBoolean(PrimitivePropertyResolutionSettings settings,
+                                                       BooleanFieldResolverStrategy resolverStrategy,
+                                                       boolean defaultValue) {
+        return resolveBoolean(settings, resolverStrategy, true, defaultValue);
+    }
+
+    private static BooleanResolverResult resolveBoolean(PrimitivePropertyResolutionSettings settings,
+                                                        BooleanFieldResolverStrategy resolverStrategy,
+                                                        boolean hasDefaultValue,
+                                                        boolean defaultValue) {
+        var event = new ConfigPropertyResolvedEvent();
+        event.begin();
+
+        var resolver = isNull(resolverStrategy) ? EMPTY_BOOLEAN_RESOLVER_STRATEGY : resolverStrategy;
+        var systemPropertyKey = resolver.getSystemPropertyKeyOrDefault(settings.getSystemProperty());
+        var envVariable = resolver.getEnvVariableOrDefault(settings.getEnvironmentVariable());
+        var externalKey = resolver.getExternalPropertyOrDefault(settings.getExternalKey());
+
+        var found = lookupString(settings, systemPropertyKey, envVariable, externalKey);
+        if (nonNull(found)) {
+            var conversionStart = event.startConversion();
+            var value = Boolean.parseBoolean(found.getValue());
+            event.endConversion(conversionStart);
+            return event.completed(externalKey,
+                    new BooleanResolverResult(value, found.getResolvedBy(), found.getSourceName()));
+        }
+
+        var valueSupplier = resolver.getValueSupplier();
+        if (nonNull(valueSupplier)) {
+            return event.completed(externalKey,
+                    new BooleanResolverResult(valueSupplier.getAsBoolean(), ResolvedBy.SUPPLIER));
+        }
+
+        if (resolver.hasExplicitValue()) {
+            return event.completed(externalKey,
+                    new BooleanResolverResult(resolver.getExplicitValue(), ResolvedBy.EXPLICIT_VALUE));
+        }
+
+        if (hasDefaultValue) {
+            return event.completed(externalKey, new BooleanResolverResult(defaultValue, ResolvedBy.PROVIDER_DEFAULT));
+        }
+
+        return event.completed(externalKey, new BooleanResolverResult(false, ResolvedBy.NONE));
+    }
+
+    /**
+     * Looks up the String value of a property in the built-in sources and any custom sources, in order of
+     * precedence. Custom sources are placed between the built-in sources according to their order.
+     *
+     * @return the value, how it was resolved and the name of the custom source if any, or null if no source has a
+     * value
+     */
+    private static ResolverResult<String> lookupString(ResolutionSources sources,
+                                                       String systemPropertyKey,
+                                                       String envVariable,
+                                                       String externalKey) {
+        var propertySources = sources.getPropertySources();
+        var minCustomOrder = Integer.MIN_VALUE;
+
+        for (var source : SOURCE_CHAIN) {
+            var custom = lookupCustomSources(propertySources, externalKey, minCustomOrder, source.order - 1);
+            if (nonNull(custom)) {
+                return new ResolverResult<>(custom.getValue(), ResolvedBy.CUSTOM_SOURCE, custom.getSourceName());
+            }
+
+            var value = source.lookup(sources, systemPropertyKey, envVariable, externalKey);
+            if (source.isPresent(value)) {
+                return new ResolverResult<>(value, source.resolvedBy);
+            }
+
+            minCustomOrder = source.order;
+        }
+
+        var custom = lookupCustomSources(propertySources, externalKey, minCustomOrder, Integer.MAX_VALUE);
+        if (nonNull(custom)) {
+            return new ResolverResult<>(custom.getValue(), ResolvedBy.CUSTOM_SOURCE, custom.getSourceName());
+        }
+
+        return null;
+    }
+
+    /**
+     * A single step in the chain of sources that supply String values.
+     */
+    private enum PropertySourceStep {
+
+        SYSTEM_PROPERTY(ResolvedBy.SYSTEM_PROPERTY, PropertySource.SYSTEM_PROPERTY_ORDER) {
+            @Override
+            String lookup(ResolutionSources sources, String systemPropertyKey, String envVariable, String externalKey) {
+                return lookupSystemProperty(sources.getResolutionSnapshot(), systemPropertyKey);
+            }
+        },
+
+        SYSTEM_ENV(ResolvedBy.SYSTEM_ENV, PropertySource.ENVIRONMENT_ORDER) {
+            @Override
+            String lookup(ResolutionSources sources, String systemPropertyKey, String envVariable, String externalKey) {
+                return lookupEnvironmentVariable(sources.getResolutionSnapshot(), sources.getKiwiEnvironment(), envVariable);
+            }
+        },
+
+        EXTERNAL_PROPERTY(ResolvedBy.EXTERNAL_PROPERTY, PropertySource.EXTERNAL_PROPERTY_ORDER) {
+            @Override
+            String lookup(ResolutionSources sources, String systemPropertyKey, String envVariable, String externalKey) {
+                return getExternalPropertyProviderOrDefault(sources.getExternalConfigProvider(), sources.getResolutionSnapshot())
+                        .getPropertyOrNull(externalKey);
+            }
+
+            /**
+             * External properties that exist are used even when blank, since they were explicitly configured.
+             */
+            @Override
+            boolean isPresent(String value) {
+                return nonNull(value);
+            }
+        };
+
+        private final ResolvedBy resolvedBy;
+        private final int order;
+
+        PropertySourceStep(ResolvedBy resolvedBy, int order) {
+            this.resolvedBy = resolvedBy;
+            this.order = order;
+        }
+
+        abstract String lookup(ResolutionSources sources, String systemPropertyKey, String envVariable, String externalKey);
+
+        boolean isPresent(String value) {
+            return isNotBlank(value);
+        }
+    }
 }
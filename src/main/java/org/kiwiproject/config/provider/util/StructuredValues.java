@@ -0,0 +1,47 @@
+package org.kiwiproject.config.provider.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conversions for the structured values of nested objects in JSON or YAML external config files.
+ *
+ * @see FieldDescriptor#getConvertFromMap()
+ */
+@UtilityClass
+public class StructuredValues {
+
+    /**
+     * Converts a structured value into a mutable map of Strings. Scalars are converted with
+     * {@link String#valueOf(Object)}, and nested objects and arrays are converted to JSON with
+     * {@link JsonMapConverter#toJson(Object)}.
+     *
+     * @param structuredValue the structured value
+     * @return a new map with the same keys, in the same order
+     */
+    public static Map<String, String> toStringMap(Map<String, Object> structuredValue) {
+        var strings = new LinkedHashMap<String, String>();
+        structuredValue.forEach((key, value) -> strings.put(key, toStringValue(value)));
+        return strings;
+    }
+
+    /**
+     * Copies a structured value into a mutable map, leaving its values as they are.
+     *
+     * @param structuredValue the structured value
+     * @return a new map with the same entries, in the same order
+     */
+    public static Map<String, Object> toMutableMap(Map<String, Object> structuredValue) {
+        return new LinkedHashMap<>(structuredValue);
+    }
+
+    private static String toStringValue(Object value) {
+        if (value instanceof Map || value instanceof Collection) {
+            return JsonMapConverter.toJson(value);
+        }
+        return String.valueOf(value);
+    }
+}
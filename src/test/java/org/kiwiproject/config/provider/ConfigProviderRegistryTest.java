@@ -0,0 +1,275 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@DisplayName("ConfigProviderRegistry")
+class ConfigProviderRegistryTest {
+
+    private ExternalConfigProvider externalConfigProvider;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) throws IOException {
+        var propertiesPath = tempDir.resolve("config.properties");
+        Files.writeString(propertiesPath, String.join("\n",
+                "elucidation.host=localhost",
+                "elucidation.port=9000",
+                "elucidation.enabled=true",
+                "mongo.connection=db1.test:27017,db2.test:27017"));
+
+        externalConfigProvider = ExternalConfigProvider.builder().explicitPath(propertiesPath).build();
+    }
+
+    @Test
+    void shouldBuildRegisteredProviders_WithSharedResources() {
+        var snapshot = ResolutionSnapshot.capture();
+
+        var registry = ConfigProviderRegistry.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .resolutionSnapshot(snapshot)
+                .register(ElucidationConfigProvider.class)
+                .register(MongoConfigProvider.class)
+                .build();
+
+        var elucidation = registry.get(ElucidationConfigProvider.class);
+        assertThat(elucidation.getHost()).isEqualTo("localhost");
+        assertThat(elucidation.getPort()).isEqualTo(9000);
+        assertThat(elucidation.getResolvedBy()).containsEntry("host", ResolvedBy.EXTERNAL_PROPERTY);
+
+        assertThat(registry.get(MongoConfigProvider.class).getUrl()).isEqualTo("db1.test:27017,db2.test:27017");
+
+        assertThat(registry.getContext().getExternalConfigProvider()).isSameAs(externalConfigProvider);
+        assertThat(registry.getContext().getResolutionSnapshot()).isSameAs(snapshot);
+    }
+
+    @Test
+    void shouldPassSameContextToEveryFactory() {
+        var contexts = new CopyOnWriteArrayList<ConfigProviderRegistry.BootstrapContext>();
+
+        var registry = ConfigProviderRegistry.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .register(ElucidationConfigProvider.class, context -> {
+                    contexts.add(context);
+                    return ElucidationConfigProvider.builder()
+                            .externalConfigProvider(context.getExternalConfigProvider())
+                            .resolutionSnapshot(context.getResolutionSnapshot())
+                            .build();
+                })
+                .register(MongoConfigProvider.class, context -> {
+                    contexts.add(context);
+                    return MongoConfigProvider.builder()
+                            .externalConfigProvider(context.getExternalConfigProvider())
+                            .resolutionSnapshot(context.getResolutionSnapshot())
+                            .build();
+                })
+                .build();
+
+        assertThat(contexts).hasSize(2).allSatisfy(context -> assertThat(context).isSameAs(registry.getContext()));
+        assertThat(registry.getContext().getResolutionSnapshot()).isNotNull();
+    }
+
+    @Test
+    void shouldUseCustomFactory() {
+        var registry = ConfigProviderRegistry.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .register(ElucidationConfigProvider.class, context -> ElucidationConfigProvider.builder()
+                        .externalConfigProvider(context.getExternalConfigProvider())
+                        .enabledResolverStrategy(FieldResolverStrategy.<Boolean>builder()
+                                .externalProperty("custom.elucidation.enabled")
+                                .explicitValue(false)
+                                .build())
+                        .build())
+                .build();
+
+        var elucidation = registry.get(ElucidationConfigProvider.class);
+        assertThat(elucidation.isEnabled()).isFalse();
+        assertThat(elucidation.getResolvedBy()).containsEntry("enabled", ResolvedBy.EXPLICIT_VALUE);
+    }
+
+    @Test
+    void shouldCaptureSnapshotFromGivenEnvironment() {
+        var env = mock(KiwiEnvironment.class);
+        when(env.getenv()).thenReturn(Map.of("KIWI_ELUCIDATION_HOST", "env-host"));
+
+        var registry = ConfigProviderRegistry.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .register(ElucidationConfigProvider.class)
+                .build();
+
+        assertThat(registry.get(ElucidationConfigProvider.class).getHost()).isEqualTo("env-host");
+        assertThat(registry.getContext().getResolutionSnapshot().getenv("KIWI_ELUCIDATION_HOST"))
+                .isEqualTo("env-host");
+    }
+
+    @Test
+    void shouldBuildProvidersConcurrently() {
+        var barrier = new CyclicBarrier(2);
+
+        var registry = ConfigProviderRegistry.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .register(ElucidationConfigProvider.class, context -> {
+                    awaitOthers(barrier);
+                    return ElucidationConfigProvider.builder()
+                            .externalConfigProvider(context.getExternalConfigProvider())
+                            .build();
+                })
+                .register(MongoConfigProvider.class, context -> {
+                    awaitOthers(barrier);
+                    return MongoConfigProvider.builder()
+                            .externalConfigProvider(context.getExternalConfigProvider())
+                            .build();
+                })
+                .build();
+
+        assertThat(registry.getProviders())
+                .containsOnlyKeys(ElucidationConfigProvider.class, MongoConfigProvider.class);
+    }
+
+    @Nested
+    class Lookup {
+
+        private ConfigProviderRegistry registry;
+
+        @BeforeEach
+        void setUp() {
+            registry = ConfigProviderRegistry.builder()
+                    .externalConfigProvider(externalConfigProvider)
+                    .register(ElucidationConfigProvider.class)
+                    .build();
+        }
+
+        @Test
+        void shouldFindRegisteredProvider() {
+            assertThat(registry.contains(ElucidationConfigProvider.class)).isTrue();
+            assertThat(registry.find(ElucidationConfigProvider.class)).isPresent();
+        }
+
+        @Test
+        void shouldNotFindUnregisteredProvider() {
+            assertThat(registry.contains(MongoConfigProvider.class)).isFalse();
+            assertThat(registry.find(MongoConfigProvider.class)).isEmpty();
+            assertThatIllegalArgumentException().isThrownBy(() -> registry.get(MongoConfigProvider.class));
+        }
+
+        @Test
+        void shouldNotAllowChangingProviders() {
+            var providers = registry.getProviders();
+
+            assertThatThrownBy(providers::clear).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    class Timings {
+
+        @Test
+        void shouldRecordTimePerProvider() {
+            var registry = ConfigProviderRegistry.builder()
+                    .externalConfigProvider(externalConfigProvider)
+                    .register(ElucidationConfigProvider.class)
+                    .register(MongoConfigProvider.class, context -> {
+                        sleep(Duration.ofMillis(50));
+                        return MongoConfigProvider.builder()
+                                .externalConfigProvider(context.getExternalConfigProvider())
+                                .build();
+                    })
+                    .build();
+
+            var timings = registry.getTimings();
+            assertThat(timings.getProviderTimes())
+                    .containsOnlyKeys(ElucidationConfigProvider.class, MongoConfigProvider.class);
+
+            var mongoTime = timings.getProviderTime(MongoConfigProvider.class);
+            assertThat(mongoTime).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+            assertThat(timings.getTotalTime()).isGreaterThanOrEqualTo(mongoTime);
+        }
+
+        @Test
+        void shouldNotTimeResourcesThatWereGiven() {
+            var registry = ConfigProviderRegistry.builder()
+                    .externalConfigProvider(externalConfigProvider)
+                    .resolutionSnapshot(ResolutionSnapshot.capture())
+                    .build();
+
+            assertThat(registry.getTimings().getSnapshotTime()).isZero();
+            assertThat(registry.getTimings().getExternalLoadTime()).isZero();
+            assertThat(registry.getProviders()).isEmpty();
+        }
+    }
+
+    @Nested
+    class Registration {
+
+        @Test
+        void shouldRejectDuplicateRegistration() {
+            var builder = ConfigProviderRegistry.builder().register(ElucidationConfigProvider.class);
+
+            assertThatIllegalArgumentException().isThrownBy(() -> builder.register(ElucidationConfigProvider.class));
+        }
+
+        @Test
+        void shouldRejectTypeWithoutDefaultFactory() {
+            var builder = ConfigProviderRegistry.builder();
+
+            assertThatIllegalArgumentException().isThrownBy(() -> builder.register(ConfigProvider.class));
+        }
+
+        @Test
+        void shouldThrowIllegalStateException_WhenProviderCannotBeBuilt() {
+            var builder = ConfigProviderRegistry.builder()
+                    .externalConfigProvider(externalConfigProvider)
+                    .register(ElucidationConfigProvider.class)
+                    .register(MongoConfigProvider.class, context -> {
+                        throw new IllegalArgumentException("bad mongo config");
+                    });
+
+            assertThatIllegalStateException()
+                    .isThrownBy(builder::build)
+                    .withMessageContaining(MongoConfigProvider.class.getName())
+                    .withCauseInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static void awaitOthers(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (BrokenBarrierException | TimeoutException e) {
+            throw new IllegalStateException("providers were not built concurrently", e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
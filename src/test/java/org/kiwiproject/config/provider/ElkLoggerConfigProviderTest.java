@@ -133,6 +133,16 @@ class ElkLoggerConfigProviderTest {
 
                 assertProviderCanProvide(provider, ResolvedBy.EXTERNAL_PROPERTY);
             }
+
+            @Test
+            void shouldBuildUsingNestedObjectFromYamlExternalConfig() {
+                var yamlPath = Path.of(ResourceHelpers.resourceFilePath("ElkLoggerConfigProvider/config.yml"));
+                var yamlConfigProvider = ExternalConfigProvider.builder().explicitPath(yamlPath).build();
+
+                var provider = ElkLoggerConfigProvider.builder().externalConfigProvider(yamlConfigProvider).build();
+
+                assertProviderCanProvide(provider, ResolvedBy.EXTERNAL_PROPERTY);
+            }
         }
 
         @Nested
@@ -9,6 +9,7 @@ import static org.kiwiproject.config.provider.FieldResolverStrategies.newSupplie
 import static org.kiwiproject.config.provider.FieldResolverStrategies.newSystemPropertyFieldResolverStrategy;
 import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
 import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
+import static org.kiwiproject.config.provider.util.TestHelpers.newMapPropertySource;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -19,8 +20,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.util.PropertySource;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @DisplayName("ElucidationConfigProvider")
 class ElucidationConfigProviderTest {
@@ -148,6 +159,30 @@ class ElucidationConfigProviderTest {
 
         }
 
+        @Nested
+        class WithCustomSource {
+
+            @Test
+            void shouldReportNamesOfCustomSources_ForFieldsTheyResolved() {
+                var secrets = newMapPropertySource("secrets", PropertySource.SYSTEM_PROPERTY_ORDER - 1,
+                        Map.of(ElucidationConfigProvider.DEFAULT_HOST_EXTERNAL_PROPERTY_KEY, HOST));
+                var remote = newMapPropertySource("remote", PropertySource.SYSTEM_PROPERTY_ORDER - 1,
+                        Map.of(ElucidationConfigProvider.DEFAULT_PORT_EXTERNAL_PROPERTY_KEY, String.valueOf(PORT)));
+
+                var provider = ElucidationConfigProvider.builder()
+                        .propertySources(PropertySourceChain.of(secrets, remote))
+                        .enabledResolverStrategy(newSupplierFieldResolverStrategy(() -> true))
+                        .build();
+
+                assertThat(provider.getResolvedBy()).contains(
+                        entry("host", ResolvedBy.CUSTOM_SOURCE),
+                        entry("port", ResolvedBy.CUSTOM_SOURCE));
+                assertThat(provider.getResolvedSourceNames()).containsOnly(
+                        entry("host", "secrets"),
+                        entry("port", "remote"));
+            }
+        }
+
         @Nested
         class WithSupplier {
 
@@ -162,6 +197,66 @@ class ElucidationConfigProviderTest {
                 assertProviderCanProvide(provider, ResolvedBy.SUPPLIER);
             }
 
+            @Test
+            void shouldBuildAsynchronously_CallingSuppliersConcurrently() {
+                var barrier = new CyclicBarrier(3);
+                var future = ElucidationConfigProvider.builder()
+                        .hostResolverStrategy(newSupplierFieldResolverStrategy(() -> awaitOthers(barrier, HOST)))
+                        .portResolverStrategy(newSupplierFieldResolverStrategy(() -> awaitOthers(barrier, PORT)))
+                        .enabledResolverStrategy(newSupplierFieldResolverStrategy(() -> awaitOthers(barrier, true)))
+                        .buildAsync();
+
+                assertThat(future).succeedsWithin(Duration.ofSeconds(10))
+                        .satisfies(provider -> assertProviderCanProvide(provider, ResolvedBy.SUPPLIER));
+            }
+
+            @Test
+            void shouldBuildAsynchronously_WithSingleThreadResolutionExecutor() {
+                var executor = Executors.newSingleThreadExecutor();
+                try {
+                    var future = ElucidationConfigProvider.builder()
+                            .hostResolverStrategy(newSupplierFieldResolverStrategy(() -> HOST))
+                            .portResolverStrategy(newSupplierFieldResolverStrategy(() -> PORT))
+                            .enabledResolverStrategy(newSupplierFieldResolverStrategy(() -> true))
+                            .resolutionExecutor(executor)
+                            .buildAsync();
+
+                    assertThat(future).succeedsWithin(Duration.ofSeconds(10))
+                            .satisfies(provider -> assertProviderCanProvide(provider, ResolvedBy.SUPPLIER));
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+
+            @Test
+            void shouldNotChangeBuilder_WhenBuildingAsynchronously() {
+                var supplierThreads = new CopyOnWriteArrayList<Thread>();
+                var builder = ElucidationConfigProvider.builder()
+                        .hostResolverStrategy(newSupplierFieldResolverStrategy(() -> {
+                            supplierThreads.add(Thread.currentThread());
+                            return HOST;
+                        }));
+
+                assertThat(builder.buildAsync()).succeedsWithin(Duration.ofSeconds(10));
+                supplierThreads.clear();
+
+                builder.build();
+
+                assertThat(supplierThreads).containsExactly(Thread.currentThread());
+            }
+
+            private <T> T awaitOthers(CyclicBarrier barrier, T value) {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    return value;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } catch (BrokenBarrierException | TimeoutException e) {
+                    throw new IllegalStateException("suppliers were not called concurrently", e);
+                }
+            }
+
             @Test
             void shouldBuildUsingDefaultSupplierAndCannotProvide() {
                 var provider = ElucidationConfigProvider.builder().build();
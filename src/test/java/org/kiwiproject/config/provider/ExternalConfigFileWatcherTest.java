@@ -0,0 +1,109 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+
+@DisplayName("ExternalConfigFileWatcher")
+class ExternalConfigFileWatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @TempDir
+    Path tempDir;
+
+    private Path propertiesPath;
+    private ExternalConfigProvider provider;
+    private ExternalConfigFileWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        propertiesPath = tempDir.resolve("config.properties");
+        Files.writeString(propertiesPath, "service.name=before\n");
+        provider = ExternalConfigProvider.builder().explicitPath(propertiesPath).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    void shouldReloadWhenFileIsModified() throws IOException {
+        watcher = ExternalConfigFileWatcher.watch(provider, Duration.ofMillis(50));
+
+        Files.writeString(propertiesPath, "service.name=after\n");
+
+        await().atMost(TIMEOUT).until(() -> provider.getProperty("service.name").equals(Optional.of("after")));
+        assertThat(watcher.getReloadCount()).isPositive();
+    }
+
+    @Test
+    void shouldReloadWhenFileIsReplacedByAtomicRename() throws IOException {
+        watcher = ExternalConfigFileWatcher.watch(provider, Duration.ofMillis(50));
+
+        var replacement = tempDir.resolve("config.properties.tmp");
+        Files.writeString(replacement, "service.name=renamed\n");
+        Files.move(replacement, propertiesPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        await().atMost(TIMEOUT).until(() -> provider.getProperty("service.name").equals(Optional.of("renamed")));
+    }
+
+    @Test
+    void shouldIgnoreChangesToOtherFilesInDirectory() throws IOException, InterruptedException {
+        watcher = ExternalConfigFileWatcher.watch(provider, Duration.ofMillis(50));
+
+        Files.writeString(tempDir.resolve("other.properties"), "service.name=other\n");
+        Thread.sleep(500);
+
+        assertThat(watcher.getReloadCount()).isZero();
+        assertThat(provider.getProperty("service.name")).hasValue("before");
+    }
+
+    @Test
+    void shouldDebounceBurstsOfWrites() throws IOException {
+        watcher = ExternalConfigFileWatcher.watch(provider, Duration.ofMillis(500));
+
+        for (var i = 1; i <= 5; i++) {
+            Files.writeString(propertiesPath, "service.name=value-" + i + "\n");
+        }
+
+        await().atMost(TIMEOUT).until(() -> provider.getProperty("service.name").equals(Optional.of("value-5")));
+        assertThat(watcher.getReloadCount()).isLessThan(5);
+    }
+
+    @Test
+    void shouldStopReloading_AfterClose() throws IOException, InterruptedException {
+        watcher = ExternalConfigFileWatcher.watch(provider, Duration.ofMillis(50));
+        watcher.close();
+
+        Files.writeString(propertiesPath, "service.name=after\n");
+        Thread.sleep(500);
+
+        assertThat(watcher.isClosed()).isTrue();
+        assertThat(provider.getProperty("service.name")).hasValue("before");
+    }
+
+    @Test
+    void shouldRejectNegativeDebounce() {
+        var negativeDebounce = Duration.ofMillis(-1);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> ExternalConfigFileWatcher.watch(provider, negativeDebounce));
+    }
+}
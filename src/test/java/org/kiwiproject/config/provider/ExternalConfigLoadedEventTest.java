@@ -0,0 +1,46 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@DisplayName("ExternalConfigLoadedEvent")
+class ExternalConfigLoadedEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRecordEvent_WhenPropertiesAreLoaded() throws IOException {
+        var propertiesPath = tempDir.resolve("config.properties");
+        Files.writeString(propertiesPath, "first=1\nsecond=2\nthird=3\n");
+
+        try (var recording = new Recording()) {
+            recording.enable(ExternalConfigLoadedEvent.NAME);
+            recording.start();
+            ExternalConfigProvider.builder().explicitPath(propertiesPath).build();
+            recording.stop();
+
+            var file = tempDir.resolve("load.jfr");
+            recording.dump(file);
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(ExternalConfigLoadedEvent.NAME))
+                    .toList();
+
+            assertThat(events).hasSize(1);
+            var event = events.get(0);
+            assertThat(event.getString("path")).isEqualTo(propertiesPath.toString());
+            assertThat(event.getString("overlayDirectory")).isNull();
+            assertThat(event.getLong("bytes")).isEqualTo(Files.size(propertiesPath));
+            assertThat(event.getInt("keyCount")).isEqualTo(3);
+        }
+    }
+}
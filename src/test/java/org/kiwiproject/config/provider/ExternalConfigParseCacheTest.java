@@ -0,0 +1,160 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.config.provider.ExternalConfigParseCache.SourceFingerprint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+@DisplayName("ExternalConfigParseCache")
+class ExternalConfigParseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path cachePath;
+    private SourceFingerprint fingerprint;
+
+    @BeforeEach
+    void setUp() {
+        cachePath = tempDir.resolve("config.cache");
+        fingerprint = SourceFingerprint.of("a=1\n".getBytes(StandardCharsets.UTF_8), 1_000L);
+    }
+
+    @Nested
+    class ReadIfFresh {
+
+        @Test
+        void shouldReadWhatWasWritten() {
+            var properties = Map.of("a", "1", "unicode", "café", "empty", "");
+            ExternalConfigParseCache.write(cachePath, fingerprint, properties);
+
+            assertThat(ExternalConfigParseCache.readIfFresh(cachePath, fingerprint)).isEqualTo(properties);
+        }
+
+        @Test
+        void shouldReturnNull_WhenCacheDoesNotExist() {
+            assertThat(ExternalConfigParseCache.readIfFresh(cachePath, fingerprint)).isNull();
+        }
+
+        @Test
+        void shouldReturnNull_WhenSourceContentChanged() {
+            ExternalConfigParseCache.write(cachePath, fingerprint, Map.of("a", "1"));
+
+            var changed = SourceFingerprint.of("a=2\n".getBytes(StandardCharsets.UTF_8), 1_000L);
+            assertThat(ExternalConfigParseCache.readIfFresh(cachePath, changed)).isNull();
+        }
+
+        @Test
+        void shouldReturnNull_WhenSourceModifiedTimeChanged() {
+            ExternalConfigParseCache.write(cachePath, fingerprint, Map.of("a", "1"));
+
+            var touched = SourceFingerprint.of("a=1\n".getBytes(StandardCharsets.UTF_8), 2_000L);
+            assertThat(ExternalConfigParseCache.readIfFresh(cachePath, touched)).isNull();
+        }
+
+        @Test
+        void shouldReturnNull_WhenCacheIsCorrupt() throws IOException {
+            ExternalConfigParseCache.write(cachePath, fingerprint, Map.of("a", "1"));
+            var bytes = Files.readAllBytes(cachePath);
+            Files.write(cachePath, Arrays.copyOf(bytes, bytes.length - 3));
+
+            assertThat(ExternalConfigParseCache.readIfFresh(cachePath, fingerprint)).isNull();
+        }
+
+        @Test
+        void shouldReturnNull_WhenCacheIsTruncatedWithinHeader() throws IOException {
+            ExternalConfigParseCache.write(cachePath, fingerprint, Map.of("a", "1"));
+            var bytes = Files.readAllBytes(cachePath);
+            Files.write(cachePath, Arrays.copyOf(bytes, 10));
+
+            assertThat(ExternalConfigParseCache.readIfFresh(cachePath, fingerprint)).isNull();
+        }
+
+        @Test
+        void shouldReturnNull_WhenEntryCountExceedsCacheSize() throws IOException {
+            ExternalConfigParseCache.write(cachePath, fingerprint, Map.of("a", "1"));
+            var bytes = Files.readAllBytes(cachePath);
+            var countOffset = Integer.BYTES + 3 * Long.BYTES;
+            ByteBuffer.wrap(bytes).putInt(countOffset, Integer.MAX_VALUE);
+            Files.write(cachePath, bytes);
+
+            assertThat(ExternalConfigParseCache.readIfFresh(cachePath, fingerprint)).isNull();
+        }
+    }
+
+    @Nested
+    class WithExternalConfigProvider {
+
+        private Path propertiesPath;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            propertiesPath = Files.writeString(tempDir.resolve("config.properties"), "unit.test.foo=bar\n");
+        }
+
+        @Test
+        void shouldWriteCache_OnFirstLoad() {
+            var provider = ExternalConfigProvider.builder()
+                    .explicitPath(propertiesPath)
+                    .parseCachePath(cachePath)
+                    .build();
+
+            assertThat(provider.getPropertyOrNull("unit.test.foo")).isEqualTo("bar");
+            assertThat(cachePath).exists();
+        }
+
+        @Test
+        void shouldUseCache_WhenPropertiesFileIsUnchanged() throws IOException {
+            ExternalConfigProvider.builder().explicitPath(propertiesPath).parseCachePath(cachePath).build();
+            var cacheModified = Files.getLastModifiedTime(cachePath);
+
+            var provider = ExternalConfigProvider.builder()
+                    .explicitPath(propertiesPath)
+                    .parseCachePath(cachePath)
+                    .build();
+
+            assertThat(provider.getPropertyOrNull("unit.test.foo")).isEqualTo("bar");
+            assertThat(Files.getLastModifiedTime(cachePath)).isEqualTo(cacheModified);
+        }
+
+        @Test
+        void shouldReparse_WhenPropertiesFileChanges() throws IOException {
+            var provider = ExternalConfigProvider.builder()
+                    .explicitPath(propertiesPath)
+                    .parseCachePath(cachePath)
+                    .build();
+
+            Files.writeString(propertiesPath, "unit.test.foo=changed\n");
+            provider.reload();
+
+            assertThat(provider.getPropertyOrNull("unit.test.foo")).isEqualTo("changed");
+        }
+
+        @Test
+        void shouldReparseAndRewriteCache_WhenCacheIsTruncated() throws IOException {
+            ExternalConfigProvider.builder().explicitPath(propertiesPath).parseCachePath(cachePath).build();
+            var bytes = Files.readAllBytes(cachePath);
+            Files.write(cachePath, Arrays.copyOf(bytes, bytes.length / 2));
+
+            var provider = ExternalConfigProvider.builder()
+                    .explicitPath(propertiesPath)
+                    .parseCachePath(cachePath)
+                    .build();
+
+            assertThat(provider.getPropertyOrNull("unit.test.foo")).isEqualTo("bar");
+            assertThat(Files.readAllBytes(cachePath)).isEqualTo(bytes);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.kiwiproject.config.provider;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.dropwizard.testing.ResourceHelpers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+
+@DisplayName("ExternalConfigProviderRegistry")
+class ExternalConfigProviderRegistryTest {
+
+    private Path propertyPath;
+
+    @BeforeEach
+    void setUp() {
+        propertyPath = Path.of(ResourceHelpers.resourceFilePath("ExternalConfigProvider/config.properties"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ExternalConfigProviderRegistry.clear();
+        clearAllSystemProperties();
+    }
+
+    @Nested
+    class GetOrLoad {
+
+        @Test
+        void shouldReturnSameInstance_ForSamePath() {
+            var first = ExternalConfigProviderRegistry.getOrLoad(propertyPath);
+            var second = ExternalConfigProviderRegistry.getOrLoad(propertyPath);
+
+            assertThat(first).isSameAs(second);
+            assertThat(first.getProperty("unit.test.foo")).hasValue("bar");
+        }
+
+        @Test
+        void shouldReturnSameInstance_ForEquivalentPaths() {
+            var equivalentPath = propertyPath.getParent().resolve("..")
+                    .resolve(propertyPath.getParent().getFileName())
+                    .resolve(propertyPath.getFileName());
+
+            var first = ExternalConfigProviderRegistry.getOrLoad(propertyPath);
+            var second = ExternalConfigProviderRegistry.getOrLoad(equivalentPath);
+
+            assertThat(first).isSameAs(second);
+        }
+
+        @Test
+        void shouldReload_WhenFileChanges(@TempDir Path tempDir) throws IOException {
+            var path = tempDir.resolve("config.properties");
+            Files.writeString(path, "unit.test.foo=bar");
+
+            var first = ExternalConfigProviderRegistry.getOrLoad(path);
+            assertThat(first.getProperty("unit.test.foo")).hasValue("bar");
+
+            Files.writeString(path, "unit.test.foo=changed");
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now().plusSeconds(10)));
+
+            var second = ExternalConfigProviderRegistry.getOrLoad(path);
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getProperty("unit.test.foo")).hasValue("changed");
+        }
+
+        @Test
+        void shouldReturnProviderThatCanNotProvide_WhenFileDoesNotExist(@TempDir Path tempDir) {
+            var provider = ExternalConfigProviderRegistry.getOrLoad(tempDir.resolve("missing.properties"));
+
+            assertThat(provider.canNotProvide()).isTrue();
+        }
+    }
+
+    @Nested
+    class Invalidate {
+
+        @Test
+        void shouldReloadOnNextLookup() {
+            var first = ExternalConfigProviderRegistry.getOrLoad(propertyPath);
+
+            ExternalConfigProviderRegistry.invalidate(propertyPath);
+
+            var second = ExternalConfigProviderRegistry.getOrLoad(propertyPath);
+            assertThat(second).isNotSameAs(first);
+        }
+    }
+
+    @Nested
+    class GetExternalPropertyProviderOrDefault {
+
+        @Test
+        void shouldReturnProvidedInstance_WhenNotNull() {
+            var provider = ExternalConfigProvider.builder().explicitPath(propertyPath).build();
+
+            assertThat(ExternalConfigProvider.getExternalPropertyProviderOrDefault(provider)).isSameAs(provider);
+        }
+
+        @Test
+        void shouldReturnSharedDefaultInstance_WhenNull() {
+            addSystemProperty(ExternalConfigProvider.DEFAULT_CONFIG_PATH_SYSTEM_PROPERTY, propertyPath.toString());
+            var snapshot = ResolutionSnapshot.capture(emptyEnvironment());
+
+            var first = ExternalConfigProvider.getExternalPropertyProviderOrDefault(null, snapshot);
+            var second = ExternalConfigProvider.getExternalPropertyProviderOrDefault(null, snapshot);
+
+            assertThat(first).isSameAs(second);
+            assertThat(first.getPropertiesPath()).isEqualTo(propertyPath);
+            assertThat(first.getProperty("unit.test.foo")).hasValue("bar");
+        }
+
+        @Test
+        void shouldUseDefaultConfigPath_WhenNull_AndNothingConfigured() {
+            var originalPath = System.clearProperty(ExternalConfigProvider.DEFAULT_CONFIG_PATH_SYSTEM_PROPERTY);
+            try {
+                var snapshot = ResolutionSnapshot.capture(emptyEnvironment());
+
+                var provider = ExternalConfigProvider.getExternalPropertyProviderOrDefault(null, snapshot);
+
+                assertThat(provider.getPropertiesPath()).isEqualTo(ExternalConfigProvider.DEFAULT_CONFIG_PATH);
+            } finally {
+                if (nonNull(originalPath)) {
+                    System.setProperty(ExternalConfigProvider.DEFAULT_CONFIG_PATH_SYSTEM_PROPERTY, originalPath);
+                }
+            }
+        }
+
+        private KiwiEnvironment emptyEnvironment() {
+            var env = mock(KiwiEnvironment.class);
+            when(env.getenv()).thenReturn(Map.of());
+            return env;
+        }
+    }
+}
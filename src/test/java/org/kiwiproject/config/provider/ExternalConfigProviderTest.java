@@ -1,6 +1,7 @@
 package org.kiwiproject.config.provider;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.AssertionsForClassTypes.fail;
 import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
 import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
@@ -13,8 +14,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.kiwiproject.base.KiwiEnvironment;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 @DisplayName("ExternalConfigProvider")
@@ -100,6 +104,133 @@ class ExternalConfigProviderTest {
 
         }
 
+        @Nested
+        class WithMemoryMapping {
+
+            @Test
+            void shouldLoadTheSamePropertiesAsTheDefaultLoader() {
+                var mappedProvider = ExternalConfigProvider.builder()
+                        .explicitPath(propertyPath)
+                        .memoryMapped(true)
+                        .build();
+
+                assertThat(mappedProvider.isMemoryMapped()).isTrue();
+                assertThat(mappedProvider.canProvide()).isTrue();
+                assertThat(mappedProvider.getPropertyOrNull("unit.test.foo")).isEqualTo("bar");
+                assertThat(mappedProvider.getPropertyOrNull("unit.test.baz")).isNull();
+            }
+
+            @Test
+            void shouldNotProvide_WhenFileDoesNotExist() {
+                var mappedProvider = ExternalConfigProvider.builder()
+                        .explicitPath(Path.of("/does/not/exist.properties"))
+                        .memoryMapped(true)
+                        .build();
+
+                assertThat(mappedProvider.canProvide()).isFalse();
+            }
+
+            @Test
+            void shouldNotDecodeValues_UntilTheyAreLookedUp(@TempDir Path tempDir) throws IOException {
+                var path = Files.writeString(tempDir.resolve("mapped.properties"), "tls.a=1\ntls.b=2\nother=3\n");
+                var mappedProvider = ExternalConfigProvider.builder()
+                        .explicitPath(path)
+                        .memoryMapped(true)
+                        .build();
+
+                var mapped = (MemoryMappedProperties) mappedProvider.currentIndex().asMap();
+                assertThat(mapped.decodedValueCount()).isZero();
+
+                var tlsProperties = mappedProvider.getPropertiesWithPrefix("tls.");
+                assertThat(tlsProperties.keySet()).containsExactly("tls.a", "tls.b");
+                assertThat(mapped.decodedValueCount()).isZero();
+
+                assertThat(mappedProvider.getPropertyOrNull("other")).isEqualTo("3");
+                assertThat(mapped.decodedValueCount()).isOne();
+            }
+        }
+
+        @Nested
+        class WithOverlayDirectory {
+
+            @TempDir
+            Path tempDir;
+
+            @Test
+            void shouldLayerOverlaysOverPropertiesFile() throws IOException {
+                var overlayDirectory = Files.createDirectory(tempDir.resolve("conf.d"));
+                var overlay = Files.writeString(overlayDirectory.resolve("10-override.properties"),
+                        "unit.test.foo=overridden\nunit.test.extra=extra\n");
+
+                provider = ExternalConfigProvider.builder()
+                        .explicitPath(propertyPath)
+                        .overlayDirectory(overlayDirectory)
+                        .build();
+
+                assertThat(provider.getOverlayDirectory()).isEqualTo(overlayDirectory);
+                assertThat(provider.getPropertyOrNull("unit.test.foo")).isEqualTo("overridden");
+                assertThat(provider.getPropertySource("unit.test.foo")).contains(overlay);
+                assertThat(provider.getPropertySource("unit.test.extra")).contains(overlay);
+            }
+
+            @Test
+            void shouldUsePropertiesFile_WhenOverlayDirectoryDoesNotExist() {
+                provider = ExternalConfigProvider.builder()
+                        .explicitPath(propertyPath)
+                        .overlayDirectory(tempDir.resolve("missing"))
+                        .build();
+
+                assertThat(provider.getPropertyOrNull("unit.test.foo")).isEqualTo("bar");
+                assertThat(provider.getPropertySource("unit.test.foo")).contains(propertyPath);
+            }
+
+        }
+
+        @Nested
+        class WithInterpolation {
+
+            @TempDir
+            Path tempDir;
+
+            @Test
+            void shouldInterpolateValuesAtLoad() throws IOException {
+                var path = Files.writeString(tempDir.resolve("config.properties"),
+                        "db.host=db-1.test\ndatasource.url=jdbc:postgresql://${db.host}:${env:DB_PORT}/app\n");
+                var env = mock(KiwiEnvironment.class);
+                when(env.getenv("DB_PORT")).thenReturn("5432");
+
+                provider = ExternalConfigProvider.builder()
+                        .explicitPath(path)
+                        .environment(env)
+                        .interpolate(true)
+                        .build();
+
+                assertThat(provider.isInterpolate()).isTrue();
+                assertThat(provider.getPropertyOrNull("datasource.url")).isEqualTo("jdbc:postgresql://db-1.test:5432/app");
+            }
+
+            @Test
+            void shouldNotInterpolate_ByDefault() throws IOException {
+                var path = Files.writeString(tempDir.resolve("config.properties"), "a=1\nb=${a}\n");
+
+                provider = ExternalConfigProvider.builder().explicitPath(path).build();
+
+                assertThat(provider.getPropertyOrNull("b")).isEqualTo("${a}");
+            }
+
+            @Test
+            void shouldKeepPreviousProperties_WhenReloadFindsCycle() throws IOException {
+                var path = Files.writeString(tempDir.resolve("config.properties"), "a=1\nb=${a}\n");
+                provider = ExternalConfigProvider.builder().explicitPath(path).interpolate(true).build();
+
+                Files.writeString(path, "a=${b}\nb=${a}\n");
+                provider.reload();
+
+                assertThat(provider.getPropertyOrNull("b")).isEqualTo("1");
+            }
+
+        }
+
         @Nested
         class WithDefaultPath {
 
@@ -131,6 +262,68 @@ class ExternalConfigProviderTest {
         }
     }
 
+    @Nested
+    class GetPropertyOrNull {
+
+        @Test
+        void shouldReturnPropertyValue_WhenFound() {
+            assertThat(provider.getPropertyOrNull("unit.test.foo")).isEqualTo("bar");
+        }
+
+        @Test
+        void shouldReturnNull_WhenNotFound() {
+            assertThat(provider.getPropertyOrNull("unit.test.baz")).isNull();
+        }
+
+        @Test
+        void shouldReturnNull_ForNullKey() {
+            assertThat(provider.getPropertyOrNull(null)).isNull();
+        }
+    }
+
+    @Nested
+    class GetPropertyWithDefault {
+
+        @Test
+        void shouldReturnPropertyValue_WhenFound() {
+            assertThat(provider.getProperty("unit.test.foo", "default")).isEqualTo("bar");
+        }
+
+        @Test
+        void shouldReturnDefaultValue_WhenNotFound() {
+            assertThat(provider.getProperty("unit.test.baz", "default")).isEqualTo("default");
+        }
+    }
+
+    @Nested
+    class GetPropertySource {
+
+        @Test
+        void shouldReturnPropertiesPath_WhenFound() {
+            assertThat(provider.getPropertySource("unit.test.foo")).contains(propertyPath);
+        }
+
+        @Test
+        void shouldReturnEmpty_WhenNotFound() {
+            assertThat(provider.getPropertySource("unit.test.baz")).isEmpty();
+            assertThat(provider.getPropertySource(null)).isEmpty();
+        }
+    }
+
+    @Nested
+    class GetPropertiesWithPrefix {
+
+        @Test
+        void shouldReturnMatchingProperties() {
+            assertThat(provider.getPropertiesWithPrefix("unit.test.")).containsExactly(entry("unit.test.foo", "bar"));
+        }
+
+        @Test
+        void shouldReturnEmptyMap_WhenNothingMatches() {
+            assertThat(provider.getPropertiesWithPrefix("tls.")).isEmpty();
+        }
+    }
+
     @Nested
     class UsePropertyIfPresent {
 
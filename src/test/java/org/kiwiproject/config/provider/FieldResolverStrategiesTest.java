@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.function.Supplier;
 
 @DisplayName("FieldResolverStrategies")
@@ -75,4 +76,29 @@ class FieldResolverStrategiesTest {
             () -> assertThat(strategy.getValueSupplier()).extracting(Supplier::get).isEqualTo("diane")
         );
     }
+
+    @Test
+    void shouldCreateMemoizedSupplierFieldResolverStrategy() {
+        var strategy = FieldResolverStrategies.newMemoizedSupplierFieldResolverStrategy(() -> "eve");
+
+        assertAll(
+            () -> assertThat(strategy.getExplicitValue()).isNull(),
+            () -> assertThat(strategy.getValueSupplier()).isInstanceOf(MemoizingSupplier.class),
+            () -> assertThat(strategy.getValueSupplier()).extracting(Supplier::get).isEqualTo("eve"),
+            () -> assertThat(((MemoizingSupplier<String>) strategy.getValueSupplier()).getTtl()).isNull()
+        );
+    }
+
+    @Test
+    void shouldCreateExpiringSupplierFieldResolverStrategy() {
+        var strategy = FieldResolverStrategies.newExpiringSupplierFieldResolverStrategy(() -> "frank",
+                Duration.ofMinutes(5));
+
+        assertAll(
+            () -> assertThat(strategy.getExplicitValue()).isNull(),
+            () -> assertThat(strategy.getValueSupplier()).extracting(Supplier::get).isEqualTo("frank"),
+            () -> assertThat(((MemoizingSupplier<String>) strategy.getValueSupplier()).getTtl())
+                    .isEqualTo(Duration.ofMinutes(5))
+        );
+    }
 }
@@ -0,0 +1,178 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@DisplayName("HttpExternalConfigSource")
+class HttpExternalConfigSourceTest {
+
+    private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private URI uri;
+    private Path cachePath;
+    private HttpExternalConfigSource source;
+
+    private final AtomicReference<String> document = new AtomicReference<>("{\"db\": {\"host\": \"db-1\"}}");
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/config", this::handle);
+        server.start();
+
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/config");
+        cachePath = tempDir.resolve("remote-config.json");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (source != null) {
+            source.close();
+        }
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (status.get() != 200) {
+                exchange.sendResponseHeaders(status.get(), -1);
+                return;
+            }
+
+            var body = document.get();
+            var etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedCount.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            var bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    @Test
+    void shouldFetchDocument_WhenThereIsNoCachedCopy() {
+        source = newSource(LONG_INTERVAL);
+
+        assertThat(source.getExternalConfigProvider().getPropertyOrNull("db.host")).isEqualTo("db-1");
+        assertThat(source.getEtag()).isNotBlank();
+        assertThat(cachePath).exists();
+    }
+
+    @Test
+    void shouldSendConditionalRequests() throws IOException, InterruptedException {
+        source = newSource(LONG_INTERVAL);
+
+        assertThat(source.refresh()).isFalse();
+        assertThat(notModifiedCount).hasValue(1);
+        assertThat(source.getUpdateCount()).isOne();
+    }
+
+    @Test
+    void shouldReloadProvider_WhenDocumentChanges() throws IOException, InterruptedException {
+        source = newSource(LONG_INTERVAL);
+        document.set("{\"db\": {\"host\": \"db-2\"}}");
+
+        assertThat(source.refresh()).isTrue();
+        assertThat(source.getExternalConfigProvider().getPropertyOrNull("db.host")).isEqualTo("db-2");
+    }
+
+    @Test
+    void shouldRefreshInBackground() {
+        source = newSource(Duration.ofMillis(50));
+        document.set("{\"db\": {\"host\": \"db-3\"}}");
+
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> "db-3".equals(source.getExternalConfigProvider().getPropertyOrNull("db.host")));
+    }
+
+    @Test
+    void shouldKeepLastGoodCopy_WhenServiceFails() {
+        source = newSource(LONG_INTERVAL);
+        status.set(503);
+
+        assertThatThrownBy(() -> source.refresh())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("503");
+        assertThat(source.getExternalConfigProvider().getPropertyOrNull("db.host")).isEqualTo("db-1");
+    }
+
+    @Test
+    void shouldKeepLastGoodCopyAndEtag_WhenDocumentIsInvalid() throws IOException {
+        source = newSource(LONG_INTERVAL);
+        var goodEtag = source.getEtag();
+        var goodCopy = Files.readString(cachePath);
+        document.set("{\"db\": {\"host\": ");
+
+        assertThatThrownBy(() -> source.refresh())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Invalid external config");
+
+        assertThat(source.getUpdateCount()).isOne();
+        assertThat(source.getEtag()).isEqualTo(goodEtag);
+        assertThat(cachePath).hasContent(goodCopy);
+        assertThat(Files.readString(cachePath.resolveSibling("remote-config.json.etag"))).isEqualTo(goodEtag);
+        assertThat(source.getExternalConfigProvider().getPropertyOrNull("db.host")).isEqualTo("db-1");
+        assertThat(tempDir).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void shouldStartFromDiskCopy_WhenServiceIsDown() {
+        newSource(LONG_INTERVAL).close();
+        var etag = Files.exists(cachePath.resolveSibling("remote-config.json.etag"));
+        server.stop(0);
+
+        source = newSource(LONG_INTERVAL);
+
+        assertThat(etag).isTrue();
+        assertThat(source.getExternalConfigProvider().getPropertyOrNull("db.host")).isEqualTo("db-1");
+        assertThat(source.getEtag()).isNotBlank();
+    }
+
+    @Test
+    void shouldNotProvide_WhenServiceIsDownAndThereIsNoCachedCopy() {
+        status.set(500);
+
+        source = newSource(LONG_INTERVAL);
+
+        assertThat(source.getExternalConfigProvider().canProvide()).isFalse();
+    }
+
+    private HttpExternalConfigSource newSource(Duration refreshInterval) {
+        return HttpExternalConfigSource.builder()
+                .uri(uri)
+                .cachePath(cachePath)
+                .refreshInterval(refreshInterval)
+                .requestTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The directory layout in these tests mirrors a Kubernetes ConfigMap volume: the files live in a hidden, timestamped
+ * directory, {@code ..data} links to it, and each key is a link through {@code ..data}.
+ */
+@DisplayName("KeyPerFileProperties")
+class KeyPerFilePropertiesTest {
+
+    @TempDir
+    Path mountDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        publish("..2024_01_01_v1", Map.of(
+                "datasource.url", "jdbc:postgresql://db-1/app\n",
+                "large.value", "x".repeat(KeyPerFileProperties.EAGER_READ_LIMIT + 1)));
+    }
+
+    @Nested
+    class Load {
+
+        @Test
+        void shouldUseFileNamesAsKeysAndContentsAsValues() throws IOException {
+            var properties = KeyPerFileProperties.load(mountDirectory);
+
+            assertThat(properties).hasSize(2);
+            assertThat(properties.get("datasource.url")).isEqualTo("jdbc:postgresql://db-1/app");
+            assertThat(properties.get("large.value")).hasSize(KeyPerFileProperties.EAGER_READ_LIMIT + 1);
+        }
+
+        @Test
+        void shouldIgnoreHiddenFilesAndDirectories() throws IOException {
+            Files.writeString(mountDirectory.resolve(".hidden"), "secret");
+            Files.createDirectory(mountDirectory.resolve("nested"));
+
+            var properties = KeyPerFileProperties.load(mountDirectory);
+
+            assertThat(properties).containsOnlyKeys("datasource.url", "large.value");
+        }
+
+        @Test
+        void shouldRecordDataLinkTarget() throws IOException {
+            var properties = KeyPerFileProperties.load(mountDirectory);
+
+            assertThat(properties.getDataTarget()).isEqualTo(Path.of("..2024_01_01_v1"));
+        }
+
+        @Test
+        void shouldLoadPlainDirectoryWithoutDataLink(@TempDir Path plainDirectory) throws IOException {
+            Files.writeString(plainDirectory.resolve("mongo.host"), "localhost");
+
+            var properties = KeyPerFileProperties.load(plainDirectory);
+
+            assertThat(properties).containsExactly(entry("mongo.host", "localhost"));
+            assertThat(properties.getDataTarget()).isNull();
+        }
+
+        @Test
+        void shouldNotReadLargeFiles_WhenIteratingKeysOrEntries() throws IOException {
+            var properties = KeyPerFileProperties.load(mountDirectory);
+
+            assertThat(properties.keySet()).containsExactlyInAnyOrder("datasource.url", "large.value");
+            assertThat(properties.entrySet()).extracting(Map.Entry::getKey)
+                    .containsExactlyInAnyOrder("datasource.url", "large.value");
+            assertThat(properties.readValueCount()).isOne();
+        }
+
+        @Test
+        void shouldReadLargeFilesFromLoadedVersion_AfterDataLinkIsSwapped() throws IOException {
+            var properties = KeyPerFileProperties.load(mountDirectory);
+
+            publish("..2024_01_02_v2", Map.of(
+                    "datasource.url", "jdbc:postgresql://db-2/app\n",
+                    "large.value", "y".repeat(KeyPerFileProperties.EAGER_READ_LIMIT + 1)));
+
+            assertThat(properties.get("datasource.url")).isEqualTo("jdbc:postgresql://db-1/app");
+            assertThat(properties.get("large.value")).isEqualTo("x".repeat(KeyPerFileProperties.EAGER_READ_LIMIT + 1));
+        }
+    }
+
+    @Nested
+    class WithExternalConfigProvider {
+
+        private ExternalConfigFileWatcher watcher;
+
+        @AfterEach
+        void tearDown() {
+            if (watcher != null) {
+                watcher.close();
+            }
+        }
+
+        @Test
+        void shouldProvideValuesFromDirectory() {
+            var provider = ExternalConfigProvider.builder().explicitPath(mountDirectory).build();
+
+            assertThat(provider.canProvide()).isTrue();
+            assertThat(provider.getPropertyOrNull("datasource.url")).isEqualTo("jdbc:postgresql://db-1/app");
+        }
+
+        @Test
+        void shouldNotReadLargeFiles_UntilTheyAreLookedUp() {
+            var provider = ExternalConfigProvider.builder().explicitPath(mountDirectory).build();
+            var properties = (KeyPerFileProperties) provider.currentIndex().asMap();
+
+            assertThat(provider.getPropertiesWithPrefix("large.").keySet()).containsExactly("large.value");
+            assertThat(properties.readValueCount()).isOne();
+
+            assertThat(provider.getPropertyOrNull("large.value")).hasSize(KeyPerFileProperties.EAGER_READ_LIMIT + 1);
+            assertThat(properties.readValueCount()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldReloadWhenDataLinkIsSwapped() throws IOException {
+            var provider = ExternalConfigProvider.builder().explicitPath(mountDirectory).build();
+            watcher = ExternalConfigFileWatcher.watch(provider, Duration.ofMillis(50));
+
+            publish("..2024_01_02_v2", Map.of("datasource.url", "jdbc:postgresql://db-2/app\n", "large.value", "small"));
+
+            await().atMost(Duration.ofSeconds(30))
+                    .until(() -> "jdbc:postgresql://db-2/app".equals(provider.getPropertyOrNull("datasource.url")));
+            assertThat(provider.getPropertyOrNull("large.value")).isEqualTo("small");
+        }
+    }
+
+    /**
+     * Publishes a new version of the files the same way Kubernetes does: write a new timestamped directory, then
+     * atomically re-point {@code ..data} at it.
+     */
+    private void publish(String versionDirectoryName, Map<String, String> contents) throws IOException {
+        var versionDirectory = Files.createDirectory(mountDirectory.resolve(versionDirectoryName));
+        for (var entry : contents.entrySet()) {
+            Files.writeString(versionDirectory.resolve(entry.getKey()), entry.getValue());
+
+            var keyLink = mountDirectory.resolve(entry.getKey());
+            if (!Files.isSymbolicLink(keyLink)) {
+                Files.createSymbolicLink(keyLink, Path.of(KeyPerFileProperties.DATA_LINK, entry.getKey()));
+            }
+        }
+
+        var temporaryLink = Files.createSymbolicLink(mountDirectory.resolve("..data_tmp"), Path.of(versionDirectoryName));
+        Files.move(temporaryLink, mountDirectory.resolve(KeyPerFileProperties.DATA_LINK), StandardCopyOption.ATOMIC_MOVE);
+    }
+}
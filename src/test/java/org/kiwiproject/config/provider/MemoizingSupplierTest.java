@@ -0,0 +1,212 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("MemoizingSupplier")
+class MemoizingSupplierTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private String nextValue() {
+        return "value-" + calls.incrementAndGet();
+    }
+
+    @Nested
+    class Memoize {
+
+        @Test
+        void shouldCallDelegateOnce() {
+            var supplier = MemoizingSupplier.memoize(MemoizingSupplierTest.this::nextValue);
+
+            assertThat(supplier.get()).isEqualTo("value-1");
+            assertThat(supplier.get()).isEqualTo("value-1");
+            assertThat(supplier.get()).isEqualTo("value-1");
+            assertThat(calls).hasValue(1);
+        }
+
+        @Test
+        void shouldCacheNullValues() {
+            var supplier = MemoizingSupplier.memoize(() -> {
+                calls.incrementAndGet();
+                return null;
+            });
+
+            assertThat(supplier.get()).isNull();
+            assertThat(supplier.get()).isNull();
+            assertThat(calls).hasValue(1);
+        }
+
+        @Test
+        void shouldLoadAgain_AfterInvalidate() {
+            var supplier = MemoizingSupplier.memoize(MemoizingSupplierTest.this::nextValue);
+
+            supplier.get();
+            supplier.invalidate();
+
+            assertThat(supplier.get()).isEqualTo("value-2");
+        }
+
+        @Test
+        void shouldNotCacheExceptions() {
+            var supplier = MemoizingSupplier.memoize(() -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("daemon unavailable");
+                }
+                return "recovered";
+            });
+
+            assertThatIllegalStateException().isThrownBy(supplier::get).withMessage("daemon unavailable");
+            assertThat(supplier.get()).isEqualTo("recovered");
+            assertThat(supplier.getStats().getFailureCount()).isOne();
+        }
+    }
+
+    @Nested
+    class MemoizeWithExpiration {
+
+        @Test
+        void shouldLoadAgain_WhenTtlExpires() {
+            var supplier = new MemoizingSupplier<>(MemoizingSupplierTest.this::nextValue,
+                    TimeUnit.SECONDS.toNanos(10), nanoTime::get);
+
+            assertThat(supplier.get()).isEqualTo("value-1");
+
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(9));
+            assertThat(supplier.get()).isEqualTo("value-1");
+
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            assertThat(supplier.get()).isEqualTo("value-2");
+        }
+
+        @Test
+        void shouldRejectNonPositiveTtl() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> MemoizingSupplier.memoizeWithExpiration(() -> "value", Duration.ZERO));
+        }
+    }
+
+    @Nested
+    class SingleFlight {
+
+        @Test
+        void shouldShareOneLoadBetweenConcurrentCallers() throws InterruptedException, ExecutionException {
+            var release = new CountDownLatch(1);
+            var supplier = MemoizingSupplier.memoize(() -> {
+                calls.incrementAndGet();
+                awaitQuietly(release);
+                return "shared";
+            });
+
+            var threadCount = 8;
+            var executor = Executors.newFixedThreadPool(threadCount);
+            try {
+                var futures = new ArrayList<Future<String>>();
+                for (var i = 0; i < threadCount; i++) {
+                    futures.add(executor.submit(supplier::get));
+                }
+
+                await().atMost(Duration.ofSeconds(10))
+                        .until(() -> supplier.getStats().getSharedCount() == threadCount - 1);
+                release.countDown();
+
+                for (var future : futures) {
+                    assertThat(future.get()).isEqualTo("shared");
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertThat(calls).hasValue(1);
+            assertThat(supplier.getStats().getLoadCount()).isOne();
+        }
+
+        @Test
+        void shouldShareFailureBetweenConcurrentCallers() throws InterruptedException {
+            var release = new CountDownLatch(1);
+            var supplier = MemoizingSupplier.<String>memoize(() -> {
+                calls.incrementAndGet();
+                awaitQuietly(release);
+                throw new IllegalStateException("keystore unreadable");
+            });
+
+            var executor = Executors.newFixedThreadPool(2);
+            try {
+                var first = executor.submit(supplier::get);
+                await().atMost(Duration.ofSeconds(10)).until(() -> calls.get() == 1);
+                var second = executor.submit(supplier::get);
+                await().atMost(Duration.ofSeconds(10)).until(() -> supplier.getStats().getSharedCount() == 1);
+                release.countDown();
+
+                assertThat(first).failsWithin(Duration.ofSeconds(10))
+                        .withThrowableOfType(ExecutionException.class)
+                        .withCauseInstanceOf(IllegalStateException.class);
+                assertThat(second).failsWithin(Duration.ofSeconds(10))
+                        .withThrowableOfType(ExecutionException.class)
+                        .withCauseInstanceOf(IllegalStateException.class);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertThat(calls).hasValue(1);
+        }
+
+        private void awaitQuietly(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    class Statistics {
+
+        @Test
+        void shouldReportHitRatioAndLoadTimes() {
+            var supplier = new MemoizingSupplier<>(() -> {
+                nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+                return nextValue();
+            }, Long.MAX_VALUE, nanoTime::get);
+
+            supplier.get();
+            supplier.get();
+            supplier.get();
+            supplier.get();
+
+            var stats = supplier.getStats();
+            assertThat(stats.getRequestCount()).isEqualTo(4);
+            assertThat(stats.getHitCount()).isEqualTo(3);
+            assertThat(stats.getLoadCount()).isOne();
+            assertThat(stats.getHitRatio()).isEqualTo(0.75);
+            assertThat(stats.getMeanLoadTime()).isEqualTo(Duration.ofMillis(40));
+            assertThat(stats.getMaxLoadTime()).isEqualTo(Duration.ofMillis(40));
+        }
+
+        @Test
+        void shouldReportZeroHitRatio_BeforeFirstCall() {
+            var stats = MemoizingSupplier.memoize(() -> "value").getStats();
+
+            assertThat(stats.getHitRatio()).isZero();
+            assertThat(stats.getMeanLoadTime()).isZero();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+@DisplayName("MemoryMappedProperties")
+class MemoryMappedPropertiesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    class Load {
+
+        @Test
+        void shouldParseTheSameAsPropertiesLoad() throws IOException {
+            var content = String.join("\n",
+                    "# a comment",
+                    "! another comment",
+                    "",
+                    "   indented.key = indented value",
+                    "colon.key:colon value",
+                    "space.key space value",
+                    "empty.key=",
+                    "bare.key",
+                    "escaped\\ key\\=with\\:separators = value",
+                    "tab.key\t=\ttabbed\\tvalue",
+                    "unicode.key=caf\\u00e9 and caf\u00e9",
+                    "continued.key = first, \\",
+                    "    second, \\",
+                    "    third",
+                    "trailing.backslash = ends with \\\\",
+                    "duplicate.key = first",
+                    "duplicate.key = second",
+                    "equals.in.value = a=b:c",
+                    "crlf.key = crlf value\r\nlast.key = no newline at end");
+
+            assertThat(loadMapped(content)).isEqualTo(loadWithProperties(content));
+        }
+
+        @Test
+        void shouldLoadEmptyFile() throws IOException {
+            assertThat(loadMapped("")).isEmpty();
+        }
+
+        @Test
+        void shouldKeepLastValueOfDuplicateKeys() throws IOException {
+            var properties = loadMapped("a=1\nb=2\na=3\n");
+
+            assertThat(properties)
+                    .hasSize(2)
+                    .containsEntry("a", "3")
+                    .containsEntry("b", "2");
+        }
+
+        @Test
+        void shouldThrowIllegalArgumentException_WhenUnicodeEscapeIsMalformed() throws IOException {
+            var properties = loadMapped("bad=\\u00zz\n");
+
+            assertThatThrownBy(() -> properties.get("bad"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Malformed \\uxxxx encoding.");
+        }
+    }
+
+    @Nested
+    class LazyDecoding {
+
+        @Test
+        void shouldNotDecodeValuesUntilTheyAreLookedUp() throws IOException {
+            var properties = loadMapped("a=1\nb=2\nc=3\n");
+
+            assertThat(properties.decodedValueCount()).isZero();
+            assertThat(properties.containsKey("b")).isTrue();
+            assertThat(properties.decodedValueCount()).isZero();
+
+            assertThat(properties.get("b")).isEqualTo("2");
+            assertThat(properties.get("b")).isEqualTo("2");
+            assertThat(properties.decodedValueCount()).isOne();
+        }
+
+        @Test
+        void shouldNotDecodeValues_WhenIteratingKeysOrEntries() throws IOException {
+            var properties = loadMapped("a=1\nb=2\nc=3\n");
+
+            assertThat(properties.keySet()).containsExactlyInAnyOrder("a", "b", "c");
+            var entry = properties.entrySet().iterator().next();
+            assertThat(properties.decodedValueCount()).isZero();
+
+            assertThat(entry.getValue()).isEqualTo(properties.get(entry.getKey()));
+            assertThat(properties.decodedValueCount()).isOne();
+        }
+
+        @Test
+        void shouldReturnNull_ForMissingOrNonStringKeys() throws IOException {
+            var properties = loadMapped("a=1\n");
+
+            assertThat(properties.get("missing")).isNull();
+            assertThat(properties.get(42)).isNull();
+            assertThat(properties.get(null)).isNull();
+        }
+    }
+
+    @Test
+    void shouldBeImmutable() throws IOException {
+        var properties = loadMapped("a=1\n");
+
+        assertThatThrownBy(() -> properties.put("b", "2")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> properties.entrySet().iterator().remove()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private MemoryMappedProperties loadMapped(String content) throws IOException {
+        var file = Files.writeString(tempDir.resolve("mapped.properties"), content);
+        return MemoryMappedProperties.load(file);
+    }
+
+    private static Map<String, String> loadWithProperties(String content) throws IOException {
+        var properties = new Properties();
+        properties.load(new StringReader(content));
+
+        var map = new HashMap<String, String>();
+        properties.forEach((key, value) -> map.put((String) key, (String) value));
+        return map;
+    }
+}
@@ -9,6 +9,7 @@ import static org.kiwiproject.config.provider.FieldResolverStrategies.newSupplie
 import static org.kiwiproject.config.provider.FieldResolverStrategies.newSystemPropertyFieldResolverStrategy;
 import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
 import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
+import static org.kiwiproject.config.provider.util.TestHelpers.newMapPropertySource;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -19,8 +20,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.util.PropertySource;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
 
 import java.nio.file.Path;
+import java.util.Map;
 
 @DisplayName("MongoConfigProvider")
 class MongoConfigProviderTest {
@@ -144,6 +148,24 @@ class MongoConfigProviderTest {
 
         }
 
+        @Nested
+        class WithCustomSource {
+
+            @Test
+            void shouldBuildUsingCustomSource_AndReportItsName() {
+                var vault = newMapPropertySource("vault", PropertySource.SYSTEM_PROPERTY_ORDER - 1,
+                        Map.of(MongoConfigProvider.DEFAULT_EXTERNAL_PROPERTY_KEY, MONGO_CONNECTION));
+
+                var provider = MongoConfigProvider.builder()
+                        .propertySources(PropertySourceChain.of(vault))
+                        .build();
+
+                assertThat(provider.getUrl()).isEqualTo(MONGO_CONNECTION);
+                assertThat(provider.getResolvedBy()).containsExactly(entry("url", ResolvedBy.CUSTOM_SOURCE));
+                assertThat(provider.getResolvedSourceNames()).containsExactly(entry("url", "vault"));
+            }
+        }
+
         @Nested
         class WithSupplier {
 
@@ -156,6 +178,7 @@ class MongoConfigProviderTest {
                 assertThat(provider.canProvide()).isTrue();
                 assertThat(provider.getUrl()).isEqualTo(MONGO_CONNECTION);
                 assertThat(provider.getResolvedBy()).containsExactly(entry("url", ResolvedBy.SUPPLIER));
+                assertThat(provider.getResolvedSourceNames()).isEmpty();
             }
 
             @Test
@@ -0,0 +1,114 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+@DisplayName("OverlayLayers")
+class OverlayLayersTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path basePath;
+    private Path overlayDirectory;
+    private OverlayLayers layers;
+    private List<Path> parsedPaths;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        basePath = Files.writeString(tempDir.resolve("base.properties"), "a=base\nb=base\n");
+        overlayDirectory = Files.createDirectory(tempDir.resolve("conf.d"));
+        layers = new OverlayLayers(overlayDirectory);
+        parsedPaths = new ArrayList<>();
+    }
+
+    @Test
+    void shouldApplyOverlaysInFileNameOrder() throws IOException {
+        Files.writeString(overlayDirectory.resolve("20-env.properties"), "c=env\n");
+        Files.writeString(overlayDirectory.resolve("10-team.properties"), "b=team\nc=team\n");
+
+        var index = load();
+
+        assertThat(index.asMap()).containsOnly(
+                Map.entry("a", "base"),
+                Map.entry("b", "team"),
+                Map.entry("c", "env"));
+        assertThat(index.sourceOf("a")).isEqualTo(basePath);
+        assertThat(index.sourceOf("b")).isEqualTo(overlayDirectory.resolve("10-team.properties"));
+        assertThat(index.sourceOf("c")).isEqualTo(overlayDirectory.resolve("20-env.properties"));
+    }
+
+    @Test
+    void shouldIgnoreFilesWithoutPropertiesSuffix() throws IOException {
+        Files.writeString(overlayDirectory.resolve("notes.txt"), "a=ignored\n");
+
+        assertThat(load().get("a")).isEqualTo("base");
+    }
+
+    @Test
+    void shouldLoadOverlays_WhenBaseFileDoesNotExist() throws IOException {
+        Files.delete(basePath);
+        Files.writeString(overlayDirectory.resolve("10-team.properties"), "b=team\n");
+
+        assertThat(load().asMap()).containsOnly(Map.entry("b", "team"));
+    }
+
+    @Test
+    void shouldOnlyReparseChangedLayers() throws IOException {
+        var team = Files.writeString(overlayDirectory.resolve("10-team.properties"), "b=team\n");
+        Files.writeString(overlayDirectory.resolve("20-env.properties"), "c=env\n");
+        load();
+        assertThat(layers.getLastParsedCount()).isEqualTo(3);
+
+        parsedPaths.clear();
+        Files.writeString(team, "b=changed team\n");
+        var index = load();
+
+        assertThat(parsedPaths).containsExactly(team);
+        assertThat(layers.getLastParsedCount()).isOne();
+        assertThat(index.get("b")).isEqualTo("changed team");
+        assertThat(index.get("c")).isEqualTo("env");
+    }
+
+    @Test
+    void shouldDropKeysOfDeletedLayers() throws IOException {
+        var team = Files.writeString(overlayDirectory.resolve("10-team.properties"), "b=team\nd=team only\n");
+        load();
+
+        Files.delete(team);
+        var index = load();
+
+        assertThat(index.get("b")).isEqualTo("base");
+        assertThat(index.get("d")).isNull();
+        assertThat(layers.getLastParsedCount()).isZero();
+    }
+
+    private PropertyIndex load() throws IOException {
+        return layers.load(basePath, this::parse, this::parse);
+    }
+
+    private Map<String, String> parse(Path path) throws IOException {
+        parsedPaths.add(path);
+
+        var properties = new Properties();
+        properties.load(new StringReader(Files.readString(path)));
+
+        var map = new HashMap<String, String>();
+        properties.forEach((key, value) -> map.put((String) key, (String) value));
+        return map;
+    }
+}
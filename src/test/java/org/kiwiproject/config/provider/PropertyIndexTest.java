@@ -0,0 +1,79 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+@DisplayName("PropertyIndex")
+class PropertyIndexTest {
+
+    private PropertyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = PropertyIndex.of(Map.of(
+                "tls.keyStorePath", "/keystore",
+                "tls.trustStorePath", "/truststore",
+                "tlsx.other", "not tls",
+                "datasource.url", "jdbc:postgresql://localhost/db",
+                "datasource.user", "admin",
+                "zookeeper.connectString", "localhost:2181"));
+    }
+
+    @Nested
+    class WithPrefix {
+
+        @Test
+        void shouldReturnOnlyMatchingKeys_InKeyOrder() {
+            var tls = index.withPrefix("tls.");
+
+            assertThat(tls).hasSize(2);
+            assertThat(tls.keySet()).containsExactly("tls.keyStorePath", "tls.trustStorePath");
+            assertThat(tls).containsEntry("tls.keyStorePath", "/keystore");
+        }
+
+        @Test
+        void shouldOnlyGetKeysInsideThePrefix() {
+            var tls = index.withPrefix("tls.");
+
+            assertThat(tls.get("tls.trustStorePath")).isEqualTo("/truststore");
+            assertThat(tls.get("datasource.url")).isNull();
+            assertThat(tls.containsKey("tlsx.other")).isFalse();
+        }
+
+        @Test
+        void shouldReturnEmptyView_WhenNoKeysMatch() {
+            assertThat(index.withPrefix("mongo.")).isEmpty();
+            assertThat(index.withPrefix("~")).isEmpty();
+            assertThat(PropertyIndex.EMPTY.withPrefix("tls.")).isEmpty();
+        }
+
+        @Test
+        void shouldReturnEverything_ForEmptyPrefix() {
+            assertThat(index.withPrefix("")).hasSize(6);
+        }
+
+        @Test
+        void shouldMatchAnExactKey() {
+            assertThat(index.withPrefix("datasource.user")).containsOnlyKeys("datasource.user");
+        }
+
+        @Test
+        void shouldBeImmutable() {
+            var tls = index.withPrefix("tls.");
+
+            assertThatThrownBy(() -> tls.put("tls.new", "value")).isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        void shouldNotAllowNullPrefix() {
+            assertThatThrownBy(() -> index.withPrefix(null)).isInstanceOf(NullPointerException.class);
+        }
+    }
+}
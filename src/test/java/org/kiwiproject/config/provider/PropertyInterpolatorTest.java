@@ -0,0 +1,110 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+@DisplayName("PropertyInterpolator")
+class PropertyInterpolatorTest {
+
+    private static final UnaryOperator<String> NO_ENVIRONMENT = name -> null;
+
+    @Nested
+    class Interpolate {
+
+        @Test
+        void shouldReturnSameMap_WhenNothingToInterpolate() {
+            var properties = Map.of("a", "1", "b", "2");
+
+            assertThat(PropertyInterpolator.interpolate(properties, NO_ENVIRONMENT)).isSameAs(properties);
+        }
+
+        @Test
+        void shouldReplacePropertyReferences_InDependencyOrder() {
+            var properties = Map.of(
+                    "mongo.connection", "mongodb://${db.host}:27017",
+                    "datasource.url", "jdbc:postgresql://${db.address}/app",
+                    "db.address", "${db.host}:5432",
+                    "db.host", "db-1.test");
+
+            assertThat(PropertyInterpolator.interpolate(properties, NO_ENVIRONMENT)).containsOnly(
+                    entry("mongo.connection", "mongodb://db-1.test:27017"),
+                    entry("datasource.url", "jdbc:postgresql://db-1.test:5432/app"),
+                    entry("db.address", "db-1.test:5432"),
+                    entry("db.host", "db-1.test"));
+        }
+
+        @Test
+        void shouldReplaceEnvironmentVariables_LookingUpEachOnce() {
+            var lookups = new ArrayList<String>();
+            UnaryOperator<String> environment = name -> {
+                lookups.add(name);
+                return "DB_HOST".equals(name) ? "db-2.test" : null;
+            };
+
+            var interpolated = PropertyInterpolator.interpolate(Map.of(
+                    "a", "${env:DB_HOST}/a",
+                    "b", "${env:DB_HOST}/b"), environment);
+
+            assertThat(interpolated).containsOnly(entry("a", "db-2.test/a"), entry("b", "db-2.test/b"));
+            assertThat(lookups).containsExactly("DB_HOST");
+        }
+
+        @Test
+        void shouldLeaveUnresolvablePlaceholders() {
+            var interpolated = PropertyInterpolator.interpolate(Map.of(
+                    "a", "${missing.key}",
+                    "b", "${env:MISSING_VARIABLE}",
+                    "c", "${unterminated"), NO_ENVIRONMENT);
+
+            assertThat(interpolated).containsOnly(
+                    entry("a", "${missing.key}"),
+                    entry("b", "${env:MISSING_VARIABLE}"),
+                    entry("c", "${unterminated"));
+        }
+
+        @Test
+        void shouldAllowEscapedPlaceholders() {
+            var interpolated = PropertyInterpolator.interpolate(Map.of("a", "$${literal}", "literal", "x"), NO_ENVIRONMENT);
+
+            assertThat(interpolated).containsEntry("a", "${literal}");
+        }
+
+        @Test
+        void shouldReportCycles() {
+            var properties = Map.of(
+                    "a", "${b}",
+                    "b", "${c}",
+                    "c", "${a}",
+                    "d", "${a}");
+
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> PropertyInterpolator.interpolate(properties, NO_ENVIRONMENT))
+                    .withMessage("Circular property references: a -> b -> c -> a");
+        }
+
+        @Test
+        void shouldReportSelfReference() {
+            assertThatIllegalArgumentException()
+                    .isThrownBy(() -> PropertyInterpolator.interpolate(Map.of("a", "x${a}"), NO_ENVIRONMENT))
+                    .withMessage("Circular property references: a -> a");
+        }
+
+        @Test
+        void shouldReturnImmutableMap() {
+            var interpolated = PropertyInterpolator.interpolate(Map.of("a", "${b}", "b", "1"), NO_ENVIRONMENT);
+
+            assertThat(interpolated).isUnmodifiable();
+            assertThat(List.copyOf(interpolated.values())).containsExactlyInAnyOrder("1", "1");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("StructuredProperties")
+class StructuredPropertiesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    class FromJson {
+
+        @Test
+        void shouldFlattenNestedObjectsIntoDottedKeys() throws IOException {
+            var properties = load("config.json",
+                    "{\"datasource\": {\"url\": \"jdbc:postgresql://localhost/db\", \"maxSize\": 10," +
+                            " \"ormProperties\": {\"hibernate.dialect\": \"PostgreSQLDialect\", \"show_sql\": false}}}");
+
+            assertThat(properties).containsOnly(
+                    entry("datasource.url", "jdbc:postgresql://localhost/db"),
+                    entry("datasource.maxSize", "10"),
+                    entry("datasource.ormProperties.hibernate.dialect", "PostgreSQLDialect"),
+                    entry("datasource.ormProperties.show_sql", "false"));
+        }
+
+        @Test
+        void shouldKeepStructuredValuesOfNestedObjects() throws IOException {
+            var properties = load("config.json",
+                    "{\"datasource\": {\"ormProperties\": {\"hibernate.dialect\": \"PostgreSQLDialect\", \"show_sql\": false}}}");
+
+            assertThat(properties.getStructuredValue("datasource.ormProperties")).containsExactly(
+                    entry("hibernate.dialect", "PostgreSQLDialect"),
+                    entry("show_sql", false));
+            assertThat(properties.getStructuredValue("datasource")).containsOnlyKeys("ormProperties");
+            assertThat(properties.getStructuredValue("datasource.ormProperties.show_sql")).isNull();
+        }
+
+        @Test
+        void shouldIndexArrayElements() throws IOException {
+            var properties = load("config.json", "{\"servers\": [\"a:1\", {\"host\": \"b\"}]}");
+
+            assertThat(properties).containsOnly(
+                    entry("servers[0]", "a:1"),
+                    entry("servers[1].host", "b"));
+            assertThat(properties.getStructuredValue("servers[1]")).containsOnly(entry("host", "b"));
+        }
+
+        @Test
+        void shouldOmitNullValues() throws IOException {
+            var properties = load("config.json", "{\"a\": null, \"b\": {\"c\": null}}");
+
+            assertThat(properties).isEmpty();
+            assertThat(properties.getStructuredValue("b")).isEmpty();
+        }
+
+        @Test
+        void shouldOmitNullArrayElements_WithoutLeavingGapsInIndexes() throws IOException {
+            var properties = load("config.json", "{\"servers\": {\"hosts\": [\"a\", null, \"b\"]}}");
+
+            assertThat(properties).containsOnly(
+                    entry("servers.hosts[0]", "a"),
+                    entry("servers.hosts[1]", "b"));
+            assertThat(properties.getStructuredValue("servers").get("hosts")).isEqualTo(List.of("a", "b"));
+        }
+
+        @Test
+        void shouldLoadEmptyFile() throws IOException {
+            assertThat(load("config.json", "")).isEmpty();
+        }
+
+        @Test
+        void shouldRequireTopLevelObject() {
+            assertThatThrownBy(() -> load("config.json", "[1, 2]"))
+                    .isInstanceOf(JsonParseException.class)
+                    .hasMessageContaining("must be an object");
+        }
+
+        @Test
+        void shouldBeImmutable() throws IOException {
+            var properties = load("config.json", "{\"a\": {\"b\": [1]}}");
+
+            assertThatThrownBy(() -> properties.put("c", "d")).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> properties.getStructuredValue("a").put("c", "d"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThat(properties.getStructuredValue("a").get("b")).isEqualTo(List.of(1));
+        }
+    }
+
+    @Nested
+    class FromYaml {
+
+        @Test
+        void shouldFlattenAndKeepStructuredValues() throws IOException {
+            var properties = load("config.yml", String.join("\n",
+                    "elk:",
+                    "  host: localhost",
+                    "  port: 9000",
+                    "  customFields:",
+                    "    serviceName: test-service",
+                    "    environment: test"));
+
+            assertThat(properties).containsOnly(
+                    entry("elk.host", "localhost"),
+                    entry("elk.port", "9000"),
+                    entry("elk.customFields.serviceName", "test-service"),
+                    entry("elk.customFields.environment", "test"));
+            assertThat(properties.getStructuredValue("elk.customFields"))
+                    .isEqualTo(Map.of("serviceName", "test-service", "environment", "test"));
+        }
+    }
+
+    @Nested
+    class WithExternalConfigProvider {
+
+        @Test
+        void shouldChooseFormatByExtension() throws IOException {
+            var path = Files.writeString(tempDir.resolve("config.yaml"), "unit:\n  test:\n    foo: bar\n");
+
+            var provider = ExternalConfigProvider.builder().explicitPath(path).build();
+
+            assertThat(provider.getPropertyOrNull("unit.test.foo")).isEqualTo("bar");
+            assertThat(provider.getStructuredProperty("unit.test")).contains(Map.of("foo", "bar"));
+            assertThat(provider.getStructuredProperty("unit.test.foo")).isEmpty();
+        }
+    }
+
+    private StructuredProperties load(String fileName, String content) throws IOException {
+        var path = Files.writeString(tempDir.resolve(fileName), content);
+        return StructuredProperties.load(path, ExternalConfigFormat.of(path).getJsonFactory());
+    }
+}
@@ -0,0 +1,249 @@
+package org.kiwiproject.config.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.awaitility.Awaitility.await;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("ZooKeeperExternalConfigSource")
+class ZooKeeperExternalConfigSourceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static final AtomicInteger BASE_PATH_COUNTER = new AtomicInteger();
+
+    private static TestingServer server;
+    private static CuratorFramework client;
+
+    private String basePath;
+    private ZooKeeperExternalConfigSource source;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new TestingServer();
+        client = CuratorFrameworkFactory.newClient(server.getConnectString(), new RetryOneTime(100));
+        client.start();
+        client.blockUntilConnected();
+    }
+
+    @AfterAll
+    static void stopServer() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        basePath = "/config/service-" + BASE_PATH_COUNTER.incrementAndGet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    private void create(String relativePath, String value) throws Exception {
+        client.create()
+                .creatingParentsIfNeeded()
+                .forPath(basePath + relativePath, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ZooKeeperExternalConfigSource newSource() {
+        return ZooKeeperExternalConfigSource.builder()
+                .client(client)
+                .basePath(basePath)
+                .build();
+    }
+
+    @Nested
+    class InitialCopy {
+
+        @Test
+        void shouldMirrorLeafZnodesAsDottedKeys() throws Exception {
+            create("/elk/host", "elk.acme.com");
+            create("/elk/port", "9000");
+            create("/zookeeper.connection", "zk1:2181");
+
+            source = newSource();
+            var provider = source.getExternalConfigProvider();
+
+            assertThat(source.isInitialized()).isTrue();
+            assertThat(provider.canProvide()).isTrue();
+            assertThat(provider.getProperty("elk.host")).hasValue("elk.acme.com");
+            assertThat(provider.getProperty("elk.port")).hasValue("9000");
+            assertThat(provider.getProperty("zookeeper.connection")).hasValue("zk1:2181");
+        }
+
+        @Test
+        void shouldIgnoreDataOfZnodesWithChildren() throws Exception {
+            create("/elk", "ignored");
+            create("/elk/host", "elk.acme.com");
+
+            source = newSource();
+
+            assertThat(source.getExternalConfigProvider().getProperty("elk")).isEmpty();
+            assertThat(source.getExternalConfigProvider().getProperty("elk.host")).hasValue("elk.acme.com");
+        }
+
+        @Test
+        void shouldReportZnodeAsPropertySource() throws Exception {
+            create("/elk/host", "elk.acme.com");
+
+            source = newSource();
+
+            assertThat(source.getExternalConfigProvider().getPropertySource("elk.host"))
+                    .hasValue(Path.of(basePath + "/elk/host"));
+        }
+
+        @Test
+        void shouldBeEmpty_WhenBasePathDoesNotExist() {
+            source = newSource();
+
+            assertThat(source.isInitialized()).isTrue();
+            assertThat(source.getExternalConfigProvider().canProvide()).isFalse();
+        }
+    }
+
+    @Nested
+    class WhenZnodesChange {
+
+        @Test
+        void shouldPublishCreatedZnodes() throws Exception {
+            create("/elk/host", "elk.acme.com");
+            source = newSource();
+
+            create("/elk/port", "9000");
+
+            await().atMost(TIMEOUT).until(() ->
+                    source.getExternalConfigProvider().getProperty("elk.port").equals(Optional.of("9000")));
+        }
+
+        @Test
+        void shouldPublishChangedZnodes() throws Exception {
+            create("/elk/host", "elk.acme.com");
+            source = newSource();
+
+            client.setData().forPath(basePath + "/elk/host", "elk2.acme.com".getBytes(StandardCharsets.UTF_8));
+
+            await().atMost(TIMEOUT).until(() ->
+                    source.getExternalConfigProvider().getProperty("elk.host").equals(Optional.of("elk2.acme.com")));
+            assertThat(source.getUpdateCount()).isGreaterThan(1);
+        }
+
+        @Test
+        void shouldRemoveDeletedZnodes() throws Exception {
+            create("/elk/host", "elk.acme.com");
+            create("/elk/port", "9000");
+            source = newSource();
+
+            client.delete().forPath(basePath + "/elk/port");
+
+            await().atMost(TIMEOUT).until(() -> source.getExternalConfigProvider().getProperty("elk.port").isEmpty());
+            assertThat(source.getExternalConfigProvider().getProperty("elk.host")).hasValue("elk.acme.com");
+        }
+
+        @Test
+        void shouldNotChangeProvider_AfterClose() throws Exception {
+            create("/elk/host", "elk.acme.com");
+            source = newSource();
+            source.close();
+
+            client.setData().forPath(basePath + "/elk/host", "elk2.acme.com".getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(500);
+
+            assertThat(source.getExternalConfigProvider().getProperty("elk.host")).hasValue("elk.acme.com");
+        }
+    }
+
+    @Nested
+    class UsedByConfigProviders {
+
+        @Test
+        void shouldResolveFromMirroredSubtree() throws Exception {
+            create("/elk/host", "elk.acme.com");
+            create("/elk/port", "9000");
+            source = newSource();
+
+            var elkProvider = ElkLoggerConfigProvider.builder()
+                    .externalConfigProvider(source.getExternalConfigProvider())
+                    .build();
+
+            assertThat(elkProvider.getHost()).isEqualTo("elk.acme.com");
+            assertThat(elkProvider.getPort()).isEqualTo(9000);
+            assertThat(elkProvider.getResolvedBy()).containsEntry("host", ResolvedBy.EXTERNAL_PROPERTY);
+        }
+    }
+
+    @Nested
+    class CreatingItsOwnClient {
+
+        @Test
+        void shouldConnectUsingConnectString() throws Exception {
+            create("/elk/host", "elk.acme.com");
+
+            source = ZooKeeperExternalConfigSource.builder()
+                    .connectString(server.getConnectString())
+                    .basePath(basePath)
+                    .build();
+
+            assertThat(source.getExternalConfigProvider().getProperty("elk.host")).hasValue("elk.acme.com");
+        }
+
+        @Test
+        void shouldConnectUsingZooKeeperConfigProvider() throws Exception {
+            create("/elk/host", "elk.acme.com");
+
+            var zooKeeperConfigProvider = ZooKeeperConfigProvider.builder()
+                    .resolverStrategy(FieldResolverStrategy.<String>builder()
+                            .explicitValue(server.getConnectString())
+                            .build())
+                    .build();
+
+            source = ZooKeeperExternalConfigSource.builder()
+                    .zooKeeperConfigProvider(zooKeeperConfigProvider)
+                    .basePath(basePath)
+                    .build();
+
+            assertThat(source.getExternalConfigProvider().getProperty("elk.host")).hasValue("elk.acme.com");
+        }
+    }
+
+    @Nested
+    class Validation {
+
+        @Test
+        void shouldRequireAbsoluteBasePath() {
+            var builder = ZooKeeperExternalConfigSource.builder().client(client).basePath("config/service");
+
+            assertThatIllegalArgumentException().isThrownBy(builder::build);
+        }
+
+        @Test
+        void shouldNotAllowWatchingPublishedProvider() throws Exception {
+            create("/elk/host", "elk.acme.com");
+            source = newSource();
+            var provider = source.getExternalConfigProvider();
+
+            assertThatIllegalArgumentException().isThrownBy(() -> ExternalConfigFileWatcher.watch(provider));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.kiwiproject.config.provider.benchmark;
+
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading an external properties file with {@link Properties#load(java.io.Reader)} against loading it
+ * memory-mapped, for files of different sizes.
+ * <p>
+ * Each benchmark loads the whole file and then looks up a single key, which is the common case for an application
+ * that only reads the handful of properties its providers need.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExternalConfigLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PropertiesFileState {
+
+        @Param({"10", "1000", "100000", "1000000"})
+        public int keyCount;
+
+        Path propertiesFile;
+        String lookupKey;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            propertiesFile = Files.createTempFile("external-config-benchmark", ".properties");
+            lookupKey = "benchmark.key." + (keyCount / 2);
+
+            try (BufferedWriter writer = Files.newBufferedWriter(propertiesFile)) {
+                for (var i = 0; i < keyCount; i++) {
+                    writer.write("benchmark.key." + i + " = value number " + i + " for the load benchmark");
+                    writer.newLine();
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(propertiesFile);
+        }
+    }
+
+    @Benchmark
+    public String propertiesLoad(PropertiesFileState state) throws IOException {
+        var properties = new Properties();
+        try (var reader = Files.newBufferedReader(state.propertiesFile)) {
+            properties.load(reader);
+        }
+        return properties.getProperty(state.lookupKey);
+    }
+
+    @Benchmark
+    public String providerLoad(PropertiesFileState state) {
+        return ExternalConfigProvider.builder()
+                .explicitPath(state.propertiesFile)
+                .build()
+                .getPropertyOrNull(state.lookupKey);
+    }
+
+    @Benchmark
+    public String memoryMappedProviderLoad(PropertiesFileState state) {
+        return ExternalConfigProvider.builder()
+                .explicitPath(state.propertiesFile)
+                .memoryMapped(true)
+                .build()
+                .getPropertyOrNull(state.lookupKey);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(ExternalConfigLoadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
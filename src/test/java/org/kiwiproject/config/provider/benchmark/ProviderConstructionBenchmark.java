@@ -0,0 +1,230 @@
+package org.kiwiproject.config.provider.benchmark;
+
+import org.kiwiproject.config.provider.ActiveMQConfigProvider;
+import org.kiwiproject.config.provider.ConfigProviderRegistry;
+import org.kiwiproject.config.provider.DropwizardDataSourceConfigProvider;
+import org.kiwiproject.config.provider.ElkLoggerConfigProvider;
+import org.kiwiproject.config.provider.ElucidationConfigProvider;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.kiwiproject.config.provider.HibernateConfigProvider;
+import org.kiwiproject.config.provider.MongoConfigProvider;
+import org.kiwiproject.config.provider.NetworkIdentityConfigProvider;
+import org.kiwiproject.config.provider.ServiceIdentityConfigProvider;
+import org.kiwiproject.config.provider.SharedStorageConfigProvider;
+import org.kiwiproject.config.provider.TlsConfigProvider;
+import org.kiwiproject.config.provider.ZooKeeperConfigProvider;
+import org.kiwiproject.config.provider.util.ResolutionSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building each provider in this library, and building all of them together with a
+ * {@link ConfigProviderRegistry}.
+ * <p>
+ * Every provider shares one loaded {@link ExternalConfigProvider} and one {@link ResolutionSnapshot}, so the results
+ * show the cost of resolving and converting the fields rather than of loading the file. With {@code source} set to
+ * {@code EXTERNAL_PROPERTY}, every field is found in the external configuration; with {@code PROVIDER_DEFAULT}, the
+ * external configuration is empty and every field falls through the whole resolution chain.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderConstructionBenchmark {
+
+    private static final String EXTERNAL_PROPERTIES = String.join(System.lineSeparator(),
+            "amq.connection=msg1.test:61616,msg2.test:61616",
+            "datasource.driverClass=org.postgresql.Driver",
+            "datasource.url=jdbc://localhost:5432/test-db",
+            "datasource.user=kiwi",
+            "datasource.password=secret",
+            "datasource.maxSize=1",
+            "datasource.minSize=0",
+            "datasource.initialSize=0",
+            "datasource.ormProperties={\"prop\":\"value\"}",
+            "elk.host=localhost",
+            "elk.port=9000",
+            "elk.customFields={\"serviceName\":\"test-service\"}",
+            "elucidation.host=localhost",
+            "elucidation.port=9000",
+            "elucidation.enabled=true",
+            "hibernate.properties={\"hibernate.dialect\":\"org.hibernate.dialect.PostgreSQL9Dialect\"}",
+            "mongo.connection=db1.test:27017,db2.test:27017",
+            "network=VPC-External-Default",
+            "service.name=external-default-service",
+            "service.version=0.3.0",
+            "service.env=stage",
+            "shared.storage.path=/tmp/shared",
+            "tls.keyStorePath=/keystore/path.jks",
+            "tls.keyStorePassword=keystore-pass",
+            "tls.keyStoreType=JKS",
+            "tls.trustStorePath=/keystore/path.jks",
+            "tls.trustStorePassword=keystore-pass",
+            "tls.trustStoreType=JKS",
+            "tls.verifyHostname=false",
+            "tls.protocol=TLSv1.2",
+            "tls.supportedProtocols=TLSv1.2,TLSv1.3",
+            "zookeeper.connection=zoo.test:2181,zoo2.test:2181");
+
+    @State(Scope.Benchmark)
+    public static class ProviderState {
+
+        @Param({"EXTERNAL_PROPERTY", "PROVIDER_DEFAULT"})
+        public String source;
+
+        Path propertiesFile;
+        ExternalConfigProvider externalConfigProvider;
+        ResolutionSnapshot resolutionSnapshot;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            propertiesFile = Files.createTempFile("provider-construction-benchmark", ".properties");
+            Files.writeString(propertiesFile, "EXTERNAL_PROPERTY".equals(source) ? EXTERNAL_PROPERTIES : "");
+
+            resolutionSnapshot = ResolutionSnapshot.capture();
+            externalConfigProvider = ExternalConfigProvider.builder().explicitPath(propertiesFile).build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(propertiesFile);
+        }
+    }
+
+    @Benchmark
+    public ActiveMQConfigProvider activeMQ(ProviderState state) {
+        return ActiveMQConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public DropwizardDataSourceConfigProvider dropwizardDataSource(ProviderState state) {
+        return DropwizardDataSourceConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public ElkLoggerConfigProvider elkLogger(ProviderState state) {
+        return ElkLoggerConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public ElucidationConfigProvider elucidation(ProviderState state) {
+        return ElucidationConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public HibernateConfigProvider hibernate(ProviderState state) {
+        return HibernateConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public MongoConfigProvider mongo(ProviderState state) {
+        return MongoConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public NetworkIdentityConfigProvider networkIdentity(ProviderState state) {
+        return NetworkIdentityConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public ServiceIdentityConfigProvider serviceIdentity(ProviderState state) {
+        return ServiceIdentityConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public SharedStorageConfigProvider sharedStorage(ProviderState state) {
+        return SharedStorageConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public TlsConfigProvider tls(ProviderState state) {
+        return TlsConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public ZooKeeperConfigProvider zooKeeper(ProviderState state) {
+        return ZooKeeperConfigProvider.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .build();
+    }
+
+    @Benchmark
+    public ConfigProviderRegistry registryOfAllProviders(ProviderState state) {
+        return ConfigProviderRegistry.builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .resolutionSnapshot(state.resolutionSnapshot)
+                .register(ActiveMQConfigProvider.class)
+                .register(DropwizardDataSourceConfigProvider.class)
+                .register(ElkLoggerConfigProvider.class)
+                .register(ElucidationConfigProvider.class)
+                .register(HibernateConfigProvider.class)
+                .register(MongoConfigProvider.class)
+                .register(NetworkIdentityConfigProvider.class)
+                .register(ServiceIdentityConfigProvider.class)
+                .register(SharedStorageConfigProvider.class)
+                .register(TlsConfigProvider.class)
+                .register(ZooKeeperConfigProvider.class)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(ProviderConstructionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
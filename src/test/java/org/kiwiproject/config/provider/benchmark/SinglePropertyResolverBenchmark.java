@@ -0,0 +1,221 @@
+package org.kiwiproject.config.provider.benchmark;
+
+import org.kiwiproject.base.DefaultEnvironment;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+import org.kiwiproject.config.provider.ResolverResult;
+import org.kiwiproject.config.provider.util.PropertyResolutionSettings;
+import org.kiwiproject.config.provider.util.PropertySource;
+import org.kiwiproject.config.provider.util.PropertySourceChain;
+import org.kiwiproject.config.provider.util.SinglePropertyResolver;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of resolving a single field with {@link SinglePropertyResolver} for each source in the
+ * resolution chain, i.e. for each {@link org.kiwiproject.config.provider.ResolvedBy} outcome. The later a source is
+ * in the chain, the more sources are consulted and missed before it.
+ * <p>
+ * The {@code getenvCalls} counter reports how many environment lookups each resolution performs, and running with
+ * the GC profiler (as {@link #main(String[])} does) reports the allocation rate per resolved field.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SinglePropertyResolverBenchmark {
+
+    private static final String SYSTEM_PROPERTY = "kiwi.benchmark.systemProperty";
+    private static final String ENV_VARIABLE = "KIWI_BENCHMARK_ENV_VARIABLE";
+    private static final String EXTERNAL_KEY = "benchmark.external";
+    private static final String CUSTOM_SOURCE_KEY = "benchmark.custom";
+
+    @State(Scope.Benchmark)
+    public static class ResolverState {
+
+        ExternalConfigProvider externalConfigProvider;
+        PropertySourceChain propertySources;
+        FieldResolverStrategy<String> supplierStrategy;
+        FieldResolverStrategy<String> explicitValueStrategy;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            var propertiesFile = Files.createTempFile("resolver-benchmark", ".properties");
+            Files.writeString(propertiesFile, EXTERNAL_KEY + "=external-value");
+            externalConfigProvider = ExternalConfigProvider.builder().explicitPath(propertiesFile).build();
+
+            System.setProperty(SYSTEM_PROPERTY, "system-property-value");
+
+            propertySources = PropertySourceChain.of(new MapPropertySource(Map.of(CUSTOM_SOURCE_KEY, "custom-value")));
+            supplierStrategy = FieldResolverStrategy.<String>builder().valueSupplier(() -> "supplied-value").build();
+            explicitValueStrategy = FieldResolverStrategy.<String>builder().explicitValue("explicit-value").build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            System.clearProperty(SYSTEM_PROPERTY);
+        }
+    }
+
+    /**
+     * Counts environment lookups so the benchmark results show how many sources were consulted per resolution.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EnvironmentCounters {
+
+        public long getenvCalls;
+
+        CountingEnvironment environment;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            getenvCalls = 0;
+            environment = new CountingEnvironment(this, Map.of(ENV_VARIABLE, "env-value"));
+        }
+    }
+
+    @Benchmark
+    public ResolverResult<String> resolveFromCustomSource(ResolverState state, EnvironmentCounters counters) {
+        return SinglePropertyResolver.resolveStringProperty(missingSettings(state, counters)
+                .externalKey(CUSTOM_SOURCE_KEY)
+                .propertySources(state.propertySources)
+                .build());
+    }
+
+    @Benchmark
+    public ResolverResult<String> resolveFromSystemProperty(ResolverState state, EnvironmentCounters counters) {
+        return SinglePropertyResolver.resolveStringProperty(missingSettings(state, counters)
+                .systemProperty(SYSTEM_PROPERTY)
+                .build());
+    }
+
+    @Benchmark
+    public ResolverResult<String> resolveFromEnvironment(ResolverState state, EnvironmentCounters counters) {
+        return SinglePropertyResolver.resolveStringProperty(missingSettings(state, counters)
+                .environmentVariable(ENV_VARIABLE)
+                .build());
+    }
+
+    @Benchmark
+    public ResolverResult<String> resolveFromExternalProperty(ResolverState state, EnvironmentCounters counters) {
+        return SinglePropertyResolver.resolveStringProperty(missingSettings(state, counters)
+                .externalKey(EXTERNAL_KEY)
+                .build());
+    }
+
+    @Benchmark
+    public ResolverResult<String> resolveFromSupplier(ResolverState state, EnvironmentCounters counters) {
+        return SinglePropertyResolver.resolveStringProperty(missingSettings(state, counters)
+                .resolverStrategy(state.supplierStrategy)
+                .build());
+    }
+
+    @Benchmark
+    public ResolverResult<String> resolveFromExplicitValue(ResolverState state, EnvironmentCounters counters) {
+        return SinglePropertyResolver.resolveStringProperty(missingSettings(state, counters)
+                .resolverStrategy(state.explicitValueStrategy)
+                .build());
+    }
+
+    @Benchmark
+    public ResolverResult<String> resolveFromProviderDefault(ResolverState state, EnvironmentCounters counters) {
+        return SinglePropertyResolver.resolveStringProperty(missingSettings(state, counters)
+                .defaultValue("default-value")
+                .build());
+    }
+
+    @Benchmark
+    public ResolverResult<String> resolveToNone(ResolverState state, EnvironmentCounters counters) {
+        return SinglePropertyResolver.resolveStringProperty(missingSettings(state, counters).build());
+    }
+
+    /**
+     * Returns settings whose keys all miss, so that each benchmark only has to set the key or value that it expects
+     * to resolve from.
+     */
+    private static PropertyResolutionSettings.PropertyResolutionSettingsBuilder<String> missingSettings(
+            ResolverState state, EnvironmentCounters counters) {
+
+        return PropertyResolutionSettings.<String>builder()
+                .externalConfigProvider(state.externalConfigProvider)
+                .kiwiEnvironment(counters.environment)
+                .systemProperty("kiwi.benchmark.missing")
+                .environmentVariable("KIWI_BENCHMARK_MISSING")
+                .externalKey("benchmark.missing");
+    }
+
+    /**
+     * A custom source that answers from a map, placed between the environment and the external configuration.
+     */
+    private static class MapPropertySource implements PropertySource {
+
+        private final Map<String, String> values;
+
+        MapPropertySource(Map<String, String> values) {
+            this.values = values;
+        }
+
+        @Override
+        public String getName() {
+            return "benchmark";
+        }
+
+        @Override
+        public int getOrder() {
+            return ENVIRONMENT_ORDER + 50;
+        }
+
+        @Override
+        public String lookup(String key) {
+            return values.get(key);
+        }
+    }
+
+    private static class CountingEnvironment extends DefaultEnvironment {
+
+        private final EnvironmentCounters counters;
+        private final Map<String, String> variables;
+
+        CountingEnvironment(EnvironmentCounters counters, Map<String, String> variables) {
+            this.counters = counters;
+            this.variables = variables;
+        }
+
+        @Override
+        public String getenv(String name) {
+            counters.getenvCalls++;
+            return variables.get(name);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(SinglePropertyResolverBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
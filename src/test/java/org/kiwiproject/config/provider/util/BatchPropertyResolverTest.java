@@ -0,0 +1,279 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+import org.kiwiproject.config.provider.ResolvedBy;
+import org.kiwiproject.config.provider.ResolverResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@DisplayName("BatchPropertyResolver")
+class BatchPropertyResolverTest {
+
+    private static final FieldDescriptor<String> HOST = FieldDescriptor.<String>builder()
+            .name("host")
+            .systemProperty("kiwi.batch.host")
+            .environmentVariable("KIWI_BATCH_HOST")
+            .externalKey("batch.host")
+            .build();
+
+    private static final FieldDescriptor<Integer> PORT = FieldDescriptor.<Integer>builder()
+            .name("port")
+            .systemProperty("kiwi.batch.port")
+            .environmentVariable("KIWI_BATCH_PORT")
+            .externalKey("batch.port")
+            .convertFromString(Integer::parseInt)
+            .build();
+
+    private static final FieldDescriptor<String> USER = FieldDescriptor.<String>builder()
+            .name("user")
+            .systemProperty("kiwi.batch.user")
+            .environmentVariable("KIWI_BATCH_USER")
+            .externalKey("batch.user")
+            .build();
+
+    private KiwiEnvironment env;
+    private ExternalConfigProvider externalConfigProvider;
+    private BatchPropertyResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        env = mock(KiwiEnvironment.class);
+        externalConfigProvider = mock(ExternalConfigProvider.class);
+
+        resolver = BatchPropertyResolver.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearAllSystemProperties();
+    }
+
+    @Test
+    void shouldResolveEachFieldFromItsFirstAvailableSource() {
+        addSystemProperty("kiwi.batch.host", "sys-host");
+        when(env.getenv("KIWI_BATCH_PORT")).thenReturn("8080");
+        when(externalConfigProvider.getPropertyOrNull("batch.user")).thenReturn("external-user");
+
+        var result = resolver.resolve(List.of(FieldRequest.of(HOST), FieldRequest.of(PORT), FieldRequest.of(USER)));
+
+        assertThat(result.size()).isEqualTo(3);
+        assertThat(result.getValue(HOST)).isEqualTo("sys-host");
+        assertThat(result.getResolvedBy(HOST)).isEqualTo(ResolvedBy.SYSTEM_PROPERTY);
+        assertThat(result.getValue(PORT)).isEqualTo(8080);
+        assertThat(result.getResolvedBy(PORT)).isEqualTo(ResolvedBy.SYSTEM_ENV);
+        assertThat(result.getValue(USER)).isEqualTo("external-user");
+        assertThat(result.getResolvedBy(USER)).isEqualTo(ResolvedBy.EXTERNAL_PROPERTY);
+
+        verify(env, times(0)).getenv("KIWI_BATCH_HOST");
+        verify(externalConfigProvider).getPropertyOrNull("batch.user");
+    }
+
+    @Test
+    void shouldNotConsultExternalConfig_WhenAllFieldsResolvedEarlier() {
+        addSystemProperty("kiwi.batch.host", "sys-host");
+        addSystemProperty("kiwi.batch.port", "9090");
+        when(env.getenv("KIWI_BATCH_USER")).thenReturn("env-user");
+
+        var result = resolver.resolve(List.of(FieldRequest.of(HOST), FieldRequest.of(PORT), FieldRequest.of(USER)));
+
+        assertThat(result.getValue(PORT)).isEqualTo(9090);
+        assertThat(result.getValue(USER)).isEqualTo("env-user");
+        verifyNoInteractions(externalConfigProvider);
+    }
+
+    @Test
+    void shouldUseResolverStrategyKeys() {
+        addSystemProperty("custom.host", "custom-host");
+        var strategy = FieldResolverStrategy.<String>builder().systemPropertyKey("custom.host").build();
+
+        var result = resolver.resolve(List.of(FieldRequest.of(HOST, strategy, null)));
+
+        assertThat(result.getValue(HOST)).isEqualTo("custom-host");
+        assertThat(result.getResolvedBy(HOST)).isEqualTo(ResolvedBy.SYSTEM_PROPERTY);
+    }
+
+    @Test
+    void shouldFallBackToSupplierExplicitValueAndProviderDefault() {
+        var supplierStrategy = FieldResolverStrategy.<String>builder().valueSupplier(() -> "supplied-host").build();
+        var explicitStrategy = FieldResolverStrategy.<Integer>builder().explicitValue(42).build();
+
+        var result = resolver.resolve(List.of(
+                FieldRequest.of(HOST, supplierStrategy, "default-host"),
+                FieldRequest.of(PORT, explicitStrategy, 1),
+                FieldRequest.of(USER, null, "default-user")));
+
+        assertThat(result.get(HOST).getValue()).isEqualTo("supplied-host");
+        assertThat(result.get(HOST).getResolvedBy()).isEqualTo(ResolvedBy.SUPPLIER);
+        assertThat(result.get(PORT).getValue()).isEqualTo(42);
+        assertThat(result.get(PORT).getResolvedBy()).isEqualTo(ResolvedBy.EXPLICIT_VALUE);
+        assertThat(result.get(USER).getValue()).isEqualTo("default-user");
+        assertThat(result.get(USER).getResolvedBy()).isEqualTo(ResolvedBy.PROVIDER_DEFAULT);
+    }
+
+    @Test
+    void shouldNotResolve_WhenNoSourceHasAValue() {
+        var result = resolver.resolve(List.of(FieldRequest.of(HOST)));
+
+        assertThat(result.getValue(HOST)).isNull();
+        assertThat(result.getResolvedBy(HOST)).isEqualTo(ResolvedBy.NONE);
+    }
+
+    @Test
+    void shouldBuildResolvedByMapInRequestOrder() {
+        addSystemProperty("kiwi.batch.port", "9090");
+
+        var result = resolver.resolve(List.of(FieldRequest.of(USER), FieldRequest.of(PORT, null, 1)));
+
+        assertThat(result.toResolvedByMap()).containsExactly(
+                entry("user", ResolvedBy.NONE),
+                entry("port", ResolvedBy.SYSTEM_PROPERTY));
+    }
+
+    @Test
+    void shouldThrowIllegalArgumentException_ForFieldNotInBatch() {
+        var result = resolver.resolve(List.of(FieldRequest.of(HOST)));
+
+        assertThatThrownBy(() -> result.getValue(PORT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("port");
+    }
+
+    @Test
+    void shouldResolveFromCustomSources_AtTheirPositions() {
+        addSystemProperty("kiwi.batch.host", "sys-host");
+        when(externalConfigProvider.getPropertyOrNull("batch.user")).thenReturn("external-user");
+        var sources = PropertySourceChain.of(
+                new PropertySourceChainTest.MapPropertySource("secrets", PropertySource.ENVIRONMENT_ORDER,
+                        CachePolicy.cacheable(), Map.of("batch.host", "secret-host", "batch.port", "9443")),
+                new PropertySourceChainTest.MapPropertySource("remote", PropertySource.EXTERNAL_PROPERTY_ORDER,
+                        CachePolicy.volatileResults(), Map.of("batch.user", "remote-user")));
+
+        var customResolver = BatchPropertyResolver.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .propertySources(sources)
+                .build();
+
+        var result = customResolver.resolve(List.of(
+                FieldRequest.of(HOST),
+                FieldRequest.of(PORT),
+                FieldRequest.of(USER)));
+
+        assertThat(result.get(HOST)).isEqualTo(new ResolverResult<>("sys-host", ResolvedBy.SYSTEM_PROPERTY));
+        assertThat(result.getValue(PORT)).isEqualTo(9443);
+        assertThat(result.getResolvedBy(PORT)).isEqualTo(ResolvedBy.CUSTOM_SOURCE);
+        assertThat(result.getSourceName(PORT)).isEqualTo("secrets");
+        assertThat(result.get(USER)).isEqualTo(new ResolverResult<>("external-user", ResolvedBy.EXTERNAL_PROPERTY));
+        assertThat(result.getSourceName(USER)).isNull();
+    }
+
+    @Nested
+    class Concurrently {
+
+        @Test
+        void shouldCallSuppliersConcurrently_WhenExecutorGiven() {
+            var barrier = new CyclicBarrier(2);
+            var hostStrategy = FieldResolverStrategy.<String>builder()
+                    .valueSupplier(() -> awaitOthers(barrier, "supplied-host"))
+                    .build();
+            var userStrategy = FieldResolverStrategy.<String>builder()
+                    .valueSupplier(() -> awaitOthers(barrier, "supplied-user"))
+                    .build();
+            var executor = Executors.newFixedThreadPool(2);
+
+            try {
+                var concurrentResolver = BatchPropertyResolver.builder()
+                        .externalConfigProvider(externalConfigProvider)
+                        .kiwiEnvironment(env)
+                        .resolutionExecutor(executor)
+                        .build();
+
+                var result = concurrentResolver.resolve(List.of(
+                        FieldRequest.of(HOST, hostStrategy, null),
+                        FieldRequest.of(PORT, null, 8080),
+                        FieldRequest.of(USER, userStrategy, null)));
+
+                assertThat(result.get(HOST)).isEqualTo(new ResolverResult<>("supplied-host", ResolvedBy.SUPPLIER));
+                assertThat(result.get(PORT)).isEqualTo(new ResolverResult<>(8080, ResolvedBy.PROVIDER_DEFAULT));
+                assertThat(result.get(USER)).isEqualTo(new ResolverResult<>("supplied-user", ResolvedBy.SUPPLIER));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void shouldRethrowSupplierException_WhenExecutorGiven() {
+            var strategy = FieldResolverStrategy.<String>builder()
+                    .valueSupplier(() -> {
+                        throw new IllegalStateException("secrets daemon unavailable");
+                    })
+                    .build();
+
+            var concurrentResolver = BatchPropertyResolver.builder()
+                    .externalConfigProvider(externalConfigProvider)
+                    .kiwiEnvironment(env)
+                    .resolutionExecutor(ResolutionExecutors.defaultExecutor())
+                    .build();
+
+            var requests = List.<FieldRequest<?>>of(FieldRequest.of(HOST, strategy, null));
+            assertThatThrownBy(() -> concurrentResolver.resolve(requests))
+                    .isExactlyInstanceOf(IllegalStateException.class)
+                    .hasMessage("secrets daemon unavailable");
+        }
+
+        @Test
+        void shouldResolveAsynchronously() {
+            addSystemProperty("kiwi.batch.port", "9090");
+
+            var future = resolver.resolveAsync(List.of(
+                    FieldRequest.of(HOST, null, "default-host"),
+                    FieldRequest.of(PORT)));
+
+            assertThat(future).succeedsWithin(Duration.ofSeconds(10))
+                    .satisfies(result -> {
+                        assertThat(result.getValue(HOST)).isEqualTo("default-host");
+                        assertThat(result.getValue(PORT)).isEqualTo(9090);
+                    });
+        }
+
+        private String awaitOthers(CyclicBarrier barrier, String value) {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+                return value;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (BrokenBarrierException | TimeoutException e) {
+                throw new IllegalStateException("suppliers were not called concurrently", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.TlsContextConfiguration;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+import org.kiwiproject.config.provider.ResolvedBy;
+
+import java.util.List;
+
+@DisplayName("ConfigField")
+class ConfigFieldTest {
+
+    private static final ConfigField<TlsContextConfiguration, String> PROTOCOL_FIELD =
+            ConfigField.<TlsContextConfiguration, String>builder()
+                    .name("protocol")
+                    .systemProperty("kiwi.config-field.protocol")
+                    .environmentVariable("KIWI_CONFIG_FIELD_PROTOCOL")
+                    .externalKey("config-field.protocol")
+                    .defaultGetter(TlsContextConfiguration::getProtocol)
+                    .setter(TlsContextConfiguration::setProtocol)
+                    .build();
+
+    private static final ConfigField<TlsContextConfiguration, Boolean> VERIFY_HOSTNAME_FIELD =
+            ConfigField.<TlsContextConfiguration, Boolean>builder()
+                    .name("verifyHostname")
+                    .convertFromString(Boolean::parseBoolean)
+                    .defaultGetter(TlsContextConfiguration::isVerifyHostname)
+                    .setter(TlsContextConfiguration::setVerifyHostname)
+                    .build();
+
+    private final BatchPropertyResolver resolver = BatchPropertyResolver.builder()
+            .externalConfigProvider(mock(ExternalConfigProvider.class))
+            .kiwiEnvironment(mock(KiwiEnvironment.class))
+            .build();
+
+    @Test
+    void shouldBuildDescriptor() {
+        var descriptor = PROTOCOL_FIELD.getDescriptor();
+
+        assertThat(descriptor.getName()).isEqualTo("protocol");
+        assertThat(descriptor.getSystemProperty()).isEqualTo("kiwi.config-field.protocol");
+        assertThat(descriptor.getEnvironmentVariable()).isEqualTo("KIWI_CONFIG_FIELD_PROTOCOL");
+        assertThat(descriptor.getExternalKey()).isEqualTo("config-field.protocol");
+    }
+
+    @Test
+    void shouldUseValueFromDefaultsObject_AndApplyToTarget() {
+        var defaults = TlsContextConfiguration.builder().protocol("TLSv1.3").verifyHostname(false).build();
+
+        var result = resolver.resolve(List.of(
+                PROTOCOL_FIELD.request(defaults, null),
+                VERIFY_HOSTNAME_FIELD.request(defaults, null)));
+
+        var target = TlsContextConfiguration.builder().build();
+        ConfigField.applyAll(List.of(PROTOCOL_FIELD, VERIFY_HOSTNAME_FIELD), result, target);
+
+        assertThat(target.getProtocol()).isEqualTo("TLSv1.3");
+        assertThat(target.isVerifyHostname()).isFalse();
+        assertThat(result.getResolvedBy(PROTOCOL_FIELD.getDescriptor())).isEqualTo(ResolvedBy.PROVIDER_DEFAULT);
+    }
+
+    @Test
+    void shouldPreferResolverStrategyOverDefaultsObject() {
+        var defaults = TlsContextConfiguration.builder().protocol("TLSv1.2").build();
+        var strategy = FieldResolverStrategy.<String>builder().explicitValue("TLSv1.3").build();
+
+        var result = resolver.resolve(List.of(PROTOCOL_FIELD.request(defaults, strategy)));
+
+        var target = TlsContextConfiguration.builder().build();
+        PROTOCOL_FIELD.apply(result, target);
+
+        assertThat(target.getProtocol()).isEqualTo("TLSv1.3");
+        assertThat(result.getResolvedBy(PROTOCOL_FIELD.getDescriptor())).isEqualTo(ResolvedBy.EXPLICIT_VALUE);
+    }
+}
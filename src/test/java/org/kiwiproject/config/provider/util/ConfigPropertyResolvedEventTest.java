@@ -0,0 +1,154 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.kiwiproject.config.provider.IntFieldResolverStrategy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("ConfigPropertyResolvedEvent")
+class ConfigPropertyResolvedEventTest {
+
+    private static final FieldDescriptor<String> HOST = FieldDescriptor.<String>builder()
+            .name("host")
+            .systemProperty("kiwi.event.host")
+            .environmentVariable("KIWI_EVENT_HOST")
+            .externalKey("event.host")
+            .build();
+
+    private static final FieldDescriptor<Integer> PORT = FieldDescriptor.<Integer>builder()
+            .name("port")
+            .systemProperty("kiwi.event.port")
+            .environmentVariable("KIWI_EVENT_PORT")
+            .externalKey("event.port")
+            .convertFromString(Integer::parseInt)
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    private KiwiEnvironment env;
+    private ExternalConfigProvider externalConfigProvider;
+
+    @BeforeEach
+    void setUp() {
+        env = mock(KiwiEnvironment.class);
+        externalConfigProvider = mock(ExternalConfigProvider.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearAllSystemProperties();
+    }
+
+    @Test
+    void shouldRecordEventForSingleProperty() throws IOException {
+        when(externalConfigProvider.getPropertyOrNull("event.port")).thenReturn("8080");
+
+        var events = record(() -> SinglePropertyResolver.resolveInt(PrimitivePropertyResolutionSettings.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .systemProperty("kiwi.event.port")
+                .environmentVariable("KIWI_EVENT_PORT")
+                .externalKey("event.port")
+                .build(), IntFieldResolverStrategy.builder().build()));
+
+        assertThat(events).hasSize(1);
+        var event = events.get(0);
+        assertThat(event.getString("field")).isEqualTo("event.port");
+        assertThat(event.getString("resolvedBy")).isEqualTo("EXTERNAL_PROPERTY");
+        assertThat(event.getString("sourceName")).isNull();
+    }
+
+    @Test
+    void shouldRecordOneEventPerFieldOfBatch() throws IOException {
+        addSystemProperty("kiwi.event.port", "9090");
+
+        var resolver = BatchPropertyResolver.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .build();
+
+        var events = record(() -> resolver.resolve(List.of(FieldRequest.of(HOST), FieldRequest.of(PORT))));
+
+        assertThat(events)
+                .extracting(event -> event.getString("field"), event -> event.getString("resolvedBy"))
+                .containsExactlyInAnyOrder(
+                        tuple("event.host", "NONE"),
+                        tuple("event.port", "SYSTEM_PROPERTY"));
+    }
+
+    @Test
+    void shouldRecordEvents_WithDefaultRecordingSettings() throws IOException, ParseException {
+        addSystemProperty("kiwi.event.port", "9090");
+
+        var resolver = BatchPropertyResolver.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .build();
+
+        try (var recording = new Recording(Configuration.getConfiguration("default"))) {
+            assertThat(readEvents(recording, () -> resolver.resolve(List.of(FieldRequest.of(PORT)))))
+                    .extracting(event -> event.getString("field"))
+                    .containsExactly("event.port");
+        }
+    }
+
+    @Test
+    void shouldNotRecordEvents_WhenDisabledInRecording() throws IOException {
+        addSystemProperty("kiwi.event.port", "9090");
+
+        var resolver = BatchPropertyResolver.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .build();
+
+        try (var recording = new Recording()) {
+            recording.disable(ConfigPropertyResolvedEvent.NAME);
+            var results = new ArrayList<BatchResolverResult>();
+
+            assertThat(readEvents(recording, () -> results.add(resolver.resolve(List.of(FieldRequest.of(PORT))))))
+                    .isEmpty();
+            assertThat(results.get(0).get(PORT).getValue()).isEqualTo(9090);
+        }
+    }
+
+    private List<RecordedEvent> record(Runnable resolution) throws IOException {
+        try (var recording = new Recording()) {
+            recording.enable(ConfigPropertyResolvedEvent.NAME);
+            return readEvents(recording, resolution);
+        }
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording, Runnable resolution) throws IOException {
+        recording.start();
+        resolution.run();
+        recording.stop();
+
+        var file = tempDir.resolve("resolution.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(ConfigPropertyResolvedEvent.NAME))
+                .toList();
+    }
+}
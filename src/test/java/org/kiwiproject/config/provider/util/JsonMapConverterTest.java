@@ -0,0 +1,158 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kiwiproject.json.RuntimeJsonException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("JsonMapConverter")
+class JsonMapConverterTest {
+
+    @Nested
+    class ToStringMap {
+
+        @Test
+        void shouldConvertScalarsToText_AndKeepNestedValuesAsJson() {
+            var map = JsonMapConverter.toStringMap("{\"dialect\":\"Postgres\",\"poolSize\":5,\"showSql\":true,"
+                    + "\"schema\":null,\"nested\":{\"a\":[1,2]}}");
+
+            assertThat(map).containsExactly(
+                    entry("dialect", "Postgres"),
+                    entry("poolSize", "5"),
+                    entry("showSql", "true"),
+                    entry("schema", null),
+                    entry("nested", "{\"a\":[1,2]}"));
+        }
+
+        @Test
+        void shouldReturnCachedUnmodifiableMap() {
+            var json = "{\"a\":\"1\"}";
+
+            var first = JsonMapConverter.toStringMap(json);
+            var second = JsonMapConverter.toStringMap(json);
+
+            assertThat(second).isSameAs(first).containsOnly(entry("a", "1"));
+            assertThatThrownBy(() -> first.put("b", "2")).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    class ToObjectMap {
+
+        @Test
+        void shouldConvertValuesToTheirJsonTypes() {
+            var map = JsonMapConverter.toObjectMap("{\"showSql\":false,\"size\":5,\"big\":5000000000,\"ratio\":1.5,"
+                    + "\"name\":\"x\",\"list\":[1,{\"y\":2}]}");
+
+            assertThat(map).containsExactly(
+                    entry("showSql", false),
+                    entry("size", 5),
+                    entry("big", 5_000_000_000L),
+                    entry("ratio", 1.5),
+                    entry("name", "x"),
+                    entry("list", List.of(1, Map.of("y", 2))));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Test
+        void shouldReturnCachedUnmodifiableMap_IncludingNestedMapsAndLists() {
+            var json = "{\"nested\":{\"a\":1},\"list\":[1]}";
+
+            var first = JsonMapConverter.toObjectMap(json);
+            var second = JsonMapConverter.toObjectMap(json);
+
+            assertThat(second).isSameAs(first);
+            assertThatThrownBy(() -> ((Map<String, Object>) first.get("nested")).put("b", 2))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> ((List<Object>) first.get("list")).add(2))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    class ToJson {
+
+        @Test
+        void shouldWriteStructuredValuesAsCompactJson() {
+            var value = new LinkedHashMap<String, Object>();
+            value.put("name", "x");
+            value.put("size", 5);
+            value.put("ratio", 1.5);
+            value.put("enabled", true);
+            value.put("schema", null);
+            value.put("list", List.of(1, Map.of("y", "z")));
+
+            assertThat(JsonMapConverter.toJson(value))
+                    .isEqualTo("{\"name\":\"x\",\"size\":5,\"ratio\":1.5,\"enabled\":true,\"schema\":null,"
+                            + "\"list\":[1,{\"y\":\"z\"}]}");
+        }
+
+        @Test
+        void shouldRoundTripObjectMaps() {
+            var json = "{\"a\":{\"b\":[1,2.5,\"c\",false,null]},\"big\":5000000000}";
+
+            assertThat(JsonMapConverter.toJson(JsonMapConverter.toObjectMap(json))).isEqualTo(json);
+        }
+    }
+
+    @Nested
+    class Cache {
+
+        @BeforeEach
+        void setUp() {
+            JsonMapConverter.clearCache();
+        }
+
+        @AfterEach
+        void tearDown() {
+            JsonMapConverter.clearCache();
+        }
+
+        @Test
+        void shouldEvictLeastRecentlyUsedMaps_WhenFull() {
+            var first = JsonMapConverter.toStringMap("{\"key\":\"first\"}");
+            for (var i = 0; i < JsonMapConverter.MAX_CACHED_VALUES * 2; i++) {
+                JsonMapConverter.toStringMap("{\"key\":\"" + i + "\"}");
+            }
+
+            assertThat(JsonMapConverter.cachedValueCount()).isLessThanOrEqualTo(JsonMapConverter.MAX_CACHED_VALUES);
+            assertThat(JsonMapConverter.toStringMap("{\"key\":\"first\"}")).isNotSameAs(first).isEqualTo(first);
+
+            var recent = JsonMapConverter.toStringMap("{\"key\":\"recent\"}");
+            assertThat(JsonMapConverter.toStringMap("{\"key\":\"recent\"}")).isSameAs(recent);
+        }
+
+        @Test
+        void shouldNotCacheNullMaps() {
+            assertThat(JsonMapConverter.toStringMap("null")).isNull();
+
+            assertThat(JsonMapConverter.cachedValueCount()).isZero();
+        }
+    }
+
+    @Test
+    void shouldReturnNull_WhenJsonIsNull() {
+        assertThat(JsonMapConverter.toStringMap(null)).isNull();
+        assertThat(JsonMapConverter.toStringMap("null")).isNull();
+        assertThat(JsonMapConverter.toObjectMap("null")).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[1, 2]", "\"text\"", "{\"a\":", "{} {}"})
+    void shouldThrow_WhenJsonIsNotSingleObject(String json) {
+        assertThatThrownBy(() -> JsonMapConverter.toStringMap(json)).isExactlyInstanceOf(RuntimeJsonException.class);
+        assertThatThrownBy(() -> JsonMapConverter.toObjectMap(json)).isExactlyInstanceOf(RuntimeJsonException.class);
+    }
+}
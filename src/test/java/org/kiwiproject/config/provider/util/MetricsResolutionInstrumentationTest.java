@@ -0,0 +1,110 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.ElucidationConfigProvider;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.kiwiproject.config.provider.ResolvedBy;
+
+import java.util.Map;
+
+@DisplayName("MetricsResolutionInstrumentation")
+class MetricsResolutionInstrumentationTest {
+
+    private MetricRegistry metrics;
+    private MetricsResolutionInstrumentation instrumentation;
+    private ExternalConfigProvider externalConfigProvider;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricRegistry();
+        instrumentation = new MetricsResolutionInstrumentation(metrics, "test");
+
+        externalConfigProvider = mock(ExternalConfigProvider.class);
+        when(externalConfigProvider.getPropertyOrNull("elucidation.port")).thenReturn("9000");
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearAllSystemProperties();
+    }
+
+    @Test
+    void shouldRecordProviderConstructionSourcesAndOutcomes() {
+        addSystemProperty(ElucidationConfigProvider.DEFAULT_HOST_SYSTEM_PROPERTY, "localhost");
+
+        ElucidationConfigProvider.builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(mock(KiwiEnvironment.class))
+                .instrumentation(instrumentation)
+                .build();
+
+        assertThat(metrics.timer("test.providers.ElucidationConfigProvider.build").getCount()).isOne();
+
+        assertThat(metrics.counter("test.sources.systemProperty.lookups").getCount()).isEqualTo(3);
+        assertThat(metrics.counter("test.sources.systemProperty.hits").getCount()).isOne();
+        assertThat(metrics.counter("test.sources.environment.lookups").getCount()).isEqualTo(2);
+        assertThat(metrics.counter("test.sources.environment.hits").getCount()).isZero();
+        assertThat(metrics.counter("test.sources.externalProperty.lookups").getCount()).isEqualTo(2);
+        assertThat(metrics.counter("test.sources.externalProperty.hits").getCount()).isOne();
+        assertThat(metrics.timer("test.sources.externalProperty.latency").getCount()).isOne();
+
+        assertThat(metrics.counter("test.resolvedBy.SYSTEM_PROPERTY").getCount()).isOne();
+        assertThat(metrics.counter("test.resolvedBy.EXTERNAL_PROPERTY").getCount()).isOne();
+        assertThat(metrics.counter("test.resolvedBy.NONE").getCount()).isOne();
+    }
+
+    @Test
+    void shouldRecordCustomSourcesByName() {
+        var sources = PropertySourceChain.of(new PropertySourceChainTest.MapPropertySource("secrets", 0,
+                CachePolicy.cacheable(), Map.of("elucidation.host", "secret-host")));
+
+        for (var i = 0; i < 2; i++) {
+            ElucidationConfigProvider.builder()
+                    .externalConfigProvider(externalConfigProvider)
+                    .kiwiEnvironment(mock(KiwiEnvironment.class))
+                    .propertySources(sources)
+                    .instrumentation(instrumentation)
+                    .build();
+        }
+
+        assertThat(metrics.timer("test.providers.ElucidationConfigProvider.build").getCount()).isEqualTo(2);
+        assertThat(metrics.counter("test.resolvedBy.CUSTOM_SOURCE").getCount()).isEqualTo(2);
+
+        // the cached answers of the second build are not lookups
+        assertThat(metrics.counter("test.sources.secrets.lookups").getCount()).isEqualTo(3);
+        assertThat(metrics.counter("test.sources.secrets.hits").getCount()).isOne();
+    }
+
+    @Test
+    void shouldUseDefaultPrefix() {
+        new MetricsResolutionInstrumentation(metrics).fieldResolved(ResolvedBy.SUPPLIER);
+
+        assertThat(metrics.counter("kiwi.config.resolvedBy.SUPPLIER").getCount()).isOne();
+    }
+
+    @Test
+    void shouldRejectBlankPrefix() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new MetricsResolutionInstrumentation(metrics, " "));
+    }
+
+    @Test
+    void shouldNotRecordAnything_WithNoopInstrumentation() {
+        var noop = ResolutionInstrumentation.noop();
+
+        assertThat(noop.isEnabled()).isFalse();
+        assertThat(ResolutionInstrumentation.orNoop(null)).isSameAs(noop);
+        assertThat(ResolutionInstrumentation.orNoop(instrumentation)).isSameAs(instrumentation);
+    }
+}
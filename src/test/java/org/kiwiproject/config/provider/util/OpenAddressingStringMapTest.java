@@ -0,0 +1,45 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+@DisplayName("OpenAddressingStringMap")
+class OpenAddressingStringMapTest {
+
+    @Test
+    void shouldReturnNull_WhenEmpty() {
+        var map = new OpenAddressingStringMap(Map.of());
+
+        assertThat(map.size()).isZero();
+        assertThat(map.get("anything")).isNull();
+        assertThat(map.get(null)).isNull();
+    }
+
+    @Test
+    void shouldFindAllEntries() {
+        var entries = new HashMap<String, String>();
+        IntStream.range(0, 1_000).forEach(i -> entries.put("kiwi.key." + i, "value-" + i));
+
+        var map = new OpenAddressingStringMap(entries);
+
+        assertThat(map.size()).isEqualTo(1_000);
+        entries.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+        assertThat(map.get("kiwi.key.1000")).isNull();
+    }
+
+    @Test
+    void shouldHandleKeysWithCollidingHashCodes() {
+        // "Aa" and "BB" have the same String hash code
+        var map = new OpenAddressingStringMap(Map.of("Aa", "first", "BB", "second"));
+
+        assertThat(map.get("Aa")).isEqualTo("first");
+        assertThat(map.get("BB")).isEqualTo("second");
+        assertThat(map.get("C#")).isNull();
+    }
+}
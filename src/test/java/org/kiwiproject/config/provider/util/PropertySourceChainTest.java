@@ -0,0 +1,182 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("PropertySourceChain")
+class PropertySourceChainTest {
+
+    @Test
+    void shouldConsultSourcesInOrder() {
+        var first = new MapPropertySource("first", 10, CachePolicy.volatileResults(), Map.of("key", "first"));
+        var second = new MapPropertySource("second", 20, CachePolicy.volatileResults(), Map.of("key", "second"));
+
+        var chain = PropertySourceChain.of(second, first);
+        var match = chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        assertThat(match.getValue()).isEqualTo("first");
+        assertThat(match.getSourceName()).isEqualTo("first");
+    }
+
+    @Test
+    void shouldOnlyConsultSourcesInOrderRange() {
+        var early = new MapPropertySource("early", 50, CachePolicy.volatileResults(), Map.of("key", "early"));
+        var late = new MapPropertySource("late", 500, CachePolicy.volatileResults(), Map.of("key", "late"));
+
+        var chain = PropertySourceChain.of(early, late);
+
+        assertThat(chain.lookup("key", 100, Integer.MAX_VALUE).getSourceName()).isEqualTo("late");
+        assertThat(chain.lookup("key", 100, 499)).isNull();
+    }
+
+    @Test
+    void shouldReturnNull_WhenNoSourceHasValue() {
+        var chain = PropertySourceChain.of(
+                new MapPropertySource("source", 10, CachePolicy.volatileResults(), Map.of()));
+
+        assertThat(chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    void shouldRejectDuplicateSourceNames() {
+        var one = new MapPropertySource("same", 10, CachePolicy.volatileResults(), Map.of());
+        var two = new MapPropertySource("same", 20, CachePolicy.volatileResults(), Map.of());
+
+        assertThatIllegalArgumentException().isThrownBy(() -> PropertySourceChain.of(one, two));
+    }
+
+    @Test
+    void shouldRejectBlankSourceNames() {
+        var source = new MapPropertySource(" ", 10, CachePolicy.volatileResults(), Map.of());
+
+        assertThatIllegalArgumentException().isThrownBy(() -> PropertySourceChain.of(source));
+    }
+
+    @Nested
+    class Caching {
+
+        private final AtomicLong nanoTime = new AtomicLong();
+
+        @Test
+        void shouldLookUpVolatileSourcesEveryTime() {
+            var source = new MapPropertySource("volatile", 10, CachePolicy.volatileResults(), Map.of("key", "value"));
+            var chain = PropertySourceChain.of(List.of(source), nanoTime::get);
+
+            chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE);
+            chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+            assertThat(source.lookupCount).isEqualTo(2);
+        }
+
+        @Test
+        void shouldLookUpCacheableSourcesOnce_IncludingAbsentValues() {
+            var source = new MapPropertySource("cacheable", 10, CachePolicy.cacheable(), Map.of("key", "value"));
+            var chain = PropertySourceChain.of(List.of(source), nanoTime::get);
+
+            for (var i = 0; i < 3; i++) {
+                assertThat(chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE).getValue()).isEqualTo("value");
+                assertThat(chain.lookup("missing", Integer.MIN_VALUE, Integer.MAX_VALUE)).isNull();
+            }
+
+            assertThat(source.lookupCount).isEqualTo(2);
+        }
+
+        @Test
+        void shouldLookUpAgain_WhenTtlExpires() {
+            var values = new HashMap<>(Map.of("key", "before"));
+            var source = new MapPropertySource("ttl", 10, CachePolicy.ttl(Duration.ofSeconds(5)), values);
+            var chain = PropertySourceChain.of(List.of(source), nanoTime::get);
+
+            assertThat(chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE).getValue()).isEqualTo("before");
+
+            values.put("key", "after");
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(4));
+            assertThat(chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE).getValue()).isEqualTo("before");
+
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            assertThat(chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE).getValue()).isEqualTo("after");
+            assertThat(source.lookupCount).isEqualTo(2);
+        }
+
+        @Test
+        void shouldLookUpAgain_AfterInvalidate() {
+            var source = new MapPropertySource("cacheable", 10, CachePolicy.cacheable(), Map.of("key", "value"));
+            var chain = PropertySourceChain.of(List.of(source), nanoTime::get);
+
+            chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE);
+            chain.invalidate("cacheable");
+            chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE);
+            chain.invalidate();
+            chain.lookup("key", Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+            assertThat(source.lookupCount).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    class CachePolicies {
+
+        @Test
+        void shouldRejectNonPositiveTtl() {
+            assertThatIllegalArgumentException().isThrownBy(() -> CachePolicy.ttl(Duration.ZERO));
+            assertThatIllegalArgumentException().isThrownBy(() -> CachePolicy.ttl(Duration.ofSeconds(-1)));
+        }
+
+        @Test
+        void shouldDescribePolicies() {
+            assertThat(CachePolicy.volatileResults().isVolatile()).isTrue();
+            assertThat(CachePolicy.volatileResults().getTtl()).isEmpty();
+            assertThat(CachePolicy.cacheable().isVolatile()).isFalse();
+            assertThat(CachePolicy.cacheable().getTtl()).isEmpty();
+            assertThat(CachePolicy.ttl(Duration.ofMinutes(1)).getTtl()).hasValue(Duration.ofMinutes(1));
+        }
+    }
+
+    static class MapPropertySource implements PropertySource {
+
+        private final String name;
+        private final int order;
+        private final CachePolicy cachePolicy;
+        private final Map<String, String> values;
+        int lookupCount;
+
+        MapPropertySource(String name, int order, CachePolicy cachePolicy, Map<String, String> values) {
+            this.name = name;
+            this.order = order;
+            this.cachePolicy = cachePolicy;
+            this.values = values;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public String lookup(String key) {
+            lookupCount++;
+            return values.get(key);
+        }
+
+        @Override
+        public CachePolicy getCachePolicy() {
+            return cachePolicy;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.ResolvedBy;
+
+import java.util.Map;
+
+@DisplayName("ResolutionSnapshot")
+class ResolutionSnapshotTest {
+
+    private KiwiEnvironment env;
+
+    @BeforeEach
+    void setUp() {
+        env = mock(KiwiEnvironment.class);
+        when(env.getenv()).thenReturn(Map.of(
+                "KIWI_SNAPSHOT_TEST", "captured-env",
+                "OTHER_VARIABLE", "not-captured"
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearAllSystemProperties();
+    }
+
+    @Nested
+    class SystemProperties {
+
+        @Test
+        void shouldReturnCapturedValue_EvenAfterSystemPropertyChanges() {
+            addSystemProperty("kiwi.snapshot.test", "captured");
+            var snapshot = ResolutionSnapshot.capture(env);
+
+            addSystemProperty("kiwi.snapshot.test", "changed");
+
+            assertThat(snapshot.getSystemProperty("kiwi.snapshot.test")).isEqualTo("captured");
+        }
+
+        @Test
+        void shouldNotSeeKiwiPropertiesAddedAfterCapture() {
+            var snapshot = ResolutionSnapshot.capture(env);
+
+            addSystemProperty("kiwi.snapshot.later", "added");
+
+            assertThat(snapshot.getSystemProperty("kiwi.snapshot.later")).isNull();
+        }
+
+        @Test
+        void shouldFallBackToLiveValue_ForKeysOutsideKiwiNamespace() {
+            var snapshot = ResolutionSnapshot.capture(env);
+
+            addSystemProperty("custom.snapshot.key", "live");
+
+            assertThat(snapshot.getSystemProperty("custom.snapshot.key")).isEqualTo("live");
+        }
+    }
+
+    @Nested
+    class EnvironmentVariables {
+
+        @Test
+        void shouldOnlyCaptureKiwiVariables() {
+            var snapshot = ResolutionSnapshot.capture(env);
+
+            assertThat(snapshot.environmentVariableCount()).isEqualTo(1);
+            assertThat(snapshot.getenv("KIWI_SNAPSHOT_TEST")).isEqualTo("captured-env");
+        }
+
+        @Test
+        void shouldFallBackToEnvironment_ForNamesOutsideKiwiNamespace() {
+            when(env.getenv("OTHER_VARIABLE")).thenReturn("live-env");
+            var snapshot = ResolutionSnapshot.capture(env);
+
+            assertThat(snapshot.getenv("OTHER_VARIABLE")).isEqualTo("live-env");
+        }
+
+        @Test
+        void shouldReturnNull_ForMissingKiwiVariable() {
+            var snapshot = ResolutionSnapshot.capture(env);
+
+            assertThat(snapshot.getenv("KIWI_NOT_THERE")).isNull();
+        }
+    }
+
+    @Test
+    void shouldBeUsedBySinglePropertyResolver() {
+        addSystemProperty("kiwi.snapshot.test", "captured");
+        var snapshot = ResolutionSnapshot.capture(env);
+        addSystemProperty("kiwi.snapshot.test", "changed");
+
+        var result = SinglePropertyResolver.resolveStringProperty(PropertyResolutionSettings.<String>builder()
+                .resolutionSnapshot(snapshot)
+                .systemProperty("kiwi.snapshot.test")
+                .environmentVariable("KIWI_SNAPSHOT_TEST")
+                .externalKey("snapshot.test")
+                .build());
+
+        assertThat(result.getValue()).isEqualTo("captured");
+        assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SYSTEM_PROPERTY);
+    }
+}
@@ -0,0 +1,397 @@
+package org.kiwiproject.config.provider.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.addSystemProperty;
+import static org.kiwiproject.config.provider.util.SystemPropertyHelper.clearAllSystemProperties;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.kiwiproject.base.KiwiEnvironment;
+import org.kiwiproject.config.provider.BooleanFieldResolverStrategy;
+import org.kiwiproject.config.provider.ExternalConfigProvider;
+import org.kiwiproject.config.provider.FieldResolverStrategy;
+import org.kiwiproject.config.provider.IntFieldResolverStrategy;
+import org.kiwiproject.config.provider.LongFieldResolverStrategy;
+import org.kiwiproject.config.provider.ResolvedBy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+@DisplayName("SinglePropertyResolver")
+class SinglePropertyResolverTest {
+
+    private static final String SYSTEM_PROPERTY = "kiwi.resolver.test";
+    private static final String ENV_VARIABLE = "KIWI_RESOLVER_TEST";
+    private static final String EXTERNAL_KEY = "resolver.test";
+
+    private KiwiEnvironment env;
+    private ExternalConfigProvider externalConfigProvider;
+
+    @BeforeEach
+    void setUp() {
+        env = mock(KiwiEnvironment.class);
+        externalConfigProvider = mock(ExternalConfigProvider.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearAllSystemProperties();
+    }
+
+    @Nested
+    class ShortCircuiting {
+
+        @Test
+        void shouldNotConsultLaterSources_WhenSystemPropertyResolves() {
+            addSystemProperty(SYSTEM_PROPERTY, "from-system-property");
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(null, null));
+
+            assertThat(result.getValue()).isEqualTo("from-system-property");
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SYSTEM_PROPERTY);
+            verifyNoInteractions(env, externalConfigProvider);
+        }
+
+        @Test
+        void shouldNotConsultExternalProperties_WhenEnvironmentResolves() {
+            when(env.getenv(ENV_VARIABLE)).thenReturn("from-env");
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(null, null));
+
+            assertThat(result.getValue()).isEqualTo("from-env");
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SYSTEM_ENV);
+            verifyNoInteractions(externalConfigProvider);
+        }
+
+        @Test
+        void shouldNotCallSupplier_WhenExternalPropertyResolves() {
+            when(externalConfigProvider.getPropertyOrNull(EXTERNAL_KEY)).thenReturn("from-external");
+            var strategy = FieldResolverStrategy.<String>builder()
+                    .valueSupplier(() -> {
+                        throw new IllegalStateException("supplier should not be called");
+                    })
+                    .build();
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(strategy, null));
+
+            assertThat(result.getValue()).isEqualTo("from-external");
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.EXTERNAL_PROPERTY);
+            verify(env).getenv(ENV_VARIABLE);
+        }
+    }
+
+    @Nested
+    class Defaults {
+
+        @Test
+        void shouldUseBlankExternalProperty_WhenPresent() {
+            when(externalConfigProvider.getPropertyOrNull(EXTERNAL_KEY)).thenReturn("");
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(null, "default"));
+
+            assertThat(result.getValue()).isEmpty();
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.EXTERNAL_PROPERTY);
+        }
+
+        @Test
+        void shouldResolveFromSupplier() {
+            var strategy = FieldResolverStrategy.<String>builder().valueSupplier(() -> "from-supplier").build();
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(strategy, "default"));
+
+            assertThat(result.getValue()).isEqualTo("from-supplier");
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SUPPLIER);
+        }
+
+        @Test
+        void shouldResolveFromExplicitValue() {
+            var strategy = FieldResolverStrategy.<String>builder().explicitValue("explicit").build();
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(strategy, "default"));
+
+            assertThat(result.getValue()).isEqualTo("explicit");
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.EXPLICIT_VALUE);
+        }
+
+        @Test
+        void shouldResolveFromProviderDefault() {
+            var result = SinglePropertyResolver.resolveStringProperty(settings(null, "default"));
+
+            assertThat(result.getValue()).isEqualTo("default");
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.PROVIDER_DEFAULT);
+        }
+
+        @Test
+        void shouldNotResolve_WhenNothingMatches() {
+            var result = SinglePropertyResolver.resolveStringProperty(settings(null, null));
+
+            assertThat(result.notResolved()).isTrue();
+            assertThat(result.getValue()).isNull();
+        }
+    }
+
+    @Test
+    void shouldConvertResolvedValue() {
+        when(env.getenv(ENV_VARIABLE)).thenReturn("42");
+
+        var result = SinglePropertyResolver.resolveProperty(PropertyResolutionSettings.<Integer>builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .systemProperty(SYSTEM_PROPERTY)
+                .environmentVariable(ENV_VARIABLE)
+                .externalKey(EXTERNAL_KEY)
+                .convertFromString(Integer::parseInt)
+                .build());
+
+        assertThat(result.getValue()).isEqualTo(42);
+        assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SYSTEM_ENV);
+    }
+
+    @Nested
+    class PrimitiveResolution {
+
+        @Test
+        void shouldResolveInt_FromSystemProperty() {
+            addSystemProperty(SYSTEM_PROPERTY, "8080");
+
+            var result = SinglePropertyResolver.resolveInt(primitiveSettings(), null, 80);
+
+            assertThat(result.getValue()).isEqualTo(8080);
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SYSTEM_PROPERTY);
+            verifyNoInteractions(env, externalConfigProvider);
+        }
+
+        @Test
+        void shouldResolveInt_FromSupplier() {
+            var strategy = IntFieldResolverStrategy.builder().valueSupplier(() -> 42).build();
+
+            var result = SinglePropertyResolver.resolveInt(primitiveSettings(), strategy, 80);
+
+            assertThat(result.getValue()).isEqualTo(42);
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SUPPLIER);
+        }
+
+        @Test
+        void shouldResolveInt_FromExplicitValue_EvenWhenZero() {
+            var strategy = IntFieldResolverStrategy.builder().explicitValue(0).build();
+
+            var result = SinglePropertyResolver.resolveInt(primitiveSettings(), strategy, 80);
+
+            assertThat(result.getValue()).isZero();
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.EXPLICIT_VALUE);
+        }
+
+        @Test
+        void shouldResolveInt_FromProviderDefault() {
+            var result = SinglePropertyResolver.resolveInt(primitiveSettings(), null, 80);
+
+            assertThat(result.getValue()).isEqualTo(80);
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.PROVIDER_DEFAULT);
+        }
+
+        @Test
+        void shouldNotResolveInt_WhenNothingMatches() {
+            var result = SinglePropertyResolver.resolveInt(primitiveSettings(), null);
+
+            assertThat(result.notResolved()).isTrue();
+            assertThat(result.getValue()).isZero();
+        }
+
+        @Test
+        void shouldResolveLong_UsingStrategyKey() {
+            when(env.getenv("CUSTOM_TIMEOUT")).thenReturn("30000000000");
+            var strategy = LongFieldResolverStrategy.builder().envVariable("CUSTOM_TIMEOUT").build();
+
+            var result = SinglePropertyResolver.resolveLong(primitiveSettings(), strategy);
+
+            assertThat(result.getValue()).isEqualTo(30_000_000_000L);
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SYSTEM_ENV);
+        }
+
+        @Test
+        void shouldResolveBoolean_FromExternalProperty() {
+            when(externalConfigProvider.getPropertyOrNull(EXTERNAL_KEY)).thenReturn("true");
+
+            var result = SinglePropertyResolver.resolveBoolean(primitiveSettings(), null, false);
+
+            assertThat(result.isValue()).isTrue();
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.EXTERNAL_PROPERTY);
+        }
+
+        @Test
+        void shouldResolveBoolean_FromExplicitValue() {
+            var strategy = BooleanFieldResolverStrategy.builder().explicitValue(false).build();
+
+            var result = SinglePropertyResolver.resolveBoolean(primitiveSettings(), strategy, true);
+
+            assertThat(result.isValue()).isFalse();
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.EXPLICIT_VALUE);
+        }
+
+        private PrimitivePropertyResolutionSettings primitiveSettings() {
+            return PrimitivePropertyResolutionSettings.builder()
+                    .externalConfigProvider(externalConfigProvider)
+                    .kiwiEnvironment(env)
+                    .systemProperty(SYSTEM_PROPERTY)
+                    .environmentVariable(ENV_VARIABLE)
+                    .externalKey(EXTERNAL_KEY)
+                    .build();
+        }
+    }
+
+    @Nested
+    class Async {
+
+        @Test
+        void shouldResolvePropertyAsynchronously() {
+            var strategy = FieldResolverStrategy.<String>builder().valueSupplier(() -> "from-supplier").build();
+
+            var future = SinglePropertyResolver.resolvePropertyAsync(settings(strategy, "default"));
+
+            assertThat(future).succeedsWithin(Duration.ofSeconds(10))
+                    .satisfies(result -> {
+                        assertThat(result.getValue()).isEqualTo("from-supplier");
+                        assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SUPPLIER);
+                    });
+        }
+
+        @Test
+        void shouldResolveOnGivenExecutor() {
+            var threadName = new AtomicReference<String>();
+            var strategy = FieldResolverStrategy.<String>builder()
+                    .valueSupplier(() -> {
+                        threadName.set(Thread.currentThread().getName());
+                        return "from-supplier";
+                    })
+                    .build();
+            var executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "resolver-test"));
+
+            try {
+                var future = SinglePropertyResolver.resolvePropertyAsync(settings(strategy, null), executor);
+
+                assertThat(future).succeedsWithin(Duration.ofSeconds(10));
+                assertThat(threadName).hasValue("resolver-test");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void shouldCompleteExceptionally_WhenSupplierThrows() {
+            var strategy = FieldResolverStrategy.<String>builder()
+                    .valueSupplier(() -> {
+                        throw new IllegalStateException("secrets daemon unavailable");
+                    })
+                    .build();
+
+            var future = SinglePropertyResolver.resolvePropertyAsync(settings(strategy, null));
+
+            assertThat(future).failsWithin(Duration.ofSeconds(10))
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    class WithCustomSources {
+
+        @Test
+        void shouldConsultCustomSourceBeforeSystemProperty_WhenOrderIsLower() {
+            addSystemProperty(SYSTEM_PROPERTY, "from-system-property");
+            var sources = PropertySourceChain.of(source("overrides", PropertySource.SYSTEM_PROPERTY_ORDER - 1));
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(sources));
+
+            assertThat(result.getValue()).isEqualTo("from-overrides");
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.CUSTOM_SOURCE);
+            assertThat(result.getSourceName()).isEqualTo("overrides");
+        }
+
+        @Test
+        void shouldConsultCustomSourceAfterBuiltInSourceWithSameOrder() {
+            when(env.getenv(ENV_VARIABLE)).thenReturn("from-env");
+            var sources = PropertySourceChain.of(source("secrets", PropertySource.ENVIRONMENT_ORDER));
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(sources));
+
+            assertThat(result.getValue()).isEqualTo("from-env");
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.SYSTEM_ENV);
+            assertThat(result.getSourceName()).isNull();
+        }
+
+        @Test
+        void shouldConsultCustomSourceBeforeExternalProperty_WhenOrderIsLower() {
+            when(externalConfigProvider.getPropertyOrNull(EXTERNAL_KEY)).thenReturn("from-external");
+            var sources = PropertySourceChain.of(source("secrets", PropertySource.EXTERNAL_PROPERTY_ORDER - 50));
+
+            var result = SinglePropertyResolver.resolveStringProperty(settings(sources));
+
+            assertThat(result.getValue()).isEqualTo("from-secrets");
+            assertThat(result.getSourceName()).isEqualTo("secrets");
+            verifyNoInteractions(externalConfigProvider);
+        }
+
+        @Test
+        void shouldConsultCustomSourceBeforeSupplier_WhenOrderIsHigherThanExternalProperty() {
+            var sources = PropertySourceChain.of(source("remote", PropertySource.EXTERNAL_PROPERTY_ORDER + 100));
+            var strategy = FieldResolverStrategy.<String>builder().valueSupplier(() -> "from-supplier").build();
+
+            var result = SinglePropertyResolver.resolveStringProperty(
+                    SinglePropertyResolverTest.this.settings(strategy, null).toBuilder().propertySources(sources).build());
+
+            assertThat(result.getValue()).isEqualTo("from-remote");
+            assertThat(result.getSourceName()).isEqualTo("remote");
+        }
+
+        @Test
+        void shouldResolvePrimitives_FromCustomSource() {
+            var sources = PropertySourceChain.of(new PropertySourceChainTest.MapPropertySource(
+                    "secrets", 0, CachePolicy.cacheable(), Map.of(EXTERNAL_KEY, "42")));
+            var primitiveSettings = PrimitivePropertyResolutionSettings.builder()
+                    .externalConfigProvider(externalConfigProvider)
+                    .kiwiEnvironment(env)
+                    .propertySources(sources)
+                    .systemProperty(SYSTEM_PROPERTY)
+                    .environmentVariable(ENV_VARIABLE)
+                    .externalKey(EXTERNAL_KEY)
+                    .build();
+
+            var result = SinglePropertyResolver.resolveInt(primitiveSettings, null);
+
+            assertThat(result.getValue()).isEqualTo(42);
+            assertThat(result.getResolvedBy()).isEqualTo(ResolvedBy.CUSTOM_SOURCE);
+            assertThat(result.getSourceName()).isEqualTo("secrets");
+        }
+
+        private PropertySource source(String name, int order) {
+            return new PropertySourceChainTest.MapPropertySource(
+                    name, order, CachePolicy.volatileResults(), Map.of(EXTERNAL_KEY, "from-" + name));
+        }
+
+        private PropertyResolutionSettings<String> settings(PropertySourceChain sources) {
+            return SinglePropertyResolverTest.this.settings(null, null).toBuilder().propertySources(sources).build();
+        }
+    }
+
+    private PropertyResolutionSettings<String> settings(FieldResolverStrategy<String> strategy, String defaultValue) {
+        return PropertyResolutionSettings.<String>builder()
+                .externalConfigProvider(externalConfigProvider)
+                .kiwiEnvironment(env)
+                .resolverStrategy(strategy)
+                .systemProperty(SYSTEM_PROPERTY)
+                .environmentVariable(ENV_VARIABLE)
+                .externalKey(EXTERNAL_KEY)
+                .defaultValue(defaultValue)
+                .build();
+    }
+}
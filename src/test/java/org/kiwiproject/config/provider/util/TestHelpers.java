@@ -5,10 +5,31 @@ import static org.mockito.Mockito.when;
 import lombok.experimental.UtilityClass;
 import org.kiwiproject.base.KiwiEnvironment;
 
+import java.util.Map;
+
 @UtilityClass
 public class TestHelpers {
 
     public static void mockEnvToReturn(KiwiEnvironment env, String property, String valueToReturn) {
         when(env.getenv(property)).thenReturn(valueToReturn);
     }
+
+    public static PropertySource newMapPropertySource(String name, int order, Map<String, String> values) {
+        return new PropertySource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public int getOrder() {
+                return order;
+            }
+
+            @Override
+            public String lookup(String key) {
+                return values.get(key);
+            }
+        };
+    }
 }